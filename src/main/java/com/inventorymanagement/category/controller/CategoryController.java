@@ -1,10 +1,12 @@
 package com.inventorymanagement.category.controller;
 
 import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.model.CategoryInventorySummary;
 import com.inventorymanagement.category.service.CategoryService;
 import com.inventorymanagement.common.model.ApiResponse;
 import com.inventorymanagement.common.model.BulkOperationRequest;
 import com.inventorymanagement.common.model.BulkOperationResponse;
+import com.inventorymanagement.common.model.EntityTag;
 import com.inventorymanagement.common.model.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,6 +28,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -338,20 +341,28 @@ public class CategoryController {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
                             description = "Hierarchy retrieved successfully",
-                            content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match")
             })
     public ResponseEntity<ApiResponse<List<CategoryDto>>> getCategoryHierarchy(
             @RequestParam(required = false) Long rootId, HttpServletRequest request) {
 
         logger.debug("Retrieving category hierarchy with root ID: {}", rootId);
 
+        EntityTag tag = categoryService.getCategoryHierarchyTag(rootId);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
+
         List<CategoryDto> hierarchy = categoryService.getCategoryHierarchy(rootId);
 
         ApiResponse<List<CategoryDto>> response =
                 ApiResponse.success(
                         "Category hierarchy retrieved successfully", hierarchy, request.getRequestURI());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
     }
 
     /**
@@ -371,6 +382,9 @@ public class CategoryController {
                             responseCode = "200",
                             description = "Child categories retrieved successfully",
                             content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Parent category not found")
@@ -380,12 +394,88 @@ public class CategoryController {
 
         logger.debug("Retrieving child categories for parent ID: {}", id);
 
+        EntityTag tag = categoryService.getChildCategoriesTag(id);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
+
         List<CategoryDto> children = categoryService.getChildCategories(id);
 
         ApiResponse<List<CategoryDto>> response =
                 ApiResponse.success(
                         "Child categories retrieved successfully", children, request.getRequestURI());
 
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
+    }
+
+    /**
+     * Get a category and all its descendants.
+     *
+     * @param id      the category ID
+     * @param request HTTP request for path information
+     * @return the category followed by its descendants, shallowest first
+     */
+    @GetMapping("/{id}/subtree")
+    @Operation(
+            summary = "Get Category Subtree",
+            description = "Retrieve a category and all its descendants at any depth")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Category subtree retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Category not found")
+            })
+    public ResponseEntity<ApiResponse<List<CategoryDto>>> getCategorySubtree(
+            @PathVariable @NotNull Long id, HttpServletRequest request) {
+
+        logger.debug("Retrieving category subtree for ID: {}", id);
+
+        List<CategoryDto> subtree = categoryService.getCategorySubtree(id);
+
+        ApiResponse<List<CategoryDto>> response =
+                ApiResponse.success(
+                        "Category subtree retrieved successfully", subtree, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the inventory dashboard of a category.
+     *
+     * @param id      the category ID
+     * @param request HTTP request for path information
+     * @return SKU count, stock units, stock value and low-stock count of the category and its descendants, per subcategory
+     */
+    @GetMapping("/{id}/inventory-dashboard")
+    @Operation(
+            summary = "Get Category Inventory Dashboard",
+            description =
+                    "Retrieve SKU count, stock units, stock value and low-stock SKU count of a category including its descendants, broken down by subcategory")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Inventory dashboard retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Category not found")
+            })
+    public ResponseEntity<ApiResponse<CategoryInventorySummary>> getInventoryDashboard(
+            @PathVariable @NotNull @Min(1) Long id, HttpServletRequest request) {
+
+        logger.debug("Retrieving inventory dashboard for category ID: {}", id);
+
+        CategoryInventorySummary dashboard = categoryService.getInventoryDashboard(id);
+
+        ApiResponse<CategoryInventorySummary> response =
+                ApiResponse.success(
+                        "Inventory dashboard retrieved successfully", dashboard, request.getRequestURI());
+
         return ResponseEntity.ok(response);
     }
 
@@ -69,6 +69,19 @@ public class Category extends BaseAuditEntity {
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Product> products = new ArrayList<>();
 
+    /**
+     * Products that are not deleted in this category. Maintained by update statements as products come and go, so it is never written
+     * from the entity once inserted.
+     */
+    @Column(name = "direct_product_count", nullable = false, updatable = false)
+    private Long directProductCount = 0L;
+
+    /**
+     * Products that are not deleted in this category and all its descendants. Maintained like {@link #directProductCount}.
+     */
+    @Column(name = "subtree_product_count", nullable = false, updatable = false)
+    private Long subtreeProductCount = 0L;
+
     // Constructors
     public Category() {}
 
@@ -127,6 +140,27 @@ public class Category extends BaseAuditEntity {
         return pathNames.toArray(new String[0]);
     }
 
+    /**
+     * Gets the IDs of this category's ancestors from its path, root first. Path segments that are not IDs are skipped.
+     *
+     * @return the ancestor IDs, empty for a root category
+     */
+    public List<Long> getAncestorIds() {
+        List<Long> ancestorIds = new ArrayList<>();
+        if (path == null) {
+            return ancestorIds;
+        }
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)) {
+                Long ancestorId = Long.valueOf(segment);
+                if (!ancestorId.equals(id)) {
+                    ancestorIds.add(ancestorId);
+                }
+            }
+        }
+        return ancestorIds;
+    }
+
     /**
      * Adds a child category to this category.
      *
@@ -256,6 +290,22 @@ public class Category extends BaseAuditEntity {
         this.products = products;
     }
 
+    public Long getDirectProductCount() {
+        return directProductCount;
+    }
+
+    public void setDirectProductCount(Long directProductCount) {
+        this.directProductCount = directProductCount;
+    }
+
+    public Long getSubtreeProductCount() {
+        return subtreeProductCount;
+    }
+
+    public void setSubtreeProductCount(Long subtreeProductCount) {
+        this.subtreeProductCount = subtreeProductCount;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -0,0 +1,134 @@
+package com.inventorymanagement.category.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Entity representing one ancestor-descendant pair of the category hierarchy, including each category paired with itself at depth 0. The
+ * closure table sits alongside path enumeration: descendant sets, ancestor chains and subtree joins become equality lookups on its
+ * indexes instead of {@code LIKE} prefix scans over paths.
+ *
+ * <p>Rows are written by {@link com.inventorymanagement.category.repository.CategoryClosureRepository} as categories are created, moved
+ * and deleted; the entity is only read.
+ */
+@Entity
+@Table(
+        name = "category_closure",
+        indexes = {@Index(name = "idx_category_closure_descendant", columnList = "descendant_id, depth")})
+@IdClass(CategoryClosure.Key.class)
+public class CategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    // Constructors
+    public CategoryClosure() {}
+
+    public CategoryClosure(Long ancestorId, Long descendantId, Integer depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    // Getters and setters
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+
+    public void setAncestorId(Long ancestorId) {
+        this.ancestorId = ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return descendantId;
+    }
+
+    public void setDescendantId(Long descendantId) {
+        this.descendantId = descendantId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        CategoryClosure other = (CategoryClosure) obj;
+        return Objects.equals(ancestorId, other.ancestorId) && Objects.equals(descendantId, other.descendantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ancestorId, descendantId);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryClosure{"
+                + "ancestorId="
+                + ancestorId
+                + ", descendantId="
+                + descendantId
+                + ", depth="
+                + depth
+                + '}';
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Composite primary key of a closure row.
+     */
+    public static final class Key implements Serializable {
+
+        private Long ancestorId;
+        private Long descendantId;
+
+        public Key() {}
+
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(ancestorId, other.ancestorId) && Objects.equals(descendantId, other.descendantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
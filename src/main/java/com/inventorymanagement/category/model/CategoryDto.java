@@ -92,6 +92,13 @@ public class CategoryDto {
     @JsonProperty("products_count")
     private Integer productsCount;
 
+    @Schema(
+            description = "Number of products in this category and all its descendants",
+            example = "120",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    @JsonProperty("subtree_products_count")
+    private Integer subtreeProductsCount;
+
     @Schema(
             description = "Whether this is a root category (no parent)",
             example = "false",
@@ -252,6 +259,14 @@ public class CategoryDto {
         this.productsCount = productsCount;
     }
 
+    public Integer getSubtreeProductsCount() {
+        return subtreeProductsCount;
+    }
+
+    public void setSubtreeProductsCount(Integer subtreeProductsCount) {
+        this.subtreeProductsCount = subtreeProductsCount;
+    }
+
     public Boolean getIsRoot() {
         return isRoot;
     }
@@ -343,6 +358,8 @@ public class CategoryDto {
                 + childrenCount
                 + ", productsCount="
                 + productsCount
+                + ", subtreeProductsCount="
+                + subtreeProductsCount
                 + '}';
     }
 
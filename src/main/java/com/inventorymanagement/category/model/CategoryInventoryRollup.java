@@ -0,0 +1,130 @@
+package com.inventorymanagement.category.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing the inventory of a category and all its descendants: SKU count, stock units, stock value and low-stock SKU count.
+ * Only SKUs that are not deleted, of products that are not deleted, are included.
+ *
+ * <p>Rows are adjusted incrementally by {@link com.inventorymanagement.category.repository.CategoryInventoryRollupRepository} as SKU
+ * stock changes and as products and categories move; the entity is only read.
+ */
+@Entity
+@Table(name = "category_inventory_rollup")
+public class CategoryInventoryRollup {
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "sku_count", nullable = false)
+    private Long skuCount = 0L;
+
+    @Column(name = "stock_units", nullable = false)
+    private Long stockUnits = 0L;
+
+    @Column(name = "stock_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal stockValue = BigDecimal.ZERO;
+
+    @Column(name = "low_stock_count", nullable = false)
+    private Long lowStockCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CategoryInventoryRollup() {}
+
+    public CategoryInventoryRollup(Long categoryId) {
+        this.categoryId = categoryId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getSkuCount() {
+        return skuCount;
+    }
+
+    public void setSkuCount(Long skuCount) {
+        this.skuCount = skuCount;
+    }
+
+    public Long getStockUnits() {
+        return stockUnits;
+    }
+
+    public void setStockUnits(Long stockUnits) {
+        this.stockUnits = stockUnits;
+    }
+
+    public BigDecimal getStockValue() {
+        return stockValue;
+    }
+
+    public void setStockValue(BigDecimal stockValue) {
+        this.stockValue = stockValue;
+    }
+
+    public Long getLowStockCount() {
+        return lowStockCount;
+    }
+
+    public void setLowStockCount(Long lowStockCount) {
+        this.lowStockCount = lowStockCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        CategoryInventoryRollup other = (CategoryInventoryRollup) obj;
+        return Objects.equals(categoryId, other.categoryId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categoryId);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryInventoryRollup{"
+                + "categoryId="
+                + categoryId
+                + ", skuCount="
+                + skuCount
+                + ", stockUnits="
+                + stockUnits
+                + ", stockValue="
+                + stockValue
+                + ", lowStockCount="
+                + lowStockCount
+                + '}';
+    }
+}
@@ -0,0 +1,121 @@
+package com.inventorymanagement.category.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Inventory figures of a category including all its descendants, as shown on the category dashboard. The dashboard's category also lists
+ * the figures of its direct children.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryInventorySummary {
+
+    @JsonProperty("category_id")
+    private Long categoryId;
+
+    @JsonProperty("category_name")
+    private String categoryName;
+
+    private Integer level;
+
+    @JsonProperty("sku_count")
+    private long skuCount;
+
+    @JsonProperty("stock_units")
+    private long stockUnits;
+
+    @JsonProperty("stock_value")
+    private BigDecimal stockValue = BigDecimal.ZERO;
+
+    @JsonProperty("low_stock_count")
+    private long lowStockCount;
+
+    private List<CategoryInventorySummary> subcategories;
+
+    // Constructors
+    public CategoryInventorySummary() {}
+
+    public CategoryInventorySummary(
+            Long categoryId,
+            String categoryName,
+            Integer level,
+            long skuCount,
+            long stockUnits,
+            BigDecimal stockValue,
+            long lowStockCount) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.level = level;
+        this.skuCount = skuCount;
+        this.stockUnits = stockUnits;
+        this.stockValue = stockValue;
+        this.lowStockCount = lowStockCount;
+    }
+
+    // Getters and setters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public Integer getLevel() {
+        return level;
+    }
+
+    public void setLevel(Integer level) {
+        this.level = level;
+    }
+
+    public long getSkuCount() {
+        return skuCount;
+    }
+
+    public void setSkuCount(long skuCount) {
+        this.skuCount = skuCount;
+    }
+
+    public long getStockUnits() {
+        return stockUnits;
+    }
+
+    public void setStockUnits(long stockUnits) {
+        this.stockUnits = stockUnits;
+    }
+
+    public BigDecimal getStockValue() {
+        return stockValue;
+    }
+
+    public void setStockValue(BigDecimal stockValue) {
+        this.stockValue = stockValue;
+    }
+
+    public long getLowStockCount() {
+        return lowStockCount;
+    }
+
+    public void setLowStockCount(long lowStockCount) {
+        this.lowStockCount = lowStockCount;
+    }
+
+    public List<CategoryInventorySummary> getSubcategories() {
+        return subcategories;
+    }
+
+    public void setSubcategories(List<CategoryInventorySummary> subcategories) {
+        this.subcategories = subcategories;
+    }
+}
@@ -46,7 +46,8 @@ public final class CategoryMapper {
 
         // Set computed fields
         dto.setChildrenCount(category.getChildren().size());
-        dto.setProductsCount(category.getProducts().size());
+        dto.setProductsCount(toCount(category.getDirectProductCount()));
+        dto.setSubtreeProductsCount(toCount(category.getSubtreeProductCount()));
         dto.setIsRoot(category.isRoot());
         dto.setIsLeaf(category.isLeaf());
         dto.setPathNames(List.of(category.getPathNames()));
@@ -150,7 +151,7 @@ public final class CategoryMapper {
         dto.setIsRoot(category.isRoot());
         dto.setIsLeaf(category.isLeaf());
         dto.setChildrenCount(category.getChildren().size());
-        dto.setProductsCount(category.getProducts().size());
+        dto.setProductsCount(toCount(category.getDirectProductCount()));
 
         return dto;
     }
@@ -177,4 +178,8 @@ public final class CategoryMapper {
 
         return dto;
     }
+
+    private static int toCount(Long count) {
+        return count != null ? count.intValue() : 0;
+    }
 }
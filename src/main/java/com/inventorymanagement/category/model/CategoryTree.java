@@ -0,0 +1,371 @@
+package com.inventorymanagement.category.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable snapshot of the category tree. Categories are held in arrays indexed by position in ascending ID order, with the parent,
+ * children and root-to-category path of each category precomputed as indexes, so hierarchy reads are array walks without database access.
+ *
+ * <p>The snapshot holds categories that are not deleted. A category whose parent is deleted is neither a root nor anyone's child, and its
+ * path stops below the deleted parent. Reads return new DTOs on every call, so callers may modify them.
+ */
+public final class CategoryTree {
+
+    /** Siblings are listed by sort order, then name. */
+    private static final Comparator<Node> DISPLAY_ORDER =
+            Comparator.comparing(Node::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Node::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long version;
+    private final long fingerprint;
+    private final Instant builtAt;
+    private final long[] ids;
+    private final Node[] nodes;
+    private final int[] parents;
+    private final int[][] children;
+    private final int[][] paths;
+    private final int[] roots;
+    private final int[] activeByPath;
+
+    private CategoryTree(long version, List<Node> categories) {
+        this.version = version;
+        this.builtAt = Instant.now();
+
+        this.nodes = categories.stream().sorted(Comparator.comparing(Node::getId)).toArray(Node[]::new);
+        int size = nodes.length;
+        this.ids = new long[size];
+        long hash = size;
+        for (int i = 0; i < size; i++) {
+            ids[i] = nodes[i].id;
+            hash = mix(hash, nodes[i].id);
+            hash = mix(hash, nodes[i].parentId != null ? nodes[i].parentId : -1);
+            hash = mix(hash, nodes[i].version != null ? nodes[i].version : -1);
+            hash = mix(hash, nodes[i].productCount);
+        }
+        this.fingerprint = hash;
+
+        this.parents = new int[size];
+        List<List<Integer>> childLists = new ArrayList<>(size);
+        List<Integer> rootList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            childLists.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            Long parentId = nodes[i].parentId;
+            parents[i] = parentId != null ? indexOf(parentId) : -1;
+            if (parentId == null) {
+                rootList.add(i);
+            } else if (parents[i] >= 0) {
+                childLists.get(parents[i]).add(i);
+            }
+        }
+
+        this.children = new int[size][];
+        for (int i = 0; i < size; i++) {
+            children[i] = inDisplayOrder(childLists.get(i));
+        }
+        this.roots = inDisplayOrder(rootList);
+
+        this.paths = new int[size][];
+        for (int i = 0; i < size; i++) {
+            paths[i] = pathTo(i);
+        }
+
+        this.activeByPath =
+                IntStream.range(0, size)
+                        .filter(i -> Boolean.TRUE.equals(nodes[i].active))
+                        .boxed()
+                        .sorted(
+                                Comparator.comparing(
+                                                (Integer i) -> nodes[i].path,
+                                                Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                                        .thenComparing(
+                                                i -> nodes[i].sortOrder,
+                                                Comparator.nullsLast(Comparator.<Integer>naturalOrder())))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+    }
+
+    /**
+     * Builds a snapshot from the categories that are not deleted.
+     *
+     * @param version    the snapshot version; later snapshots have higher versions
+     * @param categories the categories
+     * @return the snapshot
+     */
+    public static CategoryTree of(long version, List<Node> categories) {
+        return new CategoryTree(version, categories);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a hash of every category's ID, parent, entity version and product count. Unlike the snapshot version it is the same on
+     * every instance and across restarts for the same data, so it can back entity tags.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * Returns the number of categories in the snapshot.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Checks whether a category is in the snapshot.
+     *
+     * @param id the category ID
+     * @return true if the category exists and is not deleted
+     */
+    public boolean contains(Long id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Returns the root categories in display order.
+     */
+    public List<CategoryDto> getRoots() {
+        return toDtos(roots);
+    }
+
+    /**
+     * Returns the children of a category in display order.
+     *
+     * @param id the category ID
+     * @return the children, empty if the category is not in the snapshot
+     */
+    public List<CategoryDto> getChildren(Long id) {
+        int index = indexOf(id);
+        return index >= 0 ? toDtos(children[index]) : List.of();
+    }
+
+    /**
+     * Returns the categories from the root down to a category.
+     *
+     * @param id the category ID
+     * @return the path, empty if the category is not in the snapshot
+     */
+    public List<CategoryDto> getPath(Long id) {
+        int index = indexOf(id);
+        return index >= 0 ? toDtos(paths[index]) : List.of();
+    }
+
+    /**
+     * Returns the IDs of the categories from the root down to a category.
+     *
+     * @param id the category ID
+     * @return the ancestor IDs followed by the category's own ID, empty if the category is not in the snapshot
+     */
+    public List<Long> getPathIds(Long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return List.of();
+        }
+        List<Long> pathIds = new ArrayList<>(paths[index].length);
+        for (int i : paths[index]) {
+            pathIds.add(ids[i]);
+        }
+        return pathIds;
+    }
+
+    /**
+     * Returns a category and all its descendants, ordered by level, then sort order, then name.
+     *
+     * @param id the category ID
+     * @return the subtree, empty if the category is not in the snapshot
+     */
+    public List<CategoryDto> getSubtree(Long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return List.of();
+        }
+
+        boolean[] seen = new boolean[nodes.length];
+        List<Integer> subtree = new ArrayList<>();
+        subtree.add(index);
+        seen[index] = true;
+        for (int next = 0; next < subtree.size(); next++) {
+            for (int child : children[subtree.get(next)]) {
+                if (!seen[child]) {
+                    seen[child] = true;
+                    subtree.add(child);
+                }
+            }
+        }
+        subtree.sort(
+                Comparator.comparing(
+                                (Integer i) -> nodes[i].level, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                        .thenComparing(i -> nodes[i], DISPLAY_ORDER));
+        return toDtos(subtree.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Returns every active category, ordered by path, then sort order.
+     */
+    public List<CategoryDto> getActiveHierarchy() {
+        return toDtos(activeByPath);
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private int indexOf(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? index : -1;
+    }
+
+    private static long mix(long hash, long value) {
+        long mixed = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    private int[] inDisplayOrder(List<Integer> indexes) {
+        return indexes.stream()
+                .sorted(Comparator.comparing((Integer i) -> nodes[i], DISPLAY_ORDER))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Walks up from a category to its root. The walk stops after as many steps as there are categories, so a cycle in the stored
+     * parents cannot loop forever.
+     */
+    private int[] pathTo(int index) {
+        List<Integer> path = new ArrayList<>();
+        for (int current = index; current >= 0 && path.size() <= nodes.length; current = parents[current]) {
+            path.add(0, current);
+        }
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private List<CategoryDto> toDtos(int[] indexes) {
+        List<CategoryDto> dtos = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            dtos.add(toDto(index));
+        }
+        return dtos;
+    }
+
+    private CategoryDto toDto(int index) {
+        Node node = nodes[index];
+        CategoryDto dto = new CategoryDto();
+        dto.setId(node.id);
+        dto.setName(node.name);
+        dto.setDescription(node.description);
+        dto.setPath(node.path);
+        dto.setLevel(node.level);
+        dto.setSortOrder(node.sortOrder);
+        dto.setIsActive(node.active);
+        dto.setMetadata(node.metadata);
+        dto.setCreatedAt(node.createdAt);
+        dto.setUpdatedAt(node.updatedAt);
+        dto.setVersion(node.version);
+
+        if (node.parentId != null) {
+            dto.setParentId(node.parentId);
+            if (parents[index] >= 0) {
+                dto.setParentName(nodes[parents[index]].name);
+            }
+        }
+
+        dto.setChildrenCount(children[index].length);
+        dto.setProductsCount((int) node.productCount);
+        dto.setSubtreeProductsCount((int) node.subtreeProductCount);
+        dto.setIsRoot(node.parentId == null);
+        dto.setIsLeaf(children[index].length == 0);
+
+        List<String> pathNames = new ArrayList<>(paths[index].length);
+        for (int i : paths[index]) {
+            pathNames.add(nodes[i].name);
+        }
+        dto.setPathNames(pathNames);
+        return dto;
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * One category as held in the snapshot.
+     */
+    public static final class Node {
+
+        private final Long id;
+        private final Long parentId;
+        private final String name;
+        private final String description;
+        private final String path;
+        private final Integer level;
+        private final Integer sortOrder;
+        private final Boolean active;
+        private final String metadata;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final Long version;
+        private final long productCount;
+        private final long subtreeProductCount;
+
+        public Node(
+                Long id,
+                Long parentId,
+                String name,
+                String description,
+                String path,
+                Integer level,
+                Integer sortOrder,
+                Boolean active,
+                String metadata,
+                LocalDateTime createdAt,
+                LocalDateTime updatedAt,
+                Long version,
+                long productCount,
+                long subtreeProductCount) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.description = description;
+            this.path = path;
+            this.level = level;
+            this.sortOrder = sortOrder;
+            this.active = active;
+            this.metadata = metadata;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.version = version;
+            this.productCount = productCount;
+            this.subtreeProductCount = subtreeProductCount;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getParentId() {
+            return parentId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+    }
+}
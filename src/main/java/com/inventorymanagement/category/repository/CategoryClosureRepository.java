@@ -0,0 +1,108 @@
+package com.inventorymanagement.category.repository;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.model.CategoryClosure;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the category closure table. Writes are set-based statements that touch only the rows of the affected subtree;
+ * reads are equality lookups on the table's two indexes, whatever the depth or width of the tree.
+ *
+ * <p>Writes neither load nor clear entities, since closure rows are never held in the persistence context.
+ */
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    // ===== MAINTENANCE =====
+
+    /**
+     * Adds a new category below its parent: one row per ancestor of the parent, one level deeper, and the category paired with itself.
+     *
+     * @param categoryId the new category ID
+     * @param parentId   the parent category ID, or null for a root category
+     * @return number of rows added
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value =
+                    "INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+                            + "SELECT ancestor_id, CAST(:categoryId AS BIGINT), depth + 1 FROM category_closure "
+                            + "WHERE descendant_id = CAST(:parentId AS BIGINT) "
+                            + "UNION ALL SELECT CAST(:categoryId AS BIGINT), CAST(:categoryId AS BIGINT), 0",
+            nativeQuery = true)
+    int insertCategory(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    /**
+     * Detaches a subtree from its ancestors before a move: removes every row that links a category in the subtree to a category outside
+     * it. Rows within the subtree are kept.
+     *
+     * @param categoryId the ID of the subtree's root
+     * @return number of rows removed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value =
+                    "DELETE FROM category_closure "
+                            + "WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId) "
+                            + "AND ancestor_id NOT IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+            nativeQuery = true)
+    int detachSubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Attaches a detached subtree below a new parent: links every ancestor of the parent to every category in the subtree.
+     *
+     * @param categoryId the ID of the subtree's root
+     * @param parentId   the new parent category ID
+     * @return number of rows added
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value =
+                    "INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+                            + "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+                            + "FROM category_closure a CROSS JOIN category_closure d "
+                            + "WHERE a.descendant_id = :parentId AND d.ancestor_id = :categoryId",
+            nativeQuery = true)
+    int attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    /**
+     * Removes every row of a subtree's categories, as the subtree is deleted.
+     *
+     * @param categoryId the ID of the subtree's root
+     * @return number of rows removed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value =
+                    "DELETE FROM category_closure "
+                            + "WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+            nativeQuery = true)
+    int deleteSubtree(@Param("categoryId") Long categoryId);
+
+    // ===== HIERARCHY QUERIES =====
+
+    /**
+     * Checks whether one category is an ancestor of another, or the same category.
+     *
+     * @param ancestorId   the potential ancestor ID
+     * @param descendantId the potential descendant ID
+     * @return true if the first category is the second or one of its ancestors
+     */
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * Finds a category and all its descendants that are not deleted.
+     *
+     * @param categoryId the category ID
+     * @return the subtree, ordered by depth below the category, then sort order and name
+     */
+    @Query(
+            "SELECT c FROM Category c JOIN CategoryClosure cc ON cc.descendantId = c.id "
+                    + "WHERE cc.ancestorId = :categoryId AND c.deletedAt IS NULL ORDER BY cc.depth, c.sortOrder, c.name")
+    List<Category> findSubtree(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,92 @@
+package com.inventorymanagement.category.repository;
+
+import com.inventorymanagement.category.model.CategoryInventoryRollup;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the per-category inventory rollup. Changes are applied one category row per statement, so callers decide the
+ * order in which rows are locked; a category's dashboard is read with a single query.
+ *
+ * <p>Writes neither load nor clear entities, since rollup rows are never written through the persistence context.
+ */
+@Repository
+public interface CategoryInventoryRollupRepository extends JpaRepository<CategoryInventoryRollup, Long> {
+
+    // ===== MAINTENANCE =====
+
+    /**
+     * Adds to the rollup of a category, creating its row if it has none yet.
+     *
+     * @param categoryId    the category ID
+     * @param skuCount      the change in SKU count
+     * @param stockUnits    the change in stock units
+     * @param stockValue    the change in stock value
+     * @param lowStockCount the change in low-stock SKU count
+     * @param updatedAt     the modification timestamp
+     * @return number of rows updated or created, 0 if the category does not exist
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value =
+                    "MERGE INTO category_inventory_rollup r "
+                            + "USING (SELECT id FROM categories WHERE id = :categoryId) c ON r.category_id = c.id "
+                            + "WHEN MATCHED THEN UPDATE SET sku_count = r.sku_count + :skuCount, stock_units = r.stock_units + :stockUnits, "
+                            + "stock_value = r.stock_value + :stockValue, low_stock_count = r.low_stock_count + :lowStockCount, "
+                            + "updated_at = :updatedAt "
+                            + "WHEN NOT MATCHED THEN INSERT (category_id, sku_count, stock_units, stock_value, low_stock_count, updated_at) "
+                            + "VALUES (c.id, :skuCount, :stockUnits, :stockValue, :lowStockCount, :updatedAt)",
+            nativeQuery = true)
+    int applyDelta(
+            @Param("categoryId") Long categoryId,
+            @Param("skuCount") long skuCount,
+            @Param("stockUnits") long stockUnits,
+            @Param("stockValue") BigDecimal stockValue,
+            @Param("lowStockCount") long lowStockCount,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    // ===== DASHBOARD QUERIES =====
+
+    /**
+     * Finds the rollup of a category followed by those of its direct children. Categories without a rollup row have no inventory and
+     * come back with null figures.
+     *
+     * @param categoryId the category ID
+     * @return the category's row first, then its children by sort order and name; empty if the category does not exist
+     */
+    @Query(
+            "SELECT c.id AS categoryId, c.name AS categoryName, c.level AS level, r.skuCount AS skuCount, r.stockUnits AS stockUnits, "
+                    + "r.stockValue AS stockValue, r.lowStockCount AS lowStockCount "
+                    + "FROM Category c LEFT JOIN CategoryInventoryRollup r ON r.categoryId = c.id "
+                    + "WHERE (c.id = :categoryId OR c.parent.id = :categoryId) AND c.deletedAt IS NULL "
+                    + "ORDER BY c.level, c.sortOrder, c.name")
+    List<RollupRow> findDashboardRows(@Param("categoryId") Long categoryId);
+
+    // ===== PROJECTIONS =====
+
+    /**
+     * Inventory figures of one category, including its descendants.
+     */
+    interface RollupRow {
+
+        Long getCategoryId();
+
+        String getCategoryName();
+
+        Integer getLevel();
+
+        Long getSkuCount();
+
+        Long getStockUnits();
+
+        BigDecimal getStockValue();
+
+        Long getLowStockCount();
+    }
+}
@@ -2,11 +2,14 @@ package com.inventorymanagement.category.repository;
 
 import com.inventorymanagement.category.model.Category;
 import com.inventorymanagement.common.repository.BaseRepository;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -327,4 +330,162 @@ public interface CategoryRepository extends BaseRepository<Category, Long> {
     @Query(
             "SELECT c FROM Category c WHERE c.isActive = true AND c.deletedAt IS NULL ORDER BY c.path, c.sortOrder")
     List<Category> findAllActiveOrderedByPath();
+
+    // ===== SUBTREE UPDATES =====
+
+    /**
+     * Moves the descendants of a moved category with one statement: the old path prefix of every descendant is replaced by the new one,
+     * and its level shifts by the same amount as the category's. Deleted descendants are moved as well, so their paths stay consistent
+     * if they are ever restored. Versions are raised, so stale copies of the descendants fail their optimistic lock check.
+     *
+     * @param oldPrefix   the moved category's path before the move
+     * @param newPrefix   the moved category's path after the move
+     * @param suffixStart position in each descendant's path right after the old prefix (the old prefix's length plus one)
+     * @param levelDelta  the change in level
+     * @param updatedAt   the modification timestamp
+     * @return number of descendants moved
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Category c SET c.path = CONCAT(:newPrefix, SUBSTRING(c.path, :suffixStart)), c.level = c.level + :levelDelta, "
+                    + "c.version = c.version + 1, c.updatedAt = :updatedAt "
+                    + "WHERE c.path LIKE CONCAT(:oldPrefix, '%') AND c.path <> :oldPrefix")
+    int moveSubtree(
+            @Param("oldPrefix") String oldPrefix,
+            @Param("newPrefix") String newPrefix,
+            @Param("suffixStart") int suffixStart,
+            @Param("levelDelta") int levelDelta,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Soft deletes a category and its descendants with one statement.
+     *
+     * @param path      the category's path; every category whose path starts with it is deleted
+     * @param deletedAt the deletion timestamp
+     * @return number of categories deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Category c SET c.deletedAt = :deletedAt, c.version = c.version + 1, c.updatedAt = :deletedAt "
+                    + "WHERE c.path LIKE CONCAT(:path, '%') AND c.deletedAt IS NULL")
+    int softDeleteSubtree(@Param("path") String path, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Activates or deactivates a category and its descendants with one statement. Categories already in the requested state are left
+     * untouched.
+     *
+     * @param path      the category's path; every category whose path starts with it is updated
+     * @param active    the new active flag
+     * @param updatedAt the modification timestamp
+     * @return number of categories changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Category c SET c.isActive = :active, c.version = c.version + 1, c.updatedAt = :updatedAt "
+                    + "WHERE c.path LIKE CONCAT(:path, '%') AND c.deletedAt IS NULL AND c.isActive <> :active")
+    int updateSubtreeActive(
+            @Param("path") String path, @Param("active") boolean active, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // ===== PRODUCT COUNTS =====
+
+    /**
+     * Reads the maintained product counts of a category. Read with a query rather than from a loaded entity, whose copy of the counts is
+     * not refreshed when they change later in the same transaction.
+     *
+     * @param id the category ID
+     * @return the counts, empty if the category does not exist
+     */
+    @Query(
+            "SELECT c.directProductCount AS directProductCount, c.subtreeProductCount AS subtreeProductCount "
+                    + "FROM Category c WHERE c.id = :id")
+    Optional<ProductCounts> findProductCountsById(@Param("id") Long id);
+
+    /**
+     * Adds to the product counts of a category and its ancestors when a product enters (positive delta) or leaves (negative delta) the
+     * category. The counts are not written through entities, so the persistence context is flushed but not cleared.
+     *
+     * @param categoryId the category the product is in
+     * @param pathIds    the IDs of the category and all its ancestors
+     * @param delta      the change in product count
+     * @return number of categories updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            "UPDATE Category c SET c.subtreeProductCount = c.subtreeProductCount + :delta, "
+                    + "c.directProductCount = c.directProductCount + CASE WHEN c.id = :categoryId THEN :delta ELSE 0L END "
+                    + "WHERE c.id IN :pathIds")
+    int adjustProductCounts(
+            @Param("categoryId") Long categoryId, @Param("pathIds") Collection<Long> pathIds, @Param("delta") long delta);
+
+    /**
+     * Adds to the subtree product counts of categories, used to move the products of a subtree from its old ancestors to its new ones.
+     *
+     * @param ids   the category IDs
+     * @param delta the change in product count
+     * @return number of categories updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Category c SET c.subtreeProductCount = c.subtreeProductCount + :delta WHERE c.id IN :ids")
+    int adjustSubtreeProductCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    // ===== TREE SNAPSHOT QUERIES =====
+
+    /**
+     * Reads the columns of every category that is not deleted, for building the in-memory category tree.
+     *
+     * @return one row per category, in no particular order
+     */
+    @Query(
+            "SELECT c.id AS id, p.id AS parentId, c.name AS name, c.description AS description, c.path AS path, c.level AS level, "
+                    + "c.sortOrder AS sortOrder, c.isActive AS isActive, c.metadata AS metadata, c.createdAt AS createdAt, "
+                    + "c.updatedAt AS updatedAt, c.version AS version, c.directProductCount AS directProductCount, "
+                    + "c.subtreeProductCount AS subtreeProductCount "
+                    + "FROM Category c LEFT JOIN c.parent p WHERE c.deletedAt IS NULL")
+    List<TreeRow> findTreeRows();
+
+    // ===== PROJECTIONS =====
+
+    /**
+     * Columns of one category.
+     */
+    interface TreeRow {
+
+        Long getId();
+
+        Long getParentId();
+
+        String getName();
+
+        String getDescription();
+
+        String getPath();
+
+        Integer getLevel();
+
+        Integer getSortOrder();
+
+        Boolean getIsActive();
+
+        String getMetadata();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        Long getVersion();
+
+        Long getDirectProductCount();
+
+        Long getSubtreeProductCount();
+    }
+
+    /**
+     * Maintained product counts of one category.
+     */
+    interface ProductCounts {
+
+        Long getDirectProductCount();
+
+        Long getSubtreeProductCount();
+    }
 }
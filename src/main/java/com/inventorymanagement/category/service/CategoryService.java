@@ -2,14 +2,24 @@ package com.inventorymanagement.category.service;
 
 import com.inventorymanagement.category.model.Category;
 import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.model.CategoryInventoryRollup;
+import com.inventorymanagement.category.model.CategoryInventorySummary;
 import com.inventorymanagement.category.model.CategoryMapper;
+import com.inventorymanagement.category.model.CategoryTree;
+import com.inventorymanagement.category.repository.CategoryClosureRepository;
+import com.inventorymanagement.category.repository.CategoryInventoryRollupRepository;
 import com.inventorymanagement.category.repository.CategoryRepository;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.model.EntityTag;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -35,10 +45,23 @@ public class CategoryService {
     private static final int MAX_CATEGORY_DEPTH = 10;
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategoryInventoryRollupRepository inventoryRollupRepository;
+    private final CategoryInventoryRollupService inventoryRollupService;
+    private final CategoryTreeService categoryTreeService;
 
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository) {
-        this.categoryRepository = null;
+    public CategoryService(
+            CategoryRepository categoryRepository,
+            CategoryClosureRepository categoryClosureRepository,
+            CategoryInventoryRollupRepository inventoryRollupRepository,
+            CategoryInventoryRollupService inventoryRollupService,
+            CategoryTreeService categoryTreeService) {
+        this.categoryRepository = categoryRepository;
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.inventoryRollupRepository = inventoryRollupRepository;
+        this.inventoryRollupService = inventoryRollupService;
+        this.categoryTreeService = categoryTreeService;
     }
 
     // ===== CRUD OPERATIONS =====
@@ -50,9 +73,7 @@ public class CategoryService {
      * @return the created category DTO
      * @throws ValidationException if validation fails
      */
-    @CacheEvict(
-            value = {"categories", "categoryHierarchy"},
-            allEntries = true)
+    @CacheEvict(value = "categories", allEntries = true)
     public CategoryDto createCategory(@Valid @NotNull CategoryDto categoryDto) {
         logger.info("Creating new category: {}", categoryDto.getName());
 
@@ -88,6 +109,9 @@ public class CategoryService {
             savedCategory.setPath(parent.getPath() + savedCategory.getId() + "/");
         }
         savedCategory = categoryRepository.save(savedCategory);
+        categoryClosureRepository.insertCategory(
+                savedCategory.getId(), savedCategory.getParent() != null ? savedCategory.getParent().getId() : null);
+        categoryTreeService.refreshAfterCommit();
 
         logger.info("Successfully created category with ID: {}", savedCategory.getId());
         return CategoryMapper.toDto(savedCategory);
@@ -102,9 +126,7 @@ public class CategoryService {
      * @throws EntityNotFoundException if category not found
      * @throws ValidationException     if validation fails
      */
-    @CacheEvict(
-            value = {"categories", "categoryHierarchy"},
-            allEntries = true)
+    @CacheEvict(value = "categories", allEntries = true)
     public CategoryDto updateCategory(@NotNull Long id, @Valid @NotNull CategoryDto categoryDto) {
         logger.info("Updating category with ID: {}", id);
 
@@ -131,6 +153,7 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(existingCategory);
+        categoryTreeService.refreshAfterCommit();
         logger.info("Successfully updated category with ID: {}", id);
 
         return CategoryMapper.toDto(updatedCategory);
@@ -169,17 +192,17 @@ public class CategoryService {
      * @throws EntityNotFoundException if category not found
      * @throws BusinessException       if category has products
      */
-    @CacheEvict(
-            value = {"categories", "categoryHierarchy"},
-            allEntries = true)
+    @CacheEvict(value = "categories", allEntries = true)
     public void deleteCategory(@NotNull Long id) {
         logger.info("Deleting category with ID: {}", id);
 
         Category category = findCategoryById(id);
         validateCategoryForDeletion(category);
 
-        // Soft delete the category and all its children
-        softDeleteCategoryTree(category);
+        // Soft delete the category and all its descendants; the subtree holds no products, so no product counts change
+        softDeleteSubtree(category);
+        categoryClosureRepository.deleteSubtree(category.getId());
+        categoryTreeService.refreshAfterCommit();
 
         logger.info("Successfully deleted category with ID: {}", id);
     }
@@ -187,50 +210,52 @@ public class CategoryService {
     // ===== HIERARCHICAL OPERATIONS =====
 
     /**
-     * Retrieves all root categories (categories with no parent).
+     * Retrieves all root categories (categories with no parent). Served from the category tree snapshot.
      *
      * @return list of root category DTOs
      */
-    @Cacheable(value = "categoryHierarchy", key = "'rootCategories'")
     public List<CategoryDto> getRootCategories() {
         logger.debug("Retrieving all root categories");
-        List<Category> rootCategories = categoryRepository.findAllRootCategories();
-        return rootCategories.stream().map(CategoryMapper::toDto).toList();
+        return categoryTreeService.current().getRoots();
     }
 
     /**
-     * Retrieves all children of a specific category.
+     * Retrieves all children of a specific category. Served from the category tree snapshot.
      *
      * @param parentId the parent category ID
      * @return list of child category DTOs
      * @throws EntityNotFoundException if parent category not found
      */
-    @Cacheable(value = "categoryHierarchy", key = "'children:' + #parentId")
     public List<CategoryDto> getChildCategories(@NotNull Long parentId) {
         logger.debug("Retrieving children for category ID: {}", parentId);
-
-        // Verify parent exists
-        findCategoryById(parentId);
-
-        List<Category> children = categoryRepository.findByParentId(parentId);
-        return children.stream().map(CategoryMapper::toDto).toList();
+        return snapshotContaining(parentId).getChildren(parentId);
     }
 
     /**
-     * Retrieves the complete category path from root to the specified category.
+     * Retrieves the complete category path from root to the specified category. Served from the category tree snapshot.
      *
      * @param categoryId the target category ID
      * @return list of category DTOs representing the path
      * @throws EntityNotFoundException if category not found
      */
-    @Cacheable(value = "categoryHierarchy", key = "'path:' + #categoryId")
     public List<CategoryDto> getCategoryPath(@NotNull Long categoryId) {
         logger.debug("Retrieving category path for ID: {}", categoryId);
+        return snapshotContaining(categoryId).getPath(categoryId);
+    }
 
-        Category category = findCategoryById(categoryId);
-        List<Category> pathCategories = categoryRepository.findPathToCategory(categoryId);
+    /**
+     * Retrieves a category and all its descendants from the closure table, with one indexed lookup whatever the depth or width of the
+     * subtree.
+     *
+     * @param categoryId the ID of the subtree's root
+     * @return the subtree, ordered by depth below the category, then sort order and name
+     * @throws EntityNotFoundException if category not found
+     */
+    public List<CategoryDto> getCategorySubtree(@NotNull Long categoryId) {
+        logger.debug("Retrieving category subtree rooted at ID: {}", categoryId);
 
-        return pathCategories.stream().map(CategoryMapper::toDto).toList();
+        findCategoryById(categoryId);
+        return categoryClosureRepository.findSubtree(categoryId).stream().map(CategoryMapper::toDto).toList();
     }
 
     /**
@@ -241,13 +266,14 @@ public class CategoryService {
      * @throws EntityNotFoundException if category or parent not found
      * @throws BusinessException       if move would create a cycle
      */
-    @CacheEvict(
-            value = {"categories", "categoryHierarchy"},
-            allEntries = true)
+    @CacheEvict(value = "categories", allEntries = true)
     public void moveCategoryToParent(@NotNull Long categoryId, Long newParentId) {
         logger.info("Moving category {} to parent {}", categoryId, newParentId);
 
         Category category = findCategoryById(categoryId);
+        String oldPath = category.getPath();
+        Integer oldLevel = category.getLevel();
+        List<Long> oldAncestorIds = category.getAncestorIds();
 
         if (newParentId != null) {
             Category newParent = findCategoryById(newParentId);
@@ -260,10 +286,12 @@ public class CategoryService {
             category.setPath("/" + category.getId() + "/");
         }
 
-        // Update all descendant paths
-        updateDescendantPaths(category);
-
         categoryRepository.save(category);
+        moveProductCounts(category, oldAncestorIds);
+        moveInventoryRollup(category, oldAncestorIds);
+        moveClosure(category);
+        moveDescendants(category, oldPath, oldLevel);
+        categoryTreeService.refreshAfterCommit();
         logger.info("Successfully moved category {} to parent {}", categoryId, newParentId);
     }
 
@@ -325,28 +353,78 @@ public class CategoryService {
     }
 
     /**
-     * Retrieves category hierarchy as a tree structure.
+     * Retrieves category hierarchy as a tree structure. Served from the category tree snapshot.
      *
      * @param rootId the root category ID (optional, null for all root categories)
      * @return list of category DTOs with hierarchical structure
+     * @throws EntityNotFoundException if the root category is not found
      */
-    @Cacheable(
-            value = "categoryHierarchy",
-            key = "'hierarchy:' + (#rootId != null ? #rootId : 'all')")
     public List<CategoryDto> getCategoryHierarchy(Long rootId) {
         logger.debug("Retrieving category hierarchy with root ID: {}", rootId);
 
-        List<Category> categories;
         if (rootId != null) {
             // Get hierarchy starting from specific root
-            Category rootCategory = findCategoryById(rootId);
-            categories = categoryRepository.findAllDescendantsByPath(rootCategory.getPath());
-        } else {
-            // Get all root categories and their descendants
-            categories = categoryRepository.findAllActiveOrderedByPath();
+            return snapshotContaining(rootId).getSubtree(rootId);
+        }
+        // Get all active categories in path order
+        return categoryTreeService.current().getActiveHierarchy();
+    }
+
+    // ===== INVENTORY DASHBOARD =====
+
+    /**
+     * Retrieves the inventory dashboard of a category: SKU count, stock units, stock value and low-stock SKU count of the category and
+     * all its descendants, broken down by direct child. Read from the category inventory rollup with a single query.
+     *
+     * @param id the category ID
+     * @return the category's inventory summary with one summary per subcategory
+     * @throws EntityNotFoundException if category not found
+     */
+    public CategoryInventorySummary getInventoryDashboard(@NotNull Long id) {
+        logger.debug("Retrieving inventory dashboard for category ID: {}", id);
+
+        inventoryRollupService.flush();
+        CategoryInventorySummary dashboard = null;
+        List<CategoryInventorySummary> subcategories = new ArrayList<>();
+        for (CategoryInventoryRollupRepository.RollupRow row : inventoryRollupRepository.findDashboardRows(id)) {
+            CategoryInventorySummary summary = toSummary(row);
+            if (row.getCategoryId().equals(id)) {
+                dashboard = summary;
+            } else {
+                subcategories.add(summary);
+            }
+        }
+        if (dashboard == null) {
+            throw new EntityNotFoundException(CATEGORY_ENTITY_NAME, id);
         }
 
-        return categories.stream().map(CategoryMapper::toDto).toList();
+        dashboard.setSubcategories(subcategories);
+        return dashboard;
+    }
+
+    // ===== CONDITIONAL GET VALIDATORS =====
+
+    /**
+     * Returns the entity tag of a category's children, derived from the category tree snapshot.
+     *
+     * @param parentId the parent category ID
+     * @return the entity tag
+     * @throws EntityNotFoundException if parent category not found
+     */
+    public EntityTag getChildCategoriesTag(@NotNull Long parentId) {
+        return EntityTag.of("category-children", parentId, snapshotContaining(parentId).getFingerprint());
+    }
+
+    /**
+     * Returns the entity tag of the category hierarchy, derived from the category tree snapshot.
+     *
+     * @param rootId the root category ID (optional, null for all root categories)
+     * @return the entity tag
+     * @throws EntityNotFoundException if the root category is not found
+     */
+    public EntityTag getCategoryHierarchyTag(Long rootId) {
+        CategoryTree tree = rootId != null ? snapshotContaining(rootId) : categoryTreeService.current();
+        return EntityTag.of("category-hierarchy", rootId, tree.getFingerprint());
     }
 
     // ===== BUSINESS LOGIC METHODS =====
@@ -358,20 +436,20 @@ public class CategoryService {
      * @param includeChildren whether to activate children as well
      * @throws EntityNotFoundException if category not found
      */
-    @CacheEvict(
-            value = {"categories", "categoryHierarchy"},
-            allEntries = true)
+    @CacheEvict(value = "categories", allEntries = true)
     public void activateCategory(@NotNull Long id, boolean includeChildren) {
         logger.info("Activating category with ID: {} (includeChildren: {})", id, includeChildren);
 
         Category category = findCategoryById(id);
-        category.activate();
 
         if (includeChildren) {
-            activateChildrenRecursively(category);
+            updateSubtreeActive(category, true);
+        } else {
+            category.activate();
+            categoryRepository.save(category);
         }
 
-        categoryRepository.save(category);
+        categoryTreeService.refreshAfterCommit();
         logger.info("Successfully activated category with ID: {}", id);
     }
 
@@ -381,27 +459,49 @@ public class CategoryService {
      * @param id the category ID
      * @throws EntityNotFoundException if category not found
      */
-    @CacheEvict(
-            value = {"categories", "categoryHierarchy"},
-            allEntries = true)
+    @CacheEvict(value = "categories", allEntries = true)
     public void deactivateCategory(@NotNull Long id) {
         logger.info("Deactivating category with ID: {}", id);
 
         Category category = findCategoryById(id);
-        category.deactivate(); // This deactivates children as well
+        updateSubtreeActive(category, false);
 
-        categoryRepository.save(category);
+        categoryTreeService.refreshAfterCommit();
         logger.info("Successfully deactivated category with ID: {}", id);
     }
 
     // ===== PRIVATE HELPER METHODS =====
 
+    /**
+     * Returns the current tree snapshot, checking that it holds the given category. A category created moments ago may not be in the
+     * snapshot yet, so a miss falls back to the database and, if the category is there, reads the tree as this transaction sees it.
+     */
+    private CategoryTree snapshotContaining(Long id) {
+        CategoryTree tree = categoryTreeService.current();
+        if (tree.contains(id)) {
+            return tree;
+        }
+        findCategoryById(id);
+        return categoryTreeService.readOwnWrites();
+    }
+
     private Category findCategoryById(Long id) {
         return categoryRepository
                 .findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(CATEGORY_ENTITY_NAME, id));
     }
 
+    private static CategoryInventorySummary toSummary(CategoryInventoryRollupRepository.RollupRow row) {
+        return new CategoryInventorySummary(
+                row.getCategoryId(),
+                row.getCategoryName(),
+                row.getLevel(),
+                row.getSkuCount() != null ? row.getSkuCount() : 0L,
+                row.getStockUnits() != null ? row.getStockUnits() : 0L,
+                row.getStockValue() != null ? row.getStockValue() : BigDecimal.ZERO,
+                row.getLowStockCount() != null ? row.getLowStockCount() : 0L);
+    }
+
     private void validateCategoryForCreation(CategoryDto categoryDto) {
         if (!StringUtils.hasText(categoryDto.getName())) {
             throw new ValidationException("name", "Category name is required");
@@ -476,23 +576,17 @@ public class CategoryService {
     }
 
     private void validateCategoryForDeletion(Category category) {
-        // Check for products directly in this category
-        long productCount = categoryRepository.countProductsByCategoryId(category.getId());
+        // Product counts are maintained on the category row, so one lookup covers the whole subtree
+        Optional<CategoryRepository.ProductCounts> counts = categoryRepository.findProductCountsById(category.getId());
+        long productCount = counts.map(CategoryRepository.ProductCounts::getDirectProductCount).orElse(0L);
         if (productCount > 0) {
             throw new BusinessException("Cannot delete category with existing products");
         }
 
         // Check for products in any descendant categories
-        List<Category> descendants = categoryRepository.findAllDescendantsByPath(category.getPath());
-        for (Category descendant : descendants) {
-            if (!descendant.getId().equals(category.getId())) {
-                long descendantProductCount =
-                        categoryRepository.countProductsByCategoryId(descendant.getId());
-                if (descendantProductCount > 0) {
-                    throw new BusinessException(
-                            "Cannot delete category with products in descendant categories");
-                }
-            }
+        long subtreeProductCount = counts.map(CategoryRepository.ProductCounts::getSubtreeProductCount).orElse(0L);
+        if (subtreeProductCount > productCount) {
+            throw new BusinessException("Cannot delete category with products in descendant categories");
         }
     }
 
@@ -502,7 +596,7 @@ public class CategoryService {
             throw new ValidationException("parentId", "Category cannot be its own parent");
         }
 
-        // Check if move would create a cycle
+        // Check if move would create a cycle; parent pointers are set on every category, closure rows only by this service
         if (isAncestor(category, newParent)) {
             throw new ValidationException("parentId", "Cannot move category to its own descendant");
         }
@@ -540,6 +634,10 @@ public class CategoryService {
     }
 
     private void updateCategoryParent(Category category, Long newParentId) {
+        String oldPath = category.getPath();
+        Integer oldLevel = category.getLevel();
+        List<Long> oldAncestorIds = category.getAncestorIds();
+
         if (newParentId != null) {
             Category newParent = findCategoryById(newParentId);
             validateCategoryMove(category, newParent);
@@ -550,38 +648,123 @@ public class CategoryService {
             category.setPath("/" + category.getId() + "/");
         }
 
-        updateDescendantPaths(category);
+        moveProductCounts(category, oldAncestorIds);
+        moveInventoryRollup(category, oldAncestorIds);
+        moveClosure(category);
+        moveDescendants(category, oldPath, oldLevel);
     }
 
-    private void updateDescendantPaths(Category category) {
-        List<Category> descendants = categoryRepository.findAllDescendantsByPath(category.getPath());
-        for (Category descendant : descendants) {
-            if (!descendant.getId().equals(category.getId())) {
-                // Recalculate path based on parent
-                Category parent = descendant.getParent();
-                if (parent != null) {
-                    descendant.setPath(parent.getPath() + descendant.getId() + "/");
-                    descendant.setLevel(parent.getLevel() + 1);
-                }
-            }
+    /**
+     * Relinks a moved category's subtree in the closure table: rows to its old ancestors are removed and rows to its new ones added, with
+     * two statements whatever the size of the subtree.
+     */
+    private void moveClosure(Category category) {
+        categoryClosureRepository.detachSubtree(category.getId());
+        if (category.getParent() != null) {
+            categoryClosureRepository.attachSubtree(category.getId(), category.getParent().getId());
+        }
+    }
+
+    /**
+     * Moves the products of a moved category's subtree from the subtree counts of the ancestors it left to those of the ancestors it
+     * joined. Ancestors it kept are not touched.
+     */
+    private void moveProductCounts(Category category, List<Long> oldAncestorIds) {
+        long products =
+                categoryRepository
+                        .findProductCountsById(category.getId())
+                        .map(CategoryRepository.ProductCounts::getSubtreeProductCount)
+                        .orElse(0L);
+        if (products == 0) {
+            return;
+        }
+
+        List<Long> newAncestorIds = category.getAncestorIds();
+        List<Long> leftAncestorIds = except(oldAncestorIds, newAncestorIds);
+        List<Long> joinedAncestorIds = except(newAncestorIds, oldAncestorIds);
+
+        if (!leftAncestorIds.isEmpty()) {
+            categoryRepository.adjustSubtreeProductCounts(leftAncestorIds, -products);
+        }
+        if (!joinedAncestorIds.isEmpty()) {
+            categoryRepository.adjustSubtreeProductCounts(joinedAncestorIds, products);
+        }
+    }
+
+    /**
+     * Moves the inventory rollup of a moved category's subtree from the ancestors it left to the ancestors it joined, the same way as its
+     * product counts. The rollups of the category and its descendants cover only the subtree and do not change.
+     */
+    private void moveInventoryRollup(Category category, List<Long> oldAncestorIds) {
+        inventoryRollupService.flush();
+        Optional<CategoryInventoryRollup> rollup = inventoryRollupRepository.findById(category.getId());
+        if (rollup.isPresent() && rollup.get().getSkuCount() != 0) {
+            inventoryRollupService.recordMove(rollup.get(), oldAncestorIds, category.getAncestorIds());
+        }
+    }
+
+    private static List<Long> except(List<Long> ids, List<Long> excluded) {
+        List<Long> remaining = new ArrayList<>(ids);
+        remaining.removeAll(excluded);
+        return remaining;
+    }
+
+    /**
+     * Rewrites the paths and levels of a moved category's descendants with one update statement instead of loading and saving each of
+     * them. The statement flushes the category's own change first and clears the persistence context afterwards, so the category is
+     * detached once this returns.
+     */
+    private void moveDescendants(Category category, String oldPath, Integer oldLevel) {
+        String newPath = category.getPath();
+        if (oldPath == null || oldPath.equals(newPath) || !oldPath.endsWith("/" + category.getId() + "/")) {
+            // Without a well-formed old path the descendants cannot be told apart by prefix
+            return;
         }
+
+        int levelDelta = category.getLevel() - (oldLevel != null ? oldLevel : 0);
+        int moved =
+                categoryRepository.moveSubtree(oldPath, newPath, oldPath.length() + 1, levelDelta, LocalDateTime.now());
+        logger.debug("Moved {} descendants of category {} from {} to {}", moved, category.getId(), oldPath, newPath);
     }
 
-    private void softDeleteCategoryTree(Category category) {
-        category.markAsDeleted();
+    /**
+     * Checks that a category's path ends with its own ID, so that its descendants are exactly the categories whose paths start with it.
+     * Paths written by this service always do.
+     */
+    private boolean hasSubtreePath(Category category) {
+        return category.getId() != null
+                && category.getPath() != null
+                && category.getPath().endsWith("/" + category.getId() + "/");
+    }
 
-        // Recursively soft delete all children
-        List<Category> children = categoryRepository.findByParentId(category.getId());
-        for (Category child : children) {
-            softDeleteCategoryTree(child);
+    /**
+     * Soft deletes a category and its descendants with one update statement, however large the subtree. The persistence context is
+     * cleared afterwards, so the category is detached once this returns.
+     */
+    private void softDeleteSubtree(Category category) {
+        if (!hasSubtreePath(category)) {
+            logger.warn("Category {} has malformed path {}; deleting it without descendants", category.getId(), category.getPath());
+            category.markAsDeleted();
+            return;
         }
+
+        int deleted = categoryRepository.softDeleteSubtree(category.getPath(), LocalDateTime.now());
+        logger.debug("Soft deleted {} categories under {}", deleted, category.getPath());
     }
 
-    private void activateChildrenRecursively(Category category) {
-        List<Category> children = categoryRepository.findByParentId(category.getId());
-        for (Category child : children) {
-            child.activate();
-            activateChildrenRecursively(child);
+    /**
+     * Activates or deactivates a category and its descendants with one update statement, however large the subtree. The persistence
+     * context is cleared afterwards, so the category is detached once this returns.
+     */
+    private void updateSubtreeActive(Category category, boolean active) {
+        if (!hasSubtreePath(category)) {
+            logger.warn("Category {} has malformed path {}; updating it without descendants", category.getId(), category.getPath());
+            category.setIsActive(active);
+            categoryRepository.save(category);
+            return;
         }
+
+        int updated = categoryRepository.updateSubtreeActive(category.getPath(), active, LocalDateTime.now());
+        logger.debug("Set active={} on {} categories under {}", active, updated, category.getPath());
     }
 }
@@ -0,0 +1,186 @@
+package com.inventorymanagement.category.service;
+
+import com.inventorymanagement.category.model.CategoryTree;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class holding the current {@link CategoryTree} snapshot.
+ *
+ * <p>The snapshot is built on first use and replaced whenever categories, or the products in them, change: writers call
+ * {@link #refreshAfterCommit()}, and once their transaction commits a background thread reads all categories with one query, builds a
+ * new snapshot and swaps it in. Readers never wait for a rebuild; until the swap they keep reading the previous snapshot. Refreshes
+ * requested while one is queued are folded into it.
+ *
+ * <p>Published snapshots are read in a transaction of their own, so they only ever hold committed data; a caller's uncommitted writes
+ * can be read through {@link #readOwnWrites()} without publishing them.
+ */
+@Service
+public class CategoryTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTreeService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate committedReads;
+    private final TransactionTemplate ownWriteReads;
+    private final ExecutorService refresher;
+    private final AtomicReference<CategoryTree> tree = new AtomicReference<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+
+    @Autowired
+    public CategoryTreeService(
+            CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.committedReads = new TransactionTemplate(transactionManager);
+        this.committedReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.committedReads.setReadOnly(true);
+        this.ownWriteReads = new TransactionTemplate(transactionManager);
+        this.ownWriteReads.setReadOnly(true);
+        this.refresher =
+                Executors.newSingleThreadExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "category-tree-refresh");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /**
+     * Returns the current snapshot, building it on first use.
+     *
+     * @return the category tree
+     */
+    public CategoryTree current() {
+        CategoryTree current = tree.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = tree.get();
+            return current != null ? current : swap(load(committedReads, versions.incrementAndGet()));
+        }
+    }
+
+    /**
+     * Builds a snapshot as the current transaction sees the categories, including its own uncommitted writes, without publishing it.
+     * Meant for reads that follow a write in the same transaction; it costs a full load, so the result is not kept.
+     *
+     * @return the snapshot, with the version of the current one
+     */
+    public CategoryTree readOwnWrites() {
+        return load(ownWriteReads, current().getVersion());
+    }
+
+    /**
+     * Rebuilds the snapshot in the background once the current transaction commits, or right away outside a transaction. Call after
+     * writing categories or moving products between them.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queueRefresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        queueRefresh();
+                    }
+                });
+    }
+
+    /**
+     * Rebuilds the snapshot on the calling thread.
+     *
+     * @return the new snapshot
+     */
+    public CategoryTree refresh() {
+        return swap(load(committedReads, versions.incrementAndGet()));
+    }
+
+    /**
+     * Stops the refresh thread.
+     */
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void queueRefresh() {
+        if (!refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(
+                () -> {
+                    // Cleared before loading so that a write committed during the load queues another refresh
+                    refreshQueued.set(false);
+                    try {
+                        refresh();
+                    } catch (RuntimeException e) {
+                        logger.error("Failed to refresh category tree", e);
+                    }
+                });
+    }
+
+    /**
+     * Reads every category into a new snapshot. Callers take the version before reading, so a snapshot that started later is never
+     * replaced by one that started earlier.
+     */
+    private CategoryTree load(TransactionTemplate reads, long version) {
+        long startedAt = System.nanoTime();
+        CategoryTree loaded =
+                reads.execute(
+                        status -> {
+                            List<CategoryTree.Node> nodes = new ArrayList<>();
+                            for (CategoryRepository.TreeRow row : categoryRepository.findTreeRows()) {
+                                nodes.add(
+                                        new CategoryTree.Node(
+                                                row.getId(),
+                                                row.getParentId(),
+                                                row.getName(),
+                                                row.getDescription(),
+                                                row.getPath(),
+                                                row.getLevel(),
+                                                row.getSortOrder(),
+                                                row.getIsActive(),
+                                                row.getMetadata(),
+                                                row.getCreatedAt(),
+                                                row.getUpdatedAt(),
+                                                row.getVersion(),
+                                                row.getDirectProductCount() != null ? row.getDirectProductCount() : 0L,
+                                                row.getSubtreeProductCount() != null ? row.getSubtreeProductCount() : 0L));
+                            }
+                            return CategoryTree.of(version, nodes);
+                        });
+        logger.debug(
+                "Built category tree version {} with {} categories in {} ms",
+                version,
+                loaded.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return loaded;
+    }
+
+    private CategoryTree swap(CategoryTree loaded) {
+        return tree.accumulateAndGet(
+                loaded, (current, next) -> current == null || next.getVersion() > current.getVersion() ? next : current);
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventorymanagement.common.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration for the Inventory Management System.
+ *
+ * <p>Backs the {@code @Cacheable} caches with bounded Caffeine caches whose expiry, size and refresh settings come from
+ * {@code inventory.cache}. Caching itself is enabled on the application class.
+ *
+ * @version 1.0.0
+ * @since 2025-01-15
+ */
+@Configuration
+@EnableConfigurationProperties(CachePolicyProperties.class)
+public class CacheConfig {
+
+    /**
+     * Configures the cache manager.
+     *
+     * @param properties the per-cache policies
+     * @return the cache manager
+     */
+    @Bean
+    public PolicyCacheManager cacheManager(CachePolicyProperties properties) {
+        return new PolicyCacheManager(properties);
+    }
+}
@@ -0,0 +1,118 @@
+package com.inventorymanagement.common.config;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+/**
+ * Per-cache eviction policies, bound from {@code inventory.cache}. Caches without an entry under {@code caches} use {@code defaults}, and
+ * settings an entry leaves out are taken from the defaults too. Durations without a unit are seconds.
+ */
+@ConfigurationProperties(prefix = "inventory.cache")
+public class CachePolicyProperties {
+
+    private Policy defaults = new Policy();
+    private Map<String, Policy> caches = new LinkedHashMap<>();
+
+    public CachePolicyProperties() {
+        defaults.setTtl(Duration.ofMinutes(10));
+        defaults.setMaxSize(10_000L);
+    }
+
+    public Policy getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Policy defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Policy> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, Policy> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Returns the effective policy of a cache.
+     *
+     * @param cacheName the cache name
+     * @return the cache's own settings, completed with the defaults
+     */
+    public Policy policyFor(String cacheName) {
+        Policy policy = caches.get(cacheName);
+        if (policy == null) {
+            return defaults;
+        }
+
+        Policy effective = new Policy();
+        effective.setTtl(policy.getTtl() != null ? policy.getTtl() : defaults.getTtl());
+        effective.setRefreshAfter(policy.getRefreshAfter() != null ? policy.getRefreshAfter() : defaults.getRefreshAfter());
+        if (policy.getMaxSize() != null || policy.getMaxWeight() != null) {
+            effective.setMaxSize(policy.getMaxSize());
+            effective.setMaxWeight(policy.getMaxWeight());
+        } else {
+            effective.setMaxSize(defaults.getMaxSize());
+            effective.setMaxWeight(defaults.getMaxWeight());
+        }
+        return effective;
+    }
+
+    /**
+     * Eviction policy of one cache. A cache is bounded by entry count or, if {@code maxWeight} is set, by total weight, where a collection
+     * weighs one plus its size and any other value weighs one.
+     */
+    public static class Policy {
+
+        /** Time after which an entry expires; null to keep entries until they are evicted for space. */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl;
+
+        /** Age after which the next read of an entry reloads it while other readers keep getting the old value; null to disable. */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration refreshAfter;
+
+        /** Maximum number of entries; ignored when {@code maxWeight} is set. */
+        private Long maxSize;
+
+        /** Maximum total weight of the entries. */
+        private Long maxWeight;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+
+        public Long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(Long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Long getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(Long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+    }
+}
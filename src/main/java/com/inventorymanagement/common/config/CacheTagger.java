@@ -0,0 +1,20 @@
+package com.inventorymanagement.common.config;
+
+import java.util.Collection;
+
+/**
+ * Derives the tags of a cache entry from its key and value. Entries can be evicted by tag with {@link PolicyCache#evictTag(String)}, so
+ * a change to one record can drop every entry that includes it without knowing their keys.
+ */
+@FunctionalInterface
+public interface CacheTagger {
+
+    /**
+     * Returns the tags of an entry about to be stored.
+     *
+     * @param key   the entry's key
+     * @param value the entry's value, possibly null
+     * @return the entry's tags, empty for none
+     */
+    Collection<String> tagsOf(Object key, Object value);
+}
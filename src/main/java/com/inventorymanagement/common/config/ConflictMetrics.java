@@ -0,0 +1,141 @@
+package com.inventorymanagement.common.config;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory per-method counters for optimistic locking conflicts and the retries they cause.
+ */
+@Component
+public class ConflictMetrics {
+
+    private final Map<String, MethodCounters> countersByMethod = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the counters for a method, creating them on first use.
+     *
+     * @param method the method name, e.g. "SkuService.updateSku"
+     * @return the method's counters
+     */
+    public MethodCounters forMethod(String method) {
+        return countersByMethod.computeIfAbsent(method, key -> new MethodCounters());
+    }
+
+    /**
+     * Returns a snapshot of all counters, keyed by method name.
+     *
+     * @return counters per method, sorted by method name
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        countersByMethod.forEach((method, counters) -> snapshot.put(method, counters.toMap()));
+        return snapshot;
+    }
+
+    /**
+     * Clears all counters.
+     */
+    public void reset() {
+        countersByMethod.clear();
+    }
+
+    /**
+     * Conflict and retry counters of one method.
+     */
+    public static class MethodCounters {
+
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder failedFast = new LongAdder();
+        private final AtomicInteger retriesInFlight = new AtomicInteger();
+
+        /** Counts a version conflict. */
+        public void recordConflict() {
+            conflicts.increment();
+        }
+
+        /** Counts a retry attempt. */
+        public void recordRetry() {
+            retries.increment();
+        }
+
+        /** Counts a call that succeeded after at least one retry. */
+        public void recordRecovered() {
+            recovered.increment();
+        }
+
+        /** Counts a call that still conflicted after its last attempt. */
+        public void recordExhausted() {
+            exhausted.increment();
+        }
+
+        /** Counts a conflict that was not retried because too many retries were already in progress. */
+        public void recordFailedFast() {
+            failedFast.increment();
+        }
+
+        /**
+         * Registers a call entering its retry loop, unless the limit of concurrent retries is reached.
+         *
+         * @param limit the maximum number of calls retrying at once
+         * @return true if the call may retry; it must then call {@link #endRetrying()}
+         */
+        public boolean tryStartRetrying(int limit) {
+            while (true) {
+                int current = retriesInFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (retriesInFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /** Registers a call leaving its retry loop. */
+        public void endRetrying() {
+            retriesInFlight.decrementAndGet();
+        }
+
+        public long getConflicts() {
+            return conflicts.sum();
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+
+        public long getRecovered() {
+            return recovered.sum();
+        }
+
+        public long getExhausted() {
+            return exhausted.sum();
+        }
+
+        public long getFailedFast() {
+            return failedFast.sum();
+        }
+
+        public int getRetriesInFlight() {
+            return retriesInFlight.get();
+        }
+
+        Map<String, Long> toMap() {
+            Map<String, Long> values = new TreeMap<>();
+            values.put("conflicts", getConflicts());
+            values.put("retries", getRetries());
+            values.put("recovered", getRecovered());
+            values.put("exhausted", getExhausted());
+            values.put("failed_fast", getFailedFast());
+            values.put("retries_in_flight", (long) getRetriesInFlight());
+            return values;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.inventorymanagement.common.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that limits how many callers may hold or wait on a pooled connection at once.
+ *
+ * <p>With virtual threads every request gets its own thread, so a burst of requests turns into a burst of threads all asking the
+ * connection pool for one of its few connections at the same moment. A fair semaphore in front of the pool queues the surplus callers
+ * in arrival order and parks them cheaply; only callers holding a permit reach the pool. The permit is returned when the connection is
+ * closed.
+ *
+ * <p>Callers that cannot get a permit within the acquire timeout get a {@link SQLTransientConnectionException}, the same failure the
+ * pool reports when it runs out of connections.
+ */
+public class ConnectionAdmissionDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+
+    public ConnectionAdmissionDataSource(DataSource targetDataSource, int maxConcurrent, long acquireTimeoutMs) {
+        super(targetDataSource);
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Maximum concurrent connections must be at least 1");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return admitted(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return admitted(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the wrapped DataSource if it holds resources, such as a connection pool.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Returns the number of connections currently admitted.
+     *
+     * @return number of permits in use
+     */
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of callers waiting for a permit.
+     *
+     * @return estimated number of waiting callers
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Connection admission timed out after " + acquireTimeoutMs + "ms (" + maxConcurrent + " connections in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for connection admission", e);
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it, once, returns its permit.
+     */
+    private Connection admitted(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                                case "equals":
+                                    return proxy == args[0];
+                                case "hashCode":
+                                    return System.identityHashCode(proxy);
+                                default:
+                                    break;
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            } finally {
+                                if (isClose(method) && released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                        });
+    }
+
+    private static boolean isClose(Method method) {
+        return method.getName().equals("close") && method.getParameterCount() == 0;
+    }
+}
@@ -7,6 +7,7 @@ import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +18,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 /**
  * Database configuration for the Inventory Management System.
  *
- * <p>This configuration class sets up the database connection pool using HikariCP.
+ * <p>This configuration class sets up the database connection pool using HikariCP. When
+ * {@code inventory.datasource.admission.enabled} is set, connections are handed out through a
+ * {@link ConnectionAdmissionDataSource} that limits how many callers reach the pool at once.
  *
  * @version 1.0.0
  * @since 2025-01-15
@@ -81,6 +84,34 @@ public class DatabaseConfig {
         return new HikariDataSource(config);
     }
 
+    /**
+     * Puts a {@link ConnectionAdmissionDataSource} in front of the DataSource. Enabled with virtual
+     * threads, where request concurrency is no longer bounded by the servlet thread pool.
+     *
+     * @return post processor wrapping the DataSource
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "inventory.datasource.admission",
+            name = "enabled",
+            havingValue = "true")
+    public static BeanPostProcessor connectionAdmissionPostProcessor(
+            @Value("${inventory.datasource.admission.max-concurrent:10}") int maxConcurrent,
+            @Value("${inventory.datasource.admission.acquire-timeout-ms:30000}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionAdmissionDataSource)) {
+                    logger.info(
+                            "Limiting DataSource '{}' to {} concurrent connections", beanName, maxConcurrent);
+                    return new ConnectionAdmissionDataSource(dataSource, maxConcurrent, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
     /**
      * Configures the auditor aware bean for JPA auditing.
      *
@@ -0,0 +1,135 @@
+package com.inventorymanagement.common.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aspect re-running {@link RetryOnConflict} methods that fail on an optimistic locking conflict.
+ *
+ * <p>The aspect runs outside the transaction interceptor, so each attempt gets a fresh transaction and re-reads the current entity
+ * versions. Attempts are separated by exponential backoff with full jitter: before retry {@code n} the caller sleeps a random time between
+ * 0 and {@code min(max-backoff-ms, initial-backoff-ms * 2^(n-1))}, which spreads colliding writers apart instead of letting them collide
+ * again in lockstep.
+ *
+ * <p>When more than {@code fail-fast-threshold} calls of the same method are already retrying, further conflicts are not retried but
+ * surface at once. A hot row that keeps conflicting then sheds load instead of piling up sleeping requests.
+ *
+ * <p>Conflict, retry and outcome counts are recorded per method in {@link ConflictMetrics}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticLockRetryAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    private final ConflictMetrics conflictMetrics;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int failFastThreshold;
+
+    @Autowired
+    public OptimisticLockRetryAspect(
+            ConflictMetrics conflictMetrics,
+            @Value("${inventory.retry.optimistic-lock.max-attempts:3}") int maxAttempts,
+            @Value("${inventory.retry.optimistic-lock.initial-backoff-ms:20}") long initialBackoffMs,
+            @Value("${inventory.retry.optimistic-lock.max-backoff-ms:200}") long maxBackoffMs,
+            @Value("${inventory.retry.optimistic-lock.fail-fast-threshold:32}") int failFastThreshold) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Maximum attempts must be at least 1");
+        }
+        this.conflictMetrics = conflictMetrics;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.failFastThreshold = failFastThreshold;
+    }
+
+    /**
+     * Runs a {@link RetryOnConflict} method, retrying it on optimistic locking conflicts.
+     */
+    @Around("@annotation(com.inventorymanagement.common.config.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Inside a caller's transaction a retry would reuse the stale persistence context; leave it to the outermost call
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String methodName =
+                joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "."
+                        + joinPoint.getSignature().getName();
+        ConflictMetrics.MethodCounters counters = conflictMetrics.forMethod(methodName);
+
+        OptimisticLockingFailureException conflict;
+        try {
+            return joinPoint.proceed();
+        } catch (OptimisticLockingFailureException e) {
+            counters.recordConflict();
+            conflict = e;
+        }
+
+        if (!counters.tryStartRetrying(failFastThreshold)) {
+            counters.recordFailedFast();
+            logger.warn("Optimistic locking conflict in {}, too many retries in progress, failing fast", methodName);
+            throw conflict;
+        }
+
+        try {
+            for (int attempt = 2; attempt <= maxAttempts; attempt++) {
+                if (!backOff(attempt)) {
+                    throw conflict;
+                }
+                counters.recordRetry();
+                logger.debug("Retrying {} after optimistic locking conflict (attempt {}/{})", methodName, attempt, maxAttempts);
+                try {
+                    Object result = joinPoint.proceed();
+                    counters.recordRecovered();
+                    return result;
+                } catch (OptimisticLockingFailureException e) {
+                    counters.recordConflict();
+                    conflict = e;
+                }
+            }
+        } finally {
+            counters.endRetrying();
+        }
+
+        counters.recordExhausted();
+        logger.warn("Optimistic locking conflict in {} persisted after {} attempts", methodName, maxAttempts);
+        throw conflict;
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Sleeps for a jittered backoff before the given attempt.
+     *
+     * @return false if the thread was interrupted while sleeping
+     */
+    private boolean backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 2, 30));
+        if (ceiling <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
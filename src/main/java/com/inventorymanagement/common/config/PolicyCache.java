@@ -0,0 +1,356 @@
+package com.inventorymanagement.common.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Spring cache backed by a bounded Caffeine cache that follows a {@link CachePolicyProperties.Policy}.
+ *
+ * <p>Refresh-ahead: once an entry is older than the policy's {@code refreshAfter}, the first read reports a miss so its caller reloads
+ * the value and puts it back, while concurrent readers keep getting the old value until then. Only one reader per entry reloads at a
+ * time; if that reader fails, another one is let through after a further {@code refreshAfter}. {@code @Cacheable(sync = true)} reads
+ * never refresh early. Caffeine counts the read that triggers a reload as a hit; reloads are counted separately.
+ *
+ * <p>Tags: with a {@link CacheTagger} set, each stored entry is indexed under the tags derived from it, and {@link #evictTag(String)}
+ * evicts the entries under a tag. The index may briefly list entries that are already gone, which only costs a needless eviction; it
+ * never misses an entry that is cached.
+ */
+public class PolicyCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final CachePolicyProperties.Policy policy;
+    private final Cache<Object, Entry> store;
+    private final long refreshAfterNanos;
+    private final LongAdder refreshes = new LongAdder();
+    private final ConcurrentMap<String, ConcurrentMap<Object, Entry>> entriesByTag = new ConcurrentHashMap<>();
+    private volatile CacheTagger tagger;
+
+    public PolicyCache(String name, CachePolicyProperties.Policy policy) {
+        super(true);
+        this.name = name;
+        this.policy = policy;
+        this.refreshAfterNanos = policy.getRefreshAfter() != null ? policy.getRefreshAfter().toNanos() : 0;
+
+        Caffeine<Object, Entry> builder =
+                Caffeine.newBuilder()
+                        .recordStats()
+                        .evictionListener((Object key, Entry entry, RemovalCause cause) -> untag(key, entry));
+        if (policy.getTtl() != null) {
+            builder.expireAfterWrite(policy.getTtl());
+        }
+        if (policy.getMaxWeight() != null) {
+            this.store =
+                    builder.maximumWeight(policy.getMaxWeight())
+                            .weigher((Object key, Entry entry) -> entry.weight)
+                            .build();
+        } else {
+            if (policy.getMaxSize() != null) {
+                builder.maximumSize(policy.getMaxSize());
+            }
+            this.store = builder.build();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Entry> getNativeCache() {
+        return store;
+    }
+
+    public CachePolicyProperties.Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Sets how entries stored from now on are tagged.
+     *
+     * @param tagger the tagger, or null to stop tagging
+     */
+    public void setTagger(CacheTagger tagger) {
+        this.tagger = tagger;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = store.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (refreshAfterNanos > 0 && entry.claimRefresh(System.nanoTime(), refreshAfterNanos)) {
+            refreshes.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entry entry =
+                store.get(
+                        key,
+                        k -> {
+                            Object value;
+                            try {
+                                value = valueLoader.call();
+                            } catch (Exception e) {
+                                throw new ValueRetrievalException(key, valueLoader, e);
+                            }
+                            return newEntry(k, value);
+                        });
+        return (T) fromStoreValue(entry.value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        untag(key, store.asMap().put(key, newEntry(key, value)));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Entry entry = newEntry(key, value);
+        Entry existing = store.asMap().putIfAbsent(key, entry);
+        if (existing == null) {
+            return null;
+        }
+        untag(key, entry);
+        return toValueWrapper(existing.value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Entry removed = store.asMap().remove(key);
+        untag(key, removed);
+        return removed != null;
+    }
+
+    /**
+     * Evicts every entry tagged with the given tag.
+     *
+     * @param tag the tag
+     * @return number of entries evicted
+     */
+    public int evictTag(String tag) {
+        ConcurrentMap<Object, Entry> tagged = entriesByTag.remove(tag);
+        if (tagged == null) {
+            return 0;
+        }
+        int evicted = 0;
+        for (Object key : tagged.keySet()) {
+            if (evictIfPresent(key)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        entriesByTag.clear();
+        store.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = !store.asMap().isEmpty();
+        clear();
+        return notEmpty;
+    }
+
+    /**
+     * Creates an entry and indexes it under its tags. Indexing before the entry is stored keeps the index from missing a cached entry.
+     */
+    private Entry newEntry(Object key, Object value) {
+        CacheTagger currentTagger = tagger;
+        Collection<String> tags = currentTagger != null ? currentTagger.tagsOf(key, value) : List.of();
+        Entry entry = new Entry(toStoreValue(value), tags);
+        for (String tag : tags) {
+            entriesByTag.compute(
+                    tag,
+                    (t, tagged) -> {
+                        ConcurrentMap<Object, Entry> entries = tagged != null ? tagged : new ConcurrentHashMap<>();
+                        entries.put(key, entry);
+                        return entries;
+                    });
+        }
+        return entry;
+    }
+
+    /**
+     * Drops a removed entry from the tag index. Only that entry is dropped, so a newer entry stored under the same key stays indexed.
+     */
+    private void untag(Object key, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (String tag : entry.tags) {
+            entriesByTag.computeIfPresent(
+                    tag,
+                    (t, tagged) -> {
+                        tagged.remove(key, entry);
+                        return tagged.isEmpty() ? null : tagged;
+                    });
+        }
+    }
+
+    /**
+     * Returns the cache's counters since startup.
+     *
+     * @return the statistics
+     */
+    public CacheStatistics getStatistics() {
+        CacheStats stats = store.stats();
+        return new CacheStatistics(
+                name,
+                store.estimatedSize(),
+                policy.getMaxWeight() != null
+                        ? store.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L)
+                        : null,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                refreshes.sum(),
+                entriesByTag.size());
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * A cached value with its tags and the time it was written.
+     */
+    static final class Entry {
+
+        private final Object value;
+        private final Collection<String> tags;
+        private final long writtenAt = System.nanoTime();
+        private final int weight;
+        private final AtomicLong refreshClaimedAt = new AtomicLong();
+
+        Entry(Object value, Collection<String> tags) {
+            this.value = value;
+            this.tags = tags;
+            this.weight = weigh(value);
+        }
+
+        /**
+         * Claims the reload of an entry that is due for one, unless another reader claimed it less than {@code refreshAfterNanos} ago.
+         */
+        boolean claimRefresh(long now, long refreshAfterNanos) {
+            if (now - writtenAt < refreshAfterNanos) {
+                return false;
+            }
+            long claimedAt = refreshClaimedAt.get();
+            return (claimedAt == 0 || now - claimedAt >= refreshAfterNanos)
+                    && refreshClaimedAt.compareAndSet(claimedAt, now);
+        }
+
+        private static int weigh(Object value) {
+            if (value instanceof Collection) {
+                return 1 + ((Collection<?>) value).size();
+            }
+            if (value instanceof Map) {
+                return 1 + ((Map<?, ?>) value).size();
+            }
+            return 1;
+        }
+    }
+
+    /**
+     * Counters of one cache.
+     */
+    public static class CacheStatistics {
+
+        private final String name;
+        private final long size;
+        private final Long weightedSize;
+        private final long hits;
+        private final long misses;
+        private final double hitRate;
+        private final long evictions;
+        private final long refreshes;
+        private final int tags;
+
+        public CacheStatistics(
+                String name,
+                long size,
+                Long weightedSize,
+                long hits,
+                long misses,
+                double hitRate,
+                long evictions,
+                long refreshes,
+                int tags) {
+            this.name = name;
+            this.size = size;
+            this.weightedSize = weightedSize;
+            this.hits = hits;
+            this.misses = misses;
+            this.hitRate = hitRate;
+            this.evictions = evictions;
+            this.refreshes = refreshes;
+            this.tags = tags;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Approximate number of entries. */
+        public long getSize() {
+            return size;
+        }
+
+        /** Total weight of the entries, for caches bounded by weight. */
+        public Long getWeightedSize() {
+            return weightedSize;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            return hitRate;
+        }
+
+        /** Entries evicted for space or expired. */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** Reads that reloaded an entry ahead of its expiry. */
+        public long getRefreshes() {
+            return refreshes;
+        }
+
+        /** Tags with at least one indexed entry. */
+        public int getTags() {
+            return tags;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventorymanagement.common.config;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Cache manager that gives every cache its own {@link PolicyCache}. Caches configured under {@code inventory.cache.caches} are created
+ * up front; any other cache name is created on first use with the default policy.
+ */
+public class PolicyCacheManager implements CacheManager {
+
+    private final CachePolicyProperties properties;
+    private final ConcurrentMap<String, PolicyCache> caches = new ConcurrentHashMap<>();
+
+    public PolicyCacheManager(CachePolicyProperties properties) {
+        this.properties = properties;
+        for (String name : properties.getCaches().keySet()) {
+            caches.put(name, new PolicyCache(name, properties.policyFor(name)));
+        }
+    }
+
+    @Override
+    public PolicyCache getCache(String name) {
+        return caches.computeIfAbsent(name, n -> new PolicyCache(n, properties.policyFor(n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Returns the counters of every cache, ordered by cache name.
+     *
+     * @return the statistics of each cache
+     */
+    public List<PolicyCache.CacheStatistics> getStatistics() {
+        return caches.values().stream()
+                .map(PolicyCache::getStatistics)
+                .sorted(Comparator.comparing(PolicyCache.CacheStatistics::getName))
+                .toList();
+    }
+}
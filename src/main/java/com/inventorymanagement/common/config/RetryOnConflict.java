@@ -0,0 +1,18 @@
+package com.inventorymanagement.common.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional service method that is re-run when it fails on an optimistic locking (version) conflict.
+ *
+ * <p>The retry wraps the method's own transaction, so it only applies when the method starts a transaction; calls made inside an
+ * existing transaction fail through to the outermost caller. Retries are handled by {@link OptimisticLockRetryAspect}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryOnConflict {}
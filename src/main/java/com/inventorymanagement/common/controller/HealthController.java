@@ -1,5 +1,7 @@
 package com.inventorymanagement.common.controller;
 
+import com.inventorymanagement.common.config.ConflictMetrics;
+import com.inventorymanagement.common.config.PolicyCacheManager;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -27,6 +29,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class HealthController {
 
     private final BuildProperties buildProperties;
+    private final ConflictMetrics conflictMetrics;
+    private final PolicyCacheManager cacheManager;
 
     @Value("${spring.application.name}")
     private String applicationName;
@@ -35,8 +39,13 @@ public class HealthController {
     private String applicationVersion;
 
     @Autowired
-    public HealthController(@Autowired(required = false) BuildProperties buildProperties) {
+    public HealthController(
+            @Autowired(required = false) BuildProperties buildProperties,
+            ConflictMetrics conflictMetrics,
+            PolicyCacheManager cacheManager) {
         this.buildProperties = buildProperties;
+        this.conflictMetrics = conflictMetrics;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -120,6 +129,38 @@ public class HealthController {
         return ResponseEntity.ok(health);
     }
 
+    /**
+     * Optimistic locking conflict and retry counters per service method.
+     */
+    @GetMapping("/conflicts")
+    @Operation(
+            summary = "Conflict Metrics",
+            description = "Get optimistic locking conflict and retry counters per service method")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Conflict metrics")})
+    public ResponseEntity<Map<String, Object>> conflicts() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("timestamp", System.currentTimeMillis());
+        metrics.put("methods", conflictMetrics.snapshot());
+
+        return ResponseEntity.ok(metrics);
+    }
+
+    /**
+     * Size, hit, miss, eviction and refresh counters per cache.
+     */
+    @GetMapping("/caches")
+    @Operation(
+            summary = "Cache Metrics",
+            description = "Get size, hit, miss, eviction and refresh counters per cache")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Cache metrics")})
+    public ResponseEntity<Map<String, Object>> caches() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("timestamp", System.currentTimeMillis());
+        metrics.put("caches", cacheManager.getStatistics());
+
+        return ResponseEntity.ok(metrics);
+    }
+
     /**
      * Readiness probe for Kubernetes deployments.
      */
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -436,6 +437,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handles optimistic locking conflicts that persisted through all retries.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+
+        String correlationId = setupErrorContext(request, ex);
+
+        ErrorResponse errorResponse =
+                ErrorResponse.businessError(
+                                "CONCURRENT_MODIFICATION",
+                                "The resource was modified concurrently, please retry the request")
+                        .withPath(request.getRequestURI())
+                        .withMethod(request.getMethod())
+                        .withStatus(HttpStatus.CONFLICT.value())
+                        .withCorrelationId(correlationId);
+
+        addTraceInfo(errorResponse);
+
+        logger.warn(
+                "Optimistic locking conflict for request to {}: {}", request.getRequestURI(), ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handles all other unhandled exceptions.
      */
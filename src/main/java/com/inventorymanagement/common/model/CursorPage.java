@@ -0,0 +1,73 @@
+package com.inventorymanagement.common.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated result. Unlike a Spring Data {@code Page} it carries no total count, so fetching it needs no count
+ * query; the next page is requested with {@link #getNextCursor()}.
+ *
+ * @param <T> the type of the page content
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /** Requested page size. */
+    public int getSize() {
+        return size;
+    }
+
+    /** Opaque token for the next page, or null on the last page. */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /** Returns a page with each element converted by the given function and the same size and cursor. */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        return new CursorPage<>(
+                content.stream().map(converter).collect(Collectors.toList()), size, nextCursor);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        CursorPage<?> that = (CursorPage<?>) obj;
+        return size == that.size
+                && Objects.equals(content, that.content)
+                && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, size, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPage{" + "content=" + content + ", size=" + size + ", nextCursor='" + nextCursor + '\'' + '}';
+    }
+}
@@ -0,0 +1,90 @@
+package com.inventorymanagement.common.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Strong entity tag for conditional GETs. The tag is derived from what a response depends on — entity versions, and row counts with the
+ * latest update time for lists — instead of from the response body, so a request whose {@code If-None-Match} still matches can be
+ * answered with 304 Not Modified before anything is loaded, mapped or serialized.
+ *
+ * <p>Read the tag before the body: if the data changes in between, the client holds a newer body under an older tag and simply gets the
+ * full response again next time, whereas the other order could pin a stale body under the newer tag.
+ */
+public final class EntityTag {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String value;
+
+    private EntityTag(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Derives a tag from a resource type and the values its representation depends on.
+     *
+     * @param type  the resource type, which keeps tags of different resources apart
+     * @param parts the values, typically a row read by a validator query
+     * @return the tag
+     */
+    public static EntityTag of(String type, Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(type.getBytes(StandardCharsets.UTF_8));
+        digest.update(Arrays.deepToString(parts).getBytes(StandardCharsets.UTF_8));
+        return new EntityTag("\"" + type + "-" + HEX.formatHex(digest.digest(), 0, 16) + "\"");
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against this tag. The header may list several tags or be {@code *}; weak tags are compared
+     * by their opaque part, as RFC 9110 prescribes for {@code If-None-Match}.
+     *
+     * @param ifNoneMatch the header value, or null if the request has none
+     * @return true if the client already holds the current representation
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the quoted tag, as sent in the {@code ETag} header.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof EntityTag other && value.equals(other.value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,107 @@
+package com.inventorymanagement.common.model;
+
+import com.inventorymanagement.common.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in a result set ordered by {@code (createdAt DESC, id DESC)}, used for keyset (seek) pagination. The next page holds the rows
+ * strictly after this position, so deep pages cost the same as the first one.
+ *
+ * <p>Clients see the position only as an opaque token produced by {@link #encode()}.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    /** Position before the newest row, used for the first page. */
+    private static final KeysetCursor START =
+            new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private KeysetCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Creates a cursor positioned at the given row.
+     *
+     * @param createdAt the row's creation time
+     * @param id        the row's ID
+     * @return the cursor
+     */
+    public static KeysetCursor of(LocalDateTime createdAt, Long id) {
+        return new KeysetCursor(Objects.requireNonNull(createdAt), Objects.requireNonNull(id));
+    }
+
+    /**
+     * Decodes a continuation token. A null or blank token means the first page.
+     *
+     * @param token the token returned with the previous page
+     * @return the cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("cursor", "Invalid pagination cursor");
+            }
+            return of(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque, URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        KeysetCursor that = (KeysetCursor) obj;
+        return Objects.equals(createdAt, that.createdAt) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" + "createdAt=" + createdAt + ", id=" + id + '}';
+    }
+}
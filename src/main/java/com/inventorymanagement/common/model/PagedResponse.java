@@ -2,9 +2,12 @@ package com.inventorymanagement.common.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import org.springframework.data.domain.Page;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 /**
  * Paged response wrapper for paginated API responses. Provides pagination metadata along with the data.
@@ -19,6 +22,7 @@ public class PagedResponse<T> {
     private List<T> content;
     private PageMetadata meta;
     private PageLinks links;
+    private CursorMetadata cursor;
 
     // Constructors
     public PagedResponse() {}
@@ -59,6 +63,30 @@ public class PagedResponse<T> {
         return new PagedResponse<>(page.getContent(), meta, links);
     }
 
+    // Static factory method to create from a keyset-paginated page; carries cursor metadata instead of page numbers and totals
+    public static <T> PagedResponse<T> of(CursorPage<T> page) {
+        return of(page, null);
+    }
+
+    // The base URL must be encoded, e.g. the request URL with its query string; its cursor and size parameters are replaced
+    public static <T> PagedResponse<T> of(CursorPage<T> page, String baseUrl) {
+        PagedResponse<T> response = new PagedResponse<>();
+        response.setContent(page.getContent());
+        response.setCursor(new CursorMetadata(page.getSize(), page.hasNext(), page.getNextCursor()));
+
+        if (baseUrl != null && page.hasNext()) {
+            PageLinks links = new PageLinks();
+            links.setNext(
+                    UriComponentsBuilder.fromUriString(baseUrl)
+                            .replaceQueryParam("cursor", UriUtils.encode(page.getNextCursor(), StandardCharsets.UTF_8))
+                            .replaceQueryParam("size", page.getSize())
+                            .build(true)
+                            .toUriString());
+            response.setLinks(links);
+        }
+        return response;
+    }
+
     // Getters and setters
     public List<T> getContent() {
         return content;
@@ -84,6 +112,14 @@ public class PagedResponse<T> {
         this.links = links;
     }
 
+    public CursorMetadata getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(CursorMetadata cursor) {
+        this.cursor = cursor;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -95,17 +131,27 @@ public class PagedResponse<T> {
         PagedResponse<?> that = (PagedResponse<?>) obj;
         return Objects.equals(content, that.content)
                 && Objects.equals(meta, that.meta)
-                && Objects.equals(links, that.links);
+                && Objects.equals(links, that.links)
+                && Objects.equals(cursor, that.cursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(content, meta, links);
+        return Objects.hash(content, meta, links, cursor);
     }
 
     @Override
     public String toString() {
-        return "PagedResponse{" + "content=" + content + ", meta=" + meta + ", links=" + links + '}';
+        return "PagedResponse{"
+                + "content="
+                + content
+                + ", meta="
+                + meta
+                + ", links="
+                + links
+                + ", cursor="
+                + cursor
+                + '}';
     }
 
     /**
@@ -382,4 +428,85 @@ public class PagedResponse<T> {
                     + '}';
         }
     }
+
+    /**
+     * Keyset pagination metadata. The next page is requested with {@code nextCursor}; no total count is computed.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CursorMetadata {
+
+        @JsonProperty("page_size")
+        private int pageSize;
+
+        @JsonProperty("has_next")
+        private boolean hasNext;
+
+        @JsonProperty("next_cursor")
+        private String nextCursor;
+
+        public CursorMetadata() {}
+
+        public CursorMetadata(int pageSize, boolean hasNext, String nextCursor) {
+            this.pageSize = pageSize;
+            this.hasNext = hasNext;
+            this.nextCursor = nextCursor;
+        }
+
+        // Getters and setters
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public void setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public void setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            CursorMetadata that = (CursorMetadata) obj;
+            return pageSize == that.pageSize
+                    && hasNext == that.hasNext
+                    && Objects.equals(nextCursor, that.nextCursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pageSize, hasNext, nextCursor);
+        }
+
+        @Override
+        public String toString() {
+            return "CursorMetadata{"
+                    + "pageSize="
+                    + pageSize
+                    + ", hasNext="
+                    + hasNext
+                    + ", nextCursor='"
+                    + nextCursor
+                    + '\''
+                    + '}';
+        }
+    }
 }
@@ -3,10 +3,23 @@ package com.inventorymanagement.inventory.controller;
 import com.inventorymanagement.common.model.ApiResponse;
 import com.inventorymanagement.common.model.BulkOperationRequest;
 import com.inventorymanagement.common.model.BulkOperationResponse;
+import com.inventorymanagement.common.model.CursorPage;
+import com.inventorymanagement.common.model.EntityTag;
 import com.inventorymanagement.common.model.PagedResponse;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransactionDto;
+import com.inventorymanagement.inventory.model.ReservationHoldDto;
 import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.model.StockReservationRequest;
+import com.inventorymanagement.inventory.model.StockReservationResult;
+import com.inventorymanagement.inventory.service.IdempotencyService;
 import com.inventorymanagement.inventory.service.InventoryService;
+import com.inventorymanagement.inventory.service.LedgerExportService;
+import com.inventorymanagement.inventory.service.LedgerReplayService;
+import com.inventorymanagement.inventory.service.LedgerVerificationService;
+import com.inventorymanagement.inventory.service.ReservationHoldService;
 import com.inventorymanagement.inventory.service.SkuService;
+import com.inventorymanagement.inventory.service.SkuStockShardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +27,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +47,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -36,9 +58,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * REST controller for SKU management operations. Provides comprehensive CRUD operations, search, filtering, bulk operations, and inventory
@@ -53,11 +77,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class SkuController {
 
     private static final Logger logger = LoggerFactory.getLogger(SkuController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     @Autowired private SkuService skuService;
 
     @Autowired private InventoryService inventoryService;
 
+    @Autowired private IdempotencyService idempotencyService;
+
+    @Autowired private ReservationHoldService reservationHoldService;
+
+    @Autowired private SkuStockShardService stockShardService;
+
+    @Autowired private LedgerReplayService ledgerReplayService;
+
+    @Autowired private LedgerExportService ledgerExportService;
+
+    @Autowired private LedgerVerificationService ledgerVerificationService;
+
     // ===== CRUD OPERATIONS =====
 
     /**
@@ -116,6 +153,9 @@ public class SkuController {
                             responseCode = "200",
                             description = "SKU retrieved successfully",
                             content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "SKU not found"),
@@ -128,12 +168,17 @@ public class SkuController {
 
         logger.debug("Retrieving SKU with ID: {}", id);
 
+        EntityTag tag = skuService.getSkuTag(id);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
+
         SkuDto sku = skuService.getSkuById(id);
 
         ApiResponse<SkuDto> response =
                 ApiResponse.success("SKU retrieved successfully", sku, request.getRequestURI());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
     }
 
     /**
@@ -151,6 +196,9 @@ public class SkuController {
                             responseCode = "200",
                             description = "SKU retrieved successfully",
                             content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "SKU not found"),
@@ -163,12 +211,17 @@ public class SkuController {
 
         logger.debug("Retrieving SKU with code: {}", skuCode);
 
+        EntityTag tag = skuService.getSkuTagByCode(skuCode);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
+
         SkuDto sku = skuService.getSkuByCode(skuCode);
 
         ApiResponse<SkuDto> response =
                 ApiResponse.success("SKU retrieved successfully", sku, request.getRequestURI());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
     }
 
     /**
@@ -401,6 +454,9 @@ public class SkuController {
                             responseCode = "200",
                             description = "SKUs retrieved successfully",
                             content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Product not found"),
@@ -417,6 +473,11 @@ public class SkuController {
         logger.debug("Retrieving SKUs for product ID: {}", productId);
 
         Pageable pageable = PageRequest.of(page, size);
+
+        EntityTag tag = skuService.getSkusByProductTag(productId, pageable);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
         Page<SkuDto> skusPage = skuService.getSkusByProduct(productId, pageable);
 
         String baseUrl = request.getRequestURL().toString();
@@ -425,7 +486,7 @@ public class SkuController {
         ApiResponse<PagedResponse<SkuDto>> response =
                 ApiResponse.success("SKUs retrieved successfully", pagedResponse, request.getRequestURI());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
     }
 
     /**
@@ -502,11 +563,16 @@ public class SkuController {
     public ResponseEntity<ApiResponse<SkuDto>> addStock(
             @PathVariable @NotNull Long id,
             @RequestParam @Min(1) int quantity,
+            @Parameter(description = "Key that makes retries of this request return the original result")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey,
             HttpServletRequest request) {
 
         logger.info("Adding {} stock to SKU with ID: {}", quantity, id);
 
-        SkuDto updatedSku = skuService.addStock(id, quantity);
+        SkuDto updatedSku =
+                executeIdempotent(
+                        idempotencyKey, "ADD", id, quantity, () -> skuService.addStock(id, quantity));
 
         ApiResponse<SkuDto> response =
                 ApiResponse.success("Stock added successfully", updatedSku, request.getRequestURI());
@@ -546,11 +612,16 @@ public class SkuController {
     public ResponseEntity<ApiResponse<SkuDto>> removeStock(
             @PathVariable @NotNull Long id,
             @RequestParam @Min(1) int quantity,
+            @Parameter(description = "Key that makes retries of this request return the original result")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey,
             HttpServletRequest request) {
 
         logger.info("Removing {} stock from SKU with ID: {}", quantity, id);
 
-        SkuDto updatedSku = skuService.removeStock(id, quantity);
+        SkuDto updatedSku =
+                executeIdempotent(
+                        idempotencyKey, "REMOVE", id, quantity, () -> skuService.removeStock(id, quantity));
 
         ApiResponse<SkuDto> response =
                 ApiResponse.success("Stock removed successfully", updatedSku, request.getRequestURI());
@@ -590,11 +661,16 @@ public class SkuController {
     public ResponseEntity<ApiResponse<SkuDto>> reserveStock(
             @PathVariable @NotNull Long id,
             @RequestParam @Min(1) int quantity,
+            @Parameter(description = "Key that makes retries of this request return the original result")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey,
             HttpServletRequest request) {
 
         logger.info("Reserving {} stock for SKU with ID: {}", quantity, id);
 
-        SkuDto updatedSku = skuService.reserveStock(id, quantity);
+        SkuDto updatedSku =
+                executeIdempotent(
+                        idempotencyKey, "RESERVE", id, quantity, () -> skuService.reserveStock(id, quantity));
 
         ApiResponse<SkuDto> response =
                 ApiResponse.success("Stock reserved successfully", updatedSku, request.getRequestURI());
@@ -634,11 +710,16 @@ public class SkuController {
     public ResponseEntity<ApiResponse<SkuDto>> releaseStock(
             @PathVariable @NotNull Long id,
             @RequestParam @Min(1) int quantity,
+            @Parameter(description = "Key that makes retries of this request return the original result")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            String idempotencyKey,
             HttpServletRequest request) {
 
         logger.info("Releasing {} reserved stock for SKU with ID: {}", quantity, id);
 
-        SkuDto updatedSku = skuService.releaseStock(id, quantity);
+        SkuDto updatedSku =
+                executeIdempotent(
+                        idempotencyKey, "RELEASE", id, quantity, () -> skuService.releaseStock(id, quantity));
 
         ApiResponse<SkuDto> response =
                 ApiResponse.success("Stock released successfully", updatedSku, request.getRequestURI());
@@ -646,6 +727,649 @@ public class SkuController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Reserve stock for several SKUs in a single all-or-nothing operation.
+     *
+     * @param reservationRequest the reservation lines and shared reference details
+     * @param request            HTTP request for path information
+     * @return per-line reservation results
+     */
+    @PostMapping("/stock/reservations")
+    @Operation(
+            summary = "Reserve Stock For Multiple SKUs",
+            description =
+                    "Reserve stock for all lines of an order in one transaction. Either every line is reserved or none is.")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Stock reserved successfully",
+                            content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid request data"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "409",
+                            description = "Insufficient stock for at least one line"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "422",
+                            description = "At least one SKU is inactive")
+            })
+    public ResponseEntity<ApiResponse<BulkOperationResponse<StockReservationResult>>> reserveStockBatch(
+            @Valid @RequestBody StockReservationRequest reservationRequest, HttpServletRequest request) {
+
+        logger.info("Reserving stock for {} lines", reservationRequest.getLines().size());
+
+        long startTime = System.currentTimeMillis();
+        List<StockReservationResult> results = skuService.reserveStockBatch(reservationRequest);
+
+        BulkOperationResponse<StockReservationResult> bulkResponse =
+                BulkOperationResponse.success(results);
+        bulkResponse.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+
+        ApiResponse<BulkOperationResponse<StockReservationResult>> response =
+                ApiResponse.success("Stock reserved successfully", bulkResponse, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reserve stock for a SKU until a TTL passes.
+     *
+     * @param id          the SKU ID
+     * @param quantity    quantity to reserve
+     * @param ttlSeconds  hold duration in seconds
+     * @param referenceId reference for the hold, e.g. a cart ID
+     * @param request     HTTP request for path information
+     * @return the created hold
+     */
+    @PostMapping("/{id}/stock/holds")
+    @Operation(
+            summary = "Create Reservation Hold",
+            description =
+                    "Reserve stock for a SKU for a limited time. The stock is released automatically when the hold expires.")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "201",
+                            description = "Hold created successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid quantity or TTL"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "409",
+                            description = "Insufficient stock")
+            })
+    public ResponseEntity<ApiResponse<ReservationHoldDto>> createReservationHold(
+            @PathVariable @NotNull Long id,
+            @RequestParam @Min(1) int quantity,
+            @RequestParam(required = false) @Min(1) Long ttlSeconds,
+            @RequestParam(required = false) String referenceId,
+            HttpServletRequest request) {
+
+        logger.info("Creating reservation hold of {} units for SKU with ID: {}", quantity, id);
+
+        ReservationHoldDto hold =
+                reservationHoldService.createHold(id, quantity, ttlSeconds, referenceId);
+
+        ApiResponse<ReservationHoldDto> response =
+                ApiResponse.success("Hold created successfully", hold, request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Release a reservation hold before it expires.
+     *
+     * @param holdId  the hold ID
+     * @param request HTTP request for path information
+     * @return the released hold
+     */
+    @PostMapping("/stock/holds/{holdId}/release")
+    @Operation(summary = "Release Reservation Hold", description = "Release an active hold and give its stock back")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Hold released successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Hold not found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "422",
+                            description = "Hold is no longer active")
+            })
+    public ResponseEntity<ApiResponse<ReservationHoldDto>> releaseReservationHold(
+            @PathVariable @NotNull Long holdId, HttpServletRequest request) {
+
+        logger.info("Releasing reservation hold with ID: {}", holdId);
+
+        ReservationHoldDto hold = reservationHoldService.releaseHold(holdId);
+
+        ApiResponse<ReservationHoldDto> response =
+                ApiResponse.success("Hold released successfully", hold, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Confirm a reservation hold so its stock stays reserved and it no longer expires.
+     *
+     * @param holdId  the hold ID
+     * @param request HTTP request for path information
+     * @return the confirmed hold
+     */
+    @PostMapping("/stock/holds/{holdId}/confirm")
+    @Operation(
+            summary = "Confirm Reservation Hold",
+            description = "Keep an active hold's stock reserved for fulfillment and stop it from expiring")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Hold confirmed successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Hold not found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "422",
+                            description = "Hold is no longer active")
+            })
+    public ResponseEntity<ApiResponse<ReservationHoldDto>> confirmReservationHold(
+            @PathVariable @NotNull Long holdId, HttpServletRequest request) {
+
+        logger.info("Confirming reservation hold with ID: {}", holdId);
+
+        ReservationHoldDto hold = reservationHoldService.confirmHold(holdId);
+
+        ApiResponse<ReservationHoldDto> response =
+                ApiResponse.success("Hold confirmed successfully", hold, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Split a hot SKU's stock counters into shards so concurrent reservations do not queue on one row.
+     *
+     * @param id      the SKU ID
+     * @param count   number of shards
+     * @param request HTTP request for path information
+     * @return the SKU with aggregated stock levels
+     */
+    @PutMapping("/{id}/stock/shards")
+    @Operation(
+            summary = "Enable Stock Sharding",
+            description =
+                    "Spread a hot SKU's available and reserved stock over several counter rows so reservations scale with concurrency")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Stock sharding enabled successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid shard count"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found")
+            })
+    public ResponseEntity<ApiResponse<SkuDto>> enableStockSharding(
+            @PathVariable @NotNull Long id,
+            @RequestParam @Min(2) @Max(64) int count,
+            HttpServletRequest request) {
+
+        logger.info("Enabling {} stock shards for SKU with ID: {}", count, id);
+
+        stockShardService.enableSharding(id, count);
+        SkuDto sku = skuService.getSkuById(id);
+
+        ApiResponse<SkuDto> response =
+                ApiResponse.success("Stock sharding enabled successfully", sku, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Fold a SKU's stock shards back into the SKU row.
+     *
+     * @param id      the SKU ID
+     * @param request HTTP request for path information
+     * @return the SKU with its stock levels
+     */
+    @DeleteMapping("/{id}/stock/shards")
+    @Operation(summary = "Disable Stock Sharding", description = "Fold a SKU's stock shards back into the SKU row")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Stock sharding disabled successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found")
+            })
+    public ResponseEntity<ApiResponse<SkuDto>> disableStockSharding(
+            @PathVariable @NotNull Long id, HttpServletRequest request) {
+
+        logger.info("Disabling stock shards for SKU with ID: {}", id);
+
+        stockShardService.disableSharding(id);
+        SkuDto sku = skuService.getSkuById(id);
+
+        ApiResponse<SkuDto> response =
+                ApiResponse.success("Stock sharding disabled successfully", sku, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // ===== TRANSACTION HISTORY =====
+
+    /**
+     * Get a SKU's inventory transactions, newest first, one keyset page at a time.
+     *
+     * @param id      the SKU ID
+     * @param cursor  continuation token from the previous page; the first page if omitted
+     * @param size    page size
+     * @param request HTTP request for path information
+     * @return the page of transactions with a cursor for the next page
+     */
+    @GetMapping("/{id}/transactions")
+    @Operation(
+            summary = "Get SKU Transactions",
+            description = "Retrieve a SKU's inventory transactions newest first, including archived ones, with cursor pagination")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Transactions retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found")
+            })
+    public ResponseEntity<ApiResponse<PagedResponse<InventoryTransactionDto>>> getSkuTransactions(
+            @PathVariable @NotNull Long id,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false)
+                    String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            HttpServletRequest request) {
+
+        logger.debug("Retrieving transactions for SKU ID: {}", id);
+
+        CursorPage<InventoryTransactionDto> transactions =
+                inventoryService.getTransactionsBySkuId(id, cursor, size).map(InventoryTransactionDto::new);
+
+        String baseUrl = request.getRequestURL().toString();
+        PagedResponse<InventoryTransactionDto> pagedResponse = PagedResponse.of(transactions, baseUrl);
+
+        ApiResponse<PagedResponse<InventoryTransactionDto>> response =
+                ApiResponse.success("Transactions retrieved successfully", pagedResponse, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Search inventory transactions, newest first, one keyset page at a time.
+     *
+     * @param skuId           SKU filter
+     * @param transactionType transaction type filter
+     * @param referenceId     reference ID filter
+     * @param referenceType   reference type filter
+     * @param performedBy     user filter
+     * @param startDate       start date filter, inclusive
+     * @param endDate         end date filter, inclusive
+     * @param cursor          continuation token from the previous page; the first page if omitted
+     * @param size            page size
+     * @param request         HTTP request for path information
+     * @return the page of matching transactions with a cursor for the next page
+     */
+    @GetMapping("/transactions")
+    @Operation(
+            summary = "Search Transactions",
+            description =
+                    "Retrieve inventory transactions matching the filters newest first, including archived ones, with cursor pagination")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Transactions retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor or date range"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized")
+            })
+    public ResponseEntity<ApiResponse<PagedResponse<InventoryTransactionDto>>> searchTransactions(
+            @RequestParam(required = false) Long skuId,
+            @RequestParam(required = false) InventoryTransaction.TransactionType transactionType,
+            @RequestParam(required = false) String referenceId,
+            @RequestParam(required = false) String referenceType,
+            @RequestParam(required = false) String performedBy,
+            @Parameter(description = "ISO date-time, e.g. 2025-01-15T10:00:00")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime startDate,
+            @Parameter(description = "ISO date-time, e.g. 2025-01-31T23:59:59")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime endDate,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false)
+                    String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            HttpServletRequest request) {
+
+        logger.debug("Searching transactions");
+
+        boolean dateRangeOnly =
+                startDate != null
+                        && endDate != null
+                        && skuId == null
+                        && transactionType == null
+                        && referenceId == null
+                        && referenceType == null
+                        && performedBy == null;
+        CursorPage<InventoryTransaction> page =
+                dateRangeOnly
+                        ? inventoryService.getTransactionsByDateRange(startDate, endDate, cursor, size)
+                        : inventoryService.searchTransactions(
+                                skuId,
+                                transactionType,
+                                referenceId,
+                                referenceType,
+                                performedBy,
+                                startDate,
+                                endDate,
+                                cursor,
+                                size);
+
+        // Keep the filters of the request in the next link
+        String baseUrl = ServletUriComponentsBuilder.fromRequest(request).build(true).toUriString();
+        PagedResponse<InventoryTransactionDto> pagedResponse =
+                PagedResponse.of(page.map(InventoryTransactionDto::new), baseUrl);
+
+        ApiResponse<PagedResponse<InventoryTransactionDto>> response =
+                ApiResponse.success("Transactions retrieved successfully", pagedResponse, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // ===== TRANSACTION ANALYTICS =====
+
+    /**
+     * Aggregate inventory transactions by type, by day, by reference type and by performer.
+     *
+     * @param skuId    SKU to aggregate; all SKUs if omitted
+     * @param fromDate first day to include; 29 days before the last day if omitted
+     * @param toDate   last day to include; today if omitted
+     * @param request  HTTP request for path information
+     * @return the aggregates
+     */
+    @GetMapping("/transactions/analytics")
+    @Operation(
+            summary = "Transaction Analytics",
+            description =
+                    "Count and sum inventory transactions by type, by day, by reference type and by performer, grouped in the database")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Transaction analytics retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid date range"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found")
+            })
+    public ResponseEntity<ApiResponse<InventoryService.TransactionAnalytics>> getTransactionAnalytics(
+            @RequestParam(required = false) Long skuId,
+            @Parameter(description = "First day, e.g. 2025-01-01")
+                    @RequestParam(name = "from", required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate fromDate,
+            @Parameter(description = "Last day, e.g. 2025-01-31")
+                    @RequestParam(name = "to", required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate toDate,
+            HttpServletRequest request) {
+
+        LocalDate lastDay = toDate != null ? toDate : LocalDate.now();
+        LocalDate firstDay = fromDate != null ? fromDate : lastDay.minusDays(29);
+        logger.info("Aggregating transactions for SKU ID: {} from {} to {}", skuId, firstDay, lastDay);
+
+        InventoryService.TransactionAnalytics analytics =
+                inventoryService.getTransactionAnalytics(skuId, firstDay, lastDay);
+
+        ApiResponse<InventoryService.TransactionAnalytics> response =
+                ApiResponse.success(
+                        "Transaction analytics retrieved successfully", analytics, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // ===== LEDGER REPLAY =====
+
+    /**
+     * Replay a SKU's inventory ledger to the stock levels it implies, now or at a past point in time.
+     *
+     * @param id      the SKU ID
+     * @param asOf    point in time to replay up to; the latest transaction if omitted
+     * @param request HTTP request for path information
+     * @return the replayed stock levels
+     */
+    @GetMapping("/{id}/stock/ledger")
+    @Operation(
+            summary = "Replay Stock Ledger",
+            description =
+                    "Rebuild a SKU's stock and reserved quantities from its latest ledger checkpoint plus the transactions after it")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Ledger replayed successfully",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "SKU not found")
+            })
+    public ResponseEntity<ApiResponse<LedgerReplayService.LedgerState>> replayStockLedger(
+            @PathVariable @NotNull Long id,
+            @Parameter(description = "ISO date-time to replay up to, e.g. 2025-01-15T10:00:00")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime asOf,
+            HttpServletRequest request) {
+
+        logger.info("Replaying stock ledger for SKU with ID: {} as of {}", id, asOf);
+
+        LedgerReplayService.LedgerState state =
+                asOf != null ? ledgerReplayService.replayAsOf(id, asOf) : ledgerReplayService.replay(id);
+
+        ApiResponse<LedgerReplayService.LedgerState> response =
+                ApiResponse.success("Ledger replayed successfully", state, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Compare SKU stock levels with their ledger and optionally overwrite the ones that differ.
+     *
+     * @param skuIds  SKU IDs to check; all SKUs if omitted
+     * @param apply   whether to correct SKUs that differ from their ledger
+     * @param request HTTP request for path information
+     * @return the SKUs that differ from their ledger
+     */
+    @PostMapping("/stock/rebuild")
+    @Operation(
+            summary = "Rebuild Stock From Ledger",
+            description =
+                    "Replay the ledger of many SKUs in parallel and report, or with apply=true correct, stock levels that differ from it")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Ledger rebuild completed",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized")
+            })
+    public ResponseEntity<ApiResponse<LedgerReplayService.RebuildReport>> rebuildStockFromLedger(
+            @RequestParam(required = false) List<Long> skuIds,
+            @RequestParam(defaultValue = "false") boolean apply,
+            HttpServletRequest request) {
+
+        logger.info("Rebuilding stock from the ledger (apply={})", apply);
+
+        LedgerReplayService.RebuildReport report = ledgerReplayService.rebuildStock(skuIds, apply);
+
+        ApiResponse<LedgerReplayService.RebuildReport> response =
+                ApiResponse.success("Ledger rebuild completed", report, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Verify the stock levels of every SKU against the sums of their ledger and optionally correct the ledger where they differ.
+     *
+     * @param correct whether to append ledger transactions that bring drifted ledgers to their SKU's stock levels
+     * @param request HTTP request for path information
+     * @return the SKUs whose stock levels differ from their ledger
+     */
+    @PostMapping("/stock/verify")
+    @Operation(
+            summary = "Verify Stock Against Ledger",
+            description =
+                    "Sum the ledger of every SKU in parallel ID ranges without locking SKUs, and report, or with correct=true fix with ADJUSTMENT transactions, SKUs that differ from it")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Ledger verification completed",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized")
+            })
+    public ResponseEntity<ApiResponse<LedgerVerificationService.VerificationReport>> verifyStockAgainstLedger(
+            @RequestParam(defaultValue = "false") boolean correct, HttpServletRequest request) {
+
+        logger.info("Verifying stock against the ledger (correct={})", correct);
+
+        LedgerVerificationService.VerificationReport report = ledgerVerificationService.verify(correct);
+
+        ApiResponse<LedgerVerificationService.VerificationReport> response =
+                ApiResponse.success("Ledger verification completed", report, request.getRequestURI());
+
+        return ResponseEntity.ok(response);
+    }
+
+    // ===== LEDGER EXPORT =====
+
+    /**
+     * Stream the inventory ledger as NDJSON or CSV, oldest transaction first.
+     *
+     * @param format          output format, ndjson or csv
+     * @param skuId           SKU filter
+     * @param transactionType transaction type filter
+     * @param referenceId     reference ID filter
+     * @param referenceType   reference type filter
+     * @param performedBy     user filter
+     * @param startDate       start date filter, inclusive
+     * @param endDate         end date filter, inclusive
+     * @param response        HTTP response the export is written to
+     */
+    @GetMapping("/transactions/export")
+    @Operation(
+            summary = "Export Inventory Ledger",
+            description =
+                    "Stream inventory transactions matching the filters as NDJSON or CSV without buffering them in memory")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Ledger streamed successfully"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid format or date range"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized")
+            })
+    public void exportTransactions(
+            @Parameter(description = "Output format: ndjson or csv") @RequestParam(defaultValue = "ndjson")
+                    String format,
+            @RequestParam(required = false) Long skuId,
+            @RequestParam(required = false) InventoryTransaction.TransactionType transactionType,
+            @RequestParam(required = false) String referenceId,
+            @RequestParam(required = false) String referenceType,
+            @RequestParam(required = false) String performedBy,
+            @Parameter(description = "ISO date-time, e.g. 2025-01-15T10:00:00")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime startDate,
+            @Parameter(description = "ISO date-time, e.g. 2025-01-31T23:59:59")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime endDate,
+            HttpServletResponse response) {
+
+        LedgerExportService.ExportFormat exportFormat = LedgerExportService.ExportFormat.fromName(format);
+
+        logger.info("Exporting inventory ledger as {}", exportFormat);
+
+        ledgerExportService.export(
+                exportFormat,
+                skuId,
+                transactionType,
+                referenceId,
+                referenceType,
+                performedBy,
+                startDate,
+                endDate,
+                new ExportOutputStream(response, exportFormat));
+    }
+
     // ===== BULK OPERATIONS =====
 
     /**
@@ -851,4 +1575,60 @@ public class SkuController {
                 || isActive != null
                 || isLowStock != null;
     }
+
+    /**
+     * Runs a stock operation, replaying the stored result instead when the idempotency key has been seen before.
+     */
+    private SkuDto executeIdempotent(
+            String idempotencyKey, String operation, Long id, int quantity, Supplier<SkuDto> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        return idempotencyService.execute(idempotencyKey, operation, id, quantity, action);
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Response body of a ledger export. The export's headers are set when the first bytes are written or flushed, so an export the
+     * service rejects before writing, e.g. for an invalid date range, can still be answered with an error response.
+     */
+    private static final class ExportOutputStream extends OutputStream {
+
+        private final HttpServletResponse response;
+        private final LedgerExportService.ExportFormat format;
+        private OutputStream body;
+
+        ExportOutputStream(HttpServletResponse response, LedgerExportService.ExportFormat format) {
+            this.response = response;
+            this.format = format;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            body().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            body().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            body().flush();
+        }
+
+        private OutputStream body() throws IOException {
+            if (body == null) {
+                response.setContentType(format.getContentType());
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"inventory-transactions." + format.getFileExtension() + "\"");
+                body = response.getOutputStream();
+            }
+            return body;
+        }
+    }
 }
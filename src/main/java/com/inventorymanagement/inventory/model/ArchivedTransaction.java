@@ -0,0 +1,92 @@
+package com.inventorymanagement.inventory.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * An inventory ledger row as held in an archive segment. Archived rows no longer exist in the {@code inventory_transactions} table, so they
+ * carry the SKU ID rather than the entity.
+ */
+public class ArchivedTransaction {
+
+    private final long id;
+    private final long skuId;
+    private final InventoryTransaction.TransactionType transactionType;
+    private final int quantity;
+    private final String referenceId;
+    private final String referenceType;
+    private final String reason;
+    private final String performedBy;
+    private final LocalDateTime createdAt;
+
+    public ArchivedTransaction(
+            Long id,
+            Long skuId,
+            InventoryTransaction.TransactionType transactionType,
+            Integer quantity,
+            String referenceId,
+            String referenceType,
+            String reason,
+            String performedBy,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.skuId = skuId;
+        this.transactionType = transactionType;
+        this.quantity = quantity;
+        this.referenceId = referenceId;
+        this.referenceType = referenceType;
+        this.reason = reason;
+        this.performedBy = performedBy;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Creates a detached transaction entity for this row, for callers that merge archived rows with rows from the table.
+     *
+     * @param sku the SKU the row belongs to
+     * @return the transaction
+     */
+    public InventoryTransaction toTransaction(Sku sku) {
+        InventoryTransaction transaction =
+                new InventoryTransaction(
+                        sku, transactionType, quantity, referenceId, referenceType, reason, performedBy);
+        transaction.setId(id);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getSkuId() {
+        return skuId;
+    }
+
+    public InventoryTransaction.TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public String getReferenceType() {
+        return referenceType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
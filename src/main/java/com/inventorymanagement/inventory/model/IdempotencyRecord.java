@@ -0,0 +1,202 @@
+package com.inventorymanagement.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity storing the result of a stock-mutating request made with an {@code Idempotency-Key} header. A retried request with the same key
+ * is answered from this record instead of being applied again.
+ */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_idempotency_keys_key", columnNames = "idempotency_key")
+        },
+        indexes = {@Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")})
+@SuppressWarnings("DesignForExtension")
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(
+            String idempotencyKey,
+            String operation,
+            Long skuId,
+            Integer quantity,
+            String responseBody,
+            LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.operation = operation;
+        this.skuId = skuId;
+        this.quantity = quantity;
+        this.responseBody = responseBody;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Business methods
+
+    /**
+     * Checks whether this record was created for the same operation, SKU and quantity.
+     *
+     * @param operation the operation name
+     * @param skuId     the SKU ID
+     * @param quantity  the quantity
+     * @return true if the request matches
+     */
+    public boolean matches(String operation, Long skuId, Integer quantity) {
+        return Objects.equals(this.operation, operation)
+                && Objects.equals(this.skuId, skuId)
+                && Objects.equals(this.quantity, quantity);
+    }
+
+    /**
+     * Checks whether this record has expired.
+     *
+     * @param now the current time
+     * @return true if expired
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        IdempotencyRecord that = (IdempotencyRecord) obj;
+        return Objects.equals(idempotencyKey, that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idempotencyKey);
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{"
+                + "idempotencyKey='"
+                + idempotencyKey
+                + '\''
+                + ", operation='"
+                + operation
+                + '\''
+                + ", skuId="
+                + skuId
+                + ", quantity="
+                + quantity
+                + ", expiresAt="
+                + expiresAt
+                + '}';
+    }
+}
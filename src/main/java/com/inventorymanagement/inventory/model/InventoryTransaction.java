@@ -25,9 +25,10 @@ import java.util.Objects;
 @Table(
         name = "inventory_transactions",
         indexes = {
-                @Index(name = "idx_transaction_sku", columnList = "sku_id"),
+                @Index(name = "idx_transaction_sku", columnList = "sku_id,id"),
                 @Index(name = "idx_transaction_type", columnList = "transaction_type"),
-                @Index(name = "idx_transaction_date", columnList = "created_at"),
+                @Index(name = "idx_transaction_date", columnList = "created_at,id"),
+                @Index(name = "idx_transaction_sku_date", columnList = "sku_id,created_at,id"),
                 @Index(name = "idx_transaction_reference", columnList = "reference_id,reference_type")
         })
 @SuppressWarnings("DesignForExtension")
@@ -0,0 +1,127 @@
+package com.inventorymanagement.inventory.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for an inventory ledger transaction. Carries the SKU ID only, so building it never loads the SKU.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InventoryTransactionDto {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("sku_id")
+    private Long skuId;
+
+    @JsonProperty("transaction_type")
+    private InventoryTransaction.TransactionType transactionType;
+
+    @JsonProperty("quantity")
+    private Integer quantity;
+
+    @JsonProperty("reference_id")
+    private String referenceId;
+
+    @JsonProperty("reference_type")
+    private String referenceType;
+
+    @JsonProperty("reason")
+    private String reason;
+
+    @JsonProperty("performed_by")
+    private String performedBy;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public InventoryTransactionDto() {}
+
+    public InventoryTransactionDto(InventoryTransaction transaction) {
+        this.id = transaction.getId();
+        this.skuId = transaction.getSku().getId();
+        this.transactionType = transaction.getTransactionType();
+        this.quantity = transaction.getQuantity();
+        this.referenceId = transaction.getReferenceId();
+        this.referenceType = transaction.getReferenceType();
+        this.reason = transaction.getReason();
+        this.performedBy = transaction.getPerformedBy();
+        this.createdAt = transaction.getCreatedAt();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public InventoryTransaction.TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(InventoryTransaction.TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public String getReferenceType() {
+        return referenceType;
+    }
+
+    public void setReferenceType(String referenceType) {
+        this.referenceType = referenceType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventorymanagement.inventory.model;
+
+/**
+ * A SKU's stock counters next to the counters its ledger sums to, as read by the ledger verifier. The ledger side is the SKU's latest
+ * checkpoint plus the signed sums of its transactions after it.
+ */
+public class LedgerBalance {
+
+    private final long skuId;
+    private final String skuCode;
+    private final int rowStockQuantity;
+    private final int rowReservedQuantity;
+    private final long ledgerStockQuantity;
+    private final long ledgerReservedQuantity;
+
+    public LedgerBalance(
+            long skuId,
+            String skuCode,
+            int rowStockQuantity,
+            int rowReservedQuantity,
+            long ledgerStockQuantity,
+            long ledgerReservedQuantity) {
+        this.skuId = skuId;
+        this.skuCode = skuCode;
+        this.rowStockQuantity = rowStockQuantity;
+        this.rowReservedQuantity = rowReservedQuantity;
+        this.ledgerStockQuantity = ledgerStockQuantity;
+        this.ledgerReservedQuantity = ledgerReservedQuantity;
+    }
+
+    public long getSkuId() {
+        return skuId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public int getRowStockQuantity() {
+        return rowStockQuantity;
+    }
+
+    /** Reserved quantity of the SKU row plus its stock shards. */
+    public int getRowReservedQuantity() {
+        return rowReservedQuantity;
+    }
+
+    public long getLedgerStockQuantity() {
+        return ledgerStockQuantity;
+    }
+
+    public long getLedgerReservedQuantity() {
+        return ledgerReservedQuantity;
+    }
+
+    /** Whether the SKU row agrees with its ledger sums. */
+    public boolean isBalanced() {
+        return rowStockQuantity == ledgerStockQuantity && rowReservedQuantity == ledgerReservedQuantity;
+    }
+}
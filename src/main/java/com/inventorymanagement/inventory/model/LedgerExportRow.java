@@ -0,0 +1,84 @@
+package com.inventorymanagement.inventory.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One inventory ledger row as streamed by the ledger export, with the SKU code resolved. Instances are read straight from a JDBC cursor
+ * and written out immediately, so no persistence context is involved.
+ */
+public class LedgerExportRow {
+
+    private final long id;
+    private final long skuId;
+    private final String skuCode;
+    private final String transactionType;
+    private final int quantity;
+    private final String referenceId;
+    private final String referenceType;
+    private final String reason;
+    private final String performedBy;
+    private final LocalDateTime createdAt;
+
+    public LedgerExportRow(
+            long id,
+            long skuId,
+            String skuCode,
+            String transactionType,
+            int quantity,
+            String referenceId,
+            String referenceType,
+            String reason,
+            String performedBy,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.skuId = skuId;
+        this.skuCode = skuCode;
+        this.transactionType = transactionType;
+        this.quantity = quantity;
+        this.referenceId = referenceId;
+        this.referenceType = referenceType;
+        this.reason = reason;
+        this.performedBy = performedBy;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getSkuId() {
+        return skuId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public String getReferenceType() {
+        return referenceType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,208 @@
+package com.inventorymanagement.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a time-limited stock reservation. While active, the hold's quantity is part of the SKU's reserved quantity; it is
+ * given back automatically when the hold expires.
+ */
+@Entity
+@Table(
+        name = "reservation_holds",
+        indexes = {
+                @Index(name = "idx_reservation_holds_sku", columnList = "sku_id"),
+                @Index(name = "idx_reservation_holds_status", columnList = "status")
+        })
+@SuppressWarnings("DesignForExtension")
+public class ReservationHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "reference_id", length = 100)
+    private String referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private HoldStatus status = HoldStatus.ACTIVE;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ReservationHold() {}
+
+    public ReservationHold(Long skuId, Integer quantity, String referenceId, LocalDateTime expiresAt) {
+        this.skuId = skuId;
+        this.quantity = quantity;
+        this.referenceId = referenceId;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Business methods
+
+    /**
+     * Checks whether this hold still reserves stock.
+     *
+     * @return true if active
+     */
+    public boolean isActive() {
+        return status == HoldStatus.ACTIVE;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ReservationHold that = (ReservationHold) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationHold{"
+                + "id="
+                + id
+                + ", skuId="
+                + skuId
+                + ", quantity="
+                + quantity
+                + ", status="
+                + status
+                + ", expiresAt="
+                + expiresAt
+                + '}';
+    }
+
+    /**
+     * Enum representing the lifecycle states of a reservation hold.
+     */
+    @SuppressWarnings("DesignForExtension")
+    public enum HoldStatus {
+        ACTIVE("Active"),
+        CONFIRMED("Confirmed"),
+        RELEASED("Released"),
+        EXPIRED("Expired");
+
+        private final String description;
+
+        HoldStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.inventorymanagement.inventory.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a time-limited stock reservation.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationHoldDto {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("sku_id")
+    private Long skuId;
+
+    @JsonProperty("quantity")
+    private Integer quantity;
+
+    @JsonProperty("reference_id")
+    private String referenceId;
+
+    @JsonProperty("status")
+    private ReservationHold.HoldStatus status;
+
+    @JsonProperty("expires_at")
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public ReservationHoldDto() {}
+
+    public ReservationHoldDto(ReservationHold hold) {
+        this.id = hold.getId();
+        this.skuId = hold.getSkuId();
+        this.quantity = hold.getQuantity();
+        this.referenceId = hold.getReferenceId();
+        this.status = hold.getStatus();
+        this.expiresAt = hold.getExpiresAt();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public ReservationHold.HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationHold.HoldStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,146 @@
+package com.inventorymanagement.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a SKU's stock counters after applying its ledger up to a given transaction. Ledger replay starts from the latest
+ * checkpoint and applies only the transactions after it.
+ */
+@Entity
+@Table(
+        name = "sku_ledger_checkpoints",
+        indexes = {@Index(name = "idx_sku_ledger_checkpoints_last_transaction", columnList = "last_transaction_id")},
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_sku_ledger_checkpoints_sku_transaction",
+                        columnNames = {"sku_id", "last_transaction_id"})
+        })
+@SuppressWarnings("DesignForExtension")
+public class SkuLedgerCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    @Column(name = "stock_quantity", nullable = false)
+    private Integer stockQuantity;
+
+    @Column(name = "reserved_quantity", nullable = false)
+    private Integer reservedQuantity;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SkuLedgerCheckpoint() {}
+
+    public SkuLedgerCheckpoint(
+            Long skuId, Long lastTransactionId, Integer stockQuantity, Integer reservedQuantity) {
+        this.skuId = skuId;
+        this.lastTransactionId = lastTransactionId;
+        this.stockQuantity = stockQuantity;
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public Long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(Long lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+
+    public Integer getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public void setReservedQuantity(Integer reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SkuLedgerCheckpoint that = (SkuLedgerCheckpoint) obj;
+        return Objects.equals(skuId, that.skuId)
+                && Objects.equals(lastTransactionId, that.lastTransactionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(skuId, lastTransactionId);
+    }
+
+    @Override
+    public String toString() {
+        return "SkuLedgerCheckpoint{"
+                + "skuId="
+                + skuId
+                + ", lastTransactionId="
+                + lastTransactionId
+                + ", stockQuantity="
+                + stockQuantity
+                + ", reservedQuantity="
+                + reservedQuantity
+                + '}';
+    }
+}
@@ -0,0 +1,142 @@
+package com.inventorymanagement.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing one stock sub-counter of a sharded SKU. Each shard holds a slice of the SKU's available stock and the stock reserved
+ * from that slice, so reservations on different shards do not contend for the same row.
+ */
+@Entity
+@Table(
+        name = "sku_stock_shards",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_sku_stock_shards_sku_shard",
+                        columnNames = {"sku_id", "shard_index"})
+        })
+@SuppressWarnings("DesignForExtension")
+public class SkuStockShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(name = "available_quantity", nullable = false)
+    private Integer availableQuantity = 0;
+
+    @Column(name = "reserved_quantity", nullable = false)
+    private Integer reservedQuantity = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public SkuStockShard() {}
+
+    public SkuStockShard(Long skuId, Integer shardIndex) {
+        this.skuId = skuId;
+        this.shardIndex = shardIndex;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public Integer getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(Integer shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public Integer getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public void setReservedQuantity(Integer reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SkuStockShard that = (SkuStockShard) obj;
+        return Objects.equals(skuId, that.skuId) && Objects.equals(shardIndex, that.shardIndex);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(skuId, shardIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "SkuStockShard{"
+                + "skuId="
+                + skuId
+                + ", shardIndex="
+                + shardIndex
+                + ", availableQuantity="
+                + availableQuantity
+                + ", reservedQuantity="
+                + reservedQuantity
+                + '}';
+    }
+}
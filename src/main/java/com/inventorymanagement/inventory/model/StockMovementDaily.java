@@ -0,0 +1,163 @@
+package com.inventorymanagement.inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing the stock movement of one SKU on one day for one transaction type. Rows are maintained incrementally as ledger rows
+ * are written, so movement summaries over long periods read one row per day instead of every transaction.
+ */
+@Entity
+@Table(
+        name = "stock_movement_daily",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_stock_movement_daily_sku_date_type",
+                        columnNames = {"sku_id", "movement_date", "transaction_type"})
+        })
+@SuppressWarnings("DesignForExtension")
+public class StockMovementDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "movement_date", nullable = false)
+    private LocalDate movementDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private InventoryTransaction.TransactionType transactionType;
+
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity = 0L;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public StockMovementDaily() {}
+
+    public StockMovementDaily(
+            Long skuId, LocalDate movementDate, InventoryTransaction.TransactionType transactionType) {
+        this.skuId = skuId;
+        this.movementDate = movementDate;
+        this.transactionType = transactionType;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public LocalDate getMovementDate() {
+        return movementDate;
+    }
+
+    public void setMovementDate(LocalDate movementDate) {
+        this.movementDate = movementDate;
+    }
+
+    public InventoryTransaction.TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(InventoryTransaction.TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public Long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Long totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(Long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        StockMovementDaily that = (StockMovementDaily) obj;
+        return Objects.equals(skuId, that.skuId)
+                && Objects.equals(movementDate, that.movementDate)
+                && transactionType == that.transactionType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(skuId, movementDate, transactionType);
+    }
+
+    @Override
+    public String toString() {
+        return "StockMovementDaily{"
+                + "skuId="
+                + skuId
+                + ", movementDate="
+                + movementDate
+                + ", transactionType="
+                + transactionType
+                + ", totalQuantity="
+                + totalQuantity
+                + ", transactionCount="
+                + transactionCount
+                + '}';
+    }
+}
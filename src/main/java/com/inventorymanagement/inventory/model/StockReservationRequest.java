@@ -0,0 +1,182 @@
+package com.inventorymanagement.inventory.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Request to reserve stock for several SKUs at once, typically all lines of a single order. Either every line is reserved or none is.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockReservationRequest {
+
+    @NotEmpty(message = "Reservation lines cannot be empty")
+    @Size(max = 100, message = "Maximum 100 lines allowed per reservation")
+    @Valid
+    private List<Line> lines;
+
+    @Size(max = 100, message = "Reference ID must not exceed 100 characters")
+    @JsonProperty("reference_id")
+    private String referenceId;
+
+    @Size(max = 50, message = "Reference type must not exceed 50 characters")
+    @JsonProperty("reference_type")
+    private String referenceType;
+
+    @Size(max = 255, message = "Reason must not exceed 255 characters")
+    private String reason;
+
+    @Size(max = 100, message = "Performed by must not exceed 100 characters")
+    @JsonProperty("performed_by")
+    private String performedBy;
+
+    // Constructors
+    public StockReservationRequest() {}
+
+    public StockReservationRequest(List<Line> lines, String referenceId, String referenceType) {
+        this.lines = lines;
+        this.referenceId = referenceId;
+        this.referenceType = referenceType;
+    }
+
+    // Getters and setters
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public String getReferenceType() {
+        return referenceType;
+    }
+
+    public void setReferenceType(String referenceType) {
+        this.referenceType = referenceType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        StockReservationRequest that = (StockReservationRequest) obj;
+        return Objects.equals(lines, that.lines)
+                && Objects.equals(referenceId, that.referenceId)
+                && Objects.equals(referenceType, that.referenceType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lines, referenceId, referenceType);
+    }
+
+    @Override
+    public String toString() {
+        return "StockReservationRequest{"
+                + "lines="
+                + lines
+                + ", referenceId='"
+                + referenceId
+                + '\''
+                + ", referenceType='"
+                + referenceType
+                + '\''
+                + '}';
+    }
+
+    /**
+     * A single SKU and quantity to reserve.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Line {
+
+        @NotNull(message = "SKU ID is required")
+        @JsonProperty("sku_id")
+        private Long skuId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be positive")
+        private Integer quantity;
+
+        public Line() {}
+
+        public Line(Long skuId, Integer quantity) {
+            this.skuId = skuId;
+            this.quantity = quantity;
+        }
+
+        // Getters and setters
+        public Long getSkuId() {
+            return skuId;
+        }
+
+        public void setSkuId(Long skuId) {
+            this.skuId = skuId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Line line = (Line) obj;
+            return Objects.equals(skuId, line.skuId) && Objects.equals(quantity, line.quantity);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(skuId, quantity);
+        }
+
+        @Override
+        public String toString() {
+            return "Line{" + "skuId=" + skuId + ", quantity=" + quantity + '}';
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.inventorymanagement.inventory.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+/**
+ * Outcome of one line of a multi-line stock reservation, including the SKU's stock levels after the reservation.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockReservationResult {
+
+    @JsonProperty("sku_id")
+    private Long skuId;
+
+    @JsonProperty("sku_code")
+    private String skuCode;
+
+    @JsonProperty("reserved_quantity")
+    private Integer reservedQuantity;
+
+    @JsonProperty("total_reserved_quantity")
+    private Integer totalReservedQuantity;
+
+    @JsonProperty("available_quantity")
+    private Integer availableQuantity;
+
+    // Constructors
+    public StockReservationResult() {}
+
+    public StockReservationResult(Sku sku, Integer reservedQuantity) {
+        this.skuId = sku.getId();
+        this.skuCode = sku.getSkuCode();
+        this.reservedQuantity = reservedQuantity;
+        this.totalReservedQuantity = sku.getReservedQuantity();
+        this.availableQuantity = sku.getAvailableQuantity();
+    }
+
+    // Getters and setters
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public void setSkuCode(String skuCode) {
+        this.skuCode = skuCode;
+    }
+
+    public Integer getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public void setReservedQuantity(Integer reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    public Integer getTotalReservedQuantity() {
+        return totalReservedQuantity;
+    }
+
+    public void setTotalReservedQuantity(Integer totalReservedQuantity) {
+        this.totalReservedQuantity = totalReservedQuantity;
+    }
+
+    public Integer getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(Integer availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        StockReservationResult that = (StockReservationResult) obj;
+        return Objects.equals(skuId, that.skuId)
+                && Objects.equals(reservedQuantity, that.reservedQuantity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(skuId, reservedQuantity);
+    }
+
+    @Override
+    public String toString() {
+        return "StockReservationResult{"
+                + "skuId="
+                + skuId
+                + ", skuCode='"
+                + skuCode
+                + '\''
+                + ", reservedQuantity="
+                + reservedQuantity
+                + ", availableQuantity="
+                + availableQuantity
+                + '}';
+    }
+}
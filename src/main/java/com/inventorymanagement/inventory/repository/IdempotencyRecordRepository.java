@@ -0,0 +1,49 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for IdempotencyRecord entity. Provides lookup and expiry of stored request results.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Finds the record for an idempotency key.
+     *
+     * @param idempotencyKey the idempotency key
+     * @return optional record
+     */
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyRecord> findByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Deletes the record for an idempotency key if it has expired, so the key can be used again.
+     *
+     * @param idempotencyKey the idempotency key
+     * @param now            the current time
+     * @return number of records deleted
+     */
+    @Modifying
+    @Query(
+            "DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.expiresAt < :now")
+    int deleteExpiredKey(
+            @Param("idempotencyKey") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes records that expired before the given time.
+     *
+     * @param now the current time
+     * @return number of records deleted
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,12 +1,15 @@
 package com.inventorymanagement.inventory.repository;
 
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
 import com.inventorymanagement.inventory.model.InventoryTransaction;
 import com.inventorymanagement.inventory.model.InventoryTransaction.TransactionType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +18,8 @@ import org.springframework.stereotype.Repository;
  * Repository interface for InventoryTransaction entity. Provides transaction audit trail and inventory movement tracking functionality.
  */
 @Repository
-public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
+public interface InventoryTransactionRepository
+        extends JpaRepository<InventoryTransaction, Long>, InventoryTransactionRepositoryCustom {
 
     // ===== SKU-BASED QUERIES =====
 
@@ -231,6 +235,197 @@ public interface InventoryTransactionRepository extends JpaRepository<InventoryT
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Sums a SKU's transactions per transaction type within a time range, without loading them.
+     *
+     * @param skuId     the SKU ID
+     * @param startDate start of the range (inclusive)
+     * @param endDate   end of the range (exclusive)
+     * @return rows of {@code [transactionType, totalQuantity]}
+     */
+    @Query(
+            "SELECT t.transactionType, SUM(t.quantity) FROM InventoryTransaction t WHERE t.sku.id = :skuId AND t.createdAt >= :startDate AND t.createdAt < :endDate GROUP BY t.transactionType")
+    List<Object[]> sumQuantitiesByType(
+            @Param("skuId") Long skuId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // ===== KEYSET PAGINATION QUERIES =====
+    // Rows strictly after the cursor in (createdAt DESC, id DESC) order. The redundant "createdAt <= cursor" bound lets the database
+    // start its index range scan at the cursor instead of skipping earlier pages. Callers pass a Pageable only to limit the rows
+    // fetched; List results need no count query.
+
+    /**
+     * Finds a page of a SKU's transactions after a keyset cursor, newest first.
+     *
+     * @param skuId           the SKU ID
+     * @param cursorCreatedAt creation time of the last row of the previous page
+     * @param cursorId        ID of the last row of the previous page
+     * @param pageable        limit of rows to fetch (page number must be 0)
+     * @return transactions ordered by creation time and ID, descending
+     */
+    @Query(
+            "SELECT t FROM InventoryTransaction t WHERE t.sku.id = :skuId AND t.createdAt <= :cursorCreatedAt "
+                    + "AND (t.createdAt < :cursorCreatedAt OR t.id < :cursorId) ORDER BY t.createdAt DESC, t.id DESC")
+    List<InventoryTransaction> findBySkuIdAfterCursor(
+            @Param("skuId") Long skuId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    /**
+     * Finds a page of transactions within a date range after a keyset cursor, newest first.
+     *
+     * @param startDate       start date (inclusive)
+     * @param endDate         end date (inclusive)
+     * @param cursorCreatedAt creation time of the last row of the previous page
+     * @param cursorId        ID of the last row of the previous page
+     * @param pageable        limit of rows to fetch (page number must be 0)
+     * @return transactions ordered by creation time and ID, descending
+     */
+    @Query(
+            "SELECT t FROM InventoryTransaction t WHERE t.createdAt >= :startDate AND t.createdAt <= :endDate AND t.createdAt <= :cursorCreatedAt "
+                    + "AND (t.createdAt < :cursorCreatedAt OR t.id < :cursorId) ORDER BY t.createdAt DESC, t.id DESC")
+    List<InventoryTransaction> findByDateRangeAfterCursor(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    /**
+     * Advanced search with multiple criteria after a keyset cursor, newest first.
+     *
+     * @param skuId           SKU filter (null to ignore)
+     * @param transactionType transaction type filter (null to ignore)
+     * @param referenceId     reference ID filter (null to ignore)
+     * @param referenceType   reference type filter (null to ignore)
+     * @param performedBy     user filter (null to ignore)
+     * @param startDate       start date filter (null to ignore)
+     * @param endDate         end date filter (null to ignore)
+     * @param cursorCreatedAt creation time of the last row of the previous page
+     * @param cursorId        ID of the last row of the previous page
+     * @param pageable        limit of rows to fetch (page number must be 0)
+     * @return matching transactions ordered by creation time and ID, descending
+     */
+    @Query(
+            "SELECT t FROM InventoryTransaction t WHERE "
+                    + "(:skuId IS NULL OR t.sku.id = :skuId) AND "
+                    + "(:transactionType IS NULL OR t.transactionType = :transactionType) AND "
+                    + "(:referenceId IS NULL OR t.referenceId = :referenceId) AND "
+                    + "(:referenceType IS NULL OR t.referenceType = :referenceType) AND "
+                    + "(:performedBy IS NULL OR t.performedBy = :performedBy) AND "
+                    + "(:startDate IS NULL OR t.createdAt >= :startDate) AND "
+                    + "(:endDate IS NULL OR t.createdAt <= :endDate) AND "
+                    + "t.createdAt <= :cursorCreatedAt AND (t.createdAt < :cursorCreatedAt OR t.id < :cursorId) "
+                    + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<InventoryTransaction> findWithFiltersAfterCursor(
+            @Param("skuId") Long skuId,
+            @Param("transactionType") TransactionType transactionType,
+            @Param("referenceId") String referenceId,
+            @Param("referenceType") String referenceType,
+            @Param("performedBy") String performedBy,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // ===== LEDGER REPLAY QUERIES =====
+
+    /**
+     * Finds the movements of a SKU's ledger between two transaction IDs, in ledger order, without loading full entities.
+     *
+     * @param skuId   the SKU ID
+     * @param afterId last transaction ID already applied (exclusive)
+     * @param upToId  last transaction ID to apply (inclusive)
+     * @return rows of {@code [id, transactionType, quantity]} ordered by ID
+     */
+    @Query(
+            "SELECT t.id, t.transactionType, t.quantity FROM InventoryTransaction t WHERE t.sku.id = :skuId AND t.id > :afterId AND t.id <= :upToId ORDER BY t.id")
+    List<Object[]> findLedgerTail(
+            @Param("skuId") Long skuId, @Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    /**
+     * Finds the ID of a SKU's last transaction recorded at or before a point in time.
+     *
+     * @param skuId the SKU ID
+     * @param asOf  the point in time (inclusive)
+     * @return the transaction ID, or null if the SKU had no transactions by then
+     */
+    @Query("SELECT MAX(t.id) FROM InventoryTransaction t WHERE t.sku.id = :skuId AND t.createdAt <= :asOf")
+    Long findLastIdBySkuIdAsOf(@Param("skuId") Long skuId, @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Finds the ID of the last transaction recorded at or before a point in time, across all SKUs.
+     *
+     * @param asOf the point in time (inclusive)
+     * @return the transaction ID, or null if there were no transactions by then
+     */
+    @Query("SELECT MAX(t.id) FROM InventoryTransaction t WHERE t.createdAt <= :asOf")
+    Long findLastIdAsOf(@Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Finds the SKUs with transactions in a transaction ID range, through a primary key range scan.
+     *
+     * @param afterId first transaction ID to skip (exclusive)
+     * @param upToId  last transaction ID to consider (inclusive)
+     * @return SKU IDs in ascending order
+     */
+    @Query("SELECT DISTINCT t.sku.id FROM InventoryTransaction t WHERE t.id > :afterId AND t.id <= :upToId ORDER BY t.sku.id")
+    List<Long> findSkuIdsWithTransactionsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    /**
+     * Finds which of the given SKUs have at least the given number of transactions after their latest ledger checkpoint, up to a
+     * transaction ID. Each SKU's rows are read from its checkpoint onwards through the {@code (sku_id, id)} index.
+     *
+     * @param skuIds          the candidate SKU IDs
+     * @param upToId          last transaction ID to consider (inclusive)
+     * @param minTransactions minimum number of transactions since the latest checkpoint
+     * @return SKU IDs in ascending order
+     */
+    @Query(
+            "SELECT t.sku.id FROM InventoryTransaction t WHERE t.sku.id IN :skuIds AND t.id <= :upToId "
+                    + "AND t.id > COALESCE((SELECT MAX(c.lastTransactionId) FROM SkuLedgerCheckpoint c WHERE c.skuId = t.sku.id), 0) "
+                    + "GROUP BY t.sku.id HAVING COUNT(t) >= :minTransactions ORDER BY t.sku.id")
+    List<Long> findSkuIdsDueForCheckpoint(
+            @Param("skuIds") Collection<Long> skuIds,
+            @Param("upToId") Long upToId,
+            @Param("minTransactions") long minTransactions);
+
+    // ===== ARCHIVE QUERIES =====
+
+    /**
+     * Finds the rows to move to the archive between two transaction IDs, in ID order, as plain values.
+     *
+     * @param afterId  highest transaction ID already archived (exclusive)
+     * @param upToId   highest transaction ID to archive (inclusive)
+     * @param pageable limit of rows to fetch (page number must be 0)
+     * @return the rows ordered by ID
+     */
+    @Query(
+            "SELECT new com.inventorymanagement.inventory.model.ArchivedTransaction(t.id, t.sku.id, t.transactionType, t.quantity, t.referenceId, t.referenceType, t.reason, t.performedBy, t.createdAt) "
+                    + "FROM InventoryTransaction t WHERE t.id > :afterId AND t.id <= :upToId ORDER BY t.id")
+    List<ArchivedTransaction> findForArchive(
+            @Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    /**
+     * Deletes archived rows from the table. The creation time bound keeps a stale archive directory from deleting rows of a different
+     * database that happen to reuse the same IDs.
+     *
+     * @param afterId       transaction ID the range starts after (exclusive)
+     * @param upToId        highest transaction ID to delete (inclusive)
+     * @param createdBefore only rows created before this time are deleted
+     * @return number of rows deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "DELETE FROM InventoryTransaction t WHERE t.id > :afterId AND t.id <= :upToId AND t.createdAt < :createdBefore")
+    int deleteArchivedRange(
+            @Param("afterId") Long afterId,
+            @Param("upToId") Long upToId,
+            @Param("createdBefore") LocalDateTime createdBefore);
+
     // ===== REFERENCE-BASED QUERIES =====
 
     /**
@@ -0,0 +1,72 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction.TransactionType;
+import com.inventorymanagement.inventory.model.LedgerBalance;
+import com.inventorymanagement.inventory.model.LedgerExportRow;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Custom repository fragment for InventoryTransaction write and streaming paths that are not expressible as derived or JPQL queries.
+ */
+public interface InventoryTransactionRepositoryCustom {
+
+    /**
+     * Inserts the given transactions as a single JDBC batch. Transactions use identity keys, which prevents Hibernate from batching
+     * inserts, so this bypasses the persistence context; generated IDs are not populated on the given instances.
+     *
+     * @param transactions the transactions to insert, each with its SKU set
+     * @return number of rows inserted
+     */
+    int batchInsert(List<InventoryTransaction> transactions);
+
+    /**
+     * Adds the given transactions to the {@code stock_movement_daily} rollup: per SKU, day and transaction type the quantities are summed
+     * and added to the matching rollup row, which is created on first use. Must run in the transaction that writes the ledger rows, so the
+     * rollup never drifts from the ledger.
+     *
+     * @param transactions the transactions just written, each with its SKU and type set
+     * @return number of rollup rows touched
+     */
+    int addToDailyRollup(List<InventoryTransaction> transactions);
+
+    /**
+     * Streams the transactions matching the given criteria, oldest first, through a forward-only read-only JDBC cursor. Rows are handed to
+     * the consumer one at a time as the driver fetches them, so memory use does not grow with the number of rows. Takes the same criteria
+     * as {@link InventoryTransactionRepository#findWithFilters}; only the non-null ones are added to the query.
+     *
+     * @param skuId           SKU filter (null to ignore)
+     * @param transactionType transaction type filter (null to ignore)
+     * @param referenceId     reference ID filter (null to ignore)
+     * @param referenceType   reference type filter (null to ignore)
+     * @param performedBy     user filter (null to ignore)
+     * @param startDate       start date filter, inclusive (null to ignore)
+     * @param endDate         end date filter, inclusive (null to ignore)
+     * @param fetchSize       number of rows the driver fetches per round trip
+     * @param consumer        receives each row
+     * @return number of rows streamed
+     */
+    long streamWithFilters(
+            Long skuId,
+            TransactionType transactionType,
+            String referenceId,
+            String referenceType,
+            String performedBy,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            int fetchSize,
+            Consumer<LedgerExportRow> consumer);
+
+    /**
+     * Reads the SKUs in an ID range with the counters their ledger sums to, in one read-only statement that takes no locks. Each SKU's
+     * ledger is its latest checkpoint plus the signed sums of its transactions after it, grouped by SKU. The sums ignore the floors
+     * replay applies to adjustments and releases, so a SKU whose ledger hit one of them shows up as unbalanced here.
+     *
+     * @param fromSkuId first SKU ID of the range (inclusive)
+     * @param toSkuId   last SKU ID of the range (inclusive)
+     * @return the SKUs in the range that are not deleted, ordered by ID
+     */
+    List<LedgerBalance> sumLedgerBySkuRange(long fromSkuId, long toSkuId);
+}
@@ -0,0 +1,323 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction.TransactionType;
+import com.inventorymanagement.inventory.model.LedgerBalance;
+import com.inventorymanagement.inventory.model.LedgerExportRow;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link InventoryTransactionRepositoryCustom}. Runs on the connection bound to the current transaction.
+ */
+public class InventoryTransactionRepositoryCustomImpl implements InventoryTransactionRepositoryCustom {
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO inventory_transactions (sku_id, transaction_type, quantity, reference_id, reference_type, reason, performed_by, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_DAILY_ROLLUP_SQL =
+            "UPDATE stock_movement_daily SET total_quantity = total_quantity + ?, transaction_count = transaction_count + ?, updated_at = ? WHERE sku_id = ? AND movement_date = ? AND transaction_type = ?";
+
+    private static final String INSERT_DAILY_ROLLUP_SQL =
+            "INSERT INTO stock_movement_daily (sku_id, movement_date, transaction_type, total_quantity, transaction_count, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String EXPORT_SELECT_SQL =
+            "SELECT t.id, t.sku_id, s.sku_code, t.transaction_type, t.quantity, t.reference_id, t.reference_type, t.reason, t.performed_by, t.created_at "
+                    + "FROM inventory_transactions t JOIN skus s ON s.id = t.sku_id";
+
+    private static final String LATEST_CHECKPOINTS_SQL =
+            "SELECT sku_id, MAX(last_transaction_id) AS last_transaction_id FROM sku_ledger_checkpoints WHERE sku_id BETWEEN ? AND ? GROUP BY sku_id";
+
+    private static final String LEDGER_BALANCE_SQL =
+            "SELECT s.id, s.sku_code, s.stock_quantity, s.reserved_quantity + COALESCE(sh.reserved_quantity, 0), "
+                    + "COALESCE(c.stock_quantity, 0) + COALESCE(l.stock_delta, 0), "
+                    + "COALESCE(c.reserved_quantity, 0) + COALESCE(l.reserved_delta, 0) "
+                    + "FROM skus s "
+                    + "LEFT JOIN (SELECT sku_id, SUM(reserved_quantity) AS reserved_quantity FROM sku_stock_shards WHERE sku_id BETWEEN ? AND ? GROUP BY sku_id) sh ON sh.sku_id = s.id "
+                    + "LEFT JOIN (" + LATEST_CHECKPOINTS_SQL + ") lc ON lc.sku_id = s.id "
+                    + "LEFT JOIN sku_ledger_checkpoints c ON c.sku_id = lc.sku_id AND c.last_transaction_id = lc.last_transaction_id "
+                    + "LEFT JOIN (SELECT t.sku_id, "
+                    + "SUM(CASE t.transaction_type WHEN 'IN' THEN t.quantity WHEN 'ADJUSTMENT' THEN t.quantity WHEN 'OUT' THEN -t.quantity ELSE 0 END) AS stock_delta, "
+                    + "SUM(CASE t.transaction_type WHEN 'RESERVED' THEN t.quantity WHEN 'RELEASED' THEN -t.quantity WHEN 'OUT' THEN -t.quantity ELSE 0 END) AS reserved_delta "
+                    + "FROM inventory_transactions t LEFT JOIN (" + LATEST_CHECKPOINTS_SQL + ") tc ON tc.sku_id = t.sku_id "
+                    + "WHERE t.sku_id BETWEEN ? AND ? AND t.id > COALESCE(tc.last_transaction_id, 0) GROUP BY t.sku_id) l ON l.sku_id = s.id "
+                    + "WHERE s.id BETWEEN ? AND ? AND s.deleted_at IS NULL ORDER BY s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InventoryTransactionRepositoryCustomImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public int batchInsert(List<InventoryTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (InventoryTransaction transaction : transactions) {
+            if (transaction.getCreatedAt() == null) {
+                transaction.setCreatedAt(now);
+            }
+        }
+
+        int[][] counts =
+                jdbcTemplate.batchUpdate(
+                        INSERT_TRANSACTION_SQL,
+                        transactions,
+                        transactions.size(),
+                        (ps, transaction) -> {
+                            ps.setLong(1, transaction.getSku().getId());
+                            ps.setString(2, transaction.getTransactionType().name());
+                            ps.setInt(3, transaction.getQuantity());
+                            ps.setString(4, transaction.getReferenceId());
+                            ps.setString(5, transaction.getReferenceType());
+                            ps.setString(6, transaction.getReason());
+                            ps.setString(7, transaction.getPerformedBy());
+                            ps.setTimestamp(8, Timestamp.valueOf(transaction.getCreatedAt()));
+                        });
+
+        // Drivers may report SUCCESS_NO_INFO (-2) for batched statements; count those as one row each
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted += count < 0 ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public int addToDailyRollup(List<InventoryTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        // One delta per rollup row, in key order so concurrent writers lock shared rows in the same order
+        LocalDateTime now = LocalDateTime.now();
+        Map<DailyKey, DailyDelta> deltas = new TreeMap<>();
+        for (InventoryTransaction transaction : transactions) {
+            LocalDateTime createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : now;
+            DailyKey key =
+                    new DailyKey(
+                            transaction.getSku().getId(),
+                            createdAt.toLocalDate(),
+                            transaction.getTransactionType().name());
+            deltas.computeIfAbsent(key, k -> new DailyDelta()).add(transaction.getQuantity());
+        }
+
+        List<Map.Entry<DailyKey, DailyDelta>> entries = new ArrayList<>(deltas.entrySet());
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        int[][] counts =
+                jdbcTemplate.batchUpdate(
+                        UPDATE_DAILY_ROLLUP_SQL,
+                        entries,
+                        entries.size(),
+                        (ps, entry) -> {
+                            ps.setLong(1, entry.getValue().quantity);
+                            ps.setLong(2, entry.getValue().count);
+                            ps.setTimestamp(3, updatedAt);
+                            ps.setLong(4, entry.getKey().skuId);
+                            ps.setDate(5, Date.valueOf(entry.getKey().movementDate));
+                            ps.setString(6, entry.getKey().transactionType);
+                        });
+
+        // Rows missing from the rollup are the first movement of their SKU, day and type; insert them one by one
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    insertDailyRollup(entries.get(index), updatedAt);
+                }
+                index++;
+            }
+        }
+        return entries.size();
+    }
+
+    @Override
+    public long streamWithFilters(
+            Long skuId,
+            TransactionType transactionType,
+            String referenceId,
+            String referenceType,
+            String performedBy,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            int fetchSize,
+            Consumer<LedgerExportRow> consumer) {
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        appendCondition(sql, params, "t.sku_id = ?", skuId);
+        appendCondition(sql, params, "t.transaction_type = ?", transactionType != null ? transactionType.name() : null);
+        appendCondition(sql, params, "t.reference_id = ?", referenceId);
+        appendCondition(sql, params, "t.reference_type = ?", referenceType);
+        appendCondition(sql, params, "t.performed_by = ?", performedBy);
+        appendCondition(sql, params, "t.created_at >= ?", startDate != null ? Timestamp.valueOf(startDate) : null);
+        appendCondition(sql, params, "t.created_at <= ?", endDate != null ? Timestamp.valueOf(endDate) : null);
+        sql.append(" ORDER BY t.created_at, t.id");
+
+        long[] count = new long[1];
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps =
+                            con.prepareStatement(
+                                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    return ps;
+                },
+                rs -> {
+                    consumer.accept(
+                            new LedgerExportRow(
+                                    rs.getLong(1),
+                                    rs.getLong(2),
+                                    rs.getString(3),
+                                    rs.getString(4),
+                                    rs.getInt(5),
+                                    rs.getString(6),
+                                    rs.getString(7),
+                                    rs.getString(8),
+                                    rs.getString(9),
+                                    rs.getTimestamp(10).toLocalDateTime()));
+                    count[0]++;
+                });
+        return count[0];
+    }
+
+    @Override
+    public List<LedgerBalance> sumLedgerBySkuRange(long fromSkuId, long toSkuId) {
+        // Every derived table is bounded to the range, so each range reads only its own index slices
+        return jdbcTemplate.query(
+                LEDGER_BALANCE_SQL,
+                (rs, rowNum) ->
+                        new LedgerBalance(
+                                rs.getLong(1),
+                                rs.getString(2),
+                                rs.getInt(3),
+                                rs.getInt(4),
+                                rs.getLong(5),
+                                rs.getLong(6)),
+                fromSkuId,
+                toSkuId,
+                fromSkuId,
+                toSkuId,
+                fromSkuId,
+                toSkuId,
+                fromSkuId,
+                toSkuId,
+                fromSkuId,
+                toSkuId);
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void appendCondition(StringBuilder sql, List<Object> params, String condition, Object value) {
+        if (value == null) {
+            return;
+        }
+        sql.append(params.isEmpty() ? " WHERE " : " AND ").append(condition);
+        params.add(value);
+    }
+
+    private void insertDailyRollup(Map.Entry<DailyKey, DailyDelta> entry, Timestamp updatedAt) {
+        DailyKey key = entry.getKey();
+        DailyDelta delta = entry.getValue();
+        try {
+            jdbcTemplate.update(
+                    INSERT_DAILY_ROLLUP_SQL,
+                    key.skuId,
+                    Date.valueOf(key.movementDate),
+                    key.transactionType,
+                    delta.quantity,
+                    delta.count,
+                    updatedAt);
+        } catch (DuplicateKeyException e) {
+            // A concurrent writer created the row first
+            jdbcTemplate.update(
+                    UPDATE_DAILY_ROLLUP_SQL,
+                    delta.quantity,
+                    delta.count,
+                    updatedAt,
+                    key.skuId,
+                    Date.valueOf(key.movementDate),
+                    key.transactionType);
+        }
+    }
+
+    /**
+     * Identifies one rollup row.
+     */
+    private static final class DailyKey implements Comparable<DailyKey> {
+
+        private final long skuId;
+        private final LocalDate movementDate;
+        private final String transactionType;
+
+        DailyKey(long skuId, LocalDate movementDate, String transactionType) {
+            this.skuId = skuId;
+            this.movementDate = movementDate;
+            this.transactionType = transactionType;
+        }
+
+        @Override
+        public int compareTo(DailyKey other) {
+            int result = Long.compare(skuId, other.skuId);
+            if (result == 0) {
+                result = movementDate.compareTo(other.movementDate);
+            }
+            if (result == 0) {
+                result = transactionType.compareTo(other.transactionType);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DailyKey)) {
+                return false;
+            }
+            return compareTo((DailyKey) obj) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(skuId, movementDate, transactionType);
+        }
+    }
+
+    /**
+     * Quantity and transaction count to add to one rollup row.
+     */
+    private static final class DailyDelta {
+
+        private long quantity;
+        private long count;
+
+        void add(int transactionQuantity) {
+            quantity += transactionQuantity;
+            count++;
+        }
+    }
+}
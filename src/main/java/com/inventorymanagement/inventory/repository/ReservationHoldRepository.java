@@ -0,0 +1,76 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.ReservationHold;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ReservationHold entity. Provides locking lookups and set-based status changes used by hold expiry.
+ */
+@Repository
+public interface ReservationHoldRepository extends JpaRepository<ReservationHold, Long> {
+
+    /**
+     * Finds a hold and locks its row until the current transaction ends.
+     *
+     * @param id the hold ID
+     * @return optional hold
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ReservationHold h WHERE h.id = :id")
+    Optional<ReservationHold> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds the holds among the given IDs that are in the given status, locking their rows until the current transaction ends.
+     *
+     * @param ids    the hold IDs
+     * @param status the status
+     * @return matching holds ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ReservationHold h WHERE h.id IN :ids AND h.status = :status ORDER BY h.id")
+    List<ReservationHold> findByIdsAndStatusForUpdate(
+            @Param("ids") Collection<Long> ids, @Param("status") ReservationHold.HoldStatus status);
+
+    /**
+     * Finds the ID and expiry time of every hold in the given status, without loading full entities.
+     *
+     * @param status the status
+     * @return rows of {@code [id, expiresAt]}
+     */
+    @Query("SELECT h.id, h.expiresAt FROM ReservationHold h WHERE h.status = :status")
+    List<Object[]> findExpirationsByStatus(@Param("status") ReservationHold.HoldStatus status);
+
+    /**
+     * Sets the status of the given holds with a single update.
+     *
+     * @param ids       the hold IDs
+     * @param status    the new status
+     * @param updatedAt the modification timestamp
+     * @return number of holds updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE ReservationHold h SET h.status = :status, h.updatedAt = :updatedAt WHERE h.id IN :ids")
+    int updateStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") ReservationHold.HoldStatus status,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Counts holds in the given status.
+     *
+     * @param status the status
+     * @return number of holds
+     */
+    long countByStatus(ReservationHold.HoldStatus status);
+}
@@ -0,0 +1,42 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.SkuLedgerCheckpoint;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for SkuLedgerCheckpoint entity. Provides the checkpoint lookups used by ledger replay.
+ */
+@Repository
+public interface SkuLedgerCheckpointRepository extends JpaRepository<SkuLedgerCheckpoint, Long> {
+
+    /**
+     * Finds a SKU's latest checkpoint that covers no transaction after the given one.
+     *
+     * @param skuId         the SKU ID
+     * @param transactionId the last ledger transaction ID the checkpoint may cover
+     * @return the latest such checkpoint, if any
+     */
+    Optional<SkuLedgerCheckpoint> findFirstBySkuIdAndLastTransactionIdLessThanEqualOrderByLastTransactionIdDesc(
+            Long skuId, Long transactionId);
+
+    /**
+     * Counts the checkpoints of a SKU.
+     *
+     * @param skuId the SKU ID
+     * @return number of checkpoints
+     */
+    @Query("SELECT COUNT(c) FROM SkuLedgerCheckpoint c WHERE c.skuId = :skuId")
+    long countBySkuId(@Param("skuId") Long skuId);
+
+    /**
+     * Finds the last ledger transaction covered by any checkpoint.
+     *
+     * @return the highest covered transaction ID (0 if there are no checkpoints)
+     */
+    @Query("SELECT COALESCE(MAX(c.lastTransactionId), 0) FROM SkuLedgerCheckpoint c")
+    long findMaxLastTransactionId();
+}
@@ -2,11 +2,16 @@ package com.inventorymanagement.inventory.repository;
 
 import com.inventorymanagement.common.repository.BaseRepository;
 import com.inventorymanagement.inventory.model.Sku;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -172,6 +177,205 @@ public interface SkuRepository extends BaseRepository<Sku, Long> {
     List<Sku> findByStockQuantityRange(
             @Param("minStock") Integer minStock, @Param("maxStock") Integer maxStock);
 
+    // ===== ATOMIC STOCK MUTATIONS =====
+
+    /**
+     * Reserves stock with a single conditional update. The row is only changed when the SKU is active and has enough available stock, so
+     * concurrent reservations can neither oversell nor fail on the version column.
+     *
+     * @param id        the SKU ID
+     * @param quantity  the quantity to reserve
+     * @param updatedAt the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing, inactive or short on available stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.reservedQuantity = s.reservedQuantity + :quantity, s.availableQuantity = s.availableQuantity - :quantity, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id AND s.isActive = true AND s.availableQuantity >= :quantity")
+    int reserveStockIfAvailable(
+            @Param("id") Long id,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Releases reserved stock with a single conditional update. The row is only changed when at least the given quantity is reserved.
+     *
+     * @param id        the SKU ID
+     * @param quantity  the quantity to release
+     * @param updatedAt the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing or holds less reserved stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.reservedQuantity = s.reservedQuantity - :quantity, s.availableQuantity = CASE WHEN s.stockQuantity - s.reservedQuantity + :quantity < 0 THEN 0 ELSE s.stockQuantity - s.reservedQuantity + :quantity END, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id AND s.reservedQuantity >= :quantity")
+    int releaseReservedStockIfReserved(
+            @Param("id") Long id,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Fulfills reserved stock with a single conditional update, reducing both stock and reserved quantities. Available quantity is unaffected.
+     *
+     * @param id        the SKU ID
+     * @param quantity  the quantity to fulfill
+     * @param updatedAt the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing or holds less reserved stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.stockQuantity = s.stockQuantity - :quantity, s.reservedQuantity = s.reservedQuantity - :quantity, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id AND s.reservedQuantity >= :quantity AND s.stockQuantity >= :quantity")
+    int fulfillReservedStock(
+            @Param("id") Long id,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Adjusts stock with a single update. Stock is floored at zero and available quantity is recomputed from the new stock level, matching
+     * {@link Sku#adjustStock(Integer)}.
+     *
+     * @param id         the SKU ID
+     * @param adjustment the amount to adjust (positive for increase, negative for decrease)
+     * @param updatedAt  the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.stockQuantity = CASE WHEN s.stockQuantity + :adjustment < 0 THEN 0 ELSE s.stockQuantity + :adjustment END, s.availableQuantity = CASE WHEN s.stockQuantity + :adjustment - s.reservedQuantity < 0 THEN 0 ELSE s.stockQuantity + :adjustment - s.reservedQuantity END, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id")
+    int adjustStock(
+            @Param("id") Long id,
+            @Param("adjustment") Integer adjustment,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Removes stock with a single conditional update. The row is only changed when at least the given quantity is on hand.
+     *
+     * @param id        the SKU ID
+     * @param quantity  the quantity to remove
+     * @param updatedAt the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing or holds less stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.stockQuantity = s.stockQuantity - :quantity, s.availableQuantity = CASE WHEN s.stockQuantity - :quantity - s.reservedQuantity < 0 THEN 0 ELSE s.stockQuantity - :quantity - s.reservedQuantity END, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id AND s.stockQuantity >= :quantity")
+    int removeStockIfSufficient(
+            @Param("id") Long id,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Gives back the reserved stock of the given holds with a single set-based update. Each affected SKU's reserved quantity is reduced by
+     * the sum of its holds in the set; reserved quantity is floored at zero and available quantity is recomputed from it.
+     *
+     * @param holdIds   the IDs of the holds being released
+     * @param updatedAt the modification timestamp
+     * @return number of SKU rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.reservedQuantity = CASE WHEN s.reservedQuantity < (SELECT SUM(h.quantity) FROM ReservationHold h WHERE h.skuId = s.id AND h.id IN :holdIds) THEN 0 ELSE s.reservedQuantity - (SELECT SUM(h.quantity) FROM ReservationHold h WHERE h.skuId = s.id AND h.id IN :holdIds) END, "
+                    + "s.availableQuantity = CASE WHEN s.reservedQuantity < (SELECT SUM(h.quantity) FROM ReservationHold h WHERE h.skuId = s.id AND h.id IN :holdIds) THEN s.stockQuantity ELSE s.stockQuantity - s.reservedQuantity + (SELECT SUM(h.quantity) FROM ReservationHold h WHERE h.skuId = s.id AND h.id IN :holdIds) END, "
+                    + "s.version = s.version + 1, s.updatedAt = :updatedAt "
+                    + "WHERE s.id IN (SELECT h.skuId FROM ReservationHold h WHERE h.id IN :holdIds)")
+    int releaseHeldStock(
+            @Param("holdIds") Collection<Long> holdIds, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Moves available stock out of the SKU row with a single conditional update, e.g. to refill a stock shard. The row is only changed
+     * when the SKU is active and holds at least the given available quantity.
+     *
+     * @param id        the SKU ID
+     * @param quantity  the quantity to move out
+     * @param updatedAt the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing, inactive or short on available stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.availableQuantity = s.availableQuantity - :quantity, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id AND s.isActive = true AND s.availableQuantity >= :quantity")
+    int withdrawAvailableStock(
+            @Param("id") Long id,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Moves stock held by shards back into the SKU row with a single update.
+     *
+     * @param id                the SKU ID
+     * @param availableQuantity the available quantity held by the shards
+     * @param reservedQuantity  the reserved quantity held by the shards
+     * @param updatedAt         the modification timestamp
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.availableQuantity = s.availableQuantity + :availableQuantity, s.reservedQuantity = s.reservedQuantity + :reservedQuantity, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id")
+    int absorbShardStock(
+            @Param("id") Long id,
+            @Param("availableQuantity") Integer availableQuantity,
+            @Param("reservedQuantity") Integer reservedQuantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Overwrites a SKU's stock counters with values rebuilt from the ledger. Available quantity is recomputed from them.
+     *
+     * @param id               the SKU ID
+     * @param stockQuantity    the stock quantity
+     * @param reservedQuantity the reserved quantity
+     * @param updatedAt        the modification timestamp
+     * @return number of rows updated (0 if the SKU is missing)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE Sku s SET s.stockQuantity = :stockQuantity, s.reservedQuantity = :reservedQuantity, s.availableQuantity = CASE WHEN :stockQuantity - :reservedQuantity < 0 THEN 0 ELSE :stockQuantity - :reservedQuantity END, s.version = s.version + 1, s.updatedAt = :updatedAt WHERE s.id = :id")
+    int overwriteStockCounters(
+            @Param("id") Long id,
+            @Param("stockQuantity") Integer stockQuantity,
+            @Param("reservedQuantity") Integer reservedQuantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Finds a SKU and locks its row until the current transaction ends.
+     *
+     * @param id the SKU ID
+     * @return the SKU, if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sku s WHERE s.id = :id")
+    Optional<Sku> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds several SKUs and locks their rows, in ascending ID order, until the current transaction ends.
+     *
+     * @param ids the SKU IDs
+     * @return the SKUs found, ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sku s WHERE s.id IN :ids ORDER BY s.id")
+    List<Sku> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the codes of SKUs by ID, including deleted SKUs.
+     *
+     * @param ids the SKU IDs
+     * @return rows of {@code [id, skuCode]}
+     */
+    @Query("SELECT s.id, s.skuCode FROM Sku s WHERE s.id IN :ids")
+    List<Object[]> findSkuCodesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs of all SKUs that are not deleted.
+     *
+     * @return SKU IDs in ascending order
+     */
+    @Query("SELECT s.id FROM Sku s WHERE s.deletedAt IS NULL ORDER BY s.id")
+    List<Long> findIdsNotDeleted();
+
+    /**
+     * Finds the highest SKU ID, including deleted SKUs.
+     *
+     * @return the highest SKU ID, or null if there are no SKUs
+     */
+    @Query("SELECT MAX(s.id) FROM Sku s")
+    Long findMaxId();
+
     // ===== PRICE QUERIES =====
 
     /**
@@ -463,4 +667,45 @@ public interface SkuRepository extends BaseRepository<Sku, Long> {
                     + "s.deletedAt IS NULL")
     Page<Sku> findBySkuCodeOrVariantNameContainingIgnoreCase(
             @Param("query") String query, Pageable pageable);
+
+    // ===== CONDITIONAL GET VALIDATORS =====
+
+    /**
+     * Reads what a SKU's entity tag is derived from: the SKU's version and the stock held by its shards, which changes without touching
+     * the SKU row.
+     *
+     * @param id the SKU ID
+     * @return one row of version, shard available and shard reserved quantity, or none if the SKU does not exist
+     */
+    @Query(
+            "SELECT s.version, "
+                    + "(SELECT COALESCE(SUM(sh.availableQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId = s.id), "
+                    + "(SELECT COALESCE(SUM(sh.reservedQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId = s.id) "
+                    + "FROM Sku s WHERE s.id = :id")
+    List<Object[]> findTagVersionsById(@Param("id") Long id);
+
+    /**
+     * Reads what a SKU's entity tag is derived from, by SKU code.
+     *
+     * @param skuCode the SKU code
+     * @return one row of ID, version, shard available and shard reserved quantity, or none if no such SKU exists
+     */
+    @Query(
+            "SELECT s.id, s.version, "
+                    + "(SELECT COALESCE(SUM(sh.availableQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId = s.id), "
+                    + "(SELECT COALESCE(SUM(sh.reservedQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId = s.id) "
+                    + "FROM Sku s WHERE s.skuCode = :skuCode AND s.deletedAt IS NULL")
+    List<Object[]> findTagVersionsBySkuCode(@Param("skuCode") String skuCode);
+
+    /**
+     * Reads what the entity tag of a product's SKU list is derived from: the number of SKUs, the sum of their versions and the latest
+     * update. Any change to one of the SKUs raises its version, so the sum changes with it.
+     *
+     * @param productId the product ID
+     * @return one row of count, version sum and latest update time
+     */
+    @Query(
+            "SELECT COUNT(s), COALESCE(SUM(s.version), 0), MAX(s.updatedAt) FROM Sku s "
+                    + "WHERE s.product.id = :productId AND s.deletedAt IS NULL")
+    List<Object[]> findTagVersionsByProductId(@Param("productId") Long productId);
 }
@@ -0,0 +1,148 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.SkuStockShard;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for SkuStockShard entity. Provides conditional per-shard updates used by sharded stock reservations.
+ */
+@Repository
+public interface SkuStockShardRepository extends JpaRepository<SkuStockShard, Long> {
+
+    /**
+     * Counts the shards of a SKU.
+     *
+     * @param skuId the SKU ID
+     * @return number of shards (0 if the SKU is not sharded)
+     */
+    @Query("SELECT COUNT(sh) FROM SkuStockShard sh WHERE sh.skuId = :skuId")
+    long countBySkuId(@Param("skuId") Long skuId);
+
+    /**
+     * Finds all shards of a SKU and locks their rows until the current transaction ends.
+     *
+     * @param skuId the SKU ID
+     * @return shards ordered by shard index
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sh FROM SkuStockShard sh WHERE sh.skuId = :skuId ORDER BY sh.shardIndex")
+    List<SkuStockShard> findBySkuIdForUpdate(@Param("skuId") Long skuId);
+
+    /**
+     * Sums available and reserved quantities across the shards of a SKU.
+     *
+     * @param skuId the SKU ID
+     * @return a single row of {@code [availableQuantity, reservedQuantity]}
+     */
+    @Query(
+            "SELECT COALESCE(SUM(sh.availableQuantity), 0), COALESCE(SUM(sh.reservedQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId = :skuId")
+    List<Object[]> sumQuantitiesBySkuId(@Param("skuId") Long skuId);
+
+    /**
+     * Sums available and reserved quantities across the shards of several SKUs.
+     *
+     * @param skuIds the SKU IDs
+     * @return one row of {@code [skuId, availableQuantity, reservedQuantity]} per sharded SKU
+     */
+    @Query(
+            "SELECT sh.skuId, SUM(sh.availableQuantity), SUM(sh.reservedQuantity) FROM SkuStockShard sh WHERE sh.skuId IN :skuIds GROUP BY sh.skuId")
+    List<Object[]> sumQuantitiesBySkuIds(@Param("skuIds") Collection<Long> skuIds);
+
+    /**
+     * Sums the available quantity held by shards of active SKUs that are not deleted, per product.
+     *
+     * @param productIds the product IDs
+     * @return one row of {@code [productId, availableQuantity]} per product with sharded SKUs
+     */
+    @Query(
+            "SELECT s.product.id, SUM(sh.availableQuantity) FROM SkuStockShard sh JOIN Sku s ON s.id = sh.skuId "
+                    + "WHERE s.product.id IN :productIds AND s.isActive = true AND s.deletedAt IS NULL GROUP BY s.product.id")
+    List<Object[]> sumAvailableByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Reserves stock from one shard with a single conditional update. The row is only changed when the shard holds enough available stock
+     * and the SKU is active.
+     *
+     * @param skuId      the SKU ID
+     * @param shardIndex the shard index
+     * @param quantity   the quantity to reserve
+     * @param updatedAt  the modification timestamp
+     * @return number of rows updated (0 if the shard is short on available stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE SkuStockShard sh SET sh.availableQuantity = sh.availableQuantity - :quantity, sh.reservedQuantity = sh.reservedQuantity + :quantity, sh.updatedAt = :updatedAt WHERE sh.skuId = :skuId AND sh.shardIndex = :shardIndex AND sh.availableQuantity >= :quantity AND EXISTS (SELECT s.id FROM Sku s WHERE s.id = :skuId AND s.isActive = true)")
+    int reserveIfAvailable(
+            @Param("skuId") Long skuId,
+            @Param("shardIndex") Integer shardIndex,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Releases reserved stock back to one shard with a single conditional update. The row is only changed when the shard holds at least
+     * the given reserved quantity.
+     *
+     * @param skuId      the SKU ID
+     * @param shardIndex the shard index
+     * @param quantity   the quantity to release
+     * @param updatedAt  the modification timestamp
+     * @return number of rows updated (0 if the shard holds less reserved stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE SkuStockShard sh SET sh.availableQuantity = sh.availableQuantity + :quantity, sh.reservedQuantity = sh.reservedQuantity - :quantity, sh.updatedAt = :updatedAt WHERE sh.skuId = :skuId AND sh.shardIndex = :shardIndex AND sh.reservedQuantity >= :quantity")
+    int releaseIfReserved(
+            @Param("skuId") Long skuId,
+            @Param("shardIndex") Integer shardIndex,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Adds available stock to one shard.
+     *
+     * @param skuId      the SKU ID
+     * @param shardIndex the shard index
+     * @param quantity   the quantity to add
+     * @param updatedAt  the modification timestamp
+     * @return number of rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE SkuStockShard sh SET sh.availableQuantity = sh.availableQuantity + :quantity, sh.updatedAt = :updatedAt WHERE sh.skuId = :skuId AND sh.shardIndex = :shardIndex")
+    int addAvailable(
+            @Param("skuId") Long skuId,
+            @Param("shardIndex") Integer shardIndex,
+            @Param("quantity") Integer quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Empties all shards of a SKU.
+     *
+     * @param skuId     the SKU ID
+     * @param updatedAt the modification timestamp
+     * @return number of shards updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            "UPDATE SkuStockShard sh SET sh.availableQuantity = 0, sh.reservedQuantity = 0, sh.updatedAt = :updatedAt WHERE sh.skuId = :skuId")
+    int clearBySkuId(@Param("skuId") Long skuId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Deletes all shards of a SKU.
+     *
+     * @param skuId the SKU ID
+     * @return number of shards deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SkuStockShard sh WHERE sh.skuId = :skuId")
+    int deleteBySkuId(@Param("skuId") Long skuId);
+}
@@ -0,0 +1,42 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.StockMovementDaily;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for StockMovementDaily entity. Rows are written by
+ * {@link InventoryTransactionRepositoryCustom#addToDailyRollup(java.util.List)}; this repository reads them.
+ */
+@Repository
+public interface StockMovementDailyRepository extends JpaRepository<StockMovementDaily, Long> {
+
+    /**
+     * Sums a SKU's daily movements per transaction type over a range of whole days.
+     *
+     * @param skuId    the SKU ID
+     * @param fromDate first day (inclusive)
+     * @param toDate   last day (exclusive)
+     * @return rows of {@code [transactionType, totalQuantity]}
+     */
+    @Query(
+            "SELECT d.transactionType, SUM(d.totalQuantity) FROM StockMovementDaily d WHERE d.skuId = :skuId AND d.movementDate >= :fromDate AND d.movementDate < :toDate GROUP BY d.transactionType")
+    List<Object[]> sumQuantitiesByType(
+            @Param("skuId") Long skuId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * Finds the daily rollup rows of a SKU.
+     *
+     * @param skuId the SKU ID
+     * @return rollup rows ordered by day and transaction type
+     */
+    @Query(
+            "SELECT d FROM StockMovementDaily d WHERE d.skuId = :skuId ORDER BY d.movementDate, d.transactionType")
+    List<StockMovementDaily> findBySkuId(@Param("skuId") Long skuId);
+}
@@ -0,0 +1,143 @@
+package com.inventorymanagement.inventory.repository;
+
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction.TransactionType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only repository for transaction analytics. Every query groups and sums in the database and returns interface projections, so no
+ * InventoryTransaction or Sku entities are loaded. Totals by type and by day read the {@code stock_movement_daily} rollup; totals by
+ * reference type and performer, which the rollup does not keep, read the ledger.
+ */
+@Repository
+public interface TransactionAnalyticsRepository
+        extends org.springframework.data.repository.Repository<InventoryTransaction, Long> {
+
+    /**
+     * Signed effect of a ledger row on stock: receipts add, shipments subtract, adjustments keep their sign and reservations leave stock
+     * unchanged.
+     */
+    String NET_STOCK_CHANGE =
+            "SUM(CASE WHEN t.transactionType = 'IN' OR t.transactionType = 'ADJUSTMENT' THEN t.quantity "
+                    + "WHEN t.transactionType = 'OUT' THEN -ABS(t.quantity) ELSE 0 END)";
+
+    // ===== ROLLUP AGGREGATES =====
+
+    /**
+     * Totals movements per transaction type over a range of days.
+     *
+     * @param skuId    SKU filter (null for all SKUs)
+     * @param fromDate first day (inclusive)
+     * @param toDate   last day (inclusive)
+     * @return totals ordered by transaction type
+     */
+    @Query(
+            "SELECT d.transactionType AS transactionType, SUM(d.transactionCount) AS transactionCount, SUM(d.totalQuantity) AS totalQuantity "
+                    + "FROM StockMovementDaily d WHERE (:skuId IS NULL OR d.skuId = :skuId) AND d.movementDate >= :fromDate AND d.movementDate <= :toDate "
+                    + "GROUP BY d.transactionType ORDER BY d.transactionType")
+    List<TypeTotals> sumByType(
+            @Param("skuId") Long skuId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * Totals movements per day and transaction type over a range of days.
+     *
+     * @param skuId    SKU filter (null for all SKUs)
+     * @param fromDate first day (inclusive)
+     * @param toDate   last day (inclusive)
+     * @return totals ordered by day and transaction type
+     */
+    @Query(
+            "SELECT d.movementDate AS movementDate, d.transactionType AS transactionType, SUM(d.transactionCount) AS transactionCount, SUM(d.totalQuantity) AS totalQuantity "
+                    + "FROM StockMovementDaily d WHERE (:skuId IS NULL OR d.skuId = :skuId) AND d.movementDate >= :fromDate AND d.movementDate <= :toDate "
+                    + "GROUP BY d.movementDate, d.transactionType ORDER BY d.movementDate, d.transactionType")
+    List<DailyTypeTotals> sumByDayAndType(
+            @Param("skuId") Long skuId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    // ===== LEDGER AGGREGATES =====
+
+    /**
+     * Counts ledger rows per reference type within a time range, with their net effect on stock. Rows without a reference type form a
+     * group with a null key.
+     *
+     * @param skuId     SKU filter (null for all SKUs)
+     * @param startDate start of the range (inclusive)
+     * @param endDate   end of the range (exclusive)
+     * @return totals ordered by transaction count, descending
+     */
+    @Query(
+            "SELECT t.referenceType AS groupKey, COUNT(t) AS transactionCount, " + NET_STOCK_CHANGE + " AS netStockChange "
+                    + "FROM InventoryTransaction t WHERE (:skuId IS NULL OR t.sku.id = :skuId) AND t.createdAt >= :startDate AND t.createdAt < :endDate "
+                    + "GROUP BY t.referenceType ORDER BY COUNT(t) DESC, t.referenceType")
+    List<GroupTotals> sumByReferenceType(
+            @Param("skuId") Long skuId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Counts ledger rows per performer within a time range, with their net effect on stock. Rows without a performer form a group with a
+     * null key.
+     *
+     * @param skuId     SKU filter (null for all SKUs)
+     * @param startDate start of the range (inclusive)
+     * @param endDate   end of the range (exclusive)
+     * @return totals ordered by transaction count, descending
+     */
+    @Query(
+            "SELECT t.performedBy AS groupKey, COUNT(t) AS transactionCount, " + NET_STOCK_CHANGE + " AS netStockChange "
+                    + "FROM InventoryTransaction t WHERE (:skuId IS NULL OR t.sku.id = :skuId) AND t.createdAt >= :startDate AND t.createdAt < :endDate "
+                    + "GROUP BY t.performedBy ORDER BY COUNT(t) DESC, t.performedBy")
+    List<GroupTotals> sumByPerformer(
+            @Param("skuId") Long skuId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // ===== PROJECTIONS =====
+
+    /**
+     * Transaction count and quantity total of a group. Quantities are summed with their sign, so adjustments net out.
+     */
+    interface Totals {
+
+        long getTransactionCount();
+
+        long getTotalQuantity();
+    }
+
+    /**
+     * Totals of one transaction type.
+     */
+    interface TypeTotals extends Totals {
+
+        TransactionType getTransactionType();
+    }
+
+    /**
+     * Totals of one transaction type on one day.
+     */
+    interface DailyTypeTotals extends TypeTotals {
+
+        LocalDate getMovementDate();
+    }
+
+    /**
+     * Totals of one value of a grouping column. Rows of different transaction types are not summed as they are; only their net effect on
+     * stock is, so the figure reads the same way whatever types the group holds.
+     */
+    interface GroupTotals {
+
+        String getGroupKey();
+
+        long getTransactionCount();
+
+        long getNetStockChange();
+    }
+}
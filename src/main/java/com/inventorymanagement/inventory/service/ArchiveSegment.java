@@ -0,0 +1,662 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable, memory-mapped file of archived inventory ledger rows, stored column by column.
+ *
+ * <p>Rows are sorted by transaction ID. IDs are delta encoded and creation times (in microseconds) delta encoded with zigzag signs, all as
+ * varints. SKU IDs, transaction types, reference types and performers are dictionary encoded; reference IDs and reasons, the only
+ * free-text columns, are deflate compressed. Scans decode the small columns straight from the mapping and inflate a text column only once
+ * a row needs it. The header holds the ID and time range and the distinct SKUs, so most segments are skipped without reading any column.
+ */
+final class ArchiveSegment {
+
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x4C444752;
+    private static final short VERSION = 1;
+
+    private static final int COLUMN_ID = 0;
+    private static final int COLUMN_CREATED_AT = 1;
+    private static final int COLUMN_SKU = 2;
+    private static final int COLUMN_TYPE = 3;
+    private static final int COLUMN_QUANTITY = 4;
+    private static final int COLUMN_REFERENCE_TYPE = 5;
+    private static final int COLUMN_PERFORMED_BY = 6;
+    private static final int COLUMN_REFERENCE_ID = 7;
+    private static final int COLUMN_REASON = 8;
+    private static final int COLUMN_COUNT = 9;
+
+    private final Path path;
+    private final int rowCount;
+    private final long minId;
+    private final long maxId;
+    private final long minCreatedAt;
+    private final long maxCreatedAt;
+    private final long[] skuIds;
+    private final InventoryTransaction.TransactionType[] transactionTypes;
+    private final String[] referenceTypes;
+    private final String[] performers;
+    private final ByteBuffer[] columns;
+    private final int[] inflatedLengths;
+
+    private ArchiveSegment(
+            Path path,
+            int rowCount,
+            long minId,
+            long maxId,
+            long minCreatedAt,
+            long maxCreatedAt,
+            long[] skuIds,
+            InventoryTransaction.TransactionType[] transactionTypes,
+            String[] referenceTypes,
+            String[] performers,
+            ByteBuffer[] columns,
+            int[] inflatedLengths) {
+        this.path = path;
+        this.rowCount = rowCount;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.skuIds = skuIds;
+        this.transactionTypes = transactionTypes;
+        this.referenceTypes = referenceTypes;
+        this.performers = performers;
+        this.columns = columns;
+        this.inflatedLengths = inflatedLengths;
+    }
+
+    /**
+     * Writes rows to a new segment file in a directory and opens it. The file is forced to disk under a temporary name and then atomically
+     * renamed, so a segment file is either complete or absent.
+     *
+     * @param directory the archive directory
+     * @param rows      the rows to write, at least one
+     * @return the opened segment
+     * @throws IOException if the file cannot be written
+     */
+    static ArchiveSegment write(Path directory, List<ArchivedTransaction> rows) throws IOException {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("An archive segment needs at least one row");
+        }
+        List<ArchivedTransaction> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(ArchivedTransaction::getId));
+
+        long minId = sorted.get(0).getId();
+        long maxId = sorted.get(sorted.size() - 1).getId();
+        long minCreatedAt = Long.MAX_VALUE;
+        long maxCreatedAt = Long.MIN_VALUE;
+        for (ArchivedTransaction row : sorted) {
+            long createdAt = toMicros(row.getCreatedAt());
+            minCreatedAt = Math.min(minCreatedAt, createdAt);
+            maxCreatedAt = Math.max(maxCreatedAt, createdAt);
+        }
+        long[] skuIds = sorted.stream().mapToLong(ArchivedTransaction::getSkuId).distinct().sorted().toArray();
+
+        Map<String, Integer> typeDictionary = new LinkedHashMap<>();
+        Map<String, Integer> referenceTypeDictionary = new LinkedHashMap<>();
+        Map<String, Integer> performerDictionary = new LinkedHashMap<>();
+        ByteArrayOutputStream[] columnData = new ByteArrayOutputStream[COLUMN_COUNT];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            columnData[column] = new ByteArrayOutputStream();
+        }
+
+        long previousId = minId;
+        long previousCreatedAt = minCreatedAt;
+        for (ArchivedTransaction row : sorted) {
+            long createdAt = toMicros(row.getCreatedAt());
+            writeVarLong(columnData[COLUMN_ID], row.getId() - previousId);
+            writeVarLong(columnData[COLUMN_CREATED_AT], zigzag(createdAt - previousCreatedAt));
+            writeVarLong(columnData[COLUMN_SKU], Arrays.binarySearch(skuIds, row.getSkuId()));
+            writeVarLong(
+                    columnData[COLUMN_TYPE], dictionaryCode(typeDictionary, row.getTransactionType().name()));
+            writeVarLong(columnData[COLUMN_QUANTITY], zigzag(row.getQuantity()));
+            writeVarLong(
+                    columnData[COLUMN_REFERENCE_TYPE], nullableDictionaryCode(referenceTypeDictionary, row.getReferenceType()));
+            writeVarLong(
+                    columnData[COLUMN_PERFORMED_BY], nullableDictionaryCode(performerDictionary, row.getPerformedBy()));
+            writeText(columnData[COLUMN_REFERENCE_ID], row.getReferenceId());
+            writeText(columnData[COLUMN_REASON], row.getReason());
+            previousId = row.getId();
+            previousCreatedAt = createdAt;
+        }
+
+        byte[][] columnBytes = new byte[COLUMN_COUNT][];
+        int[] inflatedLengths = new int[COLUMN_COUNT];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            byte[] raw = columnData[column].toByteArray();
+            boolean compressed = column == COLUMN_REFERENCE_ID || column == COLUMN_REASON;
+            columnBytes[column] = compressed ? deflate(raw) : raw;
+            inflatedLengths[column] = compressed ? raw.length : -1;
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeInt(sorted.size());
+        header.writeLong(minId);
+        header.writeLong(maxId);
+        header.writeLong(minCreatedAt);
+        header.writeLong(maxCreatedAt);
+        header.writeInt(skuIds.length);
+        for (long skuId : skuIds) {
+            header.writeLong(skuId);
+        }
+        writeDictionary(header, typeDictionary);
+        writeDictionary(header, referenceTypeDictionary);
+        writeDictionary(header, performerDictionary);
+        header.flush();
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(file);
+        out.write(headerBytes.toByteArray());
+        int offset = headerBytes.size() + COLUMN_COUNT * 3 * Integer.BYTES;
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            out.writeInt(offset);
+            out.writeInt(columnBytes[column].length);
+            out.writeInt(inflatedLengths[column]);
+            offset += columnBytes[column].length;
+        }
+        for (byte[] bytes : columnBytes) {
+            out.write(bytes);
+        }
+        out.flush();
+
+        String fileName = String.format("segment-%019d-%019d%s", minId, maxId, FILE_SUFFIX);
+        Path target = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + ".tmp");
+        try (FileChannel channel =
+                FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(file.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return open(target);
+    }
+
+    /**
+     * Maps a segment file into memory and reads its header.
+     *
+     * @param path the segment file
+     * @return the segment
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    static ArchiveSegment open(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an archive segment: " + path);
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported archive segment version " + version + ": " + path);
+        }
+
+        int rowCount = buffer.getInt();
+        long minId = buffer.getLong();
+        long maxId = buffer.getLong();
+        long minCreatedAt = buffer.getLong();
+        long maxCreatedAt = buffer.getLong();
+        long[] skuIds = new long[buffer.getInt()];
+        for (int i = 0; i < skuIds.length; i++) {
+            skuIds[i] = buffer.getLong();
+        }
+        String[] typeNames = readDictionary(buffer);
+        InventoryTransaction.TransactionType[] transactionTypes =
+                new InventoryTransaction.TransactionType[typeNames.length];
+        for (int i = 0; i < typeNames.length; i++) {
+            transactionTypes[i] = InventoryTransaction.TransactionType.valueOf(typeNames[i]);
+        }
+        String[] referenceTypes = readDictionary(buffer);
+        String[] performers = readDictionary(buffer);
+
+        ByteBuffer[] columns = new ByteBuffer[COLUMN_COUNT];
+        int[] inflatedLengths = new int[COLUMN_COUNT];
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            int offset = buffer.getInt();
+            int length = buffer.getInt();
+            inflatedLengths[column] = buffer.getInt();
+            columns[column] = buffer.slice(offset, length);
+        }
+
+        return new ArchiveSegment(
+                path,
+                rowCount,
+                minId,
+                maxId,
+                minCreatedAt,
+                maxCreatedAt,
+                skuIds,
+                transactionTypes,
+                referenceTypes,
+                performers,
+                columns,
+                inflatedLengths);
+    }
+
+    /**
+     * Visits the rows matching a filter in transaction ID order, until the visitor asks to stop. Safe to call from several threads.
+     *
+     * @param filter  the criteria
+     * @param visitor receives each matching row; the row object is reused between calls
+     */
+    void scan(TransactionArchive.Filter filter, RowVisitor visitor) {
+        int skuCode = -1;
+        if (filter.getSkuId() != null) {
+            skuCode = Arrays.binarySearch(skuIds, filter.getSkuId());
+            if (skuCode < 0) {
+                return;
+            }
+        }
+        int typeCode = -1;
+        if (filter.getTransactionType() != null) {
+            typeCode = Arrays.asList(transactionTypes).indexOf(filter.getTransactionType());
+            if (typeCode < 0) {
+                return;
+            }
+        }
+        int referenceTypeCode = nullableFilterCode(referenceTypes, filter.getReferenceType());
+        int performerCode = nullableFilterCode(performers, filter.getPerformedBy());
+        if (referenceTypeCode == 0 || performerCode == 0) {
+            return;
+        }
+
+        long from = filter.getStartDate() != null ? toMicrosCeiling(filter.getStartDate()) : Long.MIN_VALUE;
+        long to = filter.getEndDate() != null ? toMicros(filter.getEndDate()) : Long.MAX_VALUE;
+        long cursorCreatedAt =
+                filter.getCursorCreatedAt() != null ? toMicros(filter.getCursorCreatedAt()) : Long.MAX_VALUE;
+        if (from > maxCreatedAt || to < minCreatedAt || cursorCreatedAt < minCreatedAt) {
+            return;
+        }
+        if (filter.getAfterId() >= maxId || filter.getUpToId() < minId) {
+            return;
+        }
+
+        ByteBuffer ids = columns[COLUMN_ID].duplicate();
+        ByteBuffer createdAts = columns[COLUMN_CREATED_AT].duplicate();
+        ByteBuffer skus = columns[COLUMN_SKU].duplicate();
+        ByteBuffer types = columns[COLUMN_TYPE].duplicate();
+        ByteBuffer quantities = columns[COLUMN_QUANTITY].duplicate();
+        ByteBuffer referenceTypeCodes = columns[COLUMN_REFERENCE_TYPE].duplicate();
+        ByteBuffer performerCodes = columns[COLUMN_PERFORMED_BY].duplicate();
+        Row row = new Row(new TextColumn(COLUMN_REFERENCE_ID), new TextColumn(COLUMN_REASON));
+
+        long id = minId;
+        long createdAt = minCreatedAt;
+        for (int index = 0; index < rowCount; index++) {
+            id += readVarLong(ids);
+            createdAt += unzigzag(readVarLong(createdAts));
+            int sku = (int) readVarLong(skus);
+            int type = (int) readVarLong(types);
+            int quantity = (int) unzigzag(readVarLong(quantities));
+            int referenceType = (int) readVarLong(referenceTypeCodes);
+            int performer = (int) readVarLong(performerCodes);
+
+            if (id > filter.getUpToId()) {
+                return;
+            }
+            if (id <= filter.getAfterId()
+                    || (skuCode >= 0 && sku != skuCode)
+                    || (typeCode >= 0 && type != typeCode)
+                    || (referenceTypeCode > 0 && referenceType != referenceTypeCode)
+                    || (performerCode > 0 && performer != performerCode)
+                    || createdAt < from
+                    || createdAt > to
+                    || createdAt > cursorCreatedAt
+                    || (createdAt == cursorCreatedAt && id >= filter.getCursorId())) {
+                continue;
+            }
+
+            row.set(index, id, createdAt, sku, type, quantity, referenceType, performer);
+            if (filter.getReferenceId() != null && !filter.getReferenceId().equals(row.getReferenceId())) {
+                continue;
+            }
+            if (!visitor.visit(row)) {
+                return;
+            }
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    long getMinId() {
+        return minId;
+    }
+
+    long getMaxId() {
+        return maxId;
+    }
+
+    LocalDateTime getMaxCreatedAt() {
+        return fromMicros(maxCreatedAt);
+    }
+
+    long getMaxCreatedAtMicros() {
+        return maxCreatedAt;
+    }
+
+    /** The distinct non-null reference types of the segment's rows. */
+    List<String> getReferenceTypes() {
+        return Arrays.asList(referenceTypes);
+    }
+
+    /** The distinct non-null performers of the segment's rows. */
+    List<String> getPerformers() {
+        return Arrays.asList(performers);
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Converts a time to microseconds since the epoch, rounding down. Database timestamps carry at most microseconds.
+     */
+    static long toMicros(LocalDateTime time) {
+        return Math.addExact(
+                Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), 1_000_000L), time.getNano() / 1_000);
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long toMicrosCeiling(LocalDateTime time) {
+        return toMicros(time) + (time.getNano() % 1_000 != 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns 1 + the dictionary index of a filter value, 0 if the value is not in the dictionary, or -1 if there is no filter.
+     */
+    private static int nullableFilterCode(String[] dictionary, String value) {
+        if (value == null) {
+            return -1;
+        }
+        return Arrays.asList(dictionary).indexOf(value) + 1;
+    }
+
+    private static int dictionaryCode(Map<String, Integer> dictionary, String value) {
+        return dictionary.computeIfAbsent(value, key -> dictionary.size());
+    }
+
+    /**
+     * Codes null as 0 and dictionary entries from 1.
+     */
+    private static int nullableDictionaryCode(Map<String, Integer> dictionary, String value) {
+        return value == null ? 0 : dictionaryCode(dictionary, value) + 1;
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) {
+        String[] values = new String[buffer.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    /**
+     * Writes a nullable string as a varint of its byte length plus one (0 for null) followed by its UTF-8 bytes.
+     */
+    private static void writeText(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Receives rows during a scan.
+     */
+    interface RowVisitor {
+
+        /**
+         * @param row the matching row, valid only until this method returns
+         * @return false to stop the scan
+         */
+        boolean visit(Row row);
+    }
+
+    /**
+     * A reusable view of the current row of a scan. Text columns are inflated on first access.
+     */
+    final class Row {
+
+        private final TextColumn referenceIds;
+        private final TextColumn reasons;
+        private int index;
+        private long id;
+        private long createdAt;
+        private int sku;
+        private int type;
+        private int quantity;
+        private int referenceType;
+        private int performer;
+
+        private Row(TextColumn referenceIds, TextColumn reasons) {
+            this.referenceIds = referenceIds;
+            this.reasons = reasons;
+        }
+
+        private void set(
+                int index, long id, long createdAt, int sku, int type, int quantity, int referenceType, int performer) {
+            this.index = index;
+            this.id = id;
+            this.createdAt = createdAt;
+            this.sku = sku;
+            this.type = type;
+            this.quantity = quantity;
+            this.referenceType = referenceType;
+            this.performer = performer;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        /** Creation time in microseconds since the epoch. */
+        long getCreatedAtMicros() {
+            return createdAt;
+        }
+
+        long getSkuId() {
+            return skuIds[sku];
+        }
+
+        InventoryTransaction.TransactionType getTransactionType() {
+            return transactionTypes[type];
+        }
+
+        int getQuantity() {
+            return quantity;
+        }
+
+        String getReferenceId() {
+            return referenceIds.get(index);
+        }
+
+        String getReferenceType() {
+            return referenceType > 0 ? referenceTypes[referenceType - 1] : null;
+        }
+
+        String getPerformedBy() {
+            return performer > 0 ? performers[performer - 1] : null;
+        }
+
+        ArchivedTransaction toArchivedTransaction() {
+            return new ArchivedTransaction(
+                    id,
+                    getSkuId(),
+                    getTransactionType(),
+                    quantity,
+                    getReferenceId(),
+                    getReferenceType(),
+                    reasons.get(index),
+                    getPerformedBy(),
+                    fromMicros(createdAt));
+        }
+    }
+
+    /**
+     * A compressed text column, inflated on first access and indexed by row.
+     */
+    private final class TextColumn {
+
+        private final int column;
+        private byte[] data;
+        private int[] offsets;
+
+        private TextColumn(int column) {
+            this.column = column;
+        }
+
+        String get(int index) {
+            if (data == null) {
+                inflate();
+            }
+            ByteBuffer entry = ByteBuffer.wrap(data, offsets[index], data.length - offsets[index]);
+            int length = (int) readVarLong(entry) - 1;
+            if (length < 0) {
+                return null;
+            }
+            return new String(data, entry.position(), length, StandardCharsets.UTF_8);
+        }
+
+        private void inflate() {
+            byte[] inflated = new byte[inflatedLengths[column]];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(columns[column].duplicate());
+                int length = 0;
+                while (length < inflated.length && !inflater.finished()) {
+                    int read = inflater.inflate(inflated, length, inflated.length - length);
+                    if (read == 0 && inflater.needsInput()) {
+                        break;
+                    }
+                    length += read;
+                }
+                if (length != inflated.length) {
+                    throw new DataFormatException("truncated column " + column);
+                }
+            } catch (DataFormatException e) {
+                throw new UncheckedIOException(new IOException("Corrupt archive segment " + path, e));
+            } finally {
+                inflater.end();
+            }
+
+            int[] rowOffsets = new int[rowCount];
+            ByteBuffer entries = ByteBuffer.wrap(inflated);
+            for (int row = 0; row < rowCount; row++) {
+                rowOffsets[row] = entries.position();
+                int length = (int) readVarLong(entries) - 1;
+                if (length > 0) {
+                    entries.position(entries.position() + length);
+                }
+            }
+            this.offsets = rowOffsets;
+            this.data = inflated;
+        }
+    }
+}
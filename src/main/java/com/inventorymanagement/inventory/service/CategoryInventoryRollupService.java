@@ -0,0 +1,361 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.model.CategoryInventoryRollup;
+import com.inventorymanagement.category.repository.CategoryInventoryRollupRepository;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.product.model.Product;
+import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the per-category inventory rollup in step with SKU stock. Writers capture what a SKU or product contributes to the rollup before
+ * and after a change, and the difference is added to the category and every ancestor on its path.
+ *
+ * <p>Every write lands on the root category's row, so rollup rows are the most contended rows in the schema. Inside a transaction the
+ * differences are therefore accumulated per category and applied once, just before commit, root first and then by level and category
+ * ID. The row locks are held only for the commit rather than for the whole transaction, and every transaction takes them in the same
+ * order, so two writers can wait on each other but never deadlock. Applying before commit rather than after keeps the rollup exact: it
+ * commits or rolls back with the stock change. Applying after commit, or in periodic batches, would take the root row off the
+ * transaction's path entirely, but the rollup would then lag the stock and drift whenever a process stopped with batches pending. Readers
+ * in the same transaction call {@link #flush()} first. Outside a transaction the differences are applied at once.
+ *
+ * <p>Only SKUs that are not deleted, of products that are not deleted, contribute. A SKU counts as low on stock at or below its reorder
+ * point, as in {@link Sku#isLowOnStock()}.
+ */
+@Service
+@Transactional
+public class CategoryInventoryRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryInventoryRollupService.class);
+
+    private final CategoryInventoryRollupRepository rollupRepository;
+
+    @Autowired
+    public CategoryInventoryRollupService(CategoryInventoryRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Captures what a SKU currently contributes to the rollup. The SKU must be attached, as its product and category are read.
+     *
+     * @param sku the SKU
+     * @return the SKU's contribution, empty if it is deleted or its product is
+     */
+    public Contribution capture(Sku sku) {
+        return Contribution.of(sku);
+    }
+
+    /**
+     * Captures what all SKUs of a product currently contribute to the rollup.
+     *
+     * @param product the product
+     * @return the product's contribution, empty if it is deleted or has no SKUs that are not deleted
+     */
+    public Contribution capture(Product product) {
+        Contribution total = Contribution.none();
+        for (Sku sku : product.getSkus()) {
+            total = total.plus(Contribution.of(sku));
+        }
+        return total;
+    }
+
+    /**
+     * Records the change between two contributions of the same SKU or product. Categories on both paths see only the difference.
+     *
+     * @param before the contribution before the change
+     * @param after  the contribution after the change
+     */
+    public void record(Contribution before, Contribution after) {
+        PendingDeltas pending = pendingDeltas();
+        pending.add(before.categoryIds, -before.skuCount, -before.stockUnits, before.stockValue.negate(), -before.lowStockCount);
+        pending.add(after.categoryIds, after.skuCount, after.stockUnits, after.stockValue, after.lowStockCount);
+        applyUnlessDeferred(pending);
+    }
+
+    /**
+     * Records the move of a category's subtree, whose rollup covers it, from one chain of ancestors to another. Ancestors on both chains
+     * do not change.
+     *
+     * @param subtree        the rollup of the moved category
+     * @param oldAncestorIds the IDs of the category's ancestors before the move, root first
+     * @param newAncestorIds the IDs of the category's ancestors after the move, root first
+     */
+    public void recordMove(CategoryInventoryRollup subtree, List<Long> oldAncestorIds, List<Long> newAncestorIds) {
+        PendingDeltas pending = pendingDeltas();
+        pending.add(
+                oldAncestorIds,
+                -subtree.getSkuCount(),
+                -subtree.getStockUnits(),
+                subtree.getStockValue().negate(),
+                -subtree.getLowStockCount());
+        pending.add(
+                newAncestorIds,
+                subtree.getSkuCount(),
+                subtree.getStockUnits(),
+                subtree.getStockValue(),
+                subtree.getLowStockCount());
+        applyUnlessDeferred(pending);
+    }
+
+    /**
+     * Applies a change in a SKU's stock quantity to the rollup, for writers that change stock with a bulk update and know the quantities
+     * on either side of it.
+     *
+     * @param sku         the SKU's contribution, captured for its category, price and reorder point
+     * @param stockBefore the stock quantity before the update
+     * @param stockAfter  the stock quantity after the update
+     */
+    public void recordStockChange(Contribution sku, int stockBefore, int stockAfter) {
+        if (stockBefore != stockAfter) {
+            record(sku.withStock(stockBefore), sku.withStock(stockAfter));
+        }
+    }
+
+    /**
+     * Applies the changes recorded so far in the current transaction, so that rollup rows read next include them.
+     */
+    public void flush() {
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            apply(pending);
+        }
+    }
+
+    private PendingDeltas pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingDeltas();
+        }
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        PendingDeltas created = new PendingDeltas();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        apply(created);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CategoryInventoryRollupService.this);
+                    }
+                });
+        return created;
+    }
+
+    private void applyUnlessDeferred(PendingDeltas pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(pending);
+        }
+    }
+
+    private void apply(PendingDeltas pending) {
+        List<CategoryDelta> deltas = pending.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (CategoryDelta delta : deltas) {
+            rollupRepository.applyDelta(
+                    delta.categoryId,
+                    delta.skuCount,
+                    delta.stockUnits,
+                    delta.stockValue,
+                    delta.lowStockCount,
+                    now);
+        }
+        logger.debug("Applied inventory deltas to {} categories", deltas.size());
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Rollup changes recorded in one transaction and not yet applied, one per category.
+     */
+    private static final class PendingDeltas {
+
+        private static final Comparator<CategoryDelta> ROOT_FIRST =
+                Comparator.<CategoryDelta>comparingInt(delta -> delta.level).thenComparing(delta -> delta.categoryId);
+
+        private final Map<Long, CategoryDelta> deltas = new LinkedHashMap<>();
+
+        void add(List<Long> categoryIds, long skuCount, long stockUnits, BigDecimal stockValue, long lowStockCount) {
+            if (skuCount == 0 && stockUnits == 0 && stockValue.signum() == 0 && lowStockCount == 0) {
+                return;
+            }
+            // Category IDs run from the root down, so a category's position is its level
+            for (int level = 0; level < categoryIds.size(); level++) {
+                int categoryLevel = level;
+                deltas.computeIfAbsent(categoryIds.get(level), categoryId -> new CategoryDelta(categoryId, categoryLevel))
+                        .add(skuCount, stockUnits, stockValue, lowStockCount);
+            }
+        }
+
+        /**
+         * Removes and returns the changes that are not zero, root first.
+         */
+        List<CategoryDelta> drain() {
+            List<CategoryDelta> nonZero = new ArrayList<>();
+            for (CategoryDelta delta : deltas.values()) {
+                if (!delta.isZero()) {
+                    nonZero.add(delta);
+                }
+            }
+            deltas.clear();
+            nonZero.sort(ROOT_FIRST);
+            return nonZero;
+        }
+    }
+
+    /**
+     * The accumulated rollup change of one category.
+     */
+    private static final class CategoryDelta {
+
+        private final Long categoryId;
+        private final int level;
+        private long skuCount;
+        private long stockUnits;
+        private BigDecimal stockValue = BigDecimal.ZERO;
+        private long lowStockCount;
+
+        CategoryDelta(Long categoryId, int level) {
+            this.categoryId = categoryId;
+            this.level = level;
+        }
+
+        void add(long skuCount, long stockUnits, BigDecimal stockValue, long lowStockCount) {
+            this.skuCount += skuCount;
+            this.stockUnits += stockUnits;
+            this.stockValue = this.stockValue.add(stockValue);
+            this.lowStockCount += lowStockCount;
+        }
+
+        boolean isZero() {
+            return skuCount == 0 && stockUnits == 0 && stockValue.signum() == 0 && lowStockCount == 0;
+        }
+    }
+
+    /**
+     * What one SKU, or all SKUs of a product, contribute to the rollup of a category and its ancestors.
+     */
+    public static final class Contribution {
+
+        private static final Contribution NONE =
+                new Contribution(Collections.emptyList(), 0, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+
+        private final List<Long> categoryIds;
+        private final long skuCount;
+        private final long stockUnits;
+        private final BigDecimal stockValue;
+        private final long lowStockCount;
+        private final BigDecimal price;
+        private final int reorderPoint;
+
+        private Contribution(
+                List<Long> categoryIds,
+                long skuCount,
+                long stockUnits,
+                BigDecimal stockValue,
+                long lowStockCount,
+                BigDecimal price,
+                int reorderPoint) {
+            this.categoryIds = categoryIds;
+            this.skuCount = skuCount;
+            this.stockUnits = stockUnits;
+            this.stockValue = stockValue;
+            this.lowStockCount = lowStockCount;
+            this.price = price;
+            this.reorderPoint = reorderPoint;
+        }
+
+        /**
+         * Returns the empty contribution, e.g. of a SKU before it is created.
+         *
+         * @return the empty contribution
+         */
+        public static Contribution none() {
+            return NONE;
+        }
+
+        static Contribution of(Sku sku) {
+            Product product = sku.getProduct();
+            if (sku.isDeleted() || product == null || product.isDeleted() || product.getCategory() == null) {
+                return NONE;
+            }
+
+            Category category = product.getCategory();
+            List<Long> categoryIds = new ArrayList<>(category.getAncestorIds());
+            categoryIds.add(category.getId());
+            BigDecimal price = sku.getPrice() != null ? sku.getPrice() : BigDecimal.ZERO;
+            int reorderPoint = sku.getReorderPoint() != null ? sku.getReorderPoint() : 0;
+            return new Contribution(categoryIds, 1, 0, BigDecimal.ZERO, 0, price, reorderPoint)
+                    .withStock(sku.getStockQuantity() != null ? sku.getStockQuantity() : 0);
+        }
+
+        Contribution withStock(int stockQuantity) {
+            if (skuCount == 0) {
+                return this;
+            }
+            return new Contribution(
+                    categoryIds,
+                    skuCount,
+                    stockQuantity,
+                    price.multiply(BigDecimal.valueOf(stockQuantity)),
+                    stockQuantity <= reorderPoint ? 1 : 0,
+                    price,
+                    reorderPoint);
+        }
+
+        Contribution plus(Contribution other) {
+            if (other.skuCount == 0) {
+                return this;
+            }
+            if (skuCount == 0) {
+                return other;
+            }
+            return new Contribution(
+                    categoryIds,
+                    skuCount + other.skuCount,
+                    stockUnits + other.stockUnits,
+                    stockValue.add(other.stockValue),
+                    lowStockCount + other.lowStockCount,
+                    BigDecimal.ZERO,
+                    0);
+        }
+
+        public long getSkuCount() {
+            return skuCount;
+        }
+
+        public long getStockUnits() {
+            return stockUnits;
+        }
+
+        public BigDecimal getStockValue() {
+            return stockValue;
+        }
+
+        public long getLowStockCount() {
+            return lowStockCount;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.inventorymanagement.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorymanagement.common.exception.BusinessException;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.inventory.model.IdempotencyRecord;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for making stock-mutating requests idempotent via the {@code Idempotency-Key} header.
+ *
+ * <p>The first successful request for a key runs its stock operation and stores the result in the same transaction. Later requests with
+ * the same key get that result back without touching any SKU rows. Recent results are held in a bounded in-memory index, so retry storms
+ * are answered without a database round trip; older ones are read from the {@code idempotency_keys} table. Records expire after
+ * {@code inventory.idempotency.ttl-minutes}.
+ *
+ * <p>Transactions are managed explicitly here rather than with {@code @Transactional}, because a request that loses a race on the
+ * unique key must have its own transaction rolled back before it reads the winning result.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Map<String, StoredResult> recentResults;
+
+    @Autowired
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${inventory.idempotency.max-entries:10000}") int maxEntries) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.recentResults =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<String, StoredResult>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<String, StoredResult> eldest) {
+                                return size() > maxEntries;
+                            }
+                        });
+    }
+
+    /**
+     * Runs a stock operation at most once per idempotency key.
+     *
+     * @param idempotencyKey the client-supplied idempotency key
+     * @param operation      the operation name, e.g. "RESERVE"
+     * @param skuId          the SKU ID
+     * @param quantity       the requested quantity
+     * @param action         the stock operation to run on first use of the key
+     * @return the result of the first successful request for this key
+     * @throws ValidationException if the key is blank or too long
+     * @throws BusinessException   if the key was already used for a different operation, SKU or quantity
+     */
+    public SkuDto execute(
+            String idempotencyKey,
+            String operation,
+            Long skuId,
+            Integer quantity,
+            Supplier<SkuDto> action) {
+        validateKey(idempotencyKey);
+
+        Optional<SkuDto> storedResult = findStoredResult(idempotencyKey, operation, skuId, quantity);
+        if (storedResult.isPresent()) {
+            logger.info("Replaying stored {} result for idempotency key: {}", operation, idempotencyKey);
+            return storedResult.get();
+        }
+
+        StoredResult result;
+        try {
+            result =
+                    transactionTemplate.execute(
+                            status -> {
+                                LocalDateTime now = LocalDateTime.now();
+                                idempotencyRecordRepository.deleteExpiredKey(idempotencyKey, now);
+
+                                SkuDto response = action.get();
+                                LocalDateTime expiresAt = now.plus(ttl);
+                                idempotencyRecordRepository.saveAndFlush(
+                                        new IdempotencyRecord(
+                                                idempotencyKey,
+                                                operation,
+                                                skuId,
+                                                quantity,
+                                                serialize(response),
+                                                expiresAt));
+                                return new StoredResult(operation, skuId, quantity, response, expiresAt);
+                            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first; ours has been rolled back
+            logger.info("Idempotency key {} was claimed concurrently, replaying stored result", idempotencyKey);
+            return findStoredResult(idempotencyKey, operation, skuId, quantity).orElseThrow(() -> e);
+        }
+
+        recentResults.put(idempotencyKey, result);
+        return result.response;
+    }
+
+    /**
+     * Removes expired records from the database and the in-memory index.
+     */
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+
+        synchronized (recentResults) {
+            recentResults.values().removeIf(result -> result.expiresAt.isBefore(now));
+        }
+
+        Integer deleted =
+                transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} expired idempotency records", deleted);
+        }
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private Optional<SkuDto> findStoredResult(
+            String idempotencyKey, String operation, Long skuId, Integer quantity) {
+        LocalDateTime now = LocalDateTime.now();
+
+        StoredResult cached = recentResults.get(idempotencyKey);
+        if (cached != null && !cached.expiresAt.isBefore(now)) {
+            verifySameRequest(idempotencyKey, cached.matches(operation, skuId, quantity));
+            return Optional.of(cached.response);
+        }
+
+        Optional<IdempotencyRecord> record =
+                idempotencyRecordRepository.findByIdempotencyKey(idempotencyKey);
+        if (record.isEmpty() || record.get().isExpired(now)) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord stored = record.get();
+        verifySameRequest(idempotencyKey, stored.matches(operation, skuId, quantity));
+
+        SkuDto response = deserialize(stored.getResponseBody());
+        recentResults.put(
+                idempotencyKey,
+                new StoredResult(
+                        stored.getOperation(),
+                        stored.getSkuId(),
+                        stored.getQuantity(),
+                        response,
+                        stored.getExpiresAt()));
+        return Optional.of(response);
+    }
+
+    private void verifySameRequest(String idempotencyKey, boolean matches) {
+        if (!matches) {
+            throw new BusinessException(
+                    "IDEMPOTENCY_KEY_REUSED",
+                    "Idempotency key '" + idempotencyKey + "' was already used for a different request");
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new ValidationException("Idempotency-Key", "Idempotency key cannot be empty");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(
+                    "Idempotency-Key", "Idempotency key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private String serialize(SkuDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private SkuDto deserialize(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, SkuDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize stored idempotent response", e);
+        }
+    }
+
+    /**
+     * A stored result together with the request it answered.
+     */
+    private static final class StoredResult {
+
+        private final String operation;
+        private final Long skuId;
+        private final Integer quantity;
+        private final SkuDto response;
+        private final LocalDateTime expiresAt;
+
+        StoredResult(
+                String operation, Long skuId, Integer quantity, SkuDto response, LocalDateTime expiresAt) {
+            this.operation = operation;
+            this.skuId = skuId;
+            this.quantity = quantity;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean matches(String operation, Long skuId, Integer quantity) {
+            return this.operation.equals(operation)
+                    && this.skuId.equals(skuId)
+                    && this.quantity.equals(quantity);
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package com.inventorymanagement.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind writer for inventory ledger rows, enabled with {@code inventory.ledger.write-behind.enabled=true}.
+ *
+ * <p>Transactions submitted inside a database transaction are appended and forced to a local journal file just before it commits, so a
+ * committed stock change always has its ledger records on disk; a failure to journal rolls the change back. Once the transaction
+ * commits they are queued in a bounded in-memory ring, and if it rolls back their sequence numbers are appended to the journal as
+ * aborted. A background thread drains the ring in JDBC batches every {@code flush-interval-ms}, or as soon as {@code batch-size} records
+ * are waiting. Flushed sequence numbers are appended to the journal, and the journal is truncated whenever everything appended has been
+ * flushed or aborted.
+ *
+ * <p>On startup, journaled records that were never marked flushed or aborted are inserted before new work is accepted. Delivery is
+ * at-least-once: a crash between a batch insert and its flushed marker replays that batch, and a crash between journaling and the
+ * database commit replays records whose transaction may not have committed, which ledger verification then reports as drift.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.ledger.write-behind.enabled", havingValue = "true")
+public class InventoryLedgerWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryLedgerWriter.class);
+    private static final TypeReference<Map<String, Object>> JOURNAL_LINE_TYPE = new TypeReference<>() {};
+
+    private final InventoryTransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path journalPath;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<JournaledTransaction> queue;
+
+    private final Object journalLock = new Object();
+    private final Object flushLock = new Object();
+
+    // Guarded by journalLock
+    private FileChannel journal;
+    private long lastSequence;
+    private long unflushedCount;
+
+    // Guarded by flushLock; holds a batch whose insert failed so it is retried before anything newer
+    private final List<JournaledTransaction> pending = new ArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public InventoryLedgerWriter(
+            InventoryTransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.ledger.write-behind.journal-path:./data/ledger-journal.log}") String journalPath,
+            @Value("${inventory.ledger.write-behind.capacity:10000}") int capacity,
+            @Value("${inventory.ledger.write-behind.batch-size:500}") int batchSize,
+            @Value("${inventory.ledger.write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Writes may be triggered from afterCommit callbacks, where REQUIRED would join the finished transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.journalPath = Paths.get(journalPath);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    /**
+     * Recovers unflushed journal records and starts the background flusher.
+     */
+    @PostConstruct
+    void start() throws IOException {
+        Path parent = journalPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        List<JournaledTransaction> unflushed = readUnflushedRecords();
+
+        synchronized (journalLock) {
+            journal =
+                    FileChannel.open(
+                            journalPath,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND);
+            unflushedCount = unflushed.size();
+        }
+
+        if (!unflushed.isEmpty()) {
+            logger.warn("Recovering {} ledger records from journal {}", unflushed.size(), journalPath);
+            writeBatch(unflushed);
+            markFlushed(unflushed);
+        }
+        compactIfDrained();
+
+        scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "ledger-writer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.scheduleWithFixedDelay(
+                this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        logger.info(
+                "Ledger write-behind enabled: journal={}, capacity={}, batchSize={}, flushIntervalMs={}",
+                journalPath,
+                queue.remainingCapacity() + queue.size(),
+                batchSize,
+                flushIntervalMs);
+    }
+
+    /**
+     * Stops the background flusher, flushes everything still queued and closes the journal.
+     */
+    @PreDestroy
+    void stop() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(flushIntervalMs * 5, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flushQuietly();
+
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Submits transactions for write-behind. Inside a database transaction they are journaled before it commits and queued only after it
+     * has, so rolled back stock changes never reach the ledger; otherwise they are journaled and queued immediately.
+     *
+     * @param transactions the transactions to write, each with its SKU and type set
+     * @throws UncheckedIOException if the records cannot be journaled inside a database transaction, which then rolls back
+     */
+    public void submit(List<InventoryTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<JournaledTransaction> entries = new ArrayList<>(transactions.size());
+        for (InventoryTransaction transaction : transactions) {
+            entries.add(
+                    new JournaledTransaction(
+                            transaction, transaction.getCreatedAt() != null ? transaction.getCreatedAt() : now));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly) {
+                            try {
+                                appendRecords(entries);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException("Failed to journal " + entries.size() + " ledger records", e);
+                            }
+                        }
+
+                        @Override
+                        public void afterCommit() {
+                            enqueue(entries);
+                        }
+
+                        @Override
+                        public void afterCompletion(int status) {
+                            // Records whose commit outcome is unknown stay in the journal and are replayed on restart
+                            if (status == STATUS_ROLLED_BACK && entries.get(0).sequence != 0) {
+                                markAborted(entries);
+                            }
+                        }
+                    });
+        } else {
+            try {
+                appendRecords(entries);
+            } catch (IOException e) {
+                // Without a surrounding transaction the stock change has already happened, so write the rows directly
+                logger.error("Failed to journal {} ledger records, writing them directly", entries.size(), e);
+                writeBatch(entries);
+                return;
+            }
+            enqueue(entries);
+        }
+    }
+
+    /**
+     * Writes all queued transactions to the database in batches of at most {@code batch-size}.
+     *
+     * @throws RuntimeException if a batch insert fails; the batch is kept and retried on the next flush
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            while (true) {
+                if (pending.isEmpty()) {
+                    queue.drainTo(pending, batchSize);
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                }
+
+                writeBatch(pending);
+                markFlushed(pending);
+                pending.clear();
+            }
+        }
+        compactIfDrained();
+    }
+
+    /**
+     * Returns the number of transactions accepted but not yet written to the database.
+     *
+     * @return the backlog size
+     */
+    public long getBacklog() {
+        synchronized (journalLock) {
+            return unflushedCount;
+        }
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void enqueue(List<JournaledTransaction> entries) {
+        for (JournaledTransaction entry : entries) {
+            if (!queue.offer(entry)) {
+                flushQuietly();
+                try {
+                    queue.put(entry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn(
+                            "Interrupted while queueing ledger record {}; it will be recovered from the journal",
+                            entry.sequence);
+                    return;
+                }
+            }
+        }
+
+        if (queue.size() >= batchSize && scheduler != null && !scheduler.isShutdown()) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush ledger records, will retry", e);
+        }
+    }
+
+    private void writeBatch(List<JournaledTransaction> entries) {
+        List<InventoryTransaction> transactions = new ArrayList<>(entries.size());
+        for (JournaledTransaction entry : entries) {
+            transactions.add(entry.toTransaction());
+        }
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    transactionRepository.batchInsert(transactions);
+                    transactionRepository.addToDailyRollup(transactions);
+                });
+    }
+
+    private void appendRecords(List<JournaledTransaction> entries) throws IOException {
+        synchronized (journalLock) {
+            StringBuilder lines = new StringBuilder();
+            for (JournaledTransaction entry : entries) {
+                entry.sequence = ++lastSequence;
+                lines.append(objectMapper.writeValueAsString(entry.toJournalLine())).append('\n');
+            }
+            // Counted before the write so an aborted marker for a partly written batch balances it
+            unflushedCount += entries.size();
+            writeToJournal(lines.toString());
+        }
+    }
+
+    private void markFlushed(List<JournaledTransaction> entries) {
+        // Worst case the batch is replayed on restart
+        writeMarker("flushed", entries);
+    }
+
+    private void markAborted(List<JournaledTransaction> entries) {
+        // Worst case the records of a rolled back change are replayed on restart
+        writeMarker("aborted", entries);
+        compactIfDrained();
+    }
+
+    private void writeMarker(String name, List<JournaledTransaction> entries) {
+        List<Long> sequences = new ArrayList<>(entries.size());
+        for (JournaledTransaction entry : entries) {
+            sequences.add(entry.sequence);
+        }
+
+        synchronized (journalLock) {
+            unflushedCount -= entries.size();
+            try {
+                Map<String, Object> marker = new LinkedHashMap<>();
+                marker.put(name, sequences);
+                writeToJournal(objectMapper.writeValueAsString(marker) + "\n");
+            } catch (IOException e) {
+                logger.error("Failed to write {} marker to ledger journal", name, e);
+            }
+        }
+    }
+
+    private void compactIfDrained() {
+        synchronized (journalLock) {
+            if (journal == null || unflushedCount != 0) {
+                return;
+            }
+            try {
+                if (journal.size() > 0) {
+                    journal.truncate(0);
+                    journal.force(true);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to compact ledger journal {}", journalPath, e);
+            }
+        }
+    }
+
+    private void writeToJournal(String content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        journal.force(false);
+    }
+
+    private List<JournaledTransaction> readUnflushedRecords() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, JournaledTransaction> records = new LinkedHashMap<>();
+        Set<Long> completed = new HashSet<>();
+        long maxSequence = 0;
+
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, Object> values;
+            try {
+                values = objectMapper.readValue(line, JOURNAL_LINE_TYPE);
+            } catch (JsonProcessingException e) {
+                // A torn final line from a crash mid-append; the record it held was never acknowledged
+                logger.warn("Skipping unreadable ledger journal line: {}", line);
+                continue;
+            }
+
+            if (values.containsKey("flushed") || values.containsKey("aborted")) {
+                Object sequences = values.containsKey("flushed") ? values.get("flushed") : values.get("aborted");
+                for (Object sequence : (List<?>) sequences) {
+                    completed.add(((Number) sequence).longValue());
+                }
+            } else {
+                JournaledTransaction entry = JournaledTransaction.fromJournalLine(values);
+                records.put(entry.sequence, entry);
+                maxSequence = Math.max(maxSequence, entry.sequence);
+            }
+        }
+
+        synchronized (journalLock) {
+            lastSequence = maxSequence;
+        }
+
+        records.keySet().removeAll(completed);
+        return new ArrayList<>(records.values());
+    }
+
+    /**
+     * A ledger record as held in the journal and the in-memory ring. Keeps the SKU ID rather than the entity so nothing outlives its
+     * persistence context.
+     */
+    static final class JournaledTransaction {
+
+        private long sequence;
+        private final Long skuId;
+        private final InventoryTransaction.TransactionType transactionType;
+        private final Integer quantity;
+        private final String referenceId;
+        private final String referenceType;
+        private final String reason;
+        private final String performedBy;
+        private final LocalDateTime createdAt;
+
+        JournaledTransaction(InventoryTransaction transaction, LocalDateTime createdAt) {
+            this(
+                    0,
+                    transaction.getSku().getId(),
+                    transaction.getTransactionType(),
+                    transaction.getQuantity(),
+                    transaction.getReferenceId(),
+                    transaction.getReferenceType(),
+                    transaction.getReason(),
+                    transaction.getPerformedBy(),
+                    createdAt);
+        }
+
+        private JournaledTransaction(
+                long sequence,
+                Long skuId,
+                InventoryTransaction.TransactionType transactionType,
+                Integer quantity,
+                String referenceId,
+                String referenceType,
+                String reason,
+                String performedBy,
+                LocalDateTime createdAt) {
+            this.sequence = sequence;
+            this.skuId = skuId;
+            this.transactionType = transactionType;
+            this.quantity = quantity;
+            this.referenceId = referenceId;
+            this.referenceType = referenceType;
+            this.reason = reason;
+            this.performedBy = performedBy;
+            this.createdAt = createdAt;
+        }
+
+        InventoryTransaction toTransaction() {
+            Sku sku = new Sku();
+            sku.setId(skuId);
+            InventoryTransaction transaction =
+                    new InventoryTransaction(
+                            sku, transactionType, quantity, referenceId, referenceType, reason, performedBy);
+            transaction.setCreatedAt(createdAt);
+            return transaction;
+        }
+
+        Map<String, Object> toJournalLine() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("seq", sequence);
+            values.put("skuId", skuId);
+            values.put("type", transactionType.name());
+            values.put("quantity", quantity);
+            values.put("referenceId", referenceId);
+            values.put("referenceType", referenceType);
+            values.put("reason", reason);
+            values.put("performedBy", performedBy);
+            values.put("createdAt", createdAt.toString());
+            return values;
+        }
+
+        static JournaledTransaction fromJournalLine(Map<String, Object> values) {
+            try {
+                return new JournaledTransaction(
+                        ((Number) values.get("seq")).longValue(),
+                        ((Number) values.get("skuId")).longValue(),
+                        InventoryTransaction.TransactionType.valueOf((String) values.get("type")),
+                        ((Number) values.get("quantity")).intValue(),
+                        (String) values.get("referenceId"),
+                        (String) values.get("referenceType"),
+                        (String) values.get("reason"),
+                        (String) values.get("performedBy"),
+                        LocalDateTime.parse((String) values.get("createdAt")));
+            } catch (RuntimeException e) {
+                throw new UncheckedIOException(
+                        new IOException("Corrupt ledger journal record: " + values, e));
+            }
+        }
+    }
+}
@@ -2,19 +2,35 @@ package com.inventorymanagement.inventory.service;
 
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.model.CursorPage;
+import com.inventorymanagement.common.model.KeysetCursor;
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
 import com.inventorymanagement.inventory.model.InventoryTransaction;
 import com.inventorymanagement.inventory.model.Sku;
 import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
 import com.inventorymanagement.inventory.repository.SkuRepository;
+import com.inventorymanagement.inventory.repository.StockMovementDailyRepository;
+import com.inventorymanagement.inventory.repository.TransactionAnalyticsRepository;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -26,15 +42,41 @@ import org.springframework.util.StringUtils;
 public class InventoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
 
     private final InventoryTransactionRepository transactionRepository;
     private final SkuRepository skuRepository;
+    private final SkuStockShardService stockShardService;
+    private final StockMovementDailyRepository dailyMovementRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionAnalyticsRepository analyticsRepository;
+    private InventoryLedgerWriter ledgerWriter;
 
     @Autowired
     public InventoryService(
-            InventoryTransactionRepository transactionRepository, SkuRepository skuRepository) {
+            InventoryTransactionRepository transactionRepository,
+            SkuRepository skuRepository,
+            SkuStockShardService stockShardService,
+            StockMovementDailyRepository dailyMovementRepository,
+            TransactionArchive transactionArchive,
+            TransactionAnalyticsRepository analyticsRepository) {
         this.transactionRepository = transactionRepository;
         this.skuRepository = skuRepository;
+        this.stockShardService = stockShardService;
+        this.dailyMovementRepository = dailyMovementRepository;
+        this.transactionArchive = transactionArchive;
+        this.analyticsRepository = analyticsRepository;
+    }
+
+    /**
+     * Enables write-behind for {@link #recordTransaction} and {@link #recordTransactions} when the ledger writer is configured.
+     *
+     * @param ledgerWriter the write-behind ledger writer
+     */
+    @Autowired(required = false)
+    public void setLedgerWriter(InventoryLedgerWriter ledgerWriter) {
+        this.ledgerWriter = ledgerWriter;
     }
 
     // ===== INVENTORY TRANSACTION OPERATIONS =====
@@ -74,7 +116,7 @@ public class InventoryService {
                         reason,
                         performedBy);
 
-        InventoryTransaction savedTransaction = transactionRepository.save(transaction);
+        InventoryTransaction savedTransaction = saveTransaction(transaction);
 
         logger.info("Successfully recorded stock-in transaction with ID: {}", savedTransaction.getId());
         return savedTransaction;
@@ -117,7 +159,7 @@ public class InventoryService {
                         reason,
                         performedBy);
 
-        InventoryTransaction savedTransaction = transactionRepository.save(transaction);
+        InventoryTransaction savedTransaction = saveTransaction(transaction);
 
         logger.info(
                 "Successfully recorded stock-out transaction with ID: {}", savedTransaction.getId());
@@ -159,7 +201,7 @@ public class InventoryService {
                         reason,
                         performedBy);
 
-        InventoryTransaction savedTransaction = transactionRepository.save(transaction);
+        InventoryTransaction savedTransaction = saveTransaction(transaction);
 
         logger.info(
                 "Successfully recorded stock adjustment transaction with ID: {}", savedTransaction.getId());
@@ -204,7 +246,7 @@ public class InventoryService {
                         reason,
                         performedBy);
 
-        InventoryTransaction savedTransaction = transactionRepository.save(transaction);
+        InventoryTransaction savedTransaction = saveTransaction(transaction);
 
         logger.info(
                 "Successfully recorded stock reservation transaction with ID: {}",
@@ -250,14 +292,65 @@ public class InventoryService {
                         reason,
                         performedBy);
 
-        InventoryTransaction savedTransaction = transactionRepository.save(transaction);
+        InventoryTransaction savedTransaction = saveTransaction(transaction);
 
         logger.info(
                 "Successfully recorded stock release transaction with ID: {}", savedTransaction.getId());
         return savedTransaction;
     }
 
+    /**
+     * Records a prepared inventory transaction. Intended for callers that already hold the SKU, or a reference obtained through
+     * {@link SkuRepository#getReferenceById(Object)}, so the ledger write is a plain insert without another SKU lookup. With write-behind
+     * enabled the row is written after the surrounding transaction commits and the returned transaction has no ID.
+     *
+     * @param transaction the transaction to record, with its SKU and type set
+     * @return the created transaction
+     */
+    public InventoryTransaction recordTransaction(@NotNull InventoryTransaction transaction) {
+        validateTransaction(transaction);
+
+        if (ledgerWriter != null) {
+            ledgerWriter.submit(List.of(transaction));
+            return transaction;
+        }
+
+        InventoryTransaction savedTransaction = saveTransaction(transaction);
+
+        logger.debug(
+                "Recorded {} transaction with ID: {}",
+                savedTransaction.getTransactionType(),
+                savedTransaction.getId());
+        return savedTransaction;
+    }
+
+    /**
+     * Records several prepared inventory transactions with a single JDBC batch insert. All transactions are validated before anything is
+     * written. Generated IDs are not populated on the given instances. With write-behind enabled the rows are written after the
+     * surrounding transaction commits.
+     *
+     * @param transactions the transactions to record, each with its SKU and type set
+     * @return number of transactions recorded
+     */
+    public int recordTransactions(@NotNull List<InventoryTransaction> transactions) {
+        for (InventoryTransaction transaction : transactions) {
+            validateTransaction(transaction);
+        }
+
+        if (ledgerWriter != null) {
+            ledgerWriter.submit(transactions);
+            return transactions.size();
+        }
+
+        int recorded = transactionRepository.batchInsert(transactions);
+        transactionRepository.addToDailyRollup(transactions);
+
+        logger.debug("Recorded {} inventory transactions in one batch", recorded);
+        return recorded;
+    }
+
     // ===== TRANSACTION QUERY OPERATIONS =====
+    // History queries cover both the inventory_transactions table and the rows moved to the transaction archive.
 
     /**
      * Retrieves all transactions for a specific SKU.
@@ -272,7 +365,10 @@ public class InventoryService {
         // Verify SKU exists
         findSkuById(skuId);
 
-        return transactionRepository.findBySkuId(skuId, pageable);
+        return withArchived(
+                new TransactionArchive.Filter().withSkuId(skuId),
+                pageable,
+                page -> transactionRepository.findBySkuId(skuId, page));
     }
 
     /**
@@ -299,8 +395,10 @@ public class InventoryService {
         // Verify SKU exists
         findSkuById(skuId);
 
-        return transactionRepository.findBySkuIdAndCreatedAtBetween(
-                skuId, startDate, endDate, pageable);
+        return withArchived(
+                new TransactionArchive.Filter().withSkuId(skuId).withDateRange(startDate, endDate),
+                pageable,
+                page -> transactionRepository.findBySkuIdAndCreatedAtBetween(skuId, startDate, endDate, page));
     }
 
     /**
@@ -314,7 +412,10 @@ public class InventoryService {
             @NotNull InventoryTransaction.TransactionType transactionType, Pageable pageable) {
         logger.debug("Retrieving transactions of type: {}", transactionType);
 
-        return transactionRepository.findByTransactionType(transactionType, pageable);
+        return withArchived(
+                new TransactionArchive.Filter().withTransactionType(transactionType),
+                pageable,
+                page -> transactionRepository.findByTransactionType(transactionType, page));
     }
 
     /**
@@ -339,7 +440,125 @@ public class InventoryService {
             throw new ValidationException("dateRange", "Start date cannot be after end date");
         }
 
-        return transactionRepository.findByDateRange(startDate, endDate, pageable);
+        return withArchived(
+                new TransactionArchive.Filter().withDateRange(startDate, endDate),
+                pageable,
+                page -> transactionRepository.findByDateRange(startDate, endDate, page));
+    }
+
+    /**
+     * Retrieves a page of a SKU's transactions with keyset pagination, newest first. Pages after the first cost the same as the first
+     * and no total count is computed.
+     *
+     * @param skuId  the SKU ID
+     * @param cursor continuation token from the previous page, or null for the first page
+     * @param size   page size
+     * @return page of inventory transactions with a token for the next page
+     * @throws ValidationException     if the cursor or size is invalid
+     * @throws EntityNotFoundException if SKU not found
+     */
+    public CursorPage<InventoryTransaction> getTransactionsBySkuId(
+            @NotNull Long skuId, String cursor, int size) {
+        logger.debug("Retrieving transactions for SKU ID: {} after cursor {}", skuId, cursor);
+
+        validateCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        // Verify SKU exists
+        findSkuById(skuId);
+
+        return toCursorPage(
+                transactionRepository.findBySkuIdAfterCursor(
+                        skuId, position.getCreatedAt(), position.getId(), PageRequest.of(0, size + 1)),
+                new TransactionArchive.Filter().withSkuId(skuId),
+                position,
+                size);
+    }
+
+    /**
+     * Retrieves a page of transactions within a date range with keyset pagination, newest first.
+     *
+     * @param startDate the start date
+     * @param endDate   the end date
+     * @param cursor    continuation token from the previous page, or null for the first page
+     * @param size      page size
+     * @return page of inventory transactions with a token for the next page
+     * @throws ValidationException if the dates, cursor or size are invalid
+     */
+    public CursorPage<InventoryTransaction> getTransactionsByDateRange(
+            @NotNull LocalDateTime startDate, @NotNull LocalDateTime endDate, String cursor, int size) {
+        logger.debug("Retrieving transactions between {} and {} after cursor {}", startDate, endDate, cursor);
+
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException("dateRange", "Start date cannot be after end date");
+        }
+        validateCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        return toCursorPage(
+                transactionRepository.findByDateRangeAfterCursor(
+                        startDate,
+                        endDate,
+                        position.getCreatedAt(),
+                        position.getId(),
+                        PageRequest.of(0, size + 1)),
+                new TransactionArchive.Filter().withDateRange(startDate, endDate),
+                position,
+                size);
+    }
+
+    /**
+     * Searches transactions by optional criteria with keyset pagination, newest first.
+     *
+     * @param skuId           SKU filter (null to ignore)
+     * @param transactionType transaction type filter (null to ignore)
+     * @param referenceId     reference ID filter (null to ignore)
+     * @param referenceType   reference type filter (null to ignore)
+     * @param performedBy     user filter (null to ignore)
+     * @param startDate       start date filter (null to ignore)
+     * @param endDate         end date filter (null to ignore)
+     * @param cursor          continuation token from the previous page, or null for the first page
+     * @param size            page size
+     * @return page of matching transactions with a token for the next page
+     * @throws ValidationException if the dates, cursor or size are invalid
+     */
+    public CursorPage<InventoryTransaction> searchTransactions(
+            Long skuId,
+            InventoryTransaction.TransactionType transactionType,
+            String referenceId,
+            String referenceType,
+            String performedBy,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ValidationException("dateRange", "Start date cannot be after end date");
+        }
+        validateCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        return toCursorPage(
+                transactionRepository.findWithFiltersAfterCursor(
+                        skuId,
+                        transactionType,
+                        referenceId,
+                        referenceType,
+                        performedBy,
+                        startDate,
+                        endDate,
+                        position.getCreatedAt(),
+                        position.getId(),
+                        PageRequest.of(0, size + 1)),
+                new TransactionArchive.Filter()
+                        .withSkuId(skuId)
+                        .withTransactionType(transactionType)
+                        .withReferenceId(referenceId)
+                        .withReferenceType(referenceType)
+                        .withPerformedBy(performedBy)
+                        .withDateRange(startDate, endDate),
+                position,
+                size);
     }
 
     /**
@@ -360,13 +579,39 @@ public class InventoryService {
             throw new ValidationException("referenceId", "Reference ID cannot be empty");
         }
 
-        return transactionRepository.findByReferenceId(referenceId, pageable);
+        return withArchived(
+                new TransactionArchive.Filter().withReferenceId(referenceId),
+                pageable,
+                page -> transactionRepository.findByReferenceId(referenceId, page));
+    }
+
+    /**
+     * Retrieves the distinct reference types of all transactions, archived ones included.
+     *
+     * @return the reference types, sorted
+     */
+    public List<String> getDistinctReferenceTypes() {
+        SortedSet<String> referenceTypes = transactionArchive.findDistinctReferenceTypes();
+        referenceTypes.addAll(transactionRepository.findAllDistinctReferenceTypes());
+        return new ArrayList<>(referenceTypes);
+    }
+
+    /**
+     * Retrieves the distinct users who performed transactions, archived ones included.
+     *
+     * @return the users, sorted
+     */
+    public List<String> getDistinctPerformers() {
+        SortedSet<String> performers = transactionArchive.findDistinctPerformers();
+        performers.addAll(transactionRepository.findAllDistinctPerformedBy());
+        return new ArrayList<>(performers);
     }
 
     // ===== INVENTORY ANALYSIS OPERATIONS =====
 
     /**
-     * Calculates the total stock movement for a SKU within a date range.
+     * Calculates the total stock movement for a SKU within a date range. Whole days inside the range are read from the daily rollup; only
+     * the partial days at either edge are aggregated from the ledger, so the cost does not grow with the length of the range.
      *
      * @param skuId     the SKU ID
      * @param startDate the start date
@@ -388,37 +633,65 @@ public class InventoryService {
         // Verify SKU exists
         findSkuById(skuId);
 
-        List<InventoryTransaction> transactions =
-                transactionRepository.findBySkuIdAndDateRange(skuId, startDate, endDate);
+        // The range is inclusive; work with [startDate, rangeEnd) and the whole days [firstWholeDay, endOfWholeDays)
+        LocalDateTime rangeEnd = endDate.plusNanos(1);
+        LocalDate firstWholeDay =
+                startDate.equals(startDate.toLocalDate().atStartOfDay())
+                        ? startDate.toLocalDate()
+                        : startDate.toLocalDate().plusDays(1);
+        LocalDate endOfWholeDays = rangeEnd.toLocalDate();
+
+        MovementTotals totals = new MovementTotals();
+        if (!firstWholeDay.isBefore(endOfWholeDays)) {
+            addLedgerSums(totals, skuId, startDate, rangeEnd);
+        } else {
+            totals.add(dailyMovementRepository.sumQuantitiesByType(skuId, firstWholeDay, endOfWholeDays));
+            if (startDate.isBefore(firstWholeDay.atStartOfDay())) {
+                addLedgerSums(totals, skuId, startDate, firstWholeDay.atStartOfDay());
+            }
+            if (endOfWholeDays.atStartOfDay().isBefore(rangeEnd)) {
+                addLedgerSums(totals, skuId, endOfWholeDays.atStartOfDay(), rangeEnd);
+            }
+        }
 
-        long totalIn = 0;
-        long totalOut = 0;
-        long totalAdjustments = 0;
-        long totalReserved = 0;
-        long totalReleased = 0;
+        return totals.toSummary();
+    }
 
-        for (InventoryTransaction transaction : transactions) {
-            switch (transaction.getTransactionType()) {
-                case IN:
-                    totalIn += transaction.getQuantity();
-                    break;
-                case OUT:
-                    totalOut += transaction.getQuantity();
-                    break;
-                case ADJUSTMENT:
-                    totalAdjustments += transaction.getQuantity();
-                    break;
-                case RESERVED:
-                    totalReserved += transaction.getQuantity();
-                    break;
-                case RELEASED:
-                    totalReleased += transaction.getQuantity();
-                    break;
-            }
+    /**
+     * Aggregates transactions over a range of days by type, by day, by reference type and by performer. Every aggregate is grouped and
+     * summed in the database; type and day totals come from the daily rollup, reference type and performer totals from the ledger and
+     * the transaction archive.
+     *
+     * @param skuId    SKU filter (null for all SKUs)
+     * @param fromDate first day (inclusive)
+     * @param toDate   last day (inclusive)
+     * @return the aggregates
+     * @throws EntityNotFoundException if a SKU is given and not found
+     */
+    public TransactionAnalytics getTransactionAnalytics(
+            Long skuId, @NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
+        logger.debug("Aggregating transactions for SKU ID: {} between {} and {}", skuId, fromDate, toDate);
+
+        if (fromDate.isAfter(toDate)) {
+            throw new ValidationException("dateRange", "Start date cannot be after end date");
+        }
+        if (skuId != null && !skuRepository.existsById(skuId)) {
+            throw new EntityNotFoundException("SKU", skuId);
         }
 
-        return new StockMovementSummary(
-                totalIn, totalOut, totalAdjustments, totalReserved, totalReleased);
+        LocalDateTime startDate = fromDate.atStartOfDay();
+        LocalDateTime endDate = toDate.plusDays(1).atStartOfDay();
+        return new TransactionAnalytics(
+                fromDate,
+                toDate,
+                analyticsRepository.sumByType(skuId, fromDate, toDate),
+                analyticsRepository.sumByDayAndType(skuId, fromDate, toDate),
+                withArchivedTotals(
+                        analyticsRepository.sumByReferenceType(skuId, startDate, endDate),
+                        () -> transactionArchive.sumByReferenceType(skuId, startDate, endDate)),
+                withArchivedTotals(
+                        analyticsRepository.sumByPerformer(skuId, startDate, endDate),
+                        () -> transactionArchive.sumByPerformer(skuId, startDate, endDate)));
     }
 
     /**
@@ -431,11 +704,12 @@ public class InventoryService {
         logger.debug("Getting current stock info for SKU ID: {}", skuId);
 
         Sku sku = findSkuById(skuId);
+        SkuStockShardService.ShardTotals shardTotals = stockShardService.getShardTotals(skuId);
 
         return new CurrentStockInfo(
                 sku.getStockQuantity(),
-                sku.getReservedQuantity(),
-                sku.getAvailableQuantity(),
+                sku.getReservedQuantity() + shardTotals.getReservedQuantity(),
+                sku.getAvailableQuantity() + shardTotals.getAvailableQuantity(),
                 sku.getReorderPoint(),
                 sku.getReorderQuantity(),
                 sku.isLowOnStock(),
@@ -444,6 +718,57 @@ public class InventoryService {
 
     // ===== PRIVATE HELPER METHODS =====
 
+    /**
+     * Saves a ledger row and adds it to the daily movement rollup in the same transaction.
+     */
+    private InventoryTransaction saveTransaction(InventoryTransaction transaction) {
+        InventoryTransaction savedTransaction = transactionRepository.save(transaction);
+        transactionRepository.addToDailyRollup(List.of(savedTransaction));
+        return savedTransaction;
+    }
+
+    /**
+     * Adds a SKU's ledger sums for {@code [startDate, endDate)} from the table and, when anything is archived, from the archive.
+     */
+    private void addLedgerSums(MovementTotals totals, Long skuId, LocalDateTime startDate, LocalDateTime endDate) {
+        totals.add(transactionRepository.sumQuantitiesByType(skuId, startDate, endDate));
+        if (transactionArchive.hasArchivedTransactions()) {
+            totals.add(transactionArchive.sumQuantitiesByType(skuId, startDate, endDate));
+        }
+    }
+
+    /**
+     * Adds archived group totals to the ledger's, when anything is archived, keeping the ledger query's order.
+     */
+    private List<TransactionAnalyticsRepository.GroupTotals> withArchivedTotals(
+            List<TransactionAnalyticsRepository.GroupTotals> tableTotals, Supplier<List<Object[]>> archivedTotals) {
+        if (!transactionArchive.hasArchivedTransactions()) {
+            return tableTotals;
+        }
+
+        Map<String, long[]> sums = new LinkedHashMap<>();
+        for (TransactionAnalyticsRepository.GroupTotals totals : tableTotals) {
+            sums.put(totals.getGroupKey(), new long[] {totals.getTransactionCount(), totals.getNetStockChange()});
+        }
+        for (Object[] row : archivedTotals.get()) {
+            long[] sum = sums.computeIfAbsent((String) row[0], k -> new long[2]);
+            sum[0] += (Long) row[1];
+            sum[1] += (Long) row[2];
+        }
+
+        List<TransactionAnalyticsRepository.GroupTotals> merged = new ArrayList<>(sums.size());
+        for (Map.Entry<String, long[]> sum : sums.entrySet()) {
+            merged.add(new MergedGroupTotals(sum.getKey(), sum.getValue()[0], sum.getValue()[1]));
+        }
+        merged.sort(
+                Comparator.comparingLong(TransactionAnalyticsRepository.GroupTotals::getTransactionCount)
+                        .reversed()
+                        .thenComparing(
+                                TransactionAnalyticsRepository.GroupTotals::getGroupKey,
+                                Comparator.nullsLast(Comparator.naturalOrder())));
+        return merged;
+    }
+
     private Sku findSkuById(Long id) {
         return skuRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("SKU", id));
     }
@@ -454,6 +779,41 @@ public class InventoryService {
         }
     }
 
+    private void validateTransaction(InventoryTransaction transaction) {
+        if (transaction.getSku() == null) {
+            throw new ValidationException("sku", "SKU cannot be null");
+        }
+        if (transaction.getTransactionType() == null) {
+            throw new ValidationException("transactionType", "transaction type cannot be null");
+        }
+
+        Integer quantity = transaction.getQuantity();
+        switch (transaction.getTransactionType()) {
+            case IN:
+                validateTransactionParameters(quantity, "Stock-in");
+                break;
+            case OUT:
+                validateTransactionParameters(quantity, "Stock-out");
+                break;
+            case RESERVED:
+                validateTransactionParameters(quantity, "Stock reservation");
+                break;
+            case RELEASED:
+                validateTransactionParameters(quantity, "Stock release");
+                break;
+            case ADJUSTMENT:
+                // Adjustments are signed and, like recordStockAdjustment, carry no further checks
+                if (quantity == null || quantity == 0) {
+                    throw new ValidationException("adjustment", "Stock adjustment cannot be zero");
+                }
+                return;
+        }
+
+        validatePerformerName(transaction.getPerformedBy());
+        validateReferenceId(transaction.getReferenceId());
+        validateReason(transaction.getReason());
+    }
+
     private void validatePerformerName(String performedBy) {
         if (performedBy == null) {
             throw new ValidationException("performedBy", "performer cannot be null");
@@ -475,8 +835,231 @@ public class InventoryService {
         }
     }
 
+    private void validateCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ValidationException(
+                    "size", "Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Returns the requested page of a history query over the table and the archive. Both are read up to the end of the page, merged
+     * newest first and sliced, so the page is the one the query would return had nothing been archived. Costs nothing extra while the
+     * archive holds no matching rows. The merge relies on both sides being newest first, so once archived rows are involved any sort on
+     * the pageable is replaced by creation time then ID, descending, which is also the order the archive returns.
+     */
+    private Page<InventoryTransaction> withArchived(
+            TransactionArchive.Filter filter,
+            Pageable pageable,
+            Function<Pageable, Page<InventoryTransaction>> tableQuery) {
+        if (!transactionArchive.hasArchivedTransactions()) {
+            return tableQuery.apply(pageable);
+        }
+
+        int window =
+                pageable.isUnpaged()
+                        ? Integer.MAX_VALUE
+                        : (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        TransactionArchive.Matches archived = transactionArchive.findNewest(filter, window, true);
+        if (archived.getTotalMatches() == 0) {
+            return tableQuery.apply(pageable);
+        }
+
+        if (pageable.isUnpaged()) {
+            List<InventoryTransaction> merged =
+                    mergeNewestFirst(tableQuery.apply(Pageable.unpaged(NEWEST_FIRST)).getContent(), archived.getRows());
+            return new PageImpl<>(merged, pageable, merged.size());
+        }
+
+        Page<InventoryTransaction> table = tableQuery.apply(PageRequest.of(0, window, NEWEST_FIRST));
+        List<InventoryTransaction> merged = mergeNewestFirst(table.getContent(), archived.getRows());
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(
+                new ArrayList<>(merged.subList(from, to)),
+                pageable,
+                table.getTotalElements() + archived.getTotalMatches());
+    }
+
+    /**
+     * Merges table rows and archived rows, each ordered newest first. Archived rows have lower IDs than table rows, so table rows go first
+     * on equal creation times.
+     */
+    private List<InventoryTransaction> mergeNewestFirst(
+            List<InventoryTransaction> tableRows, List<ArchivedTransaction> archivedRows) {
+        List<InventoryTransaction> merged = new ArrayList<>(tableRows.size() + archivedRows.size());
+        int archivedIndex = 0;
+        for (InventoryTransaction row : tableRows) {
+            while (archivedIndex < archivedRows.size()
+                    && archivedRows.get(archivedIndex).getCreatedAt().isAfter(row.getCreatedAt())) {
+                merged.add(toTransaction(archivedRows.get(archivedIndex++)));
+            }
+            merged.add(row);
+        }
+        while (archivedIndex < archivedRows.size()) {
+            merged.add(toTransaction(archivedRows.get(archivedIndex++)));
+        }
+        return merged;
+    }
+
+    private InventoryTransaction toTransaction(ArchivedTransaction archived) {
+        return archived.toTransaction(skuRepository.getReferenceById(archived.getSkuId()));
+    }
+
+    /**
+     * Adds the archived rows after the cursor to a page of table rows fetched with one extra row, then builds the cursor page.
+     */
+    private CursorPage<InventoryTransaction> toCursorPage(
+            List<InventoryTransaction> tableRows, TransactionArchive.Filter filter, KeysetCursor position, int size) {
+        if (!transactionArchive.hasArchivedTransactions()) {
+            return toCursorPage(tableRows, size);
+        }
+
+        TransactionArchive.Matches archived =
+                transactionArchive.findNewest(
+                        filter.withCursor(position.getCreatedAt(), position.getId()), size + 1, false);
+        List<InventoryTransaction> merged = mergeNewestFirst(tableRows, archived.getRows());
+        return toCursorPage(merged.size() > size + 1 ? merged.subList(0, size + 1) : merged, size);
+    }
+
+    /**
+     * Trims the one extra row fetched beyond the page size; its presence means there is a next page, which starts after the last row kept.
+     */
+    private CursorPage<InventoryTransaction> toCursorPage(List<InventoryTransaction> rows, int size) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, null);
+        }
+        List<InventoryTransaction> content = rows.subList(0, size);
+        InventoryTransaction last = content.get(size - 1);
+        return new CursorPage<>(
+                content, size, KeysetCursor.of(last.getCreatedAt(), last.getId()).encode());
+    }
+
     // ===== INNER CLASSES =====
 
+    /**
+     * Accumulates per-type quantity sums from rollup and ledger aggregates.
+     */
+    private static final class MovementTotals {
+
+        private long totalIn;
+        private long totalOut;
+        private long totalAdjustments;
+        private long totalReserved;
+        private long totalReleased;
+
+        void add(List<Object[]> sumsByType) {
+            for (Object[] row : sumsByType) {
+                long quantity = row[1] != null ? ((Number) row[1]).longValue() : 0;
+                switch ((InventoryTransaction.TransactionType) row[0]) {
+                    case IN:
+                        totalIn += quantity;
+                        break;
+                    case OUT:
+                        totalOut += quantity;
+                        break;
+                    case ADJUSTMENT:
+                        totalAdjustments += quantity;
+                        break;
+                    case RESERVED:
+                        totalReserved += quantity;
+                        break;
+                    case RELEASED:
+                        totalReleased += quantity;
+                        break;
+                }
+            }
+        }
+
+        StockMovementSummary toSummary() {
+            return new StockMovementSummary(
+                    totalIn, totalOut, totalAdjustments, totalReserved, totalReleased);
+        }
+    }
+
+    /**
+     * Group totals combined from the ledger and the transaction archive.
+     */
+    private static final class MergedGroupTotals implements TransactionAnalyticsRepository.GroupTotals {
+
+        private final String groupKey;
+        private final long transactionCount;
+        private final long netStockChange;
+
+        MergedGroupTotals(String groupKey, long transactionCount, long netStockChange) {
+            this.groupKey = groupKey;
+            this.transactionCount = transactionCount;
+            this.netStockChange = netStockChange;
+        }
+
+        @Override
+        public String getGroupKey() {
+            return groupKey;
+        }
+
+        @Override
+        public long getTransactionCount() {
+            return transactionCount;
+        }
+
+        @Override
+        public long getNetStockChange() {
+            return netStockChange;
+        }
+    }
+
+    /**
+     * Transaction aggregates over a range of days.
+     */
+    public static class TransactionAnalytics {
+
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+        private final List<TransactionAnalyticsRepository.TypeTotals> byType;
+        private final List<TransactionAnalyticsRepository.DailyTypeTotals> byDay;
+        private final List<TransactionAnalyticsRepository.GroupTotals> byReferenceType;
+        private final List<TransactionAnalyticsRepository.GroupTotals> byPerformer;
+
+        public TransactionAnalytics(
+                LocalDate fromDate,
+                LocalDate toDate,
+                List<TransactionAnalyticsRepository.TypeTotals> byType,
+                List<TransactionAnalyticsRepository.DailyTypeTotals> byDay,
+                List<TransactionAnalyticsRepository.GroupTotals> byReferenceType,
+                List<TransactionAnalyticsRepository.GroupTotals> byPerformer) {
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+            this.byType = byType;
+            this.byDay = byDay;
+            this.byReferenceType = byReferenceType;
+            this.byPerformer = byPerformer;
+        }
+
+        public LocalDate getFromDate() {
+            return fromDate;
+        }
+
+        public LocalDate getToDate() {
+            return toDate;
+        }
+
+        public List<TransactionAnalyticsRepository.TypeTotals> getByType() {
+            return byType;
+        }
+
+        public List<TransactionAnalyticsRepository.DailyTypeTotals> getByDay() {
+            return byDay;
+        }
+
+        public List<TransactionAnalyticsRepository.GroupTotals> getByReferenceType() {
+            return byReferenceType;
+        }
+
+        public List<TransactionAnalyticsRepository.GroupTotals> getByPerformer() {
+            return byPerformer;
+        }
+    }
+
     /**
      * Summary of stock movements for a SKU within a date range.
      */
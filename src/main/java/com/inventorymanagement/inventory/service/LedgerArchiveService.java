@@ -0,0 +1,177 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves cold inventory ledger rows out of {@code inventory_transactions} into the {@link TransactionArchive}, enabled with
+ * {@code inventory.ledger.archive.enabled=true}. Keeping the table small keeps its indexes, and so every ledger insert, cheap.
+ *
+ * <p>Each run archives the rows up to the last transaction older than {@code horizon-days}. Every SKU with rows in that range is first
+ * checkpointed, so replaying current stock never needs archived rows. Rows are then written to segments of at most {@code segment-rows}
+ * rows, each deleted from the table once its segment is on disk. A run interrupted between the two leaves the latest segment's rows in
+ * the table as well; the next run deletes them before doing anything else, and until then history queries may list them twice.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.ledger.archive.enabled", havingValue = "true")
+public class LedgerArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerArchiveService.class);
+
+    private final InventoryTransactionRepository transactionRepository;
+    private final LedgerReplayService ledgerReplayService;
+    private final TransactionArchive transactionArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int segmentRows;
+
+    @Autowired
+    public LedgerArchiveService(
+            InventoryTransactionRepository transactionRepository,
+            LedgerReplayService ledgerReplayService,
+            TransactionArchive transactionArchive,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.ledger.archive.horizon-days:365}") long horizonDays,
+            @Value("${inventory.ledger.archive.segment-rows:50000}") int segmentRows) {
+        this.transactionRepository = transactionRepository;
+        this.ledgerReplayService = ledgerReplayService;
+        this.transactionArchive = transactionArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizon = Duration.ofDays(horizonDays);
+        this.segmentRows = Math.max(1, segmentRows);
+    }
+
+    /**
+     * Archives the ledger rows older than the horizon.
+     *
+     * @return what the run archived
+     */
+    @Scheduled(
+            initialDelayString = "${inventory.ledger.archive.interval-ms:86400000}",
+            fixedDelayString = "${inventory.ledger.archive.interval-ms:86400000}")
+    public synchronized ArchiveRun archiveColdTransactions() {
+        long startedAt = System.nanoTime();
+
+        int recovered = deleteLatestSegmentRows();
+        if (recovered > 0) {
+            logger.warn("Deleted {} ledger rows left in the table by an interrupted archive run", recovered);
+        }
+
+        long cutoffId = transactionArchive.getCutoffId();
+        Long upToId = transactionRepository.findLastIdAsOf(LocalDateTime.now().minus(horizon));
+        if (upToId == null || upToId <= cutoffId) {
+            return new ArchiveRun(0, 0, cutoffId, elapsedMillis(startedAt));
+        }
+
+        List<Long> failedSkuIds = ledgerReplayService.checkpointUpTo(cutoffId, upToId);
+        if (!failedSkuIds.isEmpty()) {
+            logger.warn(
+                    "Not archiving ledger rows up to transaction {}: checkpoints failed for SKU IDs {}",
+                    upToId,
+                    failedSkuIds);
+            return new ArchiveRun(0, 0, cutoffId, elapsedMillis(startedAt));
+        }
+
+        int segmentsWritten = 0;
+        long transactionsArchived = 0;
+        while (true) {
+            long afterId = transactionArchive.getCutoffId();
+            List<ArchivedTransaction> rows =
+                    transactionRepository.findForArchive(afterId, upToId, PageRequest.of(0, segmentRows));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            transactionArchive.append(rows);
+            deleteLatestSegmentRows();
+            segmentsWritten++;
+            transactionsArchived += rows.size();
+        }
+
+        ArchiveRun run =
+                new ArchiveRun(
+                        segmentsWritten, transactionsArchived, transactionArchive.getCutoffId(), elapsedMillis(startedAt));
+        logger.info(
+                "Archived {} ledger rows into {} segments up to transaction {} in {} ms",
+                run.getTransactionsArchived(),
+                run.getSegmentsWritten(),
+                run.getCutoffTransactionId(),
+                run.getElapsedMillis());
+        return run;
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Deletes the rows of the latest segment from the table. Only rows no newer than the segment's newest row are deleted.
+     */
+    private int deleteLatestSegmentRows() {
+        ArchiveSegment segment = transactionArchive.getLatestSegment();
+        if (segment == null) {
+            return 0;
+        }
+        Integer deleted =
+                transactionTemplate.execute(
+                        status ->
+                                transactionRepository.deleteArchivedRange(
+                                        segment.getMinId() - 1,
+                                        segment.getMaxId(),
+                                        segment.getMaxCreatedAt().plusNanos(1_000)));
+        return deleted != null ? deleted : 0;
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Outcome of one archive run.
+     */
+    public static class ArchiveRun {
+
+        private final int segmentsWritten;
+        private final long transactionsArchived;
+        private final long cutoffTransactionId;
+        private final long elapsedMillis;
+
+        public ArchiveRun(
+                int segmentsWritten, long transactionsArchived, long cutoffTransactionId, long elapsedMillis) {
+            this.segmentsWritten = segmentsWritten;
+            this.transactionsArchived = transactionsArchived;
+            this.cutoffTransactionId = cutoffTransactionId;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getSegmentsWritten() {
+            return segmentsWritten;
+        }
+
+        public long getTransactionsArchived() {
+            return transactionsArchived;
+        }
+
+        /** Highest archived transaction ID after the run. */
+        public long getCutoffTransactionId() {
+            return cutoffTransactionId;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.inventorymanagement.inventory.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.LedgerExportRow;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for exporting the inventory ledger as NDJSON or CSV.
+ *
+ * <p>Rows are read through a forward-only JDBC cursor with a fetch size of {@code inventory.ledger.export.fetch-size} and written to the
+ * output as they arrive, so memory use stays constant however many rows are exported. The read runs in a read-only transaction, which
+ * drivers such as PostgreSQL's require before they honour the fetch size instead of buffering the whole result.
+ *
+ * <p>Rows moved to the {@link TransactionArchive} are exported first, one segment at a time, followed by the rows still in the table. Every
+ * archived row has a lower ID than every table row, so the export holds each transaction once and stays oldest first apart from rows
+ * recorded within the same moment on either side of the archive cutoff.
+ */
+@Service
+public class LedgerExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerExportService.class);
+    private static final String[] CSV_HEADER = {
+        "id",
+        "skuId",
+        "skuCode",
+        "transactionType",
+        "quantity",
+        "referenceId",
+        "referenceType",
+        "reason",
+        "performedBy",
+        "createdAt"
+    };
+
+    private final InventoryTransactionRepository transactionRepository;
+    private final SkuRepository skuRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int fetchSize;
+
+    @Autowired
+    public LedgerExportService(
+            InventoryTransactionRepository transactionRepository,
+            SkuRepository skuRepository,
+            TransactionArchive transactionArchive,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.ledger.export.fetch-size:1000}") int fetchSize) {
+        this.transactionRepository = transactionRepository;
+        this.skuRepository = skuRepository;
+        this.transactionArchive = transactionArchive;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes the transactions matching the given criteria, archived ones included, to the output, oldest first. The output is flushed but
+     * not closed.
+     *
+     * @param format          the output format
+     * @param skuId           SKU filter (null to ignore)
+     * @param transactionType transaction type filter (null to ignore)
+     * @param referenceId     reference ID filter (null to ignore)
+     * @param referenceType   reference type filter (null to ignore)
+     * @param performedBy     user filter (null to ignore)
+     * @param startDate       start date filter, inclusive (null to ignore)
+     * @param endDate         end date filter, inclusive (null to ignore)
+     * @param output          the stream to write to
+     * @return number of transactions exported
+     * @throws ValidationException  if the date range is invalid
+     * @throws UncheckedIOException if writing to the output fails, e.g. because the client disconnected
+     */
+    public long export(
+            ExportFormat format,
+            Long skuId,
+            InventoryTransaction.TransactionType transactionType,
+            String referenceId,
+            String referenceType,
+            String performedBy,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            OutputStream output) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ValidationException("dateRange", "Start date cannot be after end date");
+        }
+        logger.info("Exporting inventory ledger as {} (skuId={}, type={})", format, skuId, transactionType);
+
+        try {
+            Writer writer =
+                    new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rowWriter =
+                    format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+            TransactionArchive.Filter archiveFilter =
+                    new TransactionArchive.Filter()
+                            .withSkuId(skuId)
+                            .withTransactionType(transactionType)
+                            .withReferenceId(referenceId)
+                            .withReferenceType(referenceType)
+                            .withPerformedBy(performedBy)
+                            .withDateRange(startDate, endDate);
+            Long exported =
+                    readOnlyTransactionTemplate.execute(
+                            status -> {
+                                long archived = exportArchived(archiveFilter, rowWriter);
+                                return archived
+                                        + transactionRepository.streamWithFilters(
+                                                skuId,
+                                                transactionType,
+                                                referenceId,
+                                                referenceType,
+                                                performedBy,
+                                                startDate,
+                                                endDate,
+                                                fetchSize,
+                                                rowWriter::write);
+                            });
+            rowWriter.flush();
+
+            logger.info("Exported {} inventory transactions as {}", exported, format);
+            return exported != null ? exported : 0L;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Writes the archived rows matching a filter, resolving the SKU codes of each segment's rows in one query.
+     */
+    private long exportArchived(TransactionArchive.Filter filter, RowWriter rowWriter) {
+        if (!transactionArchive.hasArchivedTransactions()) {
+            return 0L;
+        }
+
+        Map<Long, String> skuCodes = new HashMap<>();
+        return transactionArchive.forEachOldestFirst(
+                filter,
+                rows -> {
+                    Set<Long> unknownSkuIds = new HashSet<>();
+                    for (ArchivedTransaction row : rows) {
+                        if (!skuCodes.containsKey(row.getSkuId())) {
+                            unknownSkuIds.add(row.getSkuId());
+                        }
+                    }
+                    if (!unknownSkuIds.isEmpty()) {
+                        for (Object[] skuCode : skuRepository.findSkuCodesByIds(unknownSkuIds)) {
+                            skuCodes.put((Long) skuCode[0], (String) skuCode[1]);
+                        }
+                    }
+
+                    for (ArchivedTransaction row : rows) {
+                        rowWriter.write(
+                                new LedgerExportRow(
+                                        row.getId(),
+                                        row.getSkuId(),
+                                        skuCodes.get(row.getSkuId()),
+                                        row.getTransactionType().name(),
+                                        row.getQuantity(),
+                                        row.getReferenceId(),
+                                        row.getReferenceType(),
+                                        row.getReason(),
+                                        row.getPerformedBy(),
+                                        row.getCreatedAt()));
+                    }
+                });
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Supported export formats.
+     */
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        /**
+         * Parses a format name, ignoring case.
+         *
+         * @param name the format name
+         * @return the format
+         * @throws ValidationException if the name is not a supported format
+         */
+        public static ExportFormat fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("format", "Export format must be one of: ndjson, csv");
+            }
+        }
+    }
+
+    /**
+     * Writes exported rows in one format. Write failures surface as {@link UncheckedIOException} so they can escape the JDBC row callback.
+     */
+    private abstract static class RowWriter {
+
+        protected final Writer writer;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        abstract void write(LedgerExportRow row);
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One JSON object per line.
+     */
+    private final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            super(writer);
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(LedgerExportRow row) {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.getId());
+                generator.writeNumberField("skuId", row.getSkuId());
+                generator.writeStringField("skuCode", row.getSkuCode());
+                generator.writeStringField("transactionType", row.getTransactionType());
+                generator.writeNumberField("quantity", row.getQuantity());
+                generator.writeStringField("referenceId", row.getReferenceId());
+                generator.writeStringField("referenceType", row.getReferenceType());
+                generator.writeStringField("reason", row.getReason());
+                generator.writeStringField("performedBy", row.getPerformedBy());
+                generator.writeStringField("createdAt", row.getCreatedAt().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+            super.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line.
+     */
+    private static final class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) throws IOException {
+            super(writer);
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void write(LedgerExportRow row) {
+            try {
+                writer.write(Long.toString(row.getId()));
+                writer.write(',');
+                writer.write(Long.toString(row.getSkuId()));
+                writer.write(',');
+                writeField(row.getSkuCode());
+                writer.write(',');
+                writeField(row.getTransactionType());
+                writer.write(',');
+                writer.write(Integer.toString(row.getQuantity()));
+                writer.write(',');
+                writeField(row.getReferenceId());
+                writer.write(',');
+                writeField(row.getReferenceType());
+                writer.write(',');
+                writeField(row.getReason());
+                writer.write(',');
+                writeField(row.getPerformedBy());
+                writer.write(',');
+                writer.write(row.getCreatedAt().toString());
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0
+                    && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.common.exception.EntityNotFoundException;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.model.SkuLedgerCheckpoint;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import com.inventorymanagement.inventory.repository.SkuLedgerCheckpointRepository;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service that rebuilds SKU stock counters from the inventory ledger.
+ *
+ * <p>A SKU's stock and reserved quantities are replayed from its latest {@link SkuLedgerCheckpoint} plus the ledger rows after it, applied
+ * in transaction ID order with the same rules as the SKU row updates: adjustments floor stock at zero and releases floor reserved stock at
+ * zero. Checkpoints are written periodically for SKUs with at least {@code inventory.ledger.checkpoints.min-transactions} new rows, so a
+ * replay reads a bounded tail rather than the SKU's whole history. Only rows older than {@code settle-seconds} are checkpointed, so rows
+ * of transactions still in flight are not skipped over.
+ *
+ * <p>Stock loaded before the ledger existed is covered by the opening checkpoint each SKU got when checkpoints were introduced; history
+ * before that checkpoint is replayed from an empty SKU. Rows moved to the {@link TransactionArchive} are replayed from there.
+ *
+ * <p>Work across many SKUs runs on a dedicated fork-join pool of {@code inventory.ledger.replay.parallelism} threads, each SKU in its own
+ * transaction. Keep the parallelism below the connection pool size.
+ */
+@Service
+public class LedgerReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerReplayService.class);
+    private static final int CHECKPOINT_CANDIDATE_BATCH_SIZE = 1000;
+
+    private final InventoryTransactionRepository transactionRepository;
+    private final SkuLedgerCheckpointRepository checkpointRepository;
+    private final SkuRepository skuRepository;
+    private final SkuStockShardService stockShardService;
+    private final TransactionArchive transactionArchive;
+    private final SkuCacheInvalidator cacheInvalidator;
+    private final CategoryInventoryRollupService inventoryRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool replayPool;
+    private final int chunkSize;
+    private final long minTransactionsPerCheckpoint;
+    private final Duration settleTime;
+
+    @Autowired
+    public LedgerReplayService(
+            InventoryTransactionRepository transactionRepository,
+            SkuLedgerCheckpointRepository checkpointRepository,
+            SkuRepository skuRepository,
+            SkuStockShardService stockShardService,
+            TransactionArchive transactionArchive,
+            SkuCacheInvalidator cacheInvalidator,
+            CategoryInventoryRollupService inventoryRollupService,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.ledger.replay.parallelism:4}") int parallelism,
+            @Value("${inventory.ledger.replay.chunk-size:50}") int chunkSize,
+            @Value("${inventory.ledger.checkpoints.min-transactions:1000}") long minTransactionsPerCheckpoint,
+            @Value("${inventory.ledger.checkpoints.settle-seconds:60}") long settleSeconds) {
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.skuRepository = skuRepository;
+        this.stockShardService = stockShardService;
+        this.transactionArchive = transactionArchive;
+        this.cacheInvalidator = cacheInvalidator;
+        this.inventoryRollupService = inventoryRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.replayPool = new ForkJoinPool(Math.max(1, parallelism));
+        this.chunkSize = Math.max(1, chunkSize);
+        this.minTransactionsPerCheckpoint = Math.max(1, minTransactionsPerCheckpoint);
+        this.settleTime = Duration.ofSeconds(settleSeconds);
+    }
+
+    // ===== REPLAY =====
+
+    /**
+     * Replays a SKU's ledger up to its latest transaction.
+     *
+     * @param skuId the SKU ID
+     * @return the stock counters implied by the ledger
+     * @throws EntityNotFoundException if SKU not found
+     */
+    public LedgerState replay(@NotNull Long skuId) {
+        requireSku(skuId);
+        return transactionTemplate.execute(status -> replayUpTo(skuId, Long.MAX_VALUE));
+    }
+
+    /**
+     * Replays a SKU's ledger up to a point in time.
+     *
+     * @param skuId the SKU ID
+     * @param asOf  the point in time (inclusive)
+     * @return the stock counters implied by the ledger at that time
+     * @throws EntityNotFoundException if SKU not found
+     */
+    public LedgerState replayAsOf(@NotNull Long skuId, @NotNull LocalDateTime asOf) {
+        requireSku(skuId);
+        return transactionTemplate.execute(
+                status -> {
+                    Long upToId = transactionRepository.findLastIdBySkuIdAsOf(skuId, asOf);
+                    if (upToId == null) {
+                        upToId = transactionArchive.findLastIdBySkuIdAsOf(skuId, asOf);
+                    }
+                    return replayUpTo(skuId, upToId != null ? upToId : 0L);
+                });
+    }
+
+    /**
+     * Compares SKU rows with their replayed ledger and, if requested, overwrites the rows that differ. Each SKU is locked while it is
+     * compared, so the result is not skewed by stock operations in flight. Applying folds the shards of sharded SKUs into the SKU row.
+     * Rows whose ledger replays to impossible counters (negative, or more reserved than on hand) are reported but never written.
+     *
+     * @param skuIds the SKU IDs to check, or null/empty for every SKU that is not deleted
+     * @param apply  whether to overwrite rows that differ from the ledger
+     * @return the SKUs that differ from their ledger
+     */
+    public RebuildReport rebuildStock(Collection<Long> skuIds, boolean apply) {
+        long startedAt = System.nanoTime();
+        List<Long> targetIds =
+                skuIds == null || skuIds.isEmpty()
+                        ? skuRepository.findIdsNotDeleted()
+                        : new ArrayList<>(new TreeSet<>(skuIds));
+        logger.info("Rebuilding stock from the ledger for {} SKUs (apply={})", targetIds.size(), apply);
+
+        List<SkuOutcome> outcomes = forEachSku(targetIds, skuId -> rebuildSku(skuId, apply));
+        List<Long> correctedIds = new ArrayList<>();
+        for (SkuOutcome outcome : outcomes) {
+            if (outcome.drift != null && outcome.drift.isCorrected()) {
+                correctedIds.add(outcome.skuId);
+            }
+        }
+        cacheInvalidator.evictSkus(correctedIds);
+
+        RebuildReport report =
+                new RebuildReport(
+                        apply, targetIds.size(), outcomes, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        logger.info(
+                "Ledger rebuild checked {} SKUs in {} ms: {} differ, {} corrected, {} failed",
+                report.getSkusChecked(),
+                report.getElapsedMillis(),
+                report.getDrifts().size(),
+                report.getSkusCorrected(),
+                report.getFailedSkuIds().size());
+        return report;
+    }
+
+    // ===== CHECKPOINTS =====
+
+    /**
+     * Writes a checkpoint for every SKU with enough settled ledger rows since its latest checkpoint. Only SKUs with ledger rows after the
+     * last transaction covered by any checkpoint are considered: every other SKU already fell short when that checkpoint was written, or
+     * was covered by it. A SKU whose checkpoint failed is considered again once it records another transaction.
+     *
+     * @return number of checkpoints written
+     */
+    @Scheduled(
+            initialDelayString = "${inventory.ledger.checkpoints.interval-ms:3600000}",
+            fixedDelayString = "${inventory.ledger.checkpoints.interval-ms:3600000}")
+    public int createCheckpoints() {
+        Long upToId = transactionRepository.findLastIdAsOf(LocalDateTime.now().minus(settleTime));
+        if (upToId == null) {
+            return 0;
+        }
+
+        long afterId = checkpointRepository.findMaxLastTransactionId();
+        List<Long> skuIds = findSkuIdsDueForCheckpoint(afterId, upToId, minTransactionsPerCheckpoint);
+        if (skuIds.isEmpty()) {
+            return 0;
+        }
+
+        List<SkuOutcome> outcomes = forEachSku(skuIds, skuId -> checkpointSku(skuId, upToId));
+        int created = (int) outcomes.stream().filter(outcome -> !outcome.failed).count();
+        logger.info("Wrote {} ledger checkpoints up to transaction {}", created, upToId);
+        return created;
+    }
+
+    /**
+     * Writes a checkpoint for every SKU with any ledger rows after its latest checkpoint, up to a transaction ID, so that the rows up to
+     * that ID are no longer needed to replay current stock. Run before those rows are archived; the rows up to the previous cutoff were
+     * covered when they were archived, so only SKUs with rows after it are considered.
+     *
+     * @param afterId last transaction ID already covered for every SKU (exclusive)
+     * @param upToId  last transaction ID to cover (inclusive)
+     * @return IDs of the SKUs whose checkpoint could not be written
+     */
+    public List<Long> checkpointUpTo(long afterId, long upToId) {
+        List<Long> skuIds = findSkuIdsDueForCheckpoint(afterId, upToId, 1);
+        List<Long> failedSkuIds = new ArrayList<>();
+        for (SkuOutcome outcome : forEachSku(skuIds, skuId -> checkpointSku(skuId, upToId))) {
+            if (outcome.failed) {
+                failedSkuIds.add(outcome.skuId);
+            }
+        }
+        logger.info(
+                "Wrote {} ledger checkpoints up to transaction {}", skuIds.size() - failedSkuIds.size(), upToId);
+        return failedSkuIds;
+    }
+
+    /**
+     * Stops the replay pool.
+     */
+    @PreDestroy
+    void stop() {
+        replayPool.shutdownNow();
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Finds the SKUs due for a checkpoint among those with ledger rows in {@code (afterId, upToId]}, counting each candidate's rows since
+     * its latest checkpoint in batches of candidates.
+     */
+    private List<Long> findSkuIdsDueForCheckpoint(long afterId, long upToId, long minTransactions) {
+        List<Long> candidates = transactionRepository.findSkuIdsWithTransactionsBetween(afterId, upToId);
+        List<Long> due = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += CHECKPOINT_CANDIDATE_BATCH_SIZE) {
+            List<Long> batch = candidates.subList(from, Math.min(from + CHECKPOINT_CANDIDATE_BATCH_SIZE, candidates.size()));
+            due.addAll(transactionRepository.findSkuIdsDueForCheckpoint(batch, upToId, minTransactions));
+        }
+        return due;
+    }
+
+    private void requireSku(Long skuId) {
+        if (!skuRepository.existsById(skuId)) {
+            throw new EntityNotFoundException("SKU", skuId);
+        }
+    }
+
+    /**
+     * Applies the ledger rows after the latest checkpoint at or before {@code upToId} to that checkpoint's counters.
+     */
+    private LedgerState replayUpTo(Long skuId, long upToId) {
+        SkuLedgerCheckpoint checkpoint =
+                checkpointRepository
+                        .findFirstBySkuIdAndLastTransactionIdLessThanEqualOrderByLastTransactionIdDesc(
+                                skuId, upToId)
+                        .orElse(null);
+
+        long checkpointId = checkpoint != null ? checkpoint.getLastTransactionId() : 0L;
+        int stock = checkpoint != null ? checkpoint.getStockQuantity() : 0;
+        int reserved = checkpoint != null ? checkpoint.getReservedQuantity() : 0;
+        long lastId = checkpointId;
+
+        // Rows up to the archive cutoff live in the archive, the rest in the table
+        List<Object[]> tail = transactionArchive.findLedgerTail(skuId, checkpointId, upToId);
+        tail.addAll(transactionRepository.findLedgerTail(skuId, checkpointId, upToId));
+        for (Object[] row : tail) {
+            lastId = (Long) row[0];
+            int quantity = (Integer) row[2];
+            switch ((InventoryTransaction.TransactionType) row[1]) {
+                case IN:
+                    stock += quantity;
+                    break;
+                case OUT:
+                    stock -= quantity;
+                    reserved -= quantity;
+                    break;
+                case ADJUSTMENT:
+                    stock = Math.max(0, stock + quantity);
+                    break;
+                case RESERVED:
+                    reserved += quantity;
+                    break;
+                case RELEASED:
+                    reserved = Math.max(0, reserved - quantity);
+                    break;
+            }
+        }
+
+        return new LedgerState(skuId, stock, reserved, lastId, checkpointId, tail.size());
+    }
+
+    private SkuOutcome rebuildSku(Long skuId, boolean apply) {
+        try {
+            return transactionTemplate.execute(
+                    status -> {
+                        if (apply) {
+                            // Shards are locked before the SKU row, as in shard folds and refills
+                            stockShardService.consolidate(skuId);
+                        }
+                        Sku sku = skuRepository.findByIdForUpdate(skuId).orElse(null);
+                        if (sku == null) {
+                            return SkuOutcome.unchanged(skuId);
+                        }
+
+                        int rowStock = sku.getStockQuantity();
+                        int rowReserved =
+                                sku.getReservedQuantity()
+                                        + stockShardService.getShardTotals(skuId).getReservedQuantity();
+                        LedgerState ledger = replayUpTo(skuId, Long.MAX_VALUE);
+                        if (rowStock == ledger.getStockQuantity()
+                                && rowReserved == ledger.getReservedQuantity()) {
+                            return SkuOutcome.unchanged(skuId);
+                        }
+
+                        boolean corrected = apply && ledger.isConsistent();
+                        if (corrected) {
+                            CategoryInventoryRollupService.Contribution contribution = inventoryRollupService.capture(sku);
+                            skuRepository.overwriteStockCounters(
+                                    skuId,
+                                    ledger.getStockQuantity(),
+                                    ledger.getReservedQuantity(),
+                                    LocalDateTime.now());
+                            inventoryRollupService.recordStockChange(contribution, rowStock, ledger.getStockQuantity());
+                        }
+                        return SkuOutcome.drift(
+                                new StockDrift(
+                                        skuId, sku.getSkuCode(), rowStock, rowReserved, ledger, corrected));
+                    });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild stock of SKU ID {} from the ledger", skuId, e);
+            return SkuOutcome.failed(skuId);
+        }
+    }
+
+    private SkuOutcome checkpointSku(Long skuId, long upToId) {
+        try {
+            return transactionTemplate.execute(
+                    status -> {
+                        LedgerState state = replayUpTo(skuId, upToId);
+                        checkpointRepository.save(
+                                new SkuLedgerCheckpoint(
+                                        skuId,
+                                        state.getLastTransactionId(),
+                                        state.getStockQuantity(),
+                                        state.getReservedQuantity()));
+                        return SkuOutcome.unchanged(skuId);
+                    });
+        } catch (RuntimeException e) {
+            // Includes another instance having written the same checkpoint first
+            logger.warn("Failed to write ledger checkpoint for SKU ID {}", skuId, e);
+            return SkuOutcome.failed(skuId);
+        }
+    }
+
+    private List<SkuOutcome> forEachSku(List<Long> skuIds, Function<Long, SkuOutcome> action) {
+        if (skuIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return replayPool.invoke(new SkuChunkTask(skuIds, action, chunkSize));
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Runs an action for each SKU in a list, splitting the list in halves until chunks are small enough to run on one worker.
+     */
+    private static final class SkuChunkTask extends RecursiveTask<List<SkuOutcome>> {
+
+        private final List<Long> skuIds;
+        private final Function<Long, SkuOutcome> action;
+        private final int chunkSize;
+
+        SkuChunkTask(List<Long> skuIds, Function<Long, SkuOutcome> action, int chunkSize) {
+            this.skuIds = skuIds;
+            this.action = action;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<SkuOutcome> compute() {
+            if (skuIds.size() <= chunkSize) {
+                List<SkuOutcome> outcomes = new ArrayList<>(skuIds.size());
+                for (Long skuId : skuIds) {
+                    outcomes.add(action.apply(skuId));
+                }
+                return outcomes;
+            }
+
+            int middle = skuIds.size() / 2;
+            SkuChunkTask left = new SkuChunkTask(skuIds.subList(0, middle), action, chunkSize);
+            SkuChunkTask right =
+                    new SkuChunkTask(skuIds.subList(middle, skuIds.size()), action, chunkSize);
+            left.fork();
+            List<SkuOutcome> outcomes = new ArrayList<>(right.compute());
+            outcomes.addAll(left.join());
+            return outcomes;
+        }
+    }
+
+    /**
+     * Result of processing one SKU.
+     */
+    private static final class SkuOutcome {
+
+        private final Long skuId;
+        private final StockDrift drift;
+        private final boolean failed;
+
+        private SkuOutcome(Long skuId, StockDrift drift, boolean failed) {
+            this.skuId = skuId;
+            this.drift = drift;
+            this.failed = failed;
+        }
+
+        static SkuOutcome unchanged(Long skuId) {
+            return new SkuOutcome(skuId, null, false);
+        }
+
+        static SkuOutcome drift(StockDrift drift) {
+            return new SkuOutcome(drift.getSkuId(), drift, false);
+        }
+
+        static SkuOutcome failed(Long skuId) {
+            return new SkuOutcome(skuId, null, true);
+        }
+    }
+
+    /**
+     * Stock counters of a SKU as implied by its ledger.
+     */
+    public static class LedgerState {
+
+        private final Long skuId;
+        private final int stockQuantity;
+        private final int reservedQuantity;
+        private final long lastTransactionId;
+        private final long checkpointTransactionId;
+        private final int replayedTransactions;
+
+        public LedgerState(
+                Long skuId,
+                int stockQuantity,
+                int reservedQuantity,
+                long lastTransactionId,
+                long checkpointTransactionId,
+                int replayedTransactions) {
+            this.skuId = skuId;
+            this.stockQuantity = stockQuantity;
+            this.reservedQuantity = reservedQuantity;
+            this.lastTransactionId = lastTransactionId;
+            this.checkpointTransactionId = checkpointTransactionId;
+            this.replayedTransactions = replayedTransactions;
+        }
+
+        public Long getSkuId() {
+            return skuId;
+        }
+
+        public int getStockQuantity() {
+            return stockQuantity;
+        }
+
+        public int getReservedQuantity() {
+            return reservedQuantity;
+        }
+
+        public int getAvailableQuantity() {
+            return Math.max(0, stockQuantity - reservedQuantity);
+        }
+
+        /** ID of the last ledger transaction applied. */
+        public long getLastTransactionId() {
+            return lastTransactionId;
+        }
+
+        /** ID of the last transaction covered by the checkpoint the replay started from (0 if none). */
+        public long getCheckpointTransactionId() {
+            return checkpointTransactionId;
+        }
+
+        /** Number of ledger transactions applied on top of the checkpoint. */
+        public int getReplayedTransactions() {
+            return replayedTransactions;
+        }
+
+        /** Whether the counters could be stored on a SKU row. */
+        public boolean isConsistent() {
+            return stockQuantity >= 0 && reservedQuantity >= 0 && reservedQuantity <= stockQuantity;
+        }
+    }
+
+    /**
+     * A SKU whose row counters differ from its ledger.
+     */
+    public static class StockDrift {
+
+        private final Long skuId;
+        private final String skuCode;
+        private final int rowStockQuantity;
+        private final int rowReservedQuantity;
+        private final int ledgerStockQuantity;
+        private final int ledgerReservedQuantity;
+        private final boolean corrected;
+
+        public StockDrift(
+                Long skuId,
+                String skuCode,
+                int rowStockQuantity,
+                int rowReservedQuantity,
+                LedgerState ledger,
+                boolean corrected) {
+            this.skuId = skuId;
+            this.skuCode = skuCode;
+            this.rowStockQuantity = rowStockQuantity;
+            this.rowReservedQuantity = rowReservedQuantity;
+            this.ledgerStockQuantity = ledger.getStockQuantity();
+            this.ledgerReservedQuantity = ledger.getReservedQuantity();
+            this.corrected = corrected;
+        }
+
+        public Long getSkuId() {
+            return skuId;
+        }
+
+        public String getSkuCode() {
+            return skuCode;
+        }
+
+        public int getRowStockQuantity() {
+            return rowStockQuantity;
+        }
+
+        public int getRowReservedQuantity() {
+            return rowReservedQuantity;
+        }
+
+        public int getLedgerStockQuantity() {
+            return ledgerStockQuantity;
+        }
+
+        public int getLedgerReservedQuantity() {
+            return ledgerReservedQuantity;
+        }
+
+        public boolean isCorrected() {
+            return corrected;
+        }
+    }
+
+    /**
+     * Outcome of a ledger rebuild run.
+     */
+    public static class RebuildReport {
+
+        private final boolean applied;
+        private final int skusChecked;
+        private final List<StockDrift> drifts = new ArrayList<>();
+        private final List<Long> failedSkuIds = new ArrayList<>();
+        private final long elapsedMillis;
+
+        RebuildReport(boolean applied, int skusChecked, List<SkuOutcome> outcomes, long elapsedMillis) {
+            this.applied = applied;
+            this.skusChecked = skusChecked;
+            this.elapsedMillis = elapsedMillis;
+            for (SkuOutcome outcome : outcomes) {
+                if (outcome.failed) {
+                    failedSkuIds.add(outcome.skuId);
+                } else if (outcome.drift != null) {
+                    drifts.add(outcome.drift);
+                }
+            }
+        }
+
+        public boolean isApplied() {
+            return applied;
+        }
+
+        public int getSkusChecked() {
+            return skusChecked;
+        }
+
+        public List<StockDrift> getDrifts() {
+            return drifts;
+        }
+
+        public int getSkusCorrected() {
+            return (int) drifts.stream().filter(StockDrift::isCorrected).count();
+        }
+
+        public List<Long> getFailedSkuIds() {
+            return failedSkuIds;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.LedgerBalance;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service that verifies SKU stock counters against the inventory ledger across every SKU.
+ *
+ * <p>SKU IDs are split into ranges of {@code inventory.ledger.verify.range-size} IDs. Each range is checked with a single read-only
+ * aggregate query that groups the SKUs' ledger rows after their latest checkpoint, and ranges run in parallel on a pool of
+ * {@code inventory.ledger.verify.parallelism} threads. The range queries take no locks, so stock operations carry on during a run. Rows
+ * archived to the {@link TransactionArchive} are always covered by a checkpoint and never need reading.
+ *
+ * <p>SKUs whose sums disagree with their row are then replayed exactly, each locked only while it is compared. This drops SKUs whose
+ * sums differ only because the ledger hit a replay floor, and SKUs that were mid-operation when their range was read. What remains is
+ * reported as drift, and can optionally be corrected by appending transactions that bring the ledger to the SKU row: an ADJUSTMENT for
+ * stock, and a RESERVED or RELEASED for reservations. {@link LedgerReplayService#rebuildStock} corrects the other way, overwriting rows.
+ *
+ * <p>With ledger write-behind enabled, rows still waiting to be inserted show up as drift; do not correct while the writer is busy.
+ */
+@Service
+public class LedgerVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerVerificationService.class);
+
+    static final String CORRECTION_REFERENCE_TYPE = "LEDGER_VERIFICATION";
+    private static final String CORRECTION_REASON = "Correction to match SKU stock counters";
+    private static final String CORRECTION_PERFORMER = "SYSTEM";
+
+    private final SkuRepository skuRepository;
+    private final InventoryTransactionRepository transactionRepository;
+    private final LedgerReplayService ledgerReplayService;
+    private final InventoryService inventoryService;
+    private final SkuStockShardService stockShardService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ForkJoinPool verifyPool;
+    private final int rangeSize;
+
+    @Autowired
+    public LedgerVerificationService(
+            SkuRepository skuRepository,
+            InventoryTransactionRepository transactionRepository,
+            LedgerReplayService ledgerReplayService,
+            InventoryService inventoryService,
+            SkuStockShardService stockShardService,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.ledger.verify.parallelism:4}") int parallelism,
+            @Value("${inventory.ledger.verify.range-size:5000}") int rangeSize) {
+        this.skuRepository = skuRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerReplayService = ledgerReplayService;
+        this.inventoryService = inventoryService;
+        this.stockShardService = stockShardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.verifyPool = new ForkJoinPool(Math.max(1, parallelism));
+        this.rangeSize = Math.max(1, rangeSize);
+    }
+
+    /**
+     * Verifies every SKU on the {@code inventory.ledger.verify.cron} schedule, without correcting anything. Disabled unless a schedule is
+     * configured.
+     */
+    @Scheduled(cron = "${inventory.ledger.verify.cron:-}")
+    public void verifyOnSchedule() {
+        verify(false);
+    }
+
+    /**
+     * Verifies the stock counters of every SKU that is not deleted against its ledger.
+     *
+     * @param correct whether to append ledger transactions that remove the drift found
+     * @return the SKUs whose counters differ from their ledger
+     */
+    public VerificationReport verify(boolean correct) {
+        long startedAt = System.nanoTime();
+        Long maxSkuId = skuRepository.findMaxId();
+
+        List<ForkJoinTask<RangeResult>> rangeTasks = new ArrayList<>();
+        if (maxSkuId != null) {
+            for (long from = 1; from <= maxSkuId; from += rangeSize) {
+                long rangeStart = from;
+                long rangeEnd = Math.min(maxSkuId, from + rangeSize - 1);
+                rangeTasks.add(verifyPool.submit(() -> sumRange(rangeStart, rangeEnd)));
+            }
+        }
+
+        long skusChecked = 0;
+        List<String> failedRanges = new ArrayList<>();
+        List<ForkJoinTask<SkuOutcome>> skuTasks = new ArrayList<>();
+        for (ForkJoinTask<RangeResult> rangeTask : rangeTasks) {
+            RangeResult range = rangeTask.join();
+            if (range.failed) {
+                failedRanges.add(range.fromSkuId + "-" + range.toSkuId);
+                continue;
+            }
+            skusChecked += range.skusChecked;
+            for (LedgerBalance balance : range.unbalanced) {
+                skuTasks.add(verifyPool.submit(() -> verifySku(balance.getSkuId(), correct)));
+            }
+        }
+
+        List<LedgerDrift> drifts = new ArrayList<>();
+        List<Long> failedSkuIds = new ArrayList<>();
+        for (ForkJoinTask<SkuOutcome> skuTask : skuTasks) {
+            SkuOutcome outcome = skuTask.join();
+            if (outcome.failed) {
+                failedSkuIds.add(outcome.skuId);
+            } else if (outcome.drift != null) {
+                drifts.add(outcome.drift);
+            }
+        }
+
+        VerificationReport report =
+                new VerificationReport(
+                        correct,
+                        skusChecked,
+                        rangeTasks.size(),
+                        skuTasks.size(),
+                        drifts,
+                        failedRanges,
+                        failedSkuIds,
+                        Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        logger.info(
+                "Ledger verification checked {} SKUs in {} ranges in {} ms: {} unbalanced sums, {} drifted, {} corrected, {} ranges and {} SKUs failed",
+                report.getSkusChecked(),
+                report.getRangesChecked(),
+                report.getElapsedMillis(),
+                report.getUnbalancedSums(),
+                report.getDrifts().size(),
+                report.getSkusCorrected(),
+                report.getFailedRanges().size(),
+                report.getFailedSkuIds().size());
+        return report;
+    }
+
+    /**
+     * Stops the verification pool.
+     */
+    @PreDestroy
+    void stop() {
+        verifyPool.shutdownNow();
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private RangeResult sumRange(long fromSkuId, long toSkuId) {
+        try {
+            List<LedgerBalance> balances =
+                    readOnlyTransactionTemplate.execute(
+                            status -> transactionRepository.sumLedgerBySkuRange(fromSkuId, toSkuId));
+            List<LedgerBalance> unbalanced = new ArrayList<>();
+            for (LedgerBalance balance : balances) {
+                if (!balance.isBalanced()) {
+                    unbalanced.add(balance);
+                }
+            }
+            return new RangeResult(fromSkuId, toSkuId, balances.size(), unbalanced, false);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to verify the ledger of SKU IDs {} to {}", fromSkuId, toSkuId, e);
+            return new RangeResult(fromSkuId, toSkuId, 0, Collections.emptyList(), true);
+        }
+    }
+
+    /**
+     * Compares a locked SKU row with its exact ledger replay and, if requested, appends the transactions that make them agree.
+     */
+    private SkuOutcome verifySku(long skuId, boolean correct) {
+        try {
+            return transactionTemplate.execute(
+                    status -> {
+                        if (correct) {
+                            // Shards are locked before the SKU row, as in shard folds and refills
+                            stockShardService.consolidate(skuId);
+                        }
+                        Sku sku = skuRepository.findByIdForUpdate(skuId).orElse(null);
+                        if (sku == null) {
+                            return SkuOutcome.unchanged(skuId);
+                        }
+
+                        int rowStock = sku.getStockQuantity();
+                        int rowReserved =
+                                sku.getReservedQuantity()
+                                        + stockShardService.getShardTotals(skuId).getReservedQuantity();
+                        LedgerReplayService.LedgerState ledger = ledgerReplayService.replay(skuId);
+                        int stockDelta = rowStock - ledger.getStockQuantity();
+                        int reservedDelta = rowReserved - ledger.getReservedQuantity();
+                        if (stockDelta == 0 && reservedDelta == 0) {
+                            return SkuOutcome.unchanged(skuId);
+                        }
+
+                        if (correct) {
+                            inventoryService.recordTransactions(corrections(sku, stockDelta, reservedDelta));
+                        }
+                        return SkuOutcome.drift(
+                                new LedgerDrift(
+                                        skuId,
+                                        sku.getSkuCode(),
+                                        rowStock,
+                                        rowReserved,
+                                        ledger.getStockQuantity(),
+                                        ledger.getReservedQuantity(),
+                                        correct));
+                    });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to verify the ledger of SKU ID {}", skuId, e);
+            return SkuOutcome.failed(skuId);
+        }
+    }
+
+    /**
+     * Builds the ledger transactions that move a SKU's replayed counters by the given deltas. Replay floors stock and reserved stock at
+     * zero only when they would go below it, which these transactions never ask for.
+     */
+    private List<InventoryTransaction> corrections(Sku sku, int stockDelta, int reservedDelta) {
+        List<InventoryTransaction> transactions = new ArrayList<>(2);
+        if (stockDelta != 0) {
+            transactions.add(correction(sku, InventoryTransaction.TransactionType.ADJUSTMENT, stockDelta));
+        }
+        if (reservedDelta > 0) {
+            transactions.add(correction(sku, InventoryTransaction.TransactionType.RESERVED, reservedDelta));
+        } else if (reservedDelta < 0) {
+            transactions.add(correction(sku, InventoryTransaction.TransactionType.RELEASED, -reservedDelta));
+        }
+        return transactions;
+    }
+
+    private InventoryTransaction correction(
+            Sku sku, InventoryTransaction.TransactionType transactionType, int quantity) {
+        return new InventoryTransaction(
+                sku,
+                transactionType,
+                quantity,
+                null,
+                CORRECTION_REFERENCE_TYPE,
+                CORRECTION_REASON,
+                CORRECTION_PERFORMER);
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Result of summing one SKU ID range.
+     */
+    private static final class RangeResult {
+
+        private final long fromSkuId;
+        private final long toSkuId;
+        private final int skusChecked;
+        private final List<LedgerBalance> unbalanced;
+        private final boolean failed;
+
+        RangeResult(
+                long fromSkuId, long toSkuId, int skusChecked, List<LedgerBalance> unbalanced, boolean failed) {
+            this.fromSkuId = fromSkuId;
+            this.toSkuId = toSkuId;
+            this.skusChecked = skusChecked;
+            this.unbalanced = unbalanced;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Result of verifying one SKU exactly.
+     */
+    private static final class SkuOutcome {
+
+        private final Long skuId;
+        private final LedgerDrift drift;
+        private final boolean failed;
+
+        private SkuOutcome(Long skuId, LedgerDrift drift, boolean failed) {
+            this.skuId = skuId;
+            this.drift = drift;
+            this.failed = failed;
+        }
+
+        static SkuOutcome unchanged(Long skuId) {
+            return new SkuOutcome(skuId, null, false);
+        }
+
+        static SkuOutcome drift(LedgerDrift drift) {
+            return new SkuOutcome(drift.getSkuId(), drift, false);
+        }
+
+        static SkuOutcome failed(Long skuId) {
+            return new SkuOutcome(skuId, null, true);
+        }
+    }
+
+    /**
+     * A SKU whose stock counters differ from its ledger. Deltas are the SKU row minus the ledger.
+     */
+    public static class LedgerDrift {
+
+        private final Long skuId;
+        private final String skuCode;
+        private final int rowStockQuantity;
+        private final int rowReservedQuantity;
+        private final int ledgerStockQuantity;
+        private final int ledgerReservedQuantity;
+        private final boolean corrected;
+
+        public LedgerDrift(
+                Long skuId,
+                String skuCode,
+                int rowStockQuantity,
+                int rowReservedQuantity,
+                int ledgerStockQuantity,
+                int ledgerReservedQuantity,
+                boolean corrected) {
+            this.skuId = skuId;
+            this.skuCode = skuCode;
+            this.rowStockQuantity = rowStockQuantity;
+            this.rowReservedQuantity = rowReservedQuantity;
+            this.ledgerStockQuantity = ledgerStockQuantity;
+            this.ledgerReservedQuantity = ledgerReservedQuantity;
+            this.corrected = corrected;
+        }
+
+        public Long getSkuId() {
+            return skuId;
+        }
+
+        public String getSkuCode() {
+            return skuCode;
+        }
+
+        public int getRowStockQuantity() {
+            return rowStockQuantity;
+        }
+
+        public int getRowReservedQuantity() {
+            return rowReservedQuantity;
+        }
+
+        public int getLedgerStockQuantity() {
+            return ledgerStockQuantity;
+        }
+
+        public int getLedgerReservedQuantity() {
+            return ledgerReservedQuantity;
+        }
+
+        public int getStockDelta() {
+            return rowStockQuantity - ledgerStockQuantity;
+        }
+
+        public int getReservedDelta() {
+            return rowReservedQuantity - ledgerReservedQuantity;
+        }
+
+        /** Whether correcting ledger transactions were appended. */
+        public boolean isCorrected() {
+            return corrected;
+        }
+    }
+
+    /**
+     * Outcome of a ledger verification run.
+     */
+    public static class VerificationReport {
+
+        private final boolean corrected;
+        private final long skusChecked;
+        private final int rangesChecked;
+        private final int unbalancedSums;
+        private final List<LedgerDrift> drifts;
+        private final List<String> failedRanges;
+        private final List<Long> failedSkuIds;
+        private final long elapsedMillis;
+
+        public VerificationReport(
+                boolean corrected,
+                long skusChecked,
+                int rangesChecked,
+                int unbalancedSums,
+                List<LedgerDrift> drifts,
+                List<String> failedRanges,
+                List<Long> failedSkuIds,
+                long elapsedMillis) {
+            this.corrected = corrected;
+            this.skusChecked = skusChecked;
+            this.rangesChecked = rangesChecked;
+            this.unbalancedSums = unbalancedSums;
+            this.drifts = drifts;
+            this.failedRanges = failedRanges;
+            this.failedSkuIds = failedSkuIds;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /** Whether drift was corrected. */
+        public boolean isCorrected() {
+            return corrected;
+        }
+
+        public long getSkusChecked() {
+            return skusChecked;
+        }
+
+        public int getRangesChecked() {
+            return rangesChecked;
+        }
+
+        /** Number of SKUs whose ledger sums disagreed with their row and were replayed exactly. */
+        public int getUnbalancedSums() {
+            return unbalancedSums;
+        }
+
+        public List<LedgerDrift> getDrifts() {
+            return drifts;
+        }
+
+        public int getSkusCorrected() {
+            return (int) drifts.stream().filter(LedgerDrift::isCorrected).count();
+        }
+
+        /** SKU ID ranges, as {@code from-to}, whose aggregate query failed. */
+        public List<String> getFailedRanges() {
+            return failedRanges;
+        }
+
+        public List<Long> getFailedSkuIds() {
+            return failedSkuIds;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
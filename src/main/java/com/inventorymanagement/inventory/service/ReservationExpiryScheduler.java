@@ -0,0 +1,70 @@
+package com.inventorymanagement.inventory.service;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drives reservation hold expiry. On every tick the timing wheel is advanced and the holds that became due are expired in batches of
+ * {@code inventory.reservations.expiry.batch-size}, each batch in its own transaction. A batch that fails is put back on the wheel and
+ * retried on the next tick.
+ */
+@Component
+public class ReservationExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+
+    private final ReservationHoldService holdService;
+    private final ReservationTimingWheel timingWheel;
+    private final int batchSize;
+
+    @Autowired
+    public ReservationExpiryScheduler(
+            ReservationHoldService holdService,
+            ReservationTimingWheel timingWheel,
+            @Value("${inventory.reservations.expiry.batch-size:500}") int batchSize) {
+        this.holdService = holdService;
+        this.timingWheel = timingWheel;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Puts holds that were active before the last restart back on the timing wheel.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleActiveHolds() {
+        int scheduled = holdService.scheduleActiveHolds();
+        logger.info("Scheduled {} active reservation holds for expiry", scheduled);
+    }
+
+    /**
+     * Expires the holds that became due since the last tick.
+     *
+     * @return number of holds expired
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservations.expiry.tick-ms:1000}")
+    public int expireDueHolds() {
+        long now = System.currentTimeMillis();
+        List<Long> dueHoldIds = timingWheel.advanceTo(now);
+
+        int expired = 0;
+        for (int from = 0; from < dueHoldIds.size(); from += batchSize) {
+            List<Long> batch = dueHoldIds.subList(from, Math.min(from + batchSize, dueHoldIds.size()));
+            try {
+                expired += holdService.expireHolds(batch);
+            } catch (RuntimeException e) {
+                logger.error("Failed to expire {} reservation holds, retrying next tick", batch.size(), e);
+                for (Long holdId : batch) {
+                    timingWheel.schedule(holdId, now);
+                }
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,291 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.common.exception.BusinessException;
+import com.inventorymanagement.common.exception.EntityNotFoundException;
+import com.inventorymanagement.common.exception.InsufficientStockException;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.ReservationHold;
+import com.inventorymanagement.inventory.model.ReservationHoldDto;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.repository.ReservationHoldRepository;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service class for time-limited stock reservations. A hold reserves stock like {@link SkuService#reserveStock(Long, Integer)} but is given
+ * back automatically when its TTL passes, unless it was released or confirmed first.
+ *
+ * <p>Expiry times are tracked in a {@link ReservationTimingWheel}; {@link ReservationExpiryScheduler} hands due holds to
+ * {@link #expireHolds(Collection)} in batches.
+ */
+@Service
+@Transactional
+public class ReservationHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationHoldService.class);
+    private static final String HOLD_ENTITY_NAME = "ReservationHold";
+    private static final String HOLD_REFERENCE_TYPE = "RESERVATION_HOLD";
+    private static final String SYSTEM_USER = "SYSTEM";
+
+    private final ReservationHoldRepository holdRepository;
+    private final SkuRepository skuRepository;
+    private final SkuService skuService;
+    private final InventoryService inventoryService;
+    private final SkuStockShardService stockShardService;
+    private final ReservationTimingWheel timingWheel;
+    private final SkuCacheInvalidator cacheInvalidator;
+    private final long defaultTtlSeconds;
+    private final long maxTtlSeconds;
+
+    @Autowired
+    public ReservationHoldService(
+            ReservationHoldRepository holdRepository,
+            SkuRepository skuRepository,
+            SkuService skuService,
+            InventoryService inventoryService,
+            SkuStockShardService stockShardService,
+            ReservationTimingWheel timingWheel,
+            SkuCacheInvalidator cacheInvalidator,
+            @Value("${inventory.reservations.default-ttl-seconds:900}") long defaultTtlSeconds,
+            @Value("${inventory.reservations.max-ttl-seconds:86400}") long maxTtlSeconds) {
+        this.holdRepository = holdRepository;
+        this.skuRepository = skuRepository;
+        this.skuService = skuService;
+        this.inventoryService = inventoryService;
+        this.stockShardService = stockShardService;
+        this.timingWheel = timingWheel;
+        this.cacheInvalidator = cacheInvalidator;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+    }
+
+    /**
+     * Reserves stock for a SKU until the TTL passes.
+     *
+     * @param skuId       the SKU ID
+     * @param quantity    the quantity to reserve
+     * @param ttlSeconds  how long the hold lasts, or null for the configured default
+     * @param referenceId the reference ID for the hold (e.g. cart ID)
+     * @return the created hold
+     * @throws ValidationException        if quantity or TTL is invalid
+     * @throws EntityNotFoundException    if SKU not found
+     * @throws InsufficientStockException if insufficient stock available
+     */
+    public ReservationHoldDto createHold(
+            @NotNull Long skuId, @NotNull Integer quantity, Long ttlSeconds, String referenceId) {
+        logger.info("Creating reservation hold of {} units for SKU ID: {}", quantity, skuId);
+
+        long ttl = ttlSeconds != null ? ttlSeconds : defaultTtlSeconds;
+        if (ttl <= 0 || ttl > maxTtlSeconds) {
+            throw new ValidationException(
+                    "ttlSeconds", "TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+
+        skuService.reserveStock(
+                skuId, quantity, referenceId, HOLD_REFERENCE_TYPE, "Reservation hold", SYSTEM_USER);
+
+        ReservationHold hold =
+                holdRepository.save(
+                        new ReservationHold(
+                                skuId, quantity, referenceId, LocalDateTime.now().plusSeconds(ttl)));
+        scheduleAfterCommit(hold);
+
+        logger.info("Created reservation hold {} expiring at {}", hold.getId(), hold.getExpiresAt());
+        return new ReservationHoldDto(hold);
+    }
+
+    /**
+     * Releases an active hold before it expires, giving its stock back.
+     *
+     * @param holdId the hold ID
+     * @return the released hold
+     * @throws EntityNotFoundException if hold not found
+     * @throws BusinessException       if the hold is no longer active
+     */
+    public ReservationHoldDto releaseHold(@NotNull Long holdId) {
+        logger.info("Releasing reservation hold: {}", holdId);
+
+        ReservationHold hold = findActiveHoldForUpdate(holdId);
+        skuService.releaseReservedStock(
+                hold.getSkuId(),
+                hold.getQuantity(),
+                hold.getReferenceId(),
+                HOLD_REFERENCE_TYPE,
+                "Reservation hold released",
+                SYSTEM_USER);
+        hold.setStatus(ReservationHold.HoldStatus.RELEASED);
+
+        logger.info("Released reservation hold: {}", holdId);
+        return new ReservationHoldDto(holdRepository.save(hold));
+    }
+
+    /**
+     * Confirms an active hold. Its stock stays reserved for fulfillment and it no longer expires.
+     *
+     * @param holdId the hold ID
+     * @return the confirmed hold
+     * @throws EntityNotFoundException if hold not found
+     * @throws BusinessException       if the hold is no longer active
+     */
+    public ReservationHoldDto confirmHold(@NotNull Long holdId) {
+        logger.info("Confirming reservation hold: {}", holdId);
+
+        ReservationHold hold = findActiveHoldForUpdate(holdId);
+        hold.setStatus(ReservationHold.HoldStatus.CONFIRMED);
+
+        return new ReservationHoldDto(holdRepository.save(hold));
+    }
+
+    /**
+     * Expires the given holds in one pass: the holds still active are locked and marked expired, their stock is given back with one
+     * set-based update across all affected SKUs, and one RELEASED ledger row per hold is written in a single batch. Holds that were
+     * released or confirmed in the meantime are skipped. Reserved quantity is floored at zero, so when a SKU no longer holds the full
+     * reservation of its holds, the ledger records what was actually released.
+     *
+     * @param holdIds IDs of holds that have reached their expiry time
+     * @return number of holds expired
+     */
+    public int expireHolds(@NotNull Collection<Long> holdIds) {
+        if (holdIds.isEmpty()) {
+            return 0;
+        }
+
+        List<ReservationHold> holds =
+                holdRepository.findByIdsAndStatusForUpdate(holdIds, ReservationHold.HoldStatus.ACTIVE);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> expiredIds = new ArrayList<>(holds.size());
+        Set<Long> skuIds = new HashSet<>();
+        for (ReservationHold hold : holds) {
+            expiredIds.add(hold.getId());
+            skuIds.add(hold.getSkuId());
+        }
+
+        // Held stock of sharded SKUs may sit in shards; the set-based release works on SKU rows
+        stockShardService.consolidate(skuIds);
+
+        // Reserved quantities read under lock are what the release below can give back
+        Map<Long, Integer> releasable = new HashMap<>();
+        for (Sku sku : skuRepository.findAllByIdForUpdate(skuIds)) {
+            releasable.put(sku.getId(), sku.getReservedQuantity());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        holdRepository.updateStatus(expiredIds, ReservationHold.HoldStatus.EXPIRED, now);
+        int skusUpdated = skuRepository.releaseHeldStock(expiredIds, now);
+
+        List<InventoryTransaction> transactions = new ArrayList<>(holds.size());
+        for (ReservationHold hold : holds) {
+            int remaining = releasable.getOrDefault(hold.getSkuId(), 0);
+            int released = Math.min(hold.getQuantity(), remaining);
+            releasable.put(hold.getSkuId(), remaining - released);
+            if (released < hold.getQuantity()) {
+                logger.warn(
+                        "SKU ID {} held only {} of the {} units reserved by hold {}",
+                        hold.getSkuId(),
+                        released,
+                        hold.getQuantity(),
+                        hold.getId());
+            }
+            if (released == 0) {
+                continue;
+            }
+
+            transactions.add(
+                    new InventoryTransaction(
+                            skuRepository.getReferenceById(hold.getSkuId()),
+                            InventoryTransaction.TransactionType.RELEASED,
+                            released,
+                            hold.getReferenceId(),
+                            HOLD_REFERENCE_TYPE,
+                            "Reservation hold expired",
+                            SYSTEM_USER));
+        }
+        inventoryService.recordTransactions(transactions);
+        cacheInvalidator.evictSkus(skuIds);
+
+        logger.info("Expired {} reservation holds across {} SKUs", holds.size(), skusUpdated);
+        return holds.size();
+    }
+
+    /**
+     * Adds every active hold to the timing wheel. Used on startup to resume tracking holds created before the last restart.
+     *
+     * @return number of holds scheduled
+     */
+    public int scheduleActiveHolds() {
+        List<Object[]> expirations =
+                holdRepository.findExpirationsByStatus(ReservationHold.HoldStatus.ACTIVE);
+        for (Object[] expiration : expirations) {
+            timingWheel.schedule((Long) expiration[0], toEpochMillis((LocalDateTime) expiration[1]));
+        }
+        return expirations.size();
+    }
+
+    /**
+     * Counts holds that currently reserve stock.
+     *
+     * @return number of active holds
+     */
+    public long countActiveHolds() {
+        return holdRepository.countByStatus(ReservationHold.HoldStatus.ACTIVE);
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private ReservationHold findActiveHoldForUpdate(Long holdId) {
+        ReservationHold hold =
+                holdRepository
+                        .findByIdForUpdate(holdId)
+                        .orElseThrow(() -> new EntityNotFoundException(HOLD_ENTITY_NAME, holdId));
+        if (!hold.isActive()) {
+            throw new BusinessException(
+                    "Reservation hold " + holdId + " is " + hold.getStatus().getDescription().toLowerCase());
+        }
+        return hold;
+    }
+
+    /**
+     * Adds the hold to the timing wheel once the creating transaction commits, so a rolled-back hold is never scheduled.
+     */
+    private void scheduleAfterCommit(ReservationHold hold) {
+        long holdId = hold.getId();
+        long deadlineMillis = toEpochMillis(hold.getExpiresAt());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            timingWheel.schedule(holdId, deadlineMillis);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        timingWheel.schedule(holdId, deadlineMillis);
+                    }
+                });
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
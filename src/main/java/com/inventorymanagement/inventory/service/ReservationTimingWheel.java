@@ -0,0 +1,166 @@
+package com.inventorymanagement.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hierarchical timing wheel tracking when reservation holds expire.
+ *
+ * <p>The wheel has {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots. A level-0 slot spans one tick and each higher level's slot
+ * spans a whole revolution of the level below, so four levels cover {@code 64^4} ticks (about 194 days at one-second ticks). A hold is
+ * put in the finest level that can hold its deadline. When the clock reaches a higher-level slot, its holds are moved down a level, and
+ * holds in the current level-0 slot are due. Scheduling costs O(1) and each hold is moved at most {@value #LEVELS} times before it is
+ * due, however many holds are live. Deadlines beyond the wheel's range are parked in the top level and moved again when reached.
+ *
+ * <p>Holds are not removed when they are released or confirmed early; the caller re-checks each due hold's status. Scheduling the same
+ * hold twice is therefore harmless.
+ */
+@Component
+public class ReservationTimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMs;
+    private final List<List<Entry>> slots;
+    private final List<Long> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @Autowired
+    public ReservationTimingWheel(@Value("${inventory.reservations.expiry.tick-ms:1000}") long tickMs) {
+        this(tickMs, System.currentTimeMillis());
+    }
+
+    ReservationTimingWheel(long tickMs, long startMillis) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.tickMs = tickMs;
+        this.currentTick = startMillis / tickMs;
+        this.slots = new ArrayList<>(LEVELS * WHEEL_SIZE);
+        for (int i = 0; i < LEVELS * WHEEL_SIZE; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules a hold to become due at its deadline. A deadline that has already passed is due on the next advance.
+     *
+     * @param holdId         the hold ID
+     * @param deadlineMillis the expiry time in epoch milliseconds
+     */
+    public synchronized void schedule(long holdId, long deadlineMillis) {
+        // Round up so a hold is never reported before its deadline
+        place(new Entry(holdId, Math.floorDiv(deadlineMillis + tickMs - 1, tickMs)));
+        size++;
+    }
+
+    /**
+     * Advances the wheel clock and returns the holds that became due.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @return IDs of the due holds
+     */
+    public synchronized List<Long> advanceTo(long nowMillis) {
+        List<Long> expired = new ArrayList<>(due);
+        due.clear();
+
+        long targetTick = Math.floorDiv(nowMillis, tickMs);
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Move holds down from every level whose slot boundary was just crossed, coarsest first
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    cascade(slotIndex(currentTick, level));
+                }
+            }
+
+            List<Entry> slot = slots.get(slotIndex(currentTick, 0));
+            for (Entry entry : slot) {
+                expired.add(entry.holdId);
+            }
+            slot.clear();
+            expired.addAll(due);
+            due.clear();
+        }
+
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * Returns the number of scheduled holds, including ones already released or confirmed.
+     *
+     * @return number of scheduled holds
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the tick duration.
+     *
+     * @return tick duration in milliseconds
+     */
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void place(Entry entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(entry.holdId);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (WHEEL_BITS * (level + 1))) {
+                slots.get(slotIndex(entry.deadlineTick, level)).add(entry);
+                return;
+            }
+        }
+
+        // Beyond the wheel's range: park at the farthest top-level slot and place again from there
+        long parkTick = currentTick + (1L << (WHEEL_BITS * LEVELS)) - 1;
+        slots.get(slotIndex(parkTick, LEVELS - 1)).add(entry);
+    }
+
+    private void cascade(int index) {
+        List<Entry> slot = slots.get(index);
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry entry : entries) {
+            place(entry);
+        }
+    }
+
+    private int slotIndex(long tick, int level) {
+        return level * WHEEL_SIZE + (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    /**
+     * A scheduled hold and the tick at which it becomes due.
+     */
+    private static final class Entry {
+
+        private final long holdId;
+        private final long deadlineTick;
+
+        Entry(long holdId, long deadlineTick) {
+            this.holdId = holdId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.common.config.PolicyCache;
+import com.inventorymanagement.common.config.PolicyCacheManager;
+import com.inventorymanagement.inventory.model.SkuDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Targeted invalidation of the {@code skus} cache.
+ *
+ * <p>The cache holds SKUs by ID, SKUs by code, and pages of a product's SKUs. Every entry is tagged with the SKUs it contains, and product
+ * pages also with their product, so a write to one SKU evicts its own entries and the pages that show it instead of the whole cache:
+ *
+ * <ul>
+ *   <li>{@link #evictSku(Long)} after a SKU's stock, status or details change;
+ *   <li>{@link #evictSkuCode(String)} after a SKU is created, as a lookup by its code may have been cached for another SKU, e.g. one
+ *       created with the same code in a transaction that rolled back;
+ *   <li>{@link #evictProduct(Long)} after a SKU joins or leaves a product, which shifts the product's pages.
+ * </ul>
+ *
+ * <p>Entries are evicted right away and again once the current transaction completes, so a read that cached the old state while the
+ * transaction was in flight does not outlive it.
+ */
+@Service
+public class SkuCacheInvalidator {
+
+    static final String CACHE_NAME = "skus";
+
+    private final PolicyCache cache;
+
+    @Autowired
+    public SkuCacheInvalidator(PolicyCacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.cache.setTagger(SkuCacheInvalidator::tagsOf);
+    }
+
+    /**
+     * Returns the cache key of one page of a product's SKUs.
+     *
+     * @param productId the product ID
+     * @param pageable  pagination information
+     * @return the cache key
+     */
+    public static ProductPageKey productPageKey(Long productId, Pageable pageable) {
+        return new ProductPageKey(productId, pageable);
+    }
+
+    /**
+     * Evicts the entries of a SKU: the SKU by ID and by code, and every cached product page that includes it.
+     *
+     * @param skuId the SKU ID
+     */
+    public void evictSku(Long skuId) {
+        evictAfterCompletion(() -> evictSkuNow(skuId));
+    }
+
+    /**
+     * Evicts the entries of several SKUs.
+     *
+     * @param skuIds the SKU IDs
+     */
+    public void evictSkus(Collection<Long> skuIds) {
+        List<Long> ids = List.copyOf(skuIds);
+        evictAfterCompletion(() -> ids.forEach(this::evictSkuNow));
+    }
+
+    /**
+     * Evicts the SKU cached under a code, whichever SKU it is.
+     *
+     * @param skuCode the SKU code
+     */
+    public void evictSkuCode(String skuCode) {
+        evictAfterCompletion(() -> cache.evict(codeKey(skuCode)));
+    }
+
+    /**
+     * Evicts every cached page of a product's SKUs.
+     *
+     * @param productId the product ID
+     */
+    public void evictProduct(Long productId) {
+        evictAfterCompletion(() -> cache.evictTag(productTag(productId)));
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private void evictSkuNow(Long skuId) {
+        cache.evict(skuId);
+        cache.evictTag(skuTag(skuId));
+    }
+
+    private void evictAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        eviction.run();
+                    }
+                });
+    }
+
+    private static Collection<String> tagsOf(Object key, Object value) {
+        List<String> tags = new ArrayList<>();
+        if (key instanceof ProductPageKey pageKey) {
+            tags.add(productTag(pageKey.productId));
+        }
+        if (value instanceof SkuDto sku) {
+            tags.add(skuTag(sku.getId()));
+        } else if (value instanceof Page<?> page) {
+            for (Object content : page.getContent()) {
+                if (content instanceof SkuDto sku) {
+                    tags.add(skuTag(sku.getId()));
+                }
+            }
+        }
+        return tags;
+    }
+
+    private static String codeKey(String skuCode) {
+        return "code:" + skuCode;
+    }
+
+    private static String skuTag(Long skuId) {
+        return "sku:" + skuId;
+    }
+
+    private static String productTag(Long productId) {
+        return "product:" + productId;
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Cache key of one page of a product's SKUs.
+     */
+    public static final class ProductPageKey {
+
+        private final Long productId;
+        private final int pageNumber;
+        private final int pageSize;
+        private final String sort;
+
+        private ProductPageKey(Long productId, Pageable pageable) {
+            this.productId = productId;
+            this.pageNumber = pageable.isPaged() ? pageable.getPageNumber() : -1;
+            this.pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+            this.sort = pageable.getSort().toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ProductPageKey)) {
+                return false;
+            }
+            ProductPageKey other = (ProductPageKey) o;
+            return pageNumber == other.pageNumber
+                    && pageSize == other.pageSize
+                    && Objects.equals(productId, other.productId)
+                    && sort.equals(other.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, pageNumber, pageSize, sort);
+        }
+
+        @Override
+        public String toString() {
+            return "product:" + productId + ":" + pageNumber + ":" + pageSize + ":" + sort;
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.inventorymanagement.inventory.service;
 
+import com.inventorymanagement.common.config.RetryOnConflict;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.InsufficientStockException;
 import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.model.EntityTag;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
 import com.inventorymanagement.inventory.model.Sku;
 import com.inventorymanagement.inventory.model.SkuDto;
 import com.inventorymanagement.inventory.model.SkuMapper;
+import com.inventorymanagement.inventory.model.StockReservationRequest;
+import com.inventorymanagement.inventory.model.StockReservationResult;
 import com.inventorymanagement.inventory.repository.SkuRepository;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService.Contribution;
 import com.inventorymanagement.product.model.Product;
 import com.inventorymanagement.product.repository.ProductRepository;
 import jakarta.transaction.Transactional;
@@ -16,13 +22,17 @@ import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.security.SecureRandom;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -40,21 +50,31 @@ public class SkuService {
     private static final Logger logger = LoggerFactory.getLogger(SkuService.class);
     private static final String SKU_ENTITY_NAME = "SKU";
     private static final int MAX_SKU_CODE_RETRY_ATTEMPTS = 5;
+    private static final int MAX_STOCK_UPDATE_ATTEMPTS = 3;
     private static final String SKU_CODE_PREFIX = "SKU";
     private static final SecureRandom random = new SecureRandom();
 
     private final SkuRepository skuRepository;
     private final ProductRepository productRepository;
     private final InventoryService inventoryService;
+    private final SkuStockShardService stockShardService;
+    private final SkuCacheInvalidator cacheInvalidator;
+    private final CategoryInventoryRollupService inventoryRollupService;
 
     @Autowired
     public SkuService(
             SkuRepository skuRepository,
             ProductRepository productRepository,
-            InventoryService inventoryService) {
+            InventoryService inventoryService,
+            SkuStockShardService stockShardService,
+            SkuCacheInvalidator cacheInvalidator,
+            CategoryInventoryRollupService inventoryRollupService) {
         this.skuRepository = skuRepository;
         this.productRepository = productRepository;
         this.inventoryService = inventoryService;
+        this.stockShardService = stockShardService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.inventoryRollupService = inventoryRollupService;
     }
 
     // ===== CRUD OPERATIONS =====
@@ -67,9 +87,7 @@ public class SkuService {
      * @throws ValidationException     if validation fails
      * @throws EntityNotFoundException if product not found
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public SkuDto createSku(@Valid @NotNull SkuDto skuDto) {
         logger.info("Creating new SKU for product: {}", skuDto.getProductId());
 
@@ -89,17 +107,24 @@ public class SkuService {
         }
 
         Sku savedSku = skuRepository.save(sku);
+        inventoryRollupService.record(Contribution.none(), inventoryRollupService.capture(savedSku));
 
         // Create initial inventory transaction if stock quantity is set
         if (savedSku.getStockQuantity() > 0) {
-            inventoryService.recordStockIn(
-                    savedSku.getId(),
+            recordTransaction(
+                    savedSku,
+                    InventoryTransaction.TransactionType.IN,
                     savedSku.getStockQuantity(),
                     "INITIAL_STOCK",
+                    "STOCK_IN",
                     "Initial stock creation",
                     "SYSTEM");
         }
 
+        cacheInvalidator.evictSku(savedSku.getId());
+        cacheInvalidator.evictSkuCode(savedSku.getSkuCode());
+        cacheInvalidator.evictProduct(product.getId());
+
         logger.info(
                 "Successfully created SKU with ID: {} and code: {}",
                 savedSku.getId(),
@@ -116,17 +141,17 @@ public class SkuService {
      * @throws EntityNotFoundException if SKU not found
      * @throws ValidationException     if validation fails
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public SkuDto updateSku(@NotNull Long id, @Valid @NotNull SkuDto skuDto) {
         logger.info("Updating SKU with ID: {}", id);
 
+        stockShardService.consolidate(id);
         Sku existingSku = findSkuById(id);
         validateSkuForUpdate(existingSku, skuDto);
 
         // Store original stock quantity for comparison
         Integer originalStockQuantity = existingSku.getStockQuantity();
+        Contribution originalContribution = inventoryRollupService.capture(existingSku);
 
         // Update basic fields
         existingSku.setVariantName(skuDto.getVariantName());
@@ -147,9 +172,11 @@ public class SkuService {
 
             // Record inventory transaction for the adjustment
             if (adjustment != 0) {
-                inventoryService.recordStockAdjustment(
-                        existingSku.getId(),
+                recordTransaction(
+                        existingSku,
+                        InventoryTransaction.TransactionType.ADJUSTMENT,
                         adjustment,
+                        null,
                         "MANUAL_ADJUSTMENT",
                         "Manual stock adjustment",
                         "SYSTEM");
@@ -160,13 +187,17 @@ public class SkuService {
         if (shouldUpdateProduct(existingSku, skuDto)) {
             Product newProduct = findProductById(skuDto.getProductId());
             validateProductForSku(newProduct);
+            cacheInvalidator.evictProduct(existingSku.getProduct().getId());
+            cacheInvalidator.evictProduct(newProduct.getId());
             existingSku.setProduct(newProduct);
         }
 
         Sku updatedSku = skuRepository.save(existingSku);
+        inventoryRollupService.record(originalContribution, inventoryRollupService.capture(updatedSku));
+        cacheInvalidator.evictSku(id);
         logger.info("Successfully updated SKU with ID: {}", id);
 
-        return SkuMapper.toDto(updatedSku);
+        return toDto(updatedSku);
     }
 
     /**
@@ -180,7 +211,7 @@ public class SkuService {
     public SkuDto getSkuById(@NotNull Long id) {
         logger.debug("Retrieving SKU with ID: {}", id);
         Sku sku = findSkuById(id);
-        return SkuMapper.toDto(sku);
+        return toDto(sku);
     }
 
     /**
@@ -197,7 +228,7 @@ public class SkuService {
                 skuRepository
                         .findBySkuCode(skuCode)
                         .orElseThrow(() -> new EntityNotFoundException(SKU_ENTITY_NAME, skuCode));
-        return SkuMapper.toDto(sku);
+        return toDto(sku);
     }
 
     /**
@@ -209,7 +240,7 @@ public class SkuService {
     public Page<SkuDto> getAllSkus(Pageable pageable) {
         logger.debug("Retrieving all SKUs with pagination");
         Page<Sku> skus = skuRepository.findAllActive(pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -219,21 +250,22 @@ public class SkuService {
      * @throws EntityNotFoundException if SKU not found
      * @throws BusinessException       if SKU has reserved stock
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void deleteSku(@NotNull Long id) {
         logger.info("Deleting SKU with ID: {}", id);
 
+        stockShardService.consolidate(id);
         Sku sku = findSkuById(id);
         validateSkuForDeletion(sku);
+        Contribution contribution = inventoryRollupService.capture(sku);
 
         // Release any reserved stock before deletion
         if (sku.getReservedQuantity() > 0) {
-            sku.releaseReservedStock(sku.getReservedQuantity());
-            inventoryService.recordStockRelease(
-                    sku.getId(),
-                    sku.getReservedQuantity(),
+            Integer releasedQuantity = sku.releaseReservedStock(sku.getReservedQuantity());
+            recordTransaction(
+                    sku,
+                    InventoryTransaction.TransactionType.RELEASED,
+                    releasedQuantity,
                     null,
                     "DELETION",
                     "Stock released due to SKU deletion",
@@ -243,6 +275,9 @@ public class SkuService {
         // Soft delete the SKU
         sku.markAsDeleted();
         skuRepository.save(sku);
+        inventoryRollupService.record(contribution, Contribution.none());
+        cacheInvalidator.evictSku(id);
+        cacheInvalidator.evictProduct(sku.getProduct().getId());
 
         logger.info("Successfully deleted SKU with ID: {}", id);
     }
@@ -259,7 +294,7 @@ public class SkuService {
      */
     @Cacheable(
             value = "skus",
-            key = "'product:' + #productId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize")
+            key = "T(com.inventorymanagement.inventory.service.SkuCacheInvalidator).productPageKey(#productId, #pageable)")
     public Page<SkuDto> getSkusByProduct(@NotNull Long productId, Pageable pageable) {
         logger.debug("Retrieving SKUs for product ID: {}", productId);
 
@@ -267,7 +302,7 @@ public class SkuService {
         findProductById(productId);
 
         Page<Sku> skus = skuRepository.findByProductId(productId, pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -284,7 +319,7 @@ public class SkuService {
         findProductById(productId);
 
         List<Sku> skus = skuRepository.findActiveByProductId(productId);
-        return skus.stream().map(SkuMapper::toDto).toList();
+        return stockShardService.applyShardTotals(skus.stream().map(SkuMapper::toDto).toList());
     }
 
     // ===== INVENTORY OPERATIONS =====
@@ -301,9 +336,7 @@ public class SkuService {
      * @throws EntityNotFoundException    if SKU not found
      * @throws InsufficientStockException if insufficient stock available
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void reserveStock(
             @NotNull Long skuId,
             @NotNull Integer quantity,
@@ -317,21 +350,19 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
-
-        if (!sku.getIsActive()) {
-            throw new BusinessException("Cannot reserve stock for inactive SKU");
-        }
-
-        if (!sku.reserveStock(quantity)) {
-            throw new InsufficientStockException(sku.getSkuCode(), quantity, sku.getAvailableQuantity());
-        }
-
-        skuRepository.save(sku);
+        reserveStockAtomically(skuId, quantity);
 
         // Record inventory transaction
-        inventoryService.recordStockReservation(
-                skuId, quantity, referenceId, referenceType, reason, performedBy);
+        recordTransaction(
+                skuRepository.getReferenceById(skuId),
+                InventoryTransaction.TransactionType.RESERVED,
+                quantity,
+                referenceId,
+                referenceType,
+                reason,
+                performedBy);
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully reserved {} units for SKU ID: {}", quantity, skuId);
     }
@@ -347,9 +378,7 @@ public class SkuService {
      * @param performedBy   who performed the release
      * @throws EntityNotFoundException if SKU not found
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void releaseReservedStock(
             @NotNull Long skuId,
             @NotNull Integer quantity,
@@ -363,14 +392,19 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
-        Integer actualReleased = sku.releaseReservedStock(quantity);
-
-        skuRepository.save(sku);
+        Integer actualReleased = releaseReservedStockAtomically(skuId, quantity);
 
         // Record inventory transaction
-        inventoryService.recordStockRelease(
-                skuId, actualReleased, referenceId, referenceType, reason, performedBy);
+        recordTransaction(
+                skuRepository.getReferenceById(skuId),
+                InventoryTransaction.TransactionType.RELEASED,
+                actualReleased,
+                referenceId,
+                referenceType,
+                reason,
+                performedBy);
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully released {} units for SKU ID: {}", actualReleased, skuId);
     }
@@ -387,9 +421,7 @@ public class SkuService {
      * @throws EntityNotFoundException    if SKU not found
      * @throws InsufficientStockException if insufficient reserved stock
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void fulfillOrder(
             @NotNull Long skuId,
             @NotNull Integer quantity,
@@ -403,17 +435,28 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
-
-        if (!sku.fulfillOrder(quantity)) {
+        stockShardService.consolidate(skuId);
+        if (skuRepository.fulfillReservedStock(skuId, quantity, LocalDateTime.now()) == 0) {
+            Sku sku = findSkuById(skuId);
             throw new InsufficientStockException(sku.getSkuCode(), quantity, sku.getReservedQuantity());
         }
 
-        skuRepository.save(sku);
+        // The update holds the row until commit, so the stock read back is exact
+        Sku sku = findSkuById(skuId);
+        inventoryRollupService.recordStockChange(
+                inventoryRollupService.capture(sku), sku.getStockQuantity() + quantity, sku.getStockQuantity());
 
         // Record inventory transaction
-        inventoryService.recordStockOut(
-                skuId, quantity, referenceId, referenceType, reason, performedBy);
+        recordTransaction(
+                sku,
+                InventoryTransaction.TransactionType.OUT,
+                quantity,
+                referenceId,
+                referenceType,
+                reason,
+                performedBy);
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully fulfilled order for {} units of SKU ID: {}", quantity, skuId);
     }
@@ -427,9 +470,7 @@ public class SkuService {
      * @param performedBy who performed the adjustment
      * @throws EntityNotFoundException if SKU not found
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void adjustStock(
             @NotNull Long skuId, @NotNull Integer adjustment, String reason, String performedBy) {
         logger.info("Adjusting stock by {} units for SKU ID: {}", adjustment, skuId);
@@ -438,16 +479,113 @@ public class SkuService {
             throw new ValidationException("adjustment", "Adjustment cannot be zero");
         }
 
-        Sku sku = findSkuById(skuId);
-        Integer newQuantity = sku.adjustStock(adjustment);
-
-        skuRepository.save(sku);
+        adjustStockAtomically(skuId, adjustment);
 
         // Record inventory transaction
-        inventoryService.recordStockAdjustment(
-                skuId, adjustment, "MANUAL_ADJUSTMENT", reason, performedBy);
+        recordTransaction(
+                skuRepository.getReferenceById(skuId),
+                InventoryTransaction.TransactionType.ADJUSTMENT,
+                adjustment,
+                null,
+                "MANUAL_ADJUSTMENT",
+                reason,
+                performedBy);
+
+        cacheInvalidator.evictSku(skuId);
+
+        logger.info("Successfully adjusted stock by {} units for SKU ID: {}", adjustment, skuId);
+    }
 
-        logger.info("Successfully adjusted stock to {} units for SKU ID: {}", newQuantity, skuId);
+    /**
+     * Reserves stock for several SKUs in one transaction. SKUs are updated in ascending ID order so that concurrent multi-line reservations
+     * lock rows in the same order and cannot deadlock. If any line cannot be reserved, nothing is reserved. Lines for the same SKU are
+     * combined when reserving, and one reservation transaction is recorded per line.
+     *
+     * @param request the reservation lines and shared reference details
+     * @return per-line results in request order
+     * @throws ValidationException        if a line is invalid
+     * @throws EntityNotFoundException    if a SKU is not found
+     * @throws BusinessException          if a SKU is inactive
+     * @throws InsufficientStockException if a SKU has insufficient available stock
+     */
+    @RetryOnConflict
+    public List<StockReservationResult> reserveStockBatch(
+            @Valid @NotNull StockReservationRequest request) {
+        List<StockReservationRequest.Line> lines = request.getLines();
+        if (lines == null || lines.isEmpty()) {
+            throw new ValidationException("lines", "Reservation lines cannot be empty");
+        }
+
+        logger.info(
+                "Reserving stock for {} lines with reference: {}", lines.size(), request.getReferenceId());
+
+        // Sorted by SKU ID to give every caller the same lock acquisition order
+        Map<Long, Integer> quantitiesBySkuId = new TreeMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            StockReservationRequest.Line line = lines.get(i);
+            if (line.getSkuId() == null) {
+                throw new ValidationException("lines[" + i + "].skuId", "SKU ID is required");
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new ValidationException("lines[" + i + "].quantity", "Quantity must be positive");
+            }
+            quantitiesBySkuId.merge(line.getSkuId(), line.getQuantity(), Integer::sum);
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantitiesBySkuId.entrySet()) {
+            reserveStockAtomically(entry.getKey(), entry.getValue());
+        }
+
+        Map<Long, Sku> skusById = new HashMap<>();
+        for (Sku sku : skuRepository.findAllById(quantitiesBySkuId.keySet())) {
+            skusById.put(sku.getId(), sku);
+        }
+
+        String referenceType =
+                StringUtils.hasText(request.getReferenceType())
+                        ? request.getReferenceType()
+                        : "BATCH_RESERVATION";
+        String reason =
+                StringUtils.hasText(request.getReason())
+                        ? request.getReason()
+                        : "Multi-line stock reservation";
+        String performedBy =
+                StringUtils.hasText(request.getPerformedBy()) ? request.getPerformedBy() : "SYSTEM";
+
+        Map<Long, SkuStockShardService.ShardTotals> shardTotalsBySkuId =
+                stockShardService.getShardTotals(quantitiesBySkuId.keySet());
+
+        List<InventoryTransaction> transactions = new ArrayList<>(lines.size());
+        List<StockReservationResult> results = new ArrayList<>(lines.size());
+        for (StockReservationRequest.Line line : lines) {
+            Sku sku = skusById.get(line.getSkuId());
+            transactions.add(
+                    new InventoryTransaction(
+                            sku,
+                            InventoryTransaction.TransactionType.RESERVED,
+                            line.getQuantity(),
+                            request.getReferenceId(),
+                            referenceType,
+                            reason,
+                            performedBy));
+            StockReservationResult result = new StockReservationResult(sku, line.getQuantity());
+            SkuStockShardService.ShardTotals shardTotals = shardTotalsBySkuId.get(sku.getId());
+            if (shardTotals != null) {
+                result.setTotalReservedQuantity(result.getTotalReservedQuantity() + shardTotals.getReservedQuantity());
+                result.setAvailableQuantity(result.getAvailableQuantity() + shardTotals.getAvailableQuantity());
+            }
+            results.add(result);
+        }
+
+        // Record inventory transactions
+        inventoryService.recordTransactions(transactions);
+        cacheInvalidator.evictSkus(quantitiesBySkuId.keySet());
+
+        logger.info(
+                "Successfully reserved stock for {} lines across {} SKUs",
+                lines.size(),
+                quantitiesBySkuId.size());
+        return results;
     }
 
     // ===== SEARCH AND FILTER OPERATIONS =====
@@ -472,7 +610,7 @@ public class SkuService {
         Page<Sku> skus =
                 skuRepository.findWithExtendedFilters(
                         searchTerm, productId, null, null, null, isActive, null, pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -510,7 +648,7 @@ public class SkuService {
         Page<Sku> skus =
                 skuRepository.findWithExtendedFilters(
                         skuCode, productId, variantName, minPrice, maxPrice, isActive, isLowStock, pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -528,7 +666,7 @@ public class SkuService {
         }
 
         Page<Sku> skus = skuRepository.findBySkuCodeOrVariantNameContainingIgnoreCase(query, pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -540,7 +678,7 @@ public class SkuService {
     public Page<SkuDto> getLowStockSkus(Pageable pageable) {
         logger.debug("Retrieving low stock SKUs");
         Page<Sku> skus = skuRepository.findLowStockSkus(pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -552,9 +690,7 @@ public class SkuService {
      * @throws EntityNotFoundException if SKU not found
      * @throws ValidationException     if quantity is invalid
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public SkuDto addStock(@NotNull Long skuId, @NotNull Integer quantity) {
         logger.info("Adding {} stock to SKU ID: {}", quantity, skuId);
 
@@ -562,17 +698,24 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
-        sku.adjustStock(quantity);
+        adjustStockAtomically(skuId, quantity);
 
-        skuRepository.save(sku);
+        Sku sku = findSkuById(skuId);
 
         // Record inventory transaction
-        inventoryService.recordStockAdjustment(
-                skuId, quantity, "STOCK_ADDITION", "Manual stock addition", "SYSTEM");
+        recordTransaction(
+                sku,
+                InventoryTransaction.TransactionType.ADJUSTMENT,
+                quantity,
+                null,
+                "STOCK_ADDITION",
+                "Manual stock addition",
+                "SYSTEM");
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully added {} stock to SKU ID: {}", quantity, skuId);
-        return SkuMapper.toDto(sku);
+        return toDto(sku);
     }
 
     /**
@@ -585,9 +728,7 @@ public class SkuService {
      * @throws ValidationException        if quantity is invalid
      * @throws InsufficientStockException if insufficient stock
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public SkuDto removeStock(@NotNull Long skuId, @NotNull Integer quantity) {
         logger.info("Removing {} stock from SKU ID: {}", quantity, skuId);
 
@@ -595,22 +736,31 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
-
-        if (sku.getStockQuantity() < quantity) {
+        stockShardService.consolidate(skuId);
+        if (skuRepository.removeStockIfSufficient(skuId, quantity, LocalDateTime.now()) == 0) {
+            Sku sku = findSkuById(skuId);
             throw new InsufficientStockException(sku.getSkuCode(), quantity, sku.getStockQuantity());
         }
 
-        sku.adjustStock(-quantity);
-
-        skuRepository.save(sku);
+        // The update holds the row until commit, so the stock read back is exact
+        Sku sku = findSkuById(skuId);
+        inventoryRollupService.recordStockChange(
+                inventoryRollupService.capture(sku), sku.getStockQuantity() + quantity, sku.getStockQuantity());
 
         // Record inventory transaction
-        inventoryService.recordStockAdjustment(
-                skuId, -quantity, "STOCK_REMOVAL", "Manual stock removal", "SYSTEM");
+        recordTransaction(
+                sku,
+                InventoryTransaction.TransactionType.ADJUSTMENT,
+                -quantity,
+                null,
+                "STOCK_REMOVAL",
+                "Manual stock removal",
+                "SYSTEM");
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully removed {} stock from SKU ID: {}", quantity, skuId);
-        return SkuMapper.toDto(sku);
+        return toDto(sku);
     }
 
     /**
@@ -623,9 +773,7 @@ public class SkuService {
      * @throws ValidationException        if quantity is invalid
      * @throws InsufficientStockException if insufficient stock
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public SkuDto reserveStock(@NotNull Long skuId, @NotNull Integer quantity) {
         logger.info("Reserving {} stock for SKU ID: {}", quantity, skuId);
 
@@ -633,24 +781,24 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
+        reserveStockAtomically(skuId, quantity);
 
-        if (!sku.getIsActive()) {
-            throw new BusinessException("Cannot reserve stock for inactive SKU");
-        }
-
-        if (!sku.reserveStock(quantity)) {
-            throw new InsufficientStockException(sku.getSkuCode(), quantity, sku.getAvailableQuantity());
-        }
-
-        skuRepository.save(sku);
+        Sku sku = findSkuById(skuId);
 
         // Record inventory transaction
-        inventoryService.recordStockReservation(
-                skuId, quantity, null, "MANUAL_RESERVATION", "Manual stock reservation", "SYSTEM");
+        recordTransaction(
+                sku,
+                InventoryTransaction.TransactionType.RESERVED,
+                quantity,
+                null,
+                "MANUAL_RESERVATION",
+                "Manual stock reservation",
+                "SYSTEM");
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully reserved {} stock for SKU ID: {}", quantity, skuId);
-        return SkuMapper.toDto(sku);
+        return toDto(sku);
     }
 
     /**
@@ -662,9 +810,7 @@ public class SkuService {
      * @throws EntityNotFoundException if SKU not found
      * @throws ValidationException     if quantity is invalid
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public SkuDto releaseStock(@NotNull Long skuId, @NotNull Integer quantity) {
         logger.info("Releasing {} reserved stock for SKU ID: {}", quantity, skuId);
 
@@ -672,17 +818,24 @@ public class SkuService {
             throw new ValidationException("quantity", "Quantity must be positive");
         }
 
-        Sku sku = findSkuById(skuId);
-        Integer actualReleased = sku.releaseReservedStock(quantity);
+        Integer actualReleased = releaseReservedStockAtomically(skuId, quantity);
 
-        skuRepository.save(sku);
+        Sku sku = findSkuById(skuId);
 
         // Record inventory transaction
-        inventoryService.recordStockRelease(
-                skuId, actualReleased, null, "MANUAL_RELEASE", "Manual stock release", "SYSTEM");
+        recordTransaction(
+                sku,
+                InventoryTransaction.TransactionType.RELEASED,
+                actualReleased,
+                null,
+                "MANUAL_RELEASE",
+                "Manual stock release",
+                "SYSTEM");
+
+        cacheInvalidator.evictSku(skuId);
 
         logger.info("Successfully released {} reserved stock for SKU ID: {}", actualReleased, skuId);
-        return SkuMapper.toDto(sku);
+        return toDto(sku);
     }
 
     /**
@@ -694,7 +847,7 @@ public class SkuService {
     public Page<SkuDto> getSkusWithLowStock(Pageable pageable) {
         logger.debug("Retrieving SKUs with low stock");
         Page<Sku> skus = skuRepository.findLowStockSkus(pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -706,7 +859,7 @@ public class SkuService {
     public Page<SkuDto> getOutOfStockSkus(Pageable pageable) {
         logger.debug("Retrieving out of stock SKUs");
         Page<Sku> skus = skuRepository.findOutOfStockSkus(pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     /**
@@ -727,7 +880,7 @@ public class SkuService {
         }
 
         Page<Sku> skus = skuRepository.findByPriceRange(minPrice, maxPrice, pageable);
-        return skus.map(SkuMapper::toDto);
+        return toDtoPage(skus);
     }
 
     // ===== BUSINESS LOGIC METHODS =====
@@ -738,9 +891,7 @@ public class SkuService {
      * @param id the SKU ID
      * @throws EntityNotFoundException if SKU not found
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void activateSku(@NotNull Long id) {
         logger.info("Activating SKU with ID: {}", id);
 
@@ -753,6 +904,7 @@ public class SkuService {
 
         sku.activate();
         skuRepository.save(sku);
+        cacheInvalidator.evictSku(id);
 
         logger.info("Successfully activated SKU with ID: {}", id);
     }
@@ -763,20 +915,20 @@ public class SkuService {
      * @param id the SKU ID
      * @throws EntityNotFoundException if SKU not found
      */
-    @CacheEvict(
-            value = {"skus", "inventory"},
-            allEntries = true)
+    @RetryOnConflict
     public void deactivateSku(@NotNull Long id) {
         logger.info("Deactivating SKU with ID: {}", id);
 
+        stockShardService.consolidate(id);
         Sku sku = findSkuById(id);
 
         // Release any reserved stock before deactivation
         if (sku.getReservedQuantity() > 0) {
-            sku.releaseReservedStock(sku.getReservedQuantity());
-            inventoryService.recordStockRelease(
-                    sku.getId(),
-                    sku.getReservedQuantity(),
+            Integer releasedQuantity = sku.releaseReservedStock(sku.getReservedQuantity());
+            recordTransaction(
+                    sku,
+                    InventoryTransaction.TransactionType.RELEASED,
+                    releasedQuantity,
                     null,
                     "DEACTIVATION",
                     "Stock released due to SKU deactivation",
@@ -785,18 +937,162 @@ public class SkuService {
 
         sku.deactivate();
         skuRepository.save(sku);
+        cacheInvalidator.evictSku(id);
 
         logger.info("Successfully deactivated SKU with ID: {}", id);
     }
 
+    // ===== CONDITIONAL GET VALIDATORS =====
+
+    /**
+     * Returns the entity tag of a SKU, read with one narrow query instead of loading and mapping the SKU.
+     *
+     * @param id the SKU ID
+     * @return the entity tag
+     * @throws EntityNotFoundException if SKU not found
+     */
+    public EntityTag getSkuTag(@NotNull Long id) {
+        List<Object[]> versions = skuRepository.findTagVersionsById(id);
+        if (versions.isEmpty()) {
+            throw new EntityNotFoundException(SKU_ENTITY_NAME, id);
+        }
+        return EntityTag.of("sku", id, versions.get(0));
+    }
+
+    /**
+     * Returns the entity tag of a SKU found by code.
+     *
+     * @param skuCode the SKU code
+     * @return the entity tag
+     * @throws EntityNotFoundException if SKU not found
+     */
+    public EntityTag getSkuTagByCode(@NotNull String skuCode) {
+        List<Object[]> versions = skuRepository.findTagVersionsBySkuCode(skuCode);
+        if (versions.isEmpty()) {
+            throw new EntityNotFoundException(SKU_ENTITY_NAME, skuCode);
+        }
+        return EntityTag.of("sku", versions.get(0));
+    }
+
+    /**
+     * Returns the entity tag of one page of a product's SKUs, derived from the count, version sum and latest update of the product's
+     * SKUs.
+     *
+     * @param productId the product ID
+     * @param pageable  pagination information
+     * @return the entity tag
+     * @throws EntityNotFoundException if product not found
+     */
+    public EntityTag getSkusByProductTag(@NotNull Long productId, Pageable pageable) {
+        Object[] versions = skuRepository.findTagVersionsByProductId(productId).get(0);
+        if (((Number) versions[0]).longValue() == 0 && !productRepository.existsById(productId)) {
+            throw new EntityNotFoundException("Product", productId);
+        }
+        return EntityTag.of("product-skus", productId, pageable.toString(), versions);
+    }
+
     // ===== PRIVATE HELPER METHODS =====
 
+    /**
+     * Maps a SKU to a DTO, adding stock held by the SKU's shards when it is sharded.
+     */
+    private SkuDto toDto(Sku sku) {
+        return stockShardService.applyShardTotals(SkuMapper.toDto(sku));
+    }
+
+    /**
+     * Maps a page of SKUs to DTOs, adding stock held by shards with one query for the page.
+     */
+    private Page<SkuDto> toDtoPage(Page<Sku> skus) {
+        Page<SkuDto> page = skus.map(SkuMapper::toDto);
+        stockShardService.applyShardTotals(page.getContent());
+        return page;
+    }
+
     private Sku findSkuById(Long id) {
         return skuRepository
                 .findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(SKU_ENTITY_NAME, id));
     }
 
+    /**
+     * Reserves stock through a conditional update, on a stock shard for sharded SKUs or on the SKU row otherwise. When no row is updated
+     * the SKU is loaded to report why.
+     */
+    private void reserveStockAtomically(Long skuId, Integer quantity) {
+        if (stockShardService.tryReserve(skuId, quantity)) {
+            return;
+        }
+        if (skuRepository.reserveStockIfAvailable(skuId, quantity, LocalDateTime.now()) > 0) {
+            return;
+        }
+
+        Sku sku = findSkuById(skuId);
+        if (!sku.getIsActive()) {
+            throw new BusinessException("Cannot reserve stock for inactive SKU");
+        }
+        throw new InsufficientStockException(sku.getSkuCode(), quantity, sku.getAvailableQuantity());
+    }
+
+    /**
+     * Releases up to the requested quantity of reserved stock through a conditional update, on a stock shard for sharded SKUs or on the
+     * SKU row otherwise.
+     *
+     * @return the quantity actually released (may be less than requested, or zero)
+     */
+    private int releaseReservedStockAtomically(Long skuId, Integer quantity) {
+        if (stockShardService.tryRelease(skuId, quantity)) {
+            return quantity;
+        }
+
+        int toRelease = quantity;
+        for (int attempt = 0; attempt < MAX_STOCK_UPDATE_ATTEMPTS; attempt++) {
+            if (skuRepository.releaseReservedStockIfReserved(skuId, toRelease, LocalDateTime.now()) > 0) {
+                return toRelease;
+            }
+
+            // Less is reserved than requested: release whatever is currently held
+            toRelease = Math.min(quantity, findSkuById(skuId).getReservedQuantity());
+            if (toRelease == 0) {
+                return 0;
+            }
+        }
+        throw new BusinessException(
+                "CONCURRENT_MODIFICATION", "Reserved stock for SKU " + skuId + " changed concurrently");
+    }
+
+    /**
+     * Adjusts stock through a single update. Stock is floored at zero, so the row is locked and read first: the quantity it held cannot
+     * be told from the result and is needed for the category inventory rollup.
+     */
+    private void adjustStockAtomically(Long skuId, Integer adjustment) {
+        stockShardService.consolidate(skuId);
+        Sku sku =
+                skuRepository
+                        .findByIdForUpdate(skuId)
+                        .orElseThrow(() -> new EntityNotFoundException(SKU_ENTITY_NAME, skuId));
+        Contribution contribution = inventoryRollupService.capture(sku);
+        int stockBefore = sku.getStockQuantity();
+
+        if (skuRepository.adjustStock(skuId, adjustment, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException(SKU_ENTITY_NAME, skuId);
+        }
+        inventoryRollupService.recordStockChange(contribution, stockBefore, Math.max(0, stockBefore + adjustment));
+    }
+
+    private void recordTransaction(
+            Sku sku,
+            InventoryTransaction.TransactionType transactionType,
+            Integer quantity,
+            String referenceId,
+            String referenceType,
+            String reason,
+            String performedBy) {
+        inventoryService.recordTransaction(
+                new InventoryTransaction(
+                        sku, transactionType, quantity, referenceId, referenceType, reason, performedBy));
+    }
+
     private Product findProductById(Long id) {
         return productRepository
                 .findById(id)
@@ -0,0 +1,396 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.common.config.PolicyCacheManager;
+import com.inventorymanagement.common.exception.EntityNotFoundException;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.model.SkuStockShard;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import com.inventorymanagement.inventory.repository.SkuStockShardRepository;
+import jakarta.transaction.Transactional;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service class for sharded stock counters on hot SKUs.
+ *
+ * <p>A sharded SKU keeps part of its available stock, and the stock reserved from it, in {@code sku_stock_shards} rows. Reservations and
+ * releases pick a random shard and update only that row, so concurrent requests for the same SKU spread over several rows instead of
+ * queueing on the {@code skus} row. A shard that runs dry is refilled from the SKU row with a share of its remaining available stock. When
+ * the SKU row cannot cover a refill either, all shards are folded back into the SKU row and the request falls back to the unsharded path,
+ * which also reports insufficient stock accurately.
+ *
+ * <p>Operations that change stock on hand, or rely on the SKU row's reserved quantity, fold the shards first via {@link #consolidate(Long)}.
+ * The SKU row's available and reserved quantities leave out what the shards hold, so every read that reports them adds the shard totals:
+ * {@link #applyShardTotals(SkuDto)} for one SKU, {@link #applyShardTotals(List)} with one query for a page of SKUs. Stock on hand stays
+ * in the SKU row, so filters on it need no shard totals.
+ *
+ * <p>Locks are always taken in the same order: every shard of the SKU by shard index, then the SKU row. Folds and refills lock all shards
+ * first; reservations and releases lock only the one shard they update and never the SKU row.
+ *
+ * <p>Shard counts are cached per SKU in the bounded {@code skuShardCounts} cache to keep unsharded SKUs free of extra queries. The
+ * cache only decides which path is tried first, so a stale entry in another instance costs a fallback, not correctness.
+ */
+@Service
+@Transactional
+public class SkuStockShardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkuStockShardService.class);
+    private static final int MIN_SHARD_COUNT = 2;
+    private static final int MAX_SHARD_COUNT = 64;
+    static final String SHARD_COUNT_CACHE = "skuShardCounts";
+
+    private final SkuStockShardRepository shardRepository;
+    private final SkuRepository skuRepository;
+    private final SkuCacheInvalidator cacheInvalidator;
+    private final Cache shardCounts;
+
+    @Autowired
+    public SkuStockShardService(
+            SkuStockShardRepository shardRepository,
+            SkuRepository skuRepository,
+            SkuCacheInvalidator cacheInvalidator,
+            PolicyCacheManager cacheManager) {
+        this.shardRepository = shardRepository;
+        this.skuRepository = skuRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.shardCounts = cacheManager.getCache(SHARD_COUNT_CACHE);
+    }
+
+    // ===== SHARD MANAGEMENT =====
+
+    /**
+     * Splits a SKU's stock counters into the given number of shards. Existing shards are folded back first. Shards start empty and are
+     * filled from the SKU row on demand.
+     *
+     * @param skuId      the SKU ID
+     * @param shardCount the number of shards
+     * @throws ValidationException     if the shard count is out of range
+     * @throws EntityNotFoundException if SKU not found
+     */
+    public void enableSharding(@NotNull Long skuId, int shardCount) {
+        logger.info("Enabling {} stock shards for SKU ID: {}", shardCount, skuId);
+
+        if (shardCount < MIN_SHARD_COUNT || shardCount > MAX_SHARD_COUNT) {
+            throw new ValidationException(
+                    "shardCount",
+                    "Shard count must be between " + MIN_SHARD_COUNT + " and " + MAX_SHARD_COUNT);
+        }
+        if (!skuRepository.existsById(skuId)) {
+            throw new EntityNotFoundException("SKU", skuId);
+        }
+
+        foldShards(skuId);
+        shardRepository.deleteBySkuId(skuId);
+
+        List<SkuStockShard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new SkuStockShard(skuId, i));
+        }
+        shardRepository.saveAll(shards);
+        forgetShardCountAfterCompletion(skuId);
+        cacheInvalidator.evictSku(skuId);
+    }
+
+    /**
+     * Folds a SKU's shards back into the SKU row and removes them.
+     *
+     * @param skuId the SKU ID
+     */
+    public void disableSharding(@NotNull Long skuId) {
+        logger.info("Disabling stock shards for SKU ID: {}", skuId);
+
+        foldShards(skuId);
+        shardRepository.deleteBySkuId(skuId);
+        forgetShardCountAfterCompletion(skuId);
+        cacheInvalidator.evictSku(skuId);
+    }
+
+    /**
+     * Returns the number of shards of a SKU.
+     *
+     * @param skuId the SKU ID
+     * @return number of shards (0 if the SKU is not sharded)
+     */
+    public int getShardCount(@NotNull Long skuId) {
+        return shardCounts.get(skuId, () -> (int) shardRepository.countBySkuId(skuId));
+    }
+
+    // ===== STOCK OPERATIONS =====
+
+    /**
+     * Reserves stock from one of the SKU's shards, refilling that shard from the SKU row if it has run dry.
+     *
+     * @param skuId    the SKU ID
+     * @param quantity the quantity to reserve
+     * @return true if reserved; false if the SKU is not sharded or the shards could not cover the quantity, in which case the shards have
+     *     been folded into the SKU row and the caller should reserve there
+     */
+    public boolean tryReserve(@NotNull Long skuId, @NotNull Integer quantity) {
+        int shardCount = getShardCount(skuId);
+        if (shardCount == 0) {
+            return false;
+        }
+
+        int shardIndex = ThreadLocalRandom.current().nextInt(shardCount);
+        if (shardRepository.reserveIfAvailable(skuId, shardIndex, quantity, LocalDateTime.now()) > 0) {
+            return true;
+        }
+
+        if (refillShard(skuId, shardIndex, shardCount, quantity)
+                && shardRepository.reserveIfAvailable(skuId, shardIndex, quantity, LocalDateTime.now())
+                        > 0) {
+            return true;
+        }
+
+        logger.debug("Stock shards of SKU ID {} cannot cover {} units, folding into SKU row", skuId, quantity);
+        foldShards(skuId);
+        return false;
+    }
+
+    /**
+     * Releases reserved stock back to a shard that holds at least that much reserved stock, starting from a random shard.
+     *
+     * @param skuId    the SKU ID
+     * @param quantity the quantity to release
+     * @return true if released; false if the SKU is not sharded or no single shard holds the quantity, in which case the shards have been
+     *     folded into the SKU row and the caller should release there
+     */
+    public boolean tryRelease(@NotNull Long skuId, @NotNull Integer quantity) {
+        int shardCount = getShardCount(skuId);
+        if (shardCount == 0) {
+            return false;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shardIndex = (start + i) % shardCount;
+            if (shardRepository.releaseIfReserved(skuId, shardIndex, quantity, LocalDateTime.now()) > 0) {
+                return true;
+            }
+        }
+
+        foldShards(skuId);
+        return false;
+    }
+
+    /**
+     * Folds a sharded SKU's shards into the SKU row, so the row alone holds its stock counters. Does nothing for unsharded SKUs.
+     *
+     * @param skuId the SKU ID
+     */
+    public void consolidate(@NotNull Long skuId) {
+        if (getShardCount(skuId) > 0) {
+            foldShards(skuId);
+        }
+    }
+
+    /**
+     * Folds the shards of several SKUs into their SKU rows, in ascending SKU ID order.
+     *
+     * @param skuIds the SKU IDs
+     */
+    public void consolidate(@NotNull Collection<Long> skuIds) {
+        for (Long skuId : new TreeSet<>(skuIds)) {
+            consolidate(skuId);
+        }
+    }
+
+    // ===== AGGREGATED VIEWS =====
+
+    /**
+     * Returns the stock held by a SKU's shards, to be added to the SKU row's counters.
+     *
+     * @param skuId the SKU ID
+     * @return shard totals ({@link ShardTotals#NONE} if the SKU is not sharded)
+     */
+    public ShardTotals getShardTotals(@NotNull Long skuId) {
+        if (getShardCount(skuId) == 0) {
+            return ShardTotals.NONE;
+        }
+
+        Object[] sums = shardRepository.sumQuantitiesBySkuId(skuId).get(0);
+        return new ShardTotals(((Number) sums[0]).intValue(), ((Number) sums[1]).intValue());
+    }
+
+    /**
+     * Adds the stock held by a SKU's shards to a SKU DTO built from the SKU row.
+     *
+     * @param skuDto the SKU DTO
+     * @return the same DTO with aggregated available and reserved quantities
+     */
+    public SkuDto applyShardTotals(SkuDto skuDto) {
+        ShardTotals totals = getShardTotals(skuDto.getId());
+        if (totals != ShardTotals.NONE) {
+            skuDto.setAvailableQuantity(skuDto.getAvailableQuantity() + totals.getAvailableQuantity());
+            skuDto.setReservedQuantity(skuDto.getReservedQuantity() + totals.getReservedQuantity());
+        }
+        return skuDto;
+    }
+
+    /**
+     * Adds the stock held by shards to SKU DTOs built from SKU rows, with one query for all of them.
+     *
+     * @param skuDtos the SKU DTOs
+     * @return the same DTOs with aggregated available and reserved quantities
+     */
+    public List<SkuDto> applyShardTotals(List<SkuDto> skuDtos) {
+        if (skuDtos.isEmpty()) {
+            return skuDtos;
+        }
+
+        Map<Long, ShardTotals> totalsBySkuId =
+                getShardTotals(skuDtos.stream().map(SkuDto::getId).toList());
+        for (SkuDto skuDto : skuDtos) {
+            ShardTotals totals = totalsBySkuId.get(skuDto.getId());
+            if (totals != null) {
+                skuDto.setAvailableQuantity(skuDto.getAvailableQuantity() + totals.getAvailableQuantity());
+                skuDto.setReservedQuantity(skuDto.getReservedQuantity() + totals.getReservedQuantity());
+            }
+        }
+        return skuDtos;
+    }
+
+    /**
+     * Returns the stock held by the shards of several SKUs.
+     *
+     * @param skuIds the SKU IDs
+     * @return shard totals by SKU ID, for sharded SKUs only
+     */
+    public Map<Long, ShardTotals> getShardTotals(Collection<Long> skuIds) {
+        Map<Long, ShardTotals> totalsBySkuId = new HashMap<>();
+        if (skuIds.isEmpty()) {
+            return totalsBySkuId;
+        }
+
+        for (Object[] row : shardRepository.sumQuantitiesBySkuIds(skuIds)) {
+            totalsBySkuId.put(
+                    (Long) row[0], new ShardTotals(((Number) row[1]).intValue(), ((Number) row[2]).intValue()));
+        }
+        return totalsBySkuId;
+    }
+
+    /**
+     * Returns the available stock held by shards of the active SKUs of several products.
+     *
+     * @param productIds the product IDs
+     * @return available shard stock by product ID, for products with sharded SKUs only
+     */
+    public Map<Long, Integer> getShardAvailableByProduct(Collection<Long> productIds) {
+        Map<Long, Integer> availableByProductId = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return availableByProductId;
+        }
+
+        for (Object[] row : shardRepository.sumAvailableByProductIds(productIds)) {
+            availableByProductId.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return availableByProductId;
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Moves a share of the SKU row's available stock into a shard: an even split across shards, but at least the requested quantity. All
+     * shards are locked before the SKU row, as in {@link #foldShards(Long)}, so a refill and a fold of the same SKU cannot deadlock and a
+     * fold after a failed refill needs no further shard locks.
+     */
+    private boolean refillShard(Long skuId, int shardIndex, int shardCount, int quantity) {
+        List<SkuStockShard> shards = shardRepository.findBySkuIdForUpdate(skuId);
+        if (shards.stream().noneMatch(shard -> shard.getShardIndex() == shardIndex)) {
+            // Sharding was disabled or changed elsewhere since the shard count was cached
+            shardCounts.evict(skuId);
+            return false;
+        }
+
+        Sku sku = skuRepository.findById(skuId).orElse(null);
+        if (sku == null || sku.getAvailableQuantity() < quantity) {
+            return false;
+        }
+
+        int pool = sku.getAvailableQuantity();
+        int refill = Math.min(pool, Math.max(quantity, (pool + shardCount - 1) / shardCount));
+        LocalDateTime now = LocalDateTime.now();
+        if (skuRepository.withdrawAvailableStock(skuId, refill, now) == 0) {
+            return false;
+        }
+        shardRepository.addAvailable(skuId, shardIndex, refill, now);
+        return true;
+    }
+
+    private void foldShards(Long skuId) {
+        List<SkuStockShard> shards = shardRepository.findBySkuIdForUpdate(skuId);
+        int available = 0;
+        int reserved = 0;
+        for (SkuStockShard shard : shards) {
+            available += shard.getAvailableQuantity();
+            reserved += shard.getReservedQuantity();
+        }
+        if (available == 0 && reserved == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        skuRepository.absorbShardStock(skuId, available, reserved, now);
+        shardRepository.clearBySkuId(skuId, now);
+    }
+
+    /**
+     * Drops the cached shard count once the current transaction ends, so the next lookup sees the committed shard rows.
+     */
+    private void forgetShardCountAfterCompletion(Long skuId) {
+        shardCounts.evict(skuId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        shardCounts.evict(skuId);
+                    }
+                });
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Available and reserved stock held by a SKU's shards.
+     */
+    public static class ShardTotals {
+
+        /** Totals of an unsharded SKU. */
+        public static final ShardTotals NONE = new ShardTotals(0, 0);
+
+        private final int availableQuantity;
+        private final int reservedQuantity;
+
+        public ShardTotals(int availableQuantity, int reservedQuantity) {
+            this.availableQuantity = availableQuantity;
+            this.reservedQuantity = reservedQuantity;
+        }
+
+        public int getAvailableQuantity() {
+            return availableQuantity;
+        }
+
+        public int getReservedQuantity() {
+            return reservedQuantity;
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package com.inventorymanagement.inventory.service;
+
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read and append access to the cold inventory ledger: rows moved out of {@code inventory_transactions} into {@link ArchiveSegment} files
+ * under {@code inventory.ledger.archive.directory}.
+ *
+ * <p>The archive and the table are partitioned by transaction ID. Every archived row has an ID at or below {@link #getCutoffId()} and
+ * every row left in the table an ID above it, so callers combine the two without duplicates. Segments are local files; all instances that
+ * serve ledger queries must see the same directory.
+ */
+@Component
+public class TransactionArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchive.class);
+
+    /** Newest first, the order of the ledger history queries. */
+    private static final Comparator<ArchivedTransaction> NEWEST_FIRST =
+            Comparator.comparing(ArchivedTransaction::getCreatedAt)
+                    .thenComparingLong(ArchivedTransaction::getId)
+                    .reversed();
+
+    private final Path directory;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+
+    public TransactionArchive(
+            @Value("${inventory.ledger.archive.directory:./data/ledger-archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Opens the segments already in the archive directory and removes temporary files left by an interrupted write.
+     */
+    @PostConstruct
+    void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<ArchiveSegment> opened = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ArchiveSegment.FILE_SUFFIX)) {
+                    opened.add(ArchiveSegment.open(file));
+                } else if (name.endsWith(ArchiveSegment.FILE_SUFFIX + ".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        opened.sort(Comparator.comparingLong(ArchiveSegment::getMinId));
+        segments.addAll(opened);
+
+        if (!opened.isEmpty()) {
+            logger.info(
+                    "Opened {} ledger archive segments in {} up to transaction {}",
+                    opened.size(),
+                    directory,
+                    getCutoffId());
+        }
+    }
+
+    /**
+     * Writes rows to a new segment. The rows must all have IDs above the current cutoff; they should be deleted from the table only after
+     * this method returns.
+     *
+     * @param rows the rows to archive
+     * @return the new segment's highest transaction ID, the new cutoff
+     * @throws UncheckedIOException if the segment cannot be written
+     */
+    public synchronized long append(List<ArchivedTransaction> rows) {
+        long cutoffId = getCutoffId();
+        for (ArchivedTransaction row : rows) {
+            if (row.getId() <= cutoffId) {
+                throw new IllegalArgumentException(
+                        "Transaction " + row.getId() + " is not above the archive cutoff " + cutoffId);
+            }
+        }
+
+        try {
+            Files.createDirectories(directory);
+            ArchiveSegment segment = ArchiveSegment.write(directory, rows);
+            segments.add(segment);
+            logger.info(
+                    "Archived {} ledger rows, transactions {} to {}, to {}",
+                    segment.getRowCount(),
+                    segment.getMinId(),
+                    segment.getMaxId(),
+                    segment.getPath());
+            return segment.getMaxId();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the highest archived transaction ID.
+     *
+     * @return the cutoff, or 0 if nothing is archived
+     */
+    public long getCutoffId() {
+        return segments.isEmpty() ? 0L : segments.get(segments.size() - 1).getMaxId();
+    }
+
+    /**
+     * Returns the most recently written segment, whose rows may still be in the table if the archive run that wrote it was interrupted.
+     *
+     * @return the latest segment, or null if nothing is archived
+     */
+    ArchiveSegment getLatestSegment() {
+        return segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getTransactionCount() {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.getRowCount();
+        }
+        return count;
+    }
+
+    // ===== QUERIES =====
+
+    /**
+     * Tells whether anything is archived, so callers can skip archive work entirely when nothing is.
+     *
+     * @return true if at least one segment exists
+     */
+    public boolean hasArchivedTransactions() {
+        return !segments.isEmpty();
+    }
+
+    /**
+     * Finds the newest archived rows matching a filter, ordered by creation time and ID, descending.
+     *
+     * @param filter   the criteria
+     * @param limit    maximum number of rows to return
+     * @param countAll whether to count every match; otherwise segments holding only rows older than those already found are skipped and
+     *                 the total is reported as -1
+     * @return the rows and the total number of matches
+     */
+    public Matches findNewest(Filter filter, int limit, boolean countAll) {
+        PriorityQueue<ArchivedTransaction> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        long[] total = new long[1];
+        long[] oldestKept = {Long.MIN_VALUE, Long.MIN_VALUE};
+
+        // Newest segments first, so the kept rows fill up early and older segments can be skipped
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ArchiveSegment segment = segments.get(i);
+            if (!countAll && newest.size() >= limit && segment.getMaxCreatedAtMicros() < oldestKept[0]) {
+                continue;
+            }
+            segment.scan(
+                    filter,
+                    row -> {
+                        total[0]++;
+                        if (limit <= 0) {
+                            return true;
+                        }
+                        if (newest.size() >= limit) {
+                            // Decide from the cheap columns before decoding the row's text
+                            long createdAt = row.getCreatedAtMicros();
+                            if (createdAt < oldestKept[0] || (createdAt == oldestKept[0] && row.getId() < oldestKept[1])) {
+                                return true;
+                            }
+                        }
+                        newest.add(row.toArchivedTransaction());
+                        if (newest.size() > limit) {
+                            newest.poll();
+                        }
+                        if (newest.size() >= limit) {
+                            ArchivedTransaction oldest = newest.peek();
+                            oldestKept[0] = ArchiveSegment.toMicros(oldest.getCreatedAt());
+                            oldestKept[1] = oldest.getId();
+                        }
+                        return true;
+                    });
+        }
+
+        List<ArchivedTransaction> rows = new ArrayList<>(newest);
+        rows.sort(NEWEST_FIRST);
+        return new Matches(rows, countAll ? total[0] : -1);
+    }
+
+    /**
+     * Visits the archived rows matching a filter oldest first, one segment at a time. Each batch holds the matches of one segment ordered
+     * by creation time and ID; batches come in transaction ID order, so only rows whose creation times straddle a segment boundary can be
+     * out of time order. Memory use is bounded by the size of a segment.
+     *
+     * @param filter   the criteria
+     * @param consumer receives the matches of each segment that has any
+     * @return number of rows visited
+     */
+    public long forEachOldestFirst(Filter filter, Consumer<List<ArchivedTransaction>> consumer) {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            List<ArchivedTransaction> batch = new ArrayList<>();
+            segment.scan(
+                    filter,
+                    row -> {
+                        batch.add(row.toArchivedTransaction());
+                        return true;
+                    });
+            if (!batch.isEmpty()) {
+                batch.sort(NEWEST_FIRST.reversed());
+                consumer.accept(batch);
+                count += batch.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the distinct reference types of the archived rows, read from the segment dictionaries without scanning any rows.
+     *
+     * @return the reference types, sorted
+     */
+    public SortedSet<String> findDistinctReferenceTypes() {
+        SortedSet<String> referenceTypes = new TreeSet<>();
+        for (ArchiveSegment segment : segments) {
+            referenceTypes.addAll(segment.getReferenceTypes());
+        }
+        return referenceTypes;
+    }
+
+    /**
+     * Finds the distinct performers of the archived rows, read from the segment dictionaries without scanning any rows.
+     *
+     * @return the performers, sorted
+     */
+    public SortedSet<String> findDistinctPerformers() {
+        SortedSet<String> performers = new TreeSet<>();
+        for (ArchiveSegment segment : segments) {
+            performers.addAll(segment.getPerformers());
+        }
+        return performers;
+    }
+
+    /**
+     * Finds the archived movements of a SKU's ledger between two transaction IDs, in ledger order, like
+     * {@code InventoryTransactionRepository.findLedgerTail}.
+     *
+     * @param skuId   the SKU ID
+     * @param afterId last transaction ID already applied (exclusive)
+     * @param upToId  last transaction ID to apply (inclusive)
+     * @return rows of {@code [id, transactionType, quantity]} ordered by ID
+     */
+    public List<Object[]> findLedgerTail(Long skuId, long afterId, long upToId) {
+        List<Object[]> tail = new ArrayList<>();
+        if (afterId >= getCutoffId()) {
+            return tail;
+        }
+        Filter filter = new Filter().withSkuId(skuId).withIdRange(afterId, upToId);
+        for (ArchiveSegment segment : segments) {
+            segment.scan(
+                    filter,
+                    row -> {
+                        tail.add(new Object[] {row.getId(), row.getTransactionType(), row.getQuantity()});
+                        return true;
+                    });
+        }
+        return tail;
+    }
+
+    /**
+     * Finds the ID of a SKU's last archived transaction recorded at or before a point in time.
+     *
+     * @param skuId the SKU ID
+     * @param asOf  the point in time (inclusive)
+     * @return the transaction ID, or null if none is archived
+     */
+    public Long findLastIdBySkuIdAsOf(Long skuId, LocalDateTime asOf) {
+        Filter filter = new Filter().withSkuId(skuId).withDateRange(null, asOf);
+        long[] lastId = {0L};
+        for (ArchiveSegment segment : segments) {
+            segment.scan(
+                    filter,
+                    row -> {
+                        lastId[0] = Math.max(lastId[0], row.getId());
+                        return true;
+                    });
+        }
+        return lastId[0] > 0 ? lastId[0] : null;
+    }
+
+    /**
+     * Sums a SKU's archived transactions per transaction type within a time range, like
+     * {@code InventoryTransactionRepository.sumQuantitiesByType}.
+     *
+     * @param skuId     the SKU ID
+     * @param startDate start of the range (inclusive)
+     * @param endDate   end of the range (exclusive)
+     * @return rows of {@code [transactionType, totalQuantity]}
+     */
+    public List<Object[]> sumQuantitiesByType(Long skuId, LocalDateTime startDate, LocalDateTime endDate) {
+        Filter filter = new Filter().withSkuId(skuId).withDateRange(startDate, endDate.minusNanos(1));
+        Map<InventoryTransaction.TransactionType, Long> sums = new EnumMap<>(InventoryTransaction.TransactionType.class);
+        for (ArchiveSegment segment : segments) {
+            segment.scan(
+                    filter,
+                    row -> {
+                        sums.merge(row.getTransactionType(), (long) row.getQuantity(), Long::sum);
+                        return true;
+                    });
+        }
+
+        List<Object[]> rows = new ArrayList<>(sums.size());
+        for (Map.Entry<InventoryTransaction.TransactionType, Long> sum : sums.entrySet()) {
+            rows.add(new Object[] {sum.getKey(), sum.getValue()});
+        }
+        return rows;
+    }
+
+    /**
+     * Counts archived transactions per reference type within a time range, with their net effect on stock, like
+     * {@code TransactionAnalyticsRepository.sumByReferenceType}.
+     *
+     * @param skuId     SKU filter (null for all SKUs)
+     * @param startDate start of the range (inclusive)
+     * @param endDate   end of the range (exclusive)
+     * @return rows of {@code [referenceType, transactionCount, netStockChange]}
+     */
+    public List<Object[]> sumByReferenceType(Long skuId, LocalDateTime startDate, LocalDateTime endDate) {
+        return sumBy(skuId, startDate, endDate, ArchiveSegment.Row::getReferenceType);
+    }
+
+    /**
+     * Counts archived transactions per performer within a time range, with their net effect on stock, like
+     * {@code TransactionAnalyticsRepository.sumByPerformer}.
+     *
+     * @param skuId     SKU filter (null for all SKUs)
+     * @param startDate start of the range (inclusive)
+     * @param endDate   end of the range (exclusive)
+     * @return rows of {@code [performedBy, transactionCount, netStockChange]}
+     */
+    public List<Object[]> sumByPerformer(Long skuId, LocalDateTime startDate, LocalDateTime endDate) {
+        return sumBy(skuId, startDate, endDate, ArchiveSegment.Row::getPerformedBy);
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    private List<Object[]> sumBy(
+            Long skuId, LocalDateTime startDate, LocalDateTime endDate, Function<ArchiveSegment.Row, String> key) {
+        Filter filter = new Filter().withSkuId(skuId).withDateRange(startDate, endDate.minusNanos(1));
+        Map<String, long[]> sums = new HashMap<>();
+        for (ArchiveSegment segment : segments) {
+            segment.scan(
+                    filter,
+                    row -> {
+                        long[] sum = sums.computeIfAbsent(key.apply(row), k -> new long[2]);
+                        sum[0]++;
+                        sum[1] += stockChange(row.getTransactionType(), row.getQuantity());
+                        return true;
+                    });
+        }
+
+        List<Object[]> rows = new ArrayList<>(sums.size());
+        for (Map.Entry<String, long[]> sum : sums.entrySet()) {
+            rows.add(new Object[] {sum.getKey(), sum.getValue()[0], sum.getValue()[1]});
+        }
+        return rows;
+    }
+
+    /**
+     * Signed effect of a ledger row on stock, as {@code TransactionAnalyticsRepository.NET_STOCK_CHANGE} computes it.
+     */
+    private static long stockChange(InventoryTransaction.TransactionType transactionType, int quantity) {
+        switch (transactionType) {
+            case IN:
+            case ADJUSTMENT:
+                return quantity;
+            case OUT:
+                return -Math.abs(quantity);
+            default:
+                return 0;
+        }
+    }
+
+    // ===== INNER CLASSES =====
+
+    /**
+     * Criteria for archive queries; unset criteria match every row. Date bounds are inclusive. A cursor keeps the rows strictly after it
+     * in {@code (createdAt DESC, id DESC)} order, as in keyset pagination.
+     */
+    public static class Filter {
+
+        private Long skuId;
+        private InventoryTransaction.TransactionType transactionType;
+        private String referenceId;
+        private String referenceType;
+        private String performedBy;
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+        private LocalDateTime cursorCreatedAt;
+        private long cursorId = Long.MAX_VALUE;
+        private long afterId;
+        private long upToId = Long.MAX_VALUE;
+
+        public Filter withSkuId(Long skuId) {
+            this.skuId = skuId;
+            return this;
+        }
+
+        public Filter withTransactionType(InventoryTransaction.TransactionType transactionType) {
+            this.transactionType = transactionType;
+            return this;
+        }
+
+        public Filter withReferenceId(String referenceId) {
+            this.referenceId = referenceId;
+            return this;
+        }
+
+        public Filter withReferenceType(String referenceType) {
+            this.referenceType = referenceType;
+            return this;
+        }
+
+        public Filter withPerformedBy(String performedBy) {
+            this.performedBy = performedBy;
+            return this;
+        }
+
+        public Filter withDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            return this;
+        }
+
+        public Filter withCursor(LocalDateTime cursorCreatedAt, Long cursorId) {
+            this.cursorCreatedAt = cursorCreatedAt;
+            this.cursorId = cursorId;
+            return this;
+        }
+
+        public Filter withIdRange(long afterId, long upToId) {
+            this.afterId = afterId;
+            this.upToId = upToId;
+            return this;
+        }
+
+        Long getSkuId() {
+            return skuId;
+        }
+
+        InventoryTransaction.TransactionType getTransactionType() {
+            return transactionType;
+        }
+
+        String getReferenceId() {
+            return referenceId;
+        }
+
+        String getReferenceType() {
+            return referenceType;
+        }
+
+        String getPerformedBy() {
+            return performedBy;
+        }
+
+        LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        LocalDateTime getEndDate() {
+            return endDate;
+        }
+
+        LocalDateTime getCursorCreatedAt() {
+            return cursorCreatedAt;
+        }
+
+        long getCursorId() {
+            return cursorId;
+        }
+
+        long getAfterId() {
+            return afterId;
+        }
+
+        long getUpToId() {
+            return upToId;
+        }
+    }
+
+    /**
+     * The newest archived rows matching a filter, with the total number of matches.
+     */
+    public static class Matches {
+
+        private final List<ArchivedTransaction> rows;
+        private final long totalMatches;
+
+        public Matches(List<ArchivedTransaction> rows, long totalMatches) {
+            this.rows = rows;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<ArchivedTransaction> getRows() {
+            return rows;
+        }
+
+        public long getTotalMatches() {
+            return totalMatches;
+        }
+    }
+}
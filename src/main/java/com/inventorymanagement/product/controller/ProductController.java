@@ -3,6 +3,7 @@ package com.inventorymanagement.product.controller;
 import com.inventorymanagement.common.model.ApiResponse;
 import com.inventorymanagement.common.model.BulkOperationRequest;
 import com.inventorymanagement.common.model.BulkOperationResponse;
+import com.inventorymanagement.common.model.EntityTag;
 import com.inventorymanagement.common.model.PagedResponse;
 import com.inventorymanagement.product.model.ProductDto;
 import com.inventorymanagement.product.service.ProductService;
@@ -26,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -113,6 +115,9 @@ public class ProductController {
                             responseCode = "200",
                             description = "Product retrieved successfully",
                             content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Product not found"),
@@ -125,12 +130,17 @@ public class ProductController {
 
         logger.debug("Retrieving product with ID: {}", id);
 
+        EntityTag tag = productService.getProductTag(id);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
+
         ProductDto product = productService.getProductById(id);
 
         ApiResponse<ProductDto> response =
                 ApiResponse.success("Product retrieved successfully", product, request.getRequestURI());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
     }
 
     /**
@@ -369,6 +379,9 @@ public class ProductController {
                             responseCode = "200",
                             description = "Products retrieved successfully",
                             content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the entity tag in If-None-Match"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Category not found"),
@@ -385,11 +398,63 @@ public class ProductController {
         logger.debug("Retrieving products for category ID: {}", categoryId);
 
         Pageable pageable = PageRequest.of(page, size);
+
+        EntityTag tag = productService.getProductsByCategoryTag(categoryId, pageable);
+        if (tag.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag.getValue()).build();
+        }
         Page<ProductDto> productsPage = productService.getProductsByCategory(categoryId, pageable);
 
         String baseUrl = request.getRequestURL().toString();
         PagedResponse<ProductDto> pagedResponse = PagedResponse.of(productsPage, baseUrl);
 
+        ApiResponse<PagedResponse<ProductDto>> response =
+                ApiResponse.success(
+                        "Products retrieved successfully", pagedResponse, request.getRequestURI());
+
+        return ResponseEntity.ok().eTag(tag.getValue()).body(response);
+    }
+
+    /**
+     * Get products in a category and all its descendants.
+     *
+     * @param categoryId the ID of the subtree's root category
+     * @param page       page number
+     * @param size       page size
+     * @param request    HTTP request for path information
+     * @return products anywhere in the category's subtree
+     */
+    @GetMapping("/category/{categoryId}/tree")
+    @Operation(
+            summary = "Get Products by Category Tree",
+            description = "Retrieve products in a category and in all its descendant categories")
+    @ApiResponses(
+            value = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Products retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Category not found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized")
+            })
+    public ResponseEntity<ApiResponse<PagedResponse<ProductDto>>> getProductsByCategoryTree(
+            @PathVariable @NotNull Long categoryId,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            HttpServletRequest request) {
+
+        logger.debug("Retrieving products for category tree rooted at ID: {}", categoryId);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
+        Page<ProductDto> productsPage = productService.getProductsByCategoryTree(categoryId, pageable);
+
+        String baseUrl = request.getRequestURL().toString();
+        PagedResponse<ProductDto> pagedResponse = PagedResponse.of(productsPage, baseUrl);
+
         ApiResponse<PagedResponse<ProductDto>> response =
                 ApiResponse.success(
                         "Products retrieved successfully", pagedResponse, request.getRequestURI());
@@ -39,6 +39,23 @@ public interface ProductRepository extends BaseRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.deletedAt IS NULL")
     Page<Product> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
 
+    /**
+     * Finds the products in a category and all its descendants with pagination. The subtree is read from the category closure table, so
+     * the lookup does not depend on the category's path.
+     *
+     * @param categoryId the ID of the subtree's root category
+     * @param pageable   pagination information
+     * @return page of products in the subtree
+     */
+    @Query(
+            value =
+                    "SELECT p FROM Product p JOIN CategoryClosure cc ON cc.descendantId = p.category.id "
+                            + "WHERE cc.ancestorId = :categoryId AND p.deletedAt IS NULL AND p.category.deletedAt IS NULL",
+            countQuery =
+                    "SELECT COUNT(p) FROM Product p JOIN CategoryClosure cc ON cc.descendantId = p.category.id "
+                            + "WHERE cc.ancestorId = :categoryId AND p.deletedAt IS NULL AND p.category.deletedAt IS NULL")
+    Page<Product> findByCategorySubtree(@Param("categoryId") Long categoryId, Pageable pageable);
+
     /**
      * Finds all products in categories that match a path pattern (hierarchical).
      *
@@ -435,4 +452,50 @@ public interface ProductRepository extends BaseRepository<Product, Long> {
                     + "p.deletedAt IS NULL")
     Page<Product> findByNameOrDescriptionContainingIgnoreCase(
             @Param("query") String query, Pageable pageable);
+
+    // ===== CONDITIONAL GET VALIDATORS =====
+
+    /**
+     * Reads what a product's entity tag is derived from: the product's version, the version of its category, whose name and path it
+     * shows, and the count, version sum and latest update of its SKUs with the stock held by their shards, from which its SKU counts,
+     * stock figures and price range are derived. SKU stock changes raise the SKU's version without touching the product row.
+     *
+     * @param id the product ID
+     * @return one row of product version, category version, SKU count, SKU version sum, latest SKU update, shard available and shard
+     *     reserved quantity, or none if the product does not exist
+     */
+    @Query(
+            "SELECT p.version, c.version, "
+                    + "(SELECT COUNT(s) FROM Sku s WHERE s.product = p), "
+                    + "(SELECT COALESCE(SUM(s.version), 0) FROM Sku s WHERE s.product = p), "
+                    + "(SELECT MAX(s.updatedAt) FROM Sku s WHERE s.product = p), "
+                    + "(SELECT COALESCE(SUM(sh.availableQuantity), 0) FROM SkuStockShard sh "
+                    + "WHERE sh.skuId IN (SELECT s.id FROM Sku s WHERE s.product = p)), "
+                    + "(SELECT COALESCE(SUM(sh.reservedQuantity), 0) FROM SkuStockShard sh "
+                    + "WHERE sh.skuId IN (SELECT s.id FROM Sku s WHERE s.product = p)) "
+                    + "FROM Product p LEFT JOIN p.category c WHERE p.id = :id")
+    List<Object[]> findTagVersionsById(@Param("id") Long id);
+
+    /**
+     * Reads what the entity tag of a category's product list is derived from: the category's version, the number of products, the sum
+     * of their versions and the latest update, and the same for the products' SKUs with the stock held by their shards.
+     *
+     * @param categoryId the category ID
+     * @return one row of category version, product count, product version sum, latest product update, SKU count, SKU version sum,
+     *     latest SKU update, shard available and shard reserved quantity, or none if the category does not exist
+     */
+    @Query(
+            "SELECT c.version, "
+                    + "(SELECT COUNT(p) FROM Product p WHERE p.category = c AND p.deletedAt IS NULL), "
+                    + "(SELECT COALESCE(SUM(p.version), 0) FROM Product p WHERE p.category = c AND p.deletedAt IS NULL), "
+                    + "(SELECT MAX(p.updatedAt) FROM Product p WHERE p.category = c AND p.deletedAt IS NULL), "
+                    + "(SELECT COUNT(s) FROM Sku s WHERE s.product.category = c AND s.product.deletedAt IS NULL), "
+                    + "(SELECT COALESCE(SUM(s.version), 0) FROM Sku s WHERE s.product.category = c AND s.product.deletedAt IS NULL), "
+                    + "(SELECT MAX(s.updatedAt) FROM Sku s WHERE s.product.category = c AND s.product.deletedAt IS NULL), "
+                    + "(SELECT COALESCE(SUM(sh.availableQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId IN "
+                    + "(SELECT s.id FROM Sku s WHERE s.product.category = c AND s.product.deletedAt IS NULL)), "
+                    + "(SELECT COALESCE(SUM(sh.reservedQuantity), 0) FROM SkuStockShard sh WHERE sh.skuId IN "
+                    + "(SELECT s.id FROM Sku s WHERE s.product.category = c AND s.product.deletedAt IS NULL)) "
+                    + "FROM Category c WHERE c.id = :categoryId")
+    List<Object[]> findTagVersionsByCategoryId(@Param("categoryId") Long categoryId);
 }
@@ -2,9 +2,15 @@ package com.inventorymanagement.product.service;
 
 import com.inventorymanagement.category.model.Category;
 import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.category.service.CategoryTreeService;
+import com.inventorymanagement.common.config.RetryOnConflict;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.model.EntityTag;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService.Contribution;
+import com.inventorymanagement.inventory.service.SkuStockShardService;
 import com.inventorymanagement.product.model.Product;
 import com.inventorymanagement.product.model.ProductDto;
 import com.inventorymanagement.product.model.ProductMapper;
@@ -13,7 +19,9 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,12 +46,22 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final CategoryInventoryRollupService inventoryRollupService;
+    private final SkuStockShardService stockShardService;
 
     @Autowired
     public ProductService(
-            ProductRepository productRepository, CategoryRepository categoryRepository) {
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            CategoryTreeService categoryTreeService,
+            CategoryInventoryRollupService inventoryRollupService,
+            SkuStockShardService stockShardService) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryTreeService = categoryTreeService;
+        this.inventoryRollupService = inventoryRollupService;
+        this.stockShardService = stockShardService;
     }
 
     // ===== CRUD OPERATIONS =====
@@ -56,8 +74,9 @@ public class ProductService {
      * @throws ValidationException     if validation fails
      * @throws EntityNotFoundException if category not found
      */
+    @RetryOnConflict
     @CacheEvict(
-            value = {"products", "productCategories"},
+            value = {"products", "productCategories", "categories"},
             allEntries = true)
     public ProductDto createProduct(@Valid @NotNull ProductDto productDto) {
         logger.info("Creating new product: {}", productDto.getName());
@@ -76,6 +95,10 @@ public class ProductService {
         validateProductForCreation(productDto);
 
         Product product = ProductMapper.toEntity(productDto);
+        // New products are active unless created otherwise
+        if (product.getIsActive() == null) {
+            product.setIsActive(true);
+        }
 
         // Set up category relationship
         Category category = findCategoryById(productDto.getCategoryId());
@@ -83,6 +106,8 @@ public class ProductService {
         product.setCategory(category);
 
         Product savedProduct = productRepository.save(product);
+        adjustProductCounts(category, 1);
+        categoryTreeService.refreshAfterCommit();
 
         logger.info("Successfully created product with ID: {}", savedProduct.getId());
         return ProductMapper.toDto(savedProduct);
@@ -97,8 +122,9 @@ public class ProductService {
      * @throws EntityNotFoundException if product not found
      * @throws ValidationException     if validation fails
      */
+    @RetryOnConflict
     @CacheEvict(
-            value = {"products", "productCategories"},
+            value = {"products", "productCategories", "categories"},
             allEntries = true)
     public ProductDto updateProduct(@NotNull Long id, @Valid @NotNull ProductDto productDto) {
         logger.info("Updating product with ID: {}", id);
@@ -121,13 +147,18 @@ public class ProductService {
         if (shouldUpdateCategory(existingProduct, productDto)) {
             Category newCategory = findCategoryById(productDto.getCategoryId());
             validateCategoryForProduct(newCategory);
+            moveProductCounts(existingProduct, newCategory);
+            Contribution inventory = inventoryRollupService.capture(existingProduct);
             existingProduct.setCategory(newCategory);
+            inventoryRollupService.record(inventory, inventoryRollupService.capture(existingProduct));
+            // Product counts in the category tree changed
+            categoryTreeService.refreshAfterCommit();
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
         logger.info("Successfully updated product with ID: {}", id);
 
-        return ProductMapper.toDto(updatedProduct);
+        return toDto(updatedProduct);
     }
 
     /**
@@ -141,7 +172,7 @@ public class ProductService {
     public ProductDto getProductById(@NotNull Long id) {
         logger.debug("Retrieving product with ID: {}", id);
         Product product = findProductById(id);
-        return ProductMapper.toDto(product);
+        return toDto(product);
     }
 
     /**
@@ -153,7 +184,7 @@ public class ProductService {
     public Page<ProductDto> getAllProducts(Pageable pageable) {
         logger.debug("Retrieving all products with pagination");
         Page<Product> products = productRepository.findAllActive(pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -163,8 +194,9 @@ public class ProductService {
      * @throws EntityNotFoundException if product not found
      * @throws BusinessException       if product has active SKUs
      */
+    @RetryOnConflict
     @CacheEvict(
-            value = {"products", "productCategories"},
+            value = {"products", "productCategories", "categories"},
             allEntries = true)
     public void deleteProduct(@NotNull Long id) {
         logger.info("Deleting product with ID: {}", id);
@@ -173,8 +205,14 @@ public class ProductService {
         validateProductForDeletion(product);
 
         // Soft delete the product
+        if (product.getDeletedAt() == null) {
+            adjustProductCounts(product.getCategory(), -1);
+        }
+        // SKUs that are inactive but not deleted leave the inventory rollup with the product
+        inventoryRollupService.record(inventoryRollupService.capture(product), Contribution.none());
         product.markAsDeleted();
         productRepository.save(product);
+        categoryTreeService.refreshAfterCommit();
 
         logger.info("Successfully deleted product with ID: {}", id);
     }
@@ -199,24 +237,25 @@ public class ProductService {
         findCategoryById(categoryId);
 
         Page<Product> products = productRepository.findByCategoryId(categoryId, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
-     * Retrieves all products in categories that match a path pattern (hierarchical).
+     * Retrieves the products in a category and all its descendants.
      *
-     * @param categoryPath the category path pattern
-     * @return list of product DTOs
+     * @param categoryId the ID of the subtree's root category
+     * @param pageable   pagination information
+     * @return page of product DTOs
+     * @throws EntityNotFoundException if category not found
      */
-    public List<ProductDto> getProductsByCategoryPath(@NotNull String categoryPath) {
-        logger.debug("Retrieving products for category path: {}", categoryPath);
+    public Page<ProductDto> getProductsByCategoryTree(@NotNull Long categoryId, Pageable pageable) {
+        logger.debug("Retrieving products for category tree rooted at ID: {}", categoryId);
 
-        if (!StringUtils.hasText(categoryPath)) {
-            throw new ValidationException("categoryPath", "Category path cannot be empty");
-        }
+        // Verify category exists
+        findCategoryById(categoryId);
 
-        List<Product> products = productRepository.findByCategoryPathStartingWith(categoryPath);
-        return products.stream().map(ProductMapper::toDto).toList();
+        Page<Product> products = productRepository.findByCategorySubtree(categoryId, pageable);
+        return toDtoPage(products);
     }
 
     // ===== SEARCH AND FILTER OPERATIONS =====
@@ -236,7 +275,7 @@ public class ProductService {
         }
 
         Page<Product> products = productRepository.findByNameContainingIgnoreCase(name, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -254,7 +293,7 @@ public class ProductService {
         }
 
         Page<Product> products = productRepository.findByBrandIgnoreCase(brand, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -273,7 +312,7 @@ public class ProductService {
         }
 
         Page<Product> products = productRepository.findByManufacturerIgnoreCase(manufacturer, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -305,7 +344,7 @@ public class ProductService {
         Page<Product> products =
                 productRepository.findWithFilters(
                         searchTerm, categoryId, brand, manufacturer, isActive, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -343,7 +382,7 @@ public class ProductService {
         Page<Product> products =
                 productRepository.findWithExtendedFilters(
                         name, categoryId, brand, manufacturer, minPrice, maxPrice, isActive, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -364,7 +403,7 @@ public class ProductService {
         // Allow empty strings - they should return empty results
         Page<Product> products =
                 productRepository.findByNameOrDescriptionContainingIgnoreCase(query, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -382,7 +421,7 @@ public class ProductService {
         }
 
         Page<Product> products = productRepository.findByBrandIgnoreCase(brand, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -395,7 +434,7 @@ public class ProductService {
     public Page<ProductDto> getProductsByStatus(boolean isActive, Pageable pageable) {
         logger.debug("Retrieving products by status: {}", isActive);
         Page<Product> products = productRepository.findByIsActive(isActive, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     // ===== BUSINESS LOGIC METHODS =====
@@ -406,6 +445,7 @@ public class ProductService {
      * @param id the product ID
      * @throws EntityNotFoundException if product not found
      */
+    @RetryOnConflict
     @CacheEvict(
             value = {"products", "productCategories"},
             allEntries = true)
@@ -431,6 +471,7 @@ public class ProductService {
      * @param id the product ID
      * @throws EntityNotFoundException if product not found
      */
+    @RetryOnConflict
     @CacheEvict(
             value = {"products", "productCategories"},
             allEntries = true)
@@ -452,8 +493,9 @@ public class ProductService {
      * @throws EntityNotFoundException if product or category not found
      * @throws BusinessException       if category is invalid
      */
+    @RetryOnConflict
     @CacheEvict(
-            value = {"products", "productCategories"},
+            value = {"products", "productCategories", "categories"},
             allEntries = true)
     public void moveProductToCategory(@NotNull Long productId, @NotNull Long newCategoryId) {
         logger.info("Moving product {} to category {}", productId, newCategoryId);
@@ -463,8 +505,12 @@ public class ProductService {
 
         validateCategoryForProduct(newCategory);
 
+        moveProductCounts(product, newCategory);
+        Contribution inventory = inventoryRollupService.capture(product);
         product.setCategory(newCategory);
+        inventoryRollupService.record(inventory, inventoryRollupService.capture(product));
         productRepository.save(product);
+        categoryTreeService.refreshAfterCommit();
 
         logger.info("Successfully moved product {} to category {}", productId, newCategoryId);
     }
@@ -518,7 +564,7 @@ public class ProductService {
     public Page<ProductDto> getActiveProducts(Pageable pageable) {
         logger.debug("Retrieving all active products with pagination");
         Page<Product> products = productRepository.findByIsActive(true, pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -530,7 +576,7 @@ public class ProductService {
     public Page<ProductDto> getLowStockProducts(Pageable pageable) {
         logger.debug("Retrieving products with low stock");
         Page<Product> products = productRepository.findLowStockProducts(pageable);
-        return products.map(ProductMapper::toDto);
+        return toDtoPage(products);
     }
 
     /**
@@ -555,8 +601,75 @@ public class ProductService {
         return productRepository.findAllDistinctManufacturers();
     }
 
+    // ===== CONDITIONAL GET VALIDATORS =====
+
+    /**
+     * Returns the entity tag of a product, derived from the versions of the product, its category and its SKUs and from the stock held
+     * by the SKUs' shards, without loading the product.
+     *
+     * @param id the product ID
+     * @return the entity tag
+     * @throws EntityNotFoundException if product not found
+     */
+    public EntityTag getProductTag(@NotNull Long id) {
+        List<Object[]> versions = productRepository.findTagVersionsById(id);
+        if (versions.isEmpty()) {
+            throw new EntityNotFoundException(PRODUCT_ENTITY_NAME, id);
+        }
+        return EntityTag.of("product", id, versions.get(0));
+    }
+
+    /**
+     * Returns the entity tag of one page of a category's products, derived from the category's version and the count, version sum and
+     * latest update of the category's products and their SKUs, with the stock held by the SKUs' shards.
+     *
+     * @param categoryId the category ID
+     * @param pageable   pagination information
+     * @return the entity tag
+     * @throws EntityNotFoundException if category not found
+     */
+    public EntityTag getProductsByCategoryTag(@NotNull Long categoryId, Pageable pageable) {
+        List<Object[]> versions = productRepository.findTagVersionsByCategoryId(categoryId);
+        if (versions.isEmpty()) {
+            throw new EntityNotFoundException("Category", categoryId);
+        }
+        return EntityTag.of("category-products", categoryId, pageable.toString(), versions.get(0));
+    }
+
     // ===== PRIVATE HELPER METHODS =====
 
+    /**
+     * Maps a product to a DTO, adding available stock held by the stock shards of its SKUs.
+     */
+    private ProductDto toDto(Product product) {
+        return withShardStock(List.of(ProductMapper.toDto(product))).get(0);
+    }
+
+    /**
+     * Maps a page of products to DTOs, adding available shard stock with one query for the page.
+     */
+    private Page<ProductDto> toDtoPage(Page<Product> products) {
+        Page<ProductDto> page = products.map(ProductMapper::toDto);
+        withShardStock(page.getContent());
+        return page;
+    }
+
+    private List<ProductDto> withShardStock(List<ProductDto> productDtos) {
+        if (productDtos.isEmpty()) {
+            return productDtos;
+        }
+
+        Map<Long, Integer> shardAvailable =
+                stockShardService.getShardAvailableByProduct(productDtos.stream().map(ProductDto::getId).toList());
+        for (ProductDto productDto : productDtos) {
+            Integer available = shardAvailable.get(productDto.getId());
+            if (available != null && productDto.getTotalAvailableQuantity() != null) {
+                productDto.setTotalAvailableQuantity(productDto.getTotalAvailableQuantity() + available);
+            }
+        }
+        return productDtos;
+    }
+
     private Product findProductById(Long id) {
         return productRepository
                 .findById(id)
@@ -650,6 +763,23 @@ public class ProductService {
         }
     }
 
+    /**
+     * Adds to the product counts of a category and its ancestors as a product enters (1) or leaves (-1) it.
+     */
+    private void adjustProductCounts(Category category, long delta) {
+        List<Long> pathIds = new ArrayList<>(category.getAncestorIds());
+        pathIds.add(category.getId());
+        categoryRepository.adjustProductCounts(category.getId(), pathIds, delta);
+    }
+
+    private void moveProductCounts(Product product, Category newCategory) {
+        if (product.getDeletedAt() != null || product.getCategory().getId().equals(newCategory.getId())) {
+            return;
+        }
+        adjustProductCounts(product.getCategory(), -1);
+        adjustProductCounts(newCategory, 1);
+    }
+
     private void validateProductForDeletion(Product product) {
         if (product.hasActiveSkus()) {
             throw new BusinessException("Cannot delete product with active SKUs");
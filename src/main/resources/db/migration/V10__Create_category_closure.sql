@@ -0,0 +1,26 @@
+-- Category closure table
+-- One row per ancestor-descendant pair of the category hierarchy, each category included as its own ancestor at
+-- depth 0. It sits alongside the path column: CategoryService keeps both in step as categories are created, moved
+-- and deleted, and descendant sets, ancestor chains and products-in-subtree joins read the closure instead of
+-- matching path prefixes with LIKE.
+
+CREATE TABLE category_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INTEGER NOT NULL,
+
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_category_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES categories(id) ON DELETE CASCADE,
+    CONSTRAINT fk_category_closure_descendant FOREIGN KEY (descendant_id) REFERENCES categories(id) ON DELETE CASCADE,
+    CONSTRAINT chk_category_closure_depth CHECK (depth >= 0)
+);
+
+-- Ancestor lookups go by descendant; the primary key serves descendant lookups
+CREATE INDEX idx_category_closure_descendant ON category_closure(descendant_id, depth);
+
+-- Backfill from the existing paths
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT a.id, d.id, d.level - a.level
+FROM categories a
+JOIN categories d ON d.path LIKE CONCAT(a.path, '%')
+WHERE a.deleted_at IS NULL AND d.deleted_at IS NULL;
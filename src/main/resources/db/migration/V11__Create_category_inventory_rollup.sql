@@ -0,0 +1,31 @@
+-- Per-category inventory rollup
+-- One row per category with the SKU count, stock units, stock value (price x stock) and low-stock SKU count of the
+-- category and all its descendants. Only SKUs that are not deleted, of products that are not deleted, are counted.
+-- Rows are adjusted incrementally as SKU stock changes and as products and categories move, each change applied to
+-- the category and every ancestor on its path, so dashboards read one row per category instead of walking SKUs.
+
+CREATE TABLE category_inventory_rollup (
+    category_id BIGINT PRIMARY KEY,
+    sku_count BIGINT NOT NULL DEFAULT 0,
+    stock_units BIGINT NOT NULL DEFAULT 0,
+    stock_value DECIMAL(19,2) NOT NULL DEFAULT 0,
+    low_stock_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_category_inventory_rollup_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+);
+
+-- Backfill from the existing SKUs
+INSERT INTO category_inventory_rollup (category_id, sku_count, stock_units, stock_value, low_stock_count, updated_at)
+SELECT a.id,
+       COUNT(s.id),
+       COALESCE(SUM(s.stock_quantity), 0),
+       COALESCE(SUM(s.price * s.stock_quantity), 0),
+       COALESCE(SUM(CASE WHEN s.stock_quantity <= s.reorder_point THEN 1 ELSE 0 END), 0),
+       CURRENT_TIMESTAMP
+FROM categories a
+LEFT JOIN categories d ON d.path LIKE CONCAT(a.path, '%') AND d.deleted_at IS NULL
+LEFT JOIN products p ON p.category_id = d.id AND p.deleted_at IS NULL
+LEFT JOIN skus s ON s.product_id = p.id AND s.deleted_at IS NULL
+WHERE a.deleted_at IS NULL
+GROUP BY a.id;
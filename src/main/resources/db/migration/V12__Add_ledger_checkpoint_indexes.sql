@@ -0,0 +1,7 @@
+-- Indexes for incremental ledger checkpoints
+-- A checkpoint run starts from the last transaction covered by any checkpoint, finds the SKUs with
+-- ledger rows after it through the primary key, and counts only those SKUs' rows after their own
+-- latest checkpoint, a range scan on (sku_id, id) instead of each SKU's whole history.
+
+CREATE INDEX idx_inventory_transactions_sku_id_id ON inventory_transactions(sku_id, id);
+CREATE INDEX idx_sku_ledger_checkpoints_last_transaction ON sku_ledger_checkpoints(last_transaction_id);
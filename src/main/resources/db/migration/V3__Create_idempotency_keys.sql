@@ -0,0 +1,17 @@
+-- Idempotency keys for retried stock-mutating requests
+-- Stores the result of the first successful request so replays can be answered without touching skus
+
+CREATE TABLE idempotency_keys (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    idempotency_key VARCHAR(100) NOT NULL,
+    operation VARCHAR(50) NOT NULL,
+    sku_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uk_idempotency_keys_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,20 @@
+-- Time-limited stock reservations (e.g. checkout carts)
+-- Each hold contributes its quantity to skus.reserved_quantity until it is released, confirmed or expires
+
+CREATE TABLE reservation_holds (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    sku_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    reference_id VARCHAR(100),
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE', -- ACTIVE, CONFIRMED, RELEASED, EXPIRED
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_reservation_holds_sku FOREIGN KEY (sku_id) REFERENCES skus(id) ON DELETE CASCADE,
+    CONSTRAINT chk_reservation_holds_quantity CHECK (quantity > 0),
+    CONSTRAINT chk_reservation_holds_status CHECK (status IN ('ACTIVE', 'CONFIRMED', 'RELEASED', 'EXPIRED'))
+);
+
+CREATE INDEX idx_reservation_holds_sku ON reservation_holds(sku_id);
+CREATE INDEX idx_reservation_holds_status ON reservation_holds(status);
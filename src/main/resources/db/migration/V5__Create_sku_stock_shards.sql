@@ -0,0 +1,18 @@
+-- Stock sub-counters for hot SKUs
+-- When a SKU is sharded, part of its available stock and reserved stock lives in these rows so that
+-- concurrent reservations update different rows instead of all queueing on the skus row.
+-- Totals: available = skus.available_quantity + SUM(shards.available_quantity), same for reserved.
+
+CREATE TABLE sku_stock_shards (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    sku_id BIGINT NOT NULL,
+    shard_index INTEGER NOT NULL,
+    available_quantity INTEGER NOT NULL DEFAULT 0,
+    reserved_quantity INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_sku_stock_shards_sku FOREIGN KEY (sku_id) REFERENCES skus(id) ON DELETE CASCADE,
+    CONSTRAINT uk_sku_stock_shards_sku_shard UNIQUE (sku_id, shard_index),
+    CONSTRAINT chk_sku_stock_shards_available CHECK (available_quantity >= 0),
+    CONSTRAINT chk_sku_stock_shards_reserved CHECK (reserved_quantity >= 0)
+);
@@ -0,0 +1,22 @@
+-- Daily per-SKU stock movement rollup
+-- One row per SKU, day and transaction type, kept in step with inventory_transactions as ledger rows
+-- are written. Movement summaries read whole days from here and only scan the ledger for partial days.
+
+CREATE TABLE stock_movement_daily (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    sku_id BIGINT NOT NULL,
+    movement_date DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL, -- IN, OUT, ADJUSTMENT, RESERVED, RELEASED
+    total_quantity BIGINT NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_stock_movement_daily_sku FOREIGN KEY (sku_id) REFERENCES skus(id) ON DELETE CASCADE,
+    CONSTRAINT uk_stock_movement_daily_sku_date_type UNIQUE (sku_id, movement_date, transaction_type)
+);
+
+-- Backfill from the existing ledger
+INSERT INTO stock_movement_daily (sku_id, movement_date, transaction_type, total_quantity, transaction_count, updated_at)
+SELECT sku_id, CAST(created_at AS DATE), transaction_type, SUM(quantity), COUNT(*), CURRENT_TIMESTAMP
+FROM inventory_transactions
+GROUP BY sku_id, CAST(created_at AS DATE), transaction_type;
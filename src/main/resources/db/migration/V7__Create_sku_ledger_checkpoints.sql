@@ -0,0 +1,26 @@
+-- Per-SKU ledger checkpoints
+-- A checkpoint records a SKU's stock and reserved quantities after applying every inventory_transactions
+-- row up to last_transaction_id. Replaying a SKU starts from its latest checkpoint and applies only the
+-- ledger rows after it.
+
+CREATE TABLE sku_ledger_checkpoints (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    sku_id BIGINT NOT NULL,
+    last_transaction_id BIGINT NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    reserved_quantity INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_sku_ledger_checkpoints_sku FOREIGN KEY (sku_id) REFERENCES skus(id) ON DELETE CASCADE,
+    CONSTRAINT uk_sku_ledger_checkpoints_sku_transaction UNIQUE (sku_id, last_transaction_id)
+);
+
+-- Opening checkpoints: the ledger does not cover stock loaded before it existed (e.g. seed data),
+-- so each existing SKU starts from its current counters, shards included
+INSERT INTO sku_ledger_checkpoints (sku_id, last_transaction_id, stock_quantity, reserved_quantity, created_at)
+SELECT s.id,
+       COALESCE((SELECT MAX(t.id) FROM inventory_transactions t WHERE t.sku_id = s.id), 0),
+       s.stock_quantity,
+       s.reserved_quantity + COALESCE((SELECT SUM(sh.reserved_quantity) FROM sku_stock_shards sh WHERE sh.sku_id = s.id), 0),
+       CURRENT_TIMESTAMP
+FROM skus s;
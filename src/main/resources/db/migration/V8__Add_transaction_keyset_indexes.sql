@@ -0,0 +1,8 @@
+-- Indexes for keyset pagination of transaction history
+-- Pages are read in (created_at DESC, id DESC) order starting after a cursor, so the index range scan
+-- begins at the cursor instead of counting past every earlier row.
+
+CREATE INDEX idx_inventory_transactions_sku_created_at_id ON inventory_transactions(sku_id, created_at, id);
+
+DROP INDEX idx_inventory_transactions_created_at;
+CREATE INDEX idx_inventory_transactions_created_at_id ON inventory_transactions(created_at, id);
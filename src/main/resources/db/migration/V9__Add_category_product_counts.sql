@@ -0,0 +1,18 @@
+-- Per-category product counts
+-- direct_product_count counts the products that are not deleted in the category itself, subtree_product_count those in the
+-- category and all its descendants. Both are kept in step by the services as products are created, deleted or moved and as
+-- categories are moved, so deletion checks and category listings read them instead of counting products.
+
+ALTER TABLE categories ADD COLUMN direct_product_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN subtree_product_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from the existing products
+UPDATE categories c SET direct_product_count = (
+    SELECT COUNT(*) FROM products p WHERE p.category_id = c.id AND p.deleted_at IS NULL
+);
+
+UPDATE categories c SET subtree_product_count = (
+    SELECT COALESCE(SUM(d.direct_product_count), 0)
+    FROM categories d
+    WHERE d.path LIKE CONCAT(c.path, '%') AND d.deleted_at IS NULL
+);
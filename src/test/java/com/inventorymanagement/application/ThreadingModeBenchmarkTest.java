@@ -0,0 +1,259 @@
+package com.inventorymanagement.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.service.SkuService;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compares request handling on platform threads with virtual threads on a mixed read/write SKU workload.
+ *
+ * <p>Each mode starts the application on a random port with its own in-memory database, seeds a set of SKUs and then drives
+ * {@code benchmark.concurrency} concurrent clients against it for {@code benchmark.duration-seconds}: 60% SKU lookups, 20% SKU searches,
+ * 10% stock reservations and 10% stock releases. Throughput, latency percentiles and error counts are logged per mode.
+ *
+ * <p>Skipped unless run with {@code -Dbenchmark=true}; the virtual-thread run also needs Java 21, e.g.
+ * {@code mvn -Pjava21 test -Dtest=ThreadingModeBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Threading Mode Benchmark")
+class ThreadingModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeBenchmarkTest.class);
+    private static final int SKU_COUNT = 50;
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int DURATION_SECONDS = Integer.getInteger("benchmark.duration-seconds", 15);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmup-seconds", 3);
+
+    @Nested
+    @SpringBootTest(
+            classes = InventoryManagementApplication.class,
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    "spring.datasource.url=jdbc:h2:mem:benchmark-platform;DB_CLOSE_DELAY=-1",
+                    "spring.threads.virtual.enabled=false"
+            })
+    @ActiveProfiles("test")
+    @DisplayName("Platform threads")
+    class PlatformThreads extends WorkloadRunner {
+
+        @Test
+        @DisplayName("Mixed read/write workload")
+        void mixedWorkload() throws Exception {
+            runAndReport("platform");
+        }
+    }
+
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @SpringBootTest(
+            classes = InventoryManagementApplication.class,
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    "spring.datasource.url=jdbc:h2:mem:benchmark-virtual;DB_CLOSE_DELAY=-1",
+                    "spring.threads.virtual.enabled=true",
+                    "inventory.datasource.admission.enabled=true"
+            })
+    @ActiveProfiles("test")
+    @DisplayName("Virtual threads")
+    class VirtualThreads extends WorkloadRunner {
+
+        @Test
+        @DisplayName("Mixed read/write workload")
+        void mixedWorkload() throws Exception {
+            runAndReport("virtual");
+        }
+    }
+
+    /**
+     * Seeds SKUs and drives the mixed workload against the running application.
+     */
+    abstract static class WorkloadRunner {
+
+        @LocalServerPort private int port;
+
+        @Autowired private SkuService skuService;
+
+        @Autowired private ProductRepository productRepository;
+
+        @Autowired private CategoryRepository categoryRepository;
+
+        void runAndReport(String mode) throws Exception {
+            List<Long> skuIds = seedSkus();
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            runFor(client, skuIds, WARMUP_SECONDS);
+            Result result = runFor(client, skuIds, DURATION_SECONDS);
+
+            logger.info(
+                    "[{}] {} clients, {}s: {} requests ({} req/s), p50 {} ms, p95 {} ms, p99 {} ms, max {} ms, {} server errors, {} client errors",
+                    mode,
+                    CONCURRENCY,
+                    DURATION_SECONDS,
+                    result.requests,
+                    result.requests / DURATION_SECONDS,
+                    result.percentileMs(50),
+                    result.percentileMs(95),
+                    result.percentileMs(99),
+                    result.percentileMs(100),
+                    result.serverErrors,
+                    result.clientErrors);
+
+            assertThat(result.requests).isPositive();
+        }
+
+        private List<Long> seedSkus() {
+            Category category = categoryRepository.save(TestDataFactory.category().withName("Benchmark").build());
+            Product product =
+                    productRepository.save(
+                            TestDataFactory.product().withName("Benchmark Product").withCategory(category).build());
+
+            List<Long> skuIds = new ArrayList<>(SKU_COUNT);
+            for (int i = 0; i < SKU_COUNT; i++) {
+                SkuDto skuDto = new SkuDto();
+                skuDto.setProductId(product.getId());
+                skuDto.setSkuCode(String.format("BENCH-SKU-%03d", i));
+                skuDto.setPrice(new BigDecimal("10.00"));
+                skuDto.setStockQuantity(1_000_000);
+                skuIds.add(skuService.createSku(skuDto).getId());
+            }
+            return skuIds;
+        }
+
+        private Result runFor(HttpClient client, List<Long> skuIds, int seconds) throws Exception {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                List<Future<Result>> futures = new ArrayList<>(CONCURRENCY);
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    futures.add(clients.submit(() -> runClient(client, skuIds, deadline)));
+                }
+                Result total = new Result();
+                for (Future<Result> future : futures) {
+                    total.merge(future.get());
+                }
+                return total;
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+
+        private Result runClient(HttpClient client, List<Long> skuIds, long deadline) {
+            Result result = new Result();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                long skuId = skuIds.get(random.nextInt(skuIds.size()));
+                int operation = random.nextInt(10);
+                HttpRequest request;
+                if (operation < 6) {
+                    request = get("/v1/skus/" + skuId);
+                } else if (operation < 8) {
+                    request = get("/v1/skus/search?query=BENCH-SKU-0" + random.nextInt(10));
+                } else if (operation < 9) {
+                    request = post("/v1/skus/" + skuId + "/stock/reserve?quantity=1");
+                } else {
+                    request = post("/v1/skus/" + skuId + "/stock/release?quantity=1");
+                }
+
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    status = 599;
+                }
+                result.record(System.nanoTime() - start, status);
+            }
+            return result;
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+        }
+
+        private HttpRequest post(String path) {
+            return HttpRequest.newBuilder(uri(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + "/api" + path);
+        }
+    }
+
+    /**
+     * Request count, status counts and latencies of one or more clients.
+     */
+    static final class Result {
+
+        private long requests;
+        private long serverErrors;
+        private long clientErrors;
+        private long[] latenciesNanos = new long[1024];
+
+        void record(long latencyNanos, int status) {
+            if (requests == latenciesNanos.length) {
+                latenciesNanos = Arrays.copyOf(latenciesNanos, latenciesNanos.length * 2);
+            }
+            latenciesNanos[(int) requests++] = latencyNanos;
+            if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                // Releases of stock that is not reserved are expected to be rejected
+                clientErrors++;
+            }
+        }
+
+        void merge(Result other) {
+            long[] merged = Arrays.copyOf(latenciesNanos, (int) (requests + other.requests));
+            System.arraycopy(other.latenciesNanos, 0, merged, (int) requests, (int) other.requests);
+            latenciesNanos = merged;
+            requests += other.requests;
+            serverErrors += other.serverErrors;
+            clientErrors += other.clientErrors;
+        }
+
+        long percentileMs(int percentile) {
+            if (requests == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latenciesNanos, (int) requests);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(requests - 1, Math.ceil(percentile / 100.0 * requests) - 1);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+        }
+    }
+}
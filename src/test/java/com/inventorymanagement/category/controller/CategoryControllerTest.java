@@ -20,13 +20,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.model.CategoryInventorySummary;
 import com.inventorymanagement.category.service.CategoryService;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.GlobalExceptionHandler;
 import com.inventorymanagement.common.exception.ValidationException;
 import com.inventorymanagement.common.model.BulkOperationRequest;
+import com.inventorymanagement.common.model.EntityTag;
 import com.inventorymanagement.common.model.PagedResponse;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -58,6 +61,8 @@ class CategoryControllerTest {
 
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
+    private static final EntityTag TREE_TAG = EntityTag.of("category-hierarchy", null, 42L);
+
     @MockBean private CategoryService categoryService;
     private CategoryDto testCategory;
     private CategoryDto childCategory;
@@ -73,6 +78,9 @@ class CategoryControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(categoryService.getCategoryHierarchyTag(any())).thenReturn(TREE_TAG);
+        when(categoryService.getChildCategoriesTag(any())).thenReturn(TREE_TAG);
+
         testCategory = new CategoryDto();
         testCategory.setId(1L);
         testCategory.setName("Electronics");
@@ -312,6 +320,39 @@ class CategoryControllerTest {
 
             verify(categoryService, never()).getAllCategories(any(Pageable.class));
         }
+
+        @Test
+        @DisplayName("Should get category inventory dashboard")
+        void getInventoryDashboard_Success() throws Exception {
+            CategoryInventorySummary dashboard =
+                    new CategoryInventorySummary(1L, "Electronics", 0, 3, 120, new BigDecimal("1500.00"), 1);
+            dashboard.setSubcategories(
+                    List.of(new CategoryInventorySummary(2L, "Laptops", 1, 3, 120, new BigDecimal("1500.00"), 1)));
+            when(categoryService.getInventoryDashboard(1L)).thenReturn(dashboard);
+
+            mockMvc
+                    .perform(get("/v1/categories/1/inventory-dashboard"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.category_id").value(1))
+                    .andExpect(jsonPath("$.data.sku_count").value(3))
+                    .andExpect(jsonPath("$.data.stock_units").value(120))
+                    .andExpect(jsonPath("$.data.low_stock_count").value(1))
+                    .andExpect(jsonPath("$.data.subcategories[0].category_name").value("Laptops"))
+                    .andExpect(jsonPath("$.data.subcategories[0].subcategories").doesNotExist());
+
+            verify(categoryService).getInventoryDashboard(1L);
+        }
+
+        @Test
+        @DisplayName("Should handle inventory dashboard of missing category")
+        void getInventoryDashboard_NotFound() throws Exception {
+            when(categoryService.getInventoryDashboard(999L))
+                    .thenThrow(new EntityNotFoundException("Category", 999L));
+
+            mockMvc
+                    .perform(get("/v1/categories/999/inventory-dashboard"))
+                    .andExpect(status().isNotFound());
+        }
     }
 
     @Nested
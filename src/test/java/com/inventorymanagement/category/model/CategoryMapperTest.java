@@ -93,6 +93,9 @@ class CategoryMapperTest {
         @Test
         @DisplayName("Should convert category entity to DTO successfully")
         void toDtoValidCategoryShouldReturnDto() {
+            testCategory.setDirectProductCount(3L);
+            testCategory.setSubtreeProductCount(7L);
+
             CategoryDto result = CategoryMapper.toDto(testCategory);
 
             assertThat(result).isNotNull();
@@ -114,7 +117,8 @@ class CategoryMapperTest {
 
             // Check computed fields
             assertThat(result.getChildrenCount()).isEqualTo(testCategory.getChildren().size());
-            assertThat(result.getProductsCount()).isEqualTo(testCategory.getProducts().size());
+            assertThat(result.getProductsCount()).isEqualTo(3);
+            assertThat(result.getSubtreeProductsCount()).isEqualTo(7);
             assertThat(result.getIsRoot()).isEqualTo(testCategory.isRoot());
             assertThat(result.getIsLeaf()).isEqualTo(testCategory.isLeaf());
         }
@@ -163,6 +167,22 @@ class CategoryMapperTest {
             assertThat(result.getProductsCount()).isEqualTo(0);
             assertThat(result.getIsLeaf()).isTrue();
         }
+
+        @Test
+        @DisplayName("Should take product counts from the maintained columns, not the products collection")
+        void toDtoShouldUseMaintainedProductCounts() {
+            Category category = new Category();
+            category.setId(1L);
+            category.setName("Counted Category");
+            category.setDirectProductCount(4L);
+            category.setSubtreeProductCount(9L);
+            category.setProducts(null);
+
+            CategoryDto result = CategoryMapper.toDto(category);
+
+            assertThat(result.getProductsCount()).isEqualTo(4);
+            assertThat(result.getSubtreeProductsCount()).isEqualTo(9);
+        }
     }
 
     @Nested
@@ -0,0 +1,152 @@
+package com.inventorymanagement.category.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CategoryTree Unit Tests")
+class CategoryTreeTest {
+
+    private CategoryTree tree;
+
+    @BeforeEach
+    void setUp() {
+        // Electronics (1) -> Phones (2) -> Smartphones (4)
+        //                 -> Laptops (3, inactive)
+        // Books (5)
+        // Orphan (6), whose parent 99 is deleted
+        tree =
+                CategoryTree.of(
+                        7,
+                        List.of(
+                                node(4L, 2L, "Smartphones", "/1/2/4/", 2, 1, true, 3),
+                                node(1L, null, "Electronics", "/1/", 0, 1, true, 0),
+                                node(3L, 1L, "Laptops", "/1/3/", 1, 1, false, 2),
+                                node(2L, 1L, "Phones", "/1/2/", 1, 0, true, 0),
+                                node(5L, null, "Books", "/5/", 0, 2, true, 1),
+                                node(6L, 99L, "Orphan", "/99/6/", 1, 0, true, 0)));
+    }
+
+    private CategoryTree.Node node(
+            Long id, Long parentId, String name, String path, int level, int sortOrder, boolean active, long products) {
+        return new CategoryTree.Node(
+                id, parentId, name, null, path, level, sortOrder, active, null, null, null, 0L, products, products);
+    }
+
+    @Nested
+    @DisplayName("Structure Tests")
+    class StructureTests {
+
+        @Test
+        @DisplayName("Should list roots and children in display order")
+        void shouldListRootsAndChildrenInDisplayOrder() {
+            assertThat(tree.getVersion()).isEqualTo(7);
+            assertThat(tree.size()).isEqualTo(6);
+            assertThat(tree.getRoots()).extracting(CategoryDto::getId).containsExactly(1L, 5L);
+            assertThat(tree.getChildren(1L)).extracting(CategoryDto::getId).containsExactly(2L, 3L);
+            assertThat(tree.getChildren(4L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return path from root to category")
+        void shouldReturnPathFromRootToCategory() {
+            assertThat(tree.getPathIds(4L)).containsExactly(1L, 2L, 4L);
+            assertThat(tree.getPath(4L)).extracting(CategoryDto::getName).containsExactly("Electronics", "Phones", "Smartphones");
+        }
+
+        @Test
+        @DisplayName("Should return subtree ordered by level")
+        void shouldReturnSubtreeOrderedByLevel() {
+            assertThat(tree.getSubtree(1L)).extracting(CategoryDto::getId).containsExactly(1L, 2L, 3L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should return active categories ordered by path")
+        void shouldReturnActiveCategoriesOrderedByPath() {
+            assertThat(tree.getActiveHierarchy()).extracting(CategoryDto::getId).containsExactly(1L, 2L, 4L, 5L, 6L);
+        }
+
+        @Test
+        @DisplayName("Should keep categories under a deleted parent out of the hierarchy")
+        void shouldKeepOrphansOutOfHierarchy() {
+            assertThat(tree.contains(6L)).isTrue();
+            assertThat(tree.getRoots()).extracting(CategoryDto::getId).doesNotContain(6L);
+            assertThat(tree.getPathIds(6L)).containsExactly(6L);
+        }
+
+        @Test
+        @DisplayName("Should return empty results for unknown categories")
+        void shouldReturnEmptyResultsForUnknownCategories() {
+            assertThat(tree.contains(42L)).isFalse();
+            assertThat(tree.contains(null)).isFalse();
+            assertThat(tree.getChildren(42L)).isEmpty();
+            assertThat(tree.getPath(42L)).isEmpty();
+            assertThat(tree.getSubtree(42L)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Fingerprint Tests")
+    class FingerprintTests {
+
+        @Test
+        @DisplayName("Should keep fingerprint for the same data regardless of snapshot version")
+        void shouldKeepFingerprintForSameData() {
+            CategoryTree rebuilt =
+                    CategoryTree.of(
+                            8,
+                            List.of(
+                                    node(1L, null, "Electronics", "/1/", 0, 1, true, 0),
+                                    node(2L, 1L, "Phones", "/1/2/", 1, 0, true, 0),
+                                    node(3L, 1L, "Laptops", "/1/3/", 1, 1, false, 2),
+                                    node(4L, 2L, "Smartphones", "/1/2/4/", 2, 1, true, 3),
+                                    node(5L, null, "Books", "/5/", 0, 2, true, 1),
+                                    node(6L, 99L, "Orphan", "/99/6/", 1, 0, true, 0)));
+
+            assertThat(rebuilt.getFingerprint()).isEqualTo(tree.getFingerprint());
+        }
+
+        @Test
+        @DisplayName("Should change fingerprint when a product count changes")
+        void shouldChangeFingerprintWhenProductCountChanges() {
+            CategoryTree changed =
+                    CategoryTree.of(8, List.of(node(1L, null, "Electronics", "/1/", 0, 1, true, 1)));
+            CategoryTree original =
+                    CategoryTree.of(7, List.of(node(1L, null, "Electronics", "/1/", 0, 1, true, 0)));
+
+            assertThat(changed.getFingerprint()).isNotEqualTo(original.getFingerprint());
+        }
+    }
+
+    @Nested
+    @DisplayName("DTO Tests")
+    class DtoTests {
+
+        @Test
+        @DisplayName("Should fill derived fields")
+        void shouldFillDerivedFields() {
+            CategoryDto phones = tree.getChildren(1L).get(0);
+
+            assertThat(phones.getParentId()).isEqualTo(1L);
+            assertThat(phones.getParentName()).isEqualTo("Electronics");
+            assertThat(phones.getChildrenCount()).isEqualTo(1);
+            assertThat(phones.getIsRoot()).isFalse();
+            assertThat(phones.getIsLeaf()).isFalse();
+            assertThat(phones.getPathNames()).containsExactly("Electronics", "Phones");
+            assertThat(tree.getPath(3L).get(1).getProductsCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should return new DTOs on every read")
+        void shouldReturnNewDtosOnEveryRead() {
+            CategoryDto first = tree.getRoots().get(0);
+            first.setName("Changed");
+
+            assertThat(tree.getRoots().get(0).getName()).isEqualTo("Electronics");
+        }
+    }
+}
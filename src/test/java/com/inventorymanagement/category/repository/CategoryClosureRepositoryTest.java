@@ -0,0 +1,135 @@
+package com.inventorymanagement.category.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.common.BaseIntegrationTest;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Functional tests for CategoryClosureRepository maintenance statements and hierarchy queries
+ */
+@DisplayName("CategoryClosureRepository Functional Tests")
+class CategoryClosureRepositoryTest extends BaseIntegrationTest {
+
+    @Autowired private CategoryClosureRepository categoryClosureRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private ProductRepository productRepository;
+
+    private Category electronics;
+    private Category phones;
+    private Category smartphones;
+    private Category clothing;
+
+    @BeforeEach
+    void setUp() {
+        electronics = createCategory("Electronics", null);
+        phones = createCategory("Phones", electronics);
+        smartphones = createCategory("Smartphones", phones);
+        clothing = createCategory("Clothing", null);
+    }
+
+    @Nested
+    @DisplayName("Maintenance")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Should add a row per ancestor when inserting a category")
+        void shouldAddRowPerAncestorWhenInsertingCategory() {
+
+            assertThat(categoryClosureRepository.count()).isEqualTo(7);
+            assertThat(categoryClosureRepository.existsByAncestorIdAndDescendantId(electronics.getId(), smartphones.getId()))
+                    .isTrue();
+            assertThat(categoryClosureRepository.existsByAncestorIdAndDescendantId(smartphones.getId(), smartphones.getId()))
+                    .isTrue();
+            assertThat(categoryClosureRepository.existsByAncestorIdAndDescendantId(smartphones.getId(), electronics.getId()))
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("Should relink a subtree to its new ancestors when moved")
+        void shouldRelinkSubtreeWhenMoved() {
+
+            int detached = categoryClosureRepository.detachSubtree(phones.getId());
+            int attached = categoryClosureRepository.attachSubtree(phones.getId(), clothing.getId());
+
+            assertThat(detached).isEqualTo(2);
+            assertThat(attached).isEqualTo(2);
+            assertThat(categoryClosureRepository.existsByAncestorIdAndDescendantId(electronics.getId(), smartphones.getId()))
+                    .isFalse();
+            assertThat(categoryClosureRepository.existsByAncestorIdAndDescendantId(phones.getId(), smartphones.getId()))
+                    .isTrue();
+            assertThat(categoryClosureRepository.existsByAncestorIdAndDescendantId(clothing.getId(), smartphones.getId()))
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("Should remove the rows of every category in a deleted subtree")
+        void shouldRemoveRowsOfDeletedSubtree() {
+
+            int removed = categoryClosureRepository.deleteSubtree(phones.getId());
+
+            assertThat(removed).isEqualTo(5);
+            assertThat(categoryClosureRepository.count()).isEqualTo(2);
+            assertThat(categoryClosureRepository.findSubtree(electronics.getId()))
+                    .extracting(Category::getName)
+                    .containsExactly("Electronics");
+        }
+    }
+
+    @Nested
+    @DisplayName("Hierarchy Queries")
+    class HierarchyQueryTests {
+
+        @Test
+        @DisplayName("Should find a subtree ordered by depth")
+        void shouldFindSubtreeOrderedByDepth() {
+
+            List<Category> subtree = categoryClosureRepository.findSubtree(electronics.getId());
+
+            assertThat(subtree)
+                    .extracting(Category::getName)
+                    .containsExactly("Electronics", "Phones", "Smartphones");
+        }
+
+        @Test
+        @DisplayName("Should find products anywhere in a subtree")
+        void shouldFindProductsInSubtree() {
+
+            productRepository.save(TestDataFactory.product().withName("Phone Case").withCategory(phones).build());
+            productRepository.save(TestDataFactory.product().withName("Galaxy").withCategory(smartphones).build());
+            productRepository.save(TestDataFactory.product().withName("Jacket").withCategory(clothing).build());
+
+            Page<Product> products = productRepository.findByCategorySubtree(electronics.getId(), PageRequest.of(0, 10));
+
+            assertThat(products.getTotalElements()).isEqualTo(2);
+            assertThat(products.getContent())
+                    .extracting(Product::getName)
+                    .containsExactlyInAnyOrder("Phone Case", "Galaxy");
+        }
+    }
+
+    private Category createCategory(String name, Category parent) {
+        Category category =
+                TestDataFactory.category()
+                        .withName(name)
+                        .withParent(parent)
+                        .withLevel(parent != null ? parent.getLevel() + 1 : 0)
+                        .build();
+        category = categoryRepository.save(category);
+        category.setPath((parent != null ? parent.getPath() : "/") + category.getId() + "/");
+        category = categoryRepository.save(category);
+        categoryClosureRepository.insertCategory(category.getId(), parent != null ? parent.getId() : null);
+        return category;
+    }
+}
@@ -467,6 +467,72 @@ class CategoryRepositoryTest extends BaseIntegrationTest {
             assertThat(path).hasSize(1);
             assertThat(path.get(0).getName()).isEqualTo("Electronics");
         }
+
+        @Test
+        @DisplayName("Should move subtree paths with a single update")
+        @Transactional
+        void shouldMoveSubtreePaths() {
+            Long laptopsVersion = grandchildCategory.getVersion();
+
+            int moved = categoryRepository.moveSubtree("/1/2", "/2/5/2", "/1/2".length() + 1, 2, LocalDateTime.now());
+
+            assertThat(moved).isEqualTo(1);
+            Category laptops = categoryRepository.findById(grandchildCategory.getId()).orElseThrow();
+            assertThat(laptops.getPath()).isEqualTo("/2/5/2/3");
+            assertThat(laptops.getLevel()).isEqualTo(4);
+            assertThat(laptops.getVersion()).isGreaterThan(laptopsVersion);
+            assertThat(categoryRepository.findById(childCategory.getId()).orElseThrow().getPath()).isEqualTo("/1/2");
+            assertThat(categoryRepository.findById(inactiveCategory.getId()).orElseThrow().getPath()).isEqualTo("/1/4");
+        }
+
+        @Test
+        @DisplayName("Should soft delete subtree with a single update")
+        @Transactional
+        void shouldSoftDeleteSubtree() {
+            int deleted = categoryRepository.softDeleteSubtree("/1/2", LocalDateTime.now());
+
+            assertThat(deleted).isEqualTo(2); // Computers, Laptops
+            assertThat(categoryRepository.findById(childCategory.getId()).orElseThrow().getDeletedAt()).isNotNull();
+            assertThat(categoryRepository.findById(grandchildCategory.getId()).orElseThrow().getDeletedAt()).isNotNull();
+            assertThat(categoryRepository.findById(rootCategory.getId()).orElseThrow().getDeletedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should update active flag of subtree with a single update")
+        @Transactional
+        void shouldUpdateSubtreeActive() {
+            int deactivated = categoryRepository.updateSubtreeActive("/1", false, LocalDateTime.now());
+            int activated = categoryRepository.updateSubtreeActive("/1/4", true, LocalDateTime.now());
+
+            assertThat(deactivated).isEqualTo(3); // Obsolete was already inactive
+            assertThat(activated).isEqualTo(1);
+            assertThat(categoryRepository.findById(grandchildCategory.getId()).orElseThrow().getIsActive()).isFalse();
+            assertThat(categoryRepository.findById(inactiveCategory.getId()).orElseThrow().getIsActive()).isTrue();
+            assertThat(categoryRepository.findById(secondRootCategory.getId()).orElseThrow().getIsActive()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should maintain product counts along the category path")
+        @Transactional
+        void shouldMaintainProductCounts() {
+            List<Long> pathIds = List.of(rootCategory.getId(), childCategory.getId(), grandchildCategory.getId());
+
+            categoryRepository.adjustProductCounts(grandchildCategory.getId(), pathIds, 2);
+            categoryRepository.adjustProductCounts(grandchildCategory.getId(), pathIds, -1);
+            categoryRepository.adjustSubtreeProductCounts(List.of(rootCategory.getId()), -1);
+
+            CategoryRepository.ProductCounts laptops =
+                    categoryRepository.findProductCountsById(grandchildCategory.getId()).orElseThrow();
+            CategoryRepository.ProductCounts computers =
+                    categoryRepository.findProductCountsById(childCategory.getId()).orElseThrow();
+            CategoryRepository.ProductCounts electronics =
+                    categoryRepository.findProductCountsById(rootCategory.getId()).orElseThrow();
+            assertThat(laptops.getDirectProductCount()).isEqualTo(1L);
+            assertThat(laptops.getSubtreeProductCount()).isEqualTo(1L);
+            assertThat(computers.getDirectProductCount()).isZero();
+            assertThat(computers.getSubtreeProductCount()).isEqualTo(1L);
+            assertThat(electronics.getSubtreeProductCount()).isZero();
+        }
     }
 
     @Nested
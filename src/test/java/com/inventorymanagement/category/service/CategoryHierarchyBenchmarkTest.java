@@ -0,0 +1,147 @@
+package com.inventorymanagement.category.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.application.InventoryManagementApplication;
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.repository.CategoryClosureRepository;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compares hierarchy reads served by path enumeration ({@code LIKE} prefix matches) with the same reads served by the category closure
+ * table.
+ *
+ * <p>Two trees are built through {@link CategoryService} in their own in-memory database: a deep one with {@code benchmark.deep-fanout}
+ * children per category down to {@code benchmark.deep-depth} levels, and a wide one with {@code benchmark.wide-children} children under
+ * a single root. Each category holds {@code benchmark.products-per-category} products. For each tree, the root's descendants and the
+ * products in the root's subtree are read {@code benchmark.iterations} times both ways, and the average time per read is logged.
+ *
+ * <p>Skipped unless run with {@code -Dbenchmark=true}, e.g. {@code mvn test -Dtest=CategoryHierarchyBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(
+        classes = InventoryManagementApplication.class,
+        properties = {"spring.datasource.url=jdbc:h2:mem:benchmark-hierarchy;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("test")
+@DisplayName("Category Hierarchy Benchmark")
+class CategoryHierarchyBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryHierarchyBenchmarkTest.class);
+    private static final int DEEP_FANOUT = Integer.getInteger("benchmark.deep-fanout", 2);
+    private static final int DEEP_DEPTH = Integer.getInteger("benchmark.deep-depth", 10);
+    private static final int WIDE_CHILDREN = Integer.getInteger("benchmark.wide-children", 2000);
+    private static final int PRODUCTS_PER_CATEGORY = Integer.getInteger("benchmark.products-per-category", 2);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200);
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("benchmark.warmup-iterations", 20);
+
+    @Autowired private CategoryService categoryService;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    @Autowired private CategoryClosureRepository categoryClosureRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Deep tree")
+    void deepTree() {
+        runAndReport("deep", buildTree("Deep", DEEP_FANOUT, DEEP_DEPTH));
+    }
+
+    @Test
+    @DisplayName("Wide tree")
+    void wideTree() {
+        runAndReport("wide", buildTree("Wide", WIDE_CHILDREN, 1));
+    }
+
+    private void runAndReport(String shape, Long rootId) {
+        Category root = categoryRepository.findById(rootId).orElseThrow();
+        String rootPath = root.getPath();
+
+        compare(
+                shape,
+                "descendants",
+                () -> categoryRepository.findAllDescendantsByPath(rootPath).size(),
+                () -> categoryClosureRepository.findSubtree(rootId).size());
+        compare(
+                shape,
+                "subtree products",
+                () -> productRepository.findByCategoryPathStartingWith(rootPath).size(),
+                () -> productRepository.findByCategorySubtree(rootId, Pageable.unpaged()).getNumberOfElements());
+    }
+
+    private void compare(String shape, String read, IntSupplier pathRead, IntSupplier closureRead) {
+        int pathRows = pathRead.getAsInt();
+        int closureRows = closureRead.getAsInt();
+        assertThat(closureRows).as("%s %s rows", shape, read).isEqualTo(pathRows);
+
+        long pathMicros = time(pathRead);
+        long closureMicros = time(closureRead);
+
+        logger.info(
+                "[{}] {}: {} rows, path LIKE {} us/read, closure {} us/read over {} reads",
+                shape,
+                read,
+                pathRows,
+                pathMicros,
+                closureMicros,
+                ITERATIONS);
+    }
+
+    private long time(IntSupplier read) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            read.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.getAsInt();
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private Long buildTree(String name, int fanout, int depth) {
+        Long rootId = createCategory(name, null);
+        List<Long> level = List.of(rootId);
+        for (int d = 1; d <= depth; d++) {
+            List<Long> next = new ArrayList<>(level.size() * fanout);
+            for (Long parentId : level) {
+                for (int i = 0; i < fanout; i++) {
+                    next.add(createCategory(name + "-" + d + "-" + i, parentId));
+                }
+            }
+            level = next;
+        }
+        logger.info("[{}] built {} levels, fanout {}", name.toLowerCase(), depth, fanout);
+        return rootId;
+    }
+
+    private Long createCategory(String name, Long parentId) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setName(name);
+        categoryDto.setParentId(parentId);
+        Long id = categoryService.createCategory(categoryDto).getId();
+
+        Category category = categoryRepository.findById(id).orElseThrow();
+        for (int i = 0; i < PRODUCTS_PER_CATEGORY; i++) {
+            productRepository.save(
+                    TestDataFactory.product().withName("Product " + id + "-" + i).withCategory(category).build());
+        }
+        return id;
+    }
+}
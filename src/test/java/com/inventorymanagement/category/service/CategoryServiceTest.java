@@ -3,6 +3,8 @@ package com.inventorymanagement.category.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -10,12 +12,20 @@ import static org.mockito.Mockito.when;
 
 import com.inventorymanagement.category.model.Category;
 import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.model.CategoryInventoryRollup;
+import com.inventorymanagement.category.model.CategoryInventorySummary;
+import com.inventorymanagement.category.model.CategoryTree;
+import com.inventorymanagement.category.repository.CategoryClosureRepository;
+import com.inventorymanagement.category.repository.CategoryInventoryRollupRepository;
 import com.inventorymanagement.category.repository.CategoryRepository;
 import com.inventorymanagement.common.BaseUnitTest;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.ValidationException;
 import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +48,10 @@ import org.springframework.data.domain.Pageable;
 class CategoryServiceTest extends BaseUnitTest {
 
     @Mock private CategoryRepository categoryRepository;
+    @Mock private CategoryClosureRepository categoryClosureRepository;
+    @Mock private CategoryInventoryRollupRepository inventoryRollupRepository;
+    @Mock private CategoryInventoryRollupService inventoryRollupService;
+    @Mock private CategoryTreeService categoryTreeService;
 
     @InjectMocks private CategoryService categoryService;
 
@@ -79,6 +93,64 @@ class CategoryServiceTest extends BaseUnitTest {
         return dto;
     }
 
+    private CategoryTree.Node node(Long id, Long parentId, String name, int sortOrder) {
+        return new CategoryTree.Node(
+                id, parentId, name, null, null, parentId == null ? 0 : 1, sortOrder, true, null, null, null, 0L, 0, 0);
+    }
+
+    private CategoryRepository.ProductCounts productCounts(long direct, long subtree) {
+        return new CategoryRepository.ProductCounts() {
+            @Override
+            public Long getDirectProductCount() {
+                return direct;
+            }
+
+            @Override
+            public Long getSubtreeProductCount() {
+                return subtree;
+            }
+        };
+    }
+
+    private CategoryInventoryRollupRepository.RollupRow rollupRow(Long id, String name, int level, Long skuCount) {
+        return new CategoryInventoryRollupRepository.RollupRow() {
+            @Override
+            public Long getCategoryId() {
+                return id;
+            }
+
+            @Override
+            public String getCategoryName() {
+                return name;
+            }
+
+            @Override
+            public Integer getLevel() {
+                return level;
+            }
+
+            @Override
+            public Long getSkuCount() {
+                return skuCount;
+            }
+
+            @Override
+            public Long getStockUnits() {
+                return skuCount != null ? skuCount * 10 : null;
+            }
+
+            @Override
+            public BigDecimal getStockValue() {
+                return skuCount != null ? BigDecimal.valueOf(skuCount * 100) : null;
+            }
+
+            @Override
+            public Long getLowStockCount() {
+                return skuCount != null ? 1L : null;
+            }
+        };
+    }
+
     // ===== NESTED TEST CLASSES =====
 
     @Nested
@@ -112,6 +184,35 @@ class CategoryServiceTest extends BaseUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Category Subtree Tests")
+    class CategorySubtreeTests {
+
+        @Test
+        @DisplayName("Should return the subtree from the closure table")
+        void shouldReturnSubtreeFromClosureTable() {
+
+            Category child = TestDataFactory.category().withId(2L).withName("Phones").withParent(testCategory).build();
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(categoryClosureRepository.findSubtree(1L)).thenReturn(List.of(testCategory, child));
+
+            List<CategoryDto> result = categoryService.getCategorySubtree(1L);
+
+            assertThat(result).extracting(CategoryDto::getName).containsExactly("Electronics", "Phones");
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the root is not found")
+        void shouldThrowExceptionWhenRootNotFound() {
+
+            when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> categoryService.getCategorySubtree(999L))
+                    .isInstanceOf(EntityNotFoundException.class);
+            verify(categoryClosureRepository, never()).findSubtree(any());
+        }
+    }
+
     @Nested
     @DisplayName("Create Category Tests")
     class CreateCategoryTests {
@@ -169,6 +270,7 @@ class CategoryServiceTest extends BaseUnitTest {
             assertThat(result.getParentId()).isEqualTo(1L);
             assertThat(result.getLevel()).isEqualTo(1);
             verify(categoryRepository).findByNameAndParentId("Smartphones", 1L);
+            verify(categoryClosureRepository).insertCategory(2L, 1L);
         }
 
         @Test
@@ -340,17 +442,33 @@ class CategoryServiceTest extends BaseUnitTest {
 
             Category existingCategory = createValidCategory();
             existingCategory.setId(categoryId);
+            existingCategory.setPath("/1/");
+            existingCategory.setLevel(0);
 
             Category newParent =
                     TestDataFactory.category().withId(2L).withLevel(1).withPath("/2/").build();
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(existingCategory));
             when(categoryRepository.findById(2L)).thenReturn(Optional.of(newParent));
+            when(categoryRepository.findProductCountsById(categoryId)).thenReturn(Optional.of(productCounts(1, 3)));
+            CategoryInventoryRollup rollup = new CategoryInventoryRollup(categoryId);
+            rollup.setSkuCount(2L);
+            rollup.setStockUnits(30L);
+            rollup.setStockValue(new BigDecimal("300.00"));
+            rollup.setLowStockCount(1L);
+            when(inventoryRollupRepository.findById(categoryId)).thenReturn(Optional.of(rollup));
             when(categoryRepository.save(existingCategory)).thenReturn(existingCategory);
 
             CategoryDto result = categoryService.updateCategory(categoryId, updateDto);
 
             assertThat(result).isNotNull();
+            assertThat(existingCategory.getPath()).isEqualTo("/2/1/");
+            verify(categoryRepository).moveSubtree(eq("/1/"), eq("/2/1/"), eq(4), eq(2), any(LocalDateTime.class));
+            verify(categoryClosureRepository).detachSubtree(categoryId);
+            verify(categoryClosureRepository).attachSubtree(categoryId, 2L);
+            verify(categoryRepository).adjustSubtreeProductCounts(List.of(2L), 3L);
+            verify(categoryRepository, never()).adjustSubtreeProductCounts(any(), eq(-3L));
+            verify(inventoryRollupService).recordMove(rollup, List.of(), List.of(2L));
             verify(categoryRepository).save(existingCategory);
         }
 
@@ -397,6 +515,48 @@ class CategoryServiceTest extends BaseUnitTest {
             assertThatThrownBy(() -> categoryService.updateCategory(categoryId, updateDto))
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("Cannot move category to its own descendant");
+            verify(categoryClosureRepository, never()).detachSubtree(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Inventory Dashboard Tests")
+    class InventoryDashboardTests {
+
+        @Test
+        @DisplayName("Should return category inventory with subcategories")
+        void shouldReturnCategoryInventoryWithSubcategories() {
+
+            when(inventoryRollupRepository.findDashboardRows(1L))
+                    .thenReturn(
+                            List.of(
+                                    rollupRow(1L, "Electronics", 0, 3L),
+                                    rollupRow(2L, "Phones", 1, 3L),
+                                    rollupRow(3L, "Cameras", 1, null)));
+
+            CategoryInventorySummary result = categoryService.getInventoryDashboard(1L);
+
+            assertThat(result.getCategoryId()).isEqualTo(1L);
+            assertThat(result.getSkuCount()).isEqualTo(3L);
+            assertThat(result.getStockUnits()).isEqualTo(30L);
+            assertThat(result.getStockValue()).isEqualByComparingTo("300");
+            assertThat(result.getLowStockCount()).isEqualTo(1L);
+            assertThat(result.getSubcategories())
+                    .extracting(CategoryInventorySummary::getCategoryName)
+                    .containsExactly("Phones", "Cameras");
+            // categories without a rollup row hold no inventory
+            assertThat(result.getSubcategories().get(1).getSkuCount()).isZero();
+            assertThat(result.getSubcategories().get(1).getStockValue()).isEqualByComparingTo(BigDecimal.ZERO);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when category not found")
+        void shouldThrowExceptionWhenCategoryNotFound() {
+
+            when(inventoryRollupRepository.findDashboardRows(999L)).thenReturn(List.of());
+
+            assertThatThrownBy(() -> categoryService.getInventoryDashboard(999L))
+                    .isInstanceOf(EntityNotFoundException.class);
         }
     }
 
@@ -411,47 +571,54 @@ class CategoryServiceTest extends BaseUnitTest {
             Long categoryId = 1L;
             Category category = createValidCategory();
             category.setId(categoryId);
+            category.setPath("/1/");
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(categoryRepository.countProductsByCategoryId(categoryId)).thenReturn(0L);
-            when(categoryRepository.findByParentId(categoryId)).thenReturn(new ArrayList<>());
+            when(categoryRepository.softDeleteSubtree(eq("/1/"), any(LocalDateTime.class))).thenReturn(1);
 
             categoryService.deleteCategory(categoryId);
 
             verify(categoryRepository).findById(categoryId);
-            verify(categoryRepository).countProductsByCategoryId(categoryId);
-            verify(categoryRepository).findByParentId(categoryId);
-            // Verify that the category was marked as deleted (not saved)
-            assertThat(category.getDeletedAt()).isNotNull();
+            verify(categoryRepository, never()).countProductsByCategoryId(any());
+            verify(categoryRepository).softDeleteSubtree(eq("/1/"), any(LocalDateTime.class));
         }
 
         @Test
-        @DisplayName("Should delete category with children")
+        @DisplayName("Should delete category with children in one statement")
         void shouldDeleteCategoryWithChildren() {
 
             Long categoryId = 1L;
             Category category = createValidCategory();
             category.setId(categoryId);
-
-            // Create children
-            Category child1 = createValidCategory();
-            child1.setId(2L);
-            child1.setParent(category);
+            category.setPath("/1/");
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(categoryRepository.countProductsByCategoryId(categoryId)).thenReturn(0L);
-            when(categoryRepository.findByParentId(categoryId)).thenReturn(List.of(child1));
-            when(categoryRepository.findByParentId(2L)).thenReturn(new ArrayList<>());
+            when(categoryRepository.softDeleteSubtree(eq("/1/"), any(LocalDateTime.class))).thenReturn(3);
 
             categoryService.deleteCategory(categoryId);
-            // verify soft delete was applied recursively
-            verify(categoryRepository).findById(categoryId);
-            verify(categoryRepository).countProductsByCategoryId(categoryId);
-            verify(categoryRepository).findByParentId(categoryId);
-            verify(categoryRepository).findByParentId(2L);
 
-            // Verify both category and child were marked as deleted
-            assertThat(category.getDeletedAt()).isNotNull();
-            assertThat(child1.getDeletedAt()).isNotNull();
+            // verify the subtree was deleted without walking it
+            verify(categoryRepository).softDeleteSubtree(eq("/1/"), any(LocalDateTime.class));
+            verify(categoryClosureRepository).deleteSubtree(categoryId);
+            verify(categoryRepository, never()).findByParentId(any());
+            verify(categoryRepository, never()).findAllDescendantsByPath(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when a descendant category has products")
+        void shouldThrowExceptionWhenDescendantHasProducts() {
+
+            Long categoryId = 1L;
+            Category category = createValidCategory();
+            category.setId(categoryId);
+            category.setPath("/1/");
+
+            when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+            when(categoryRepository.findProductCountsById(categoryId)).thenReturn(Optional.of(productCounts(0, 2)));
+
+            assertThatThrownBy(() -> categoryService.deleteCategory(categoryId))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("products in descendant categories");
+            verify(categoryRepository, never()).softDeleteSubtree(any(), any());
         }
 
         @Test
@@ -459,7 +626,7 @@ class CategoryServiceTest extends BaseUnitTest {
         void shouldThrowExceptionWhenCategoryHasProducts() {
 
             when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(categoryRepository.countProductsByCategoryId(1L)).thenReturn(5L);
+            when(categoryRepository.findProductCountsById(1L)).thenReturn(Optional.of(productCounts(5, 5)));
 
             assertThatThrownBy(() -> categoryService.deleteCategory(1L))
                     .isInstanceOf(BusinessException.class)
@@ -479,36 +646,73 @@ class CategoryServiceTest extends BaseUnitTest {
         }
 
         @Test
-        @DisplayName("Should delete deep hierarchy recursively")
-        void shouldDeleteDeepHierarchyRecursively() {
+        @DisplayName("Should delete only the category itself when its path is malformed")
+        void shouldDeleteOnlyCategoryWhenPathIsMalformed() {
+
+            Long categoryId = 1L;
+            Category category = createValidCategory();
+            category.setId(categoryId);
+
+            when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+
+            categoryService.deleteCategory(categoryId);
+
+            assertThat(category.getDeletedAt()).isNotNull();
+            verify(categoryRepository, never()).softDeleteSubtree(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Activation Tests")
+    class ActivationTests {
+
+        @Test
+        @DisplayName("Should deactivate category subtree in one statement")
+        void shouldDeactivateCategorySubtree() {
 
-            Long rootId = 1L;
-            Category root = createValidCategory();
-            root.setId(rootId);
+            Category category = createValidCategory();
+            category.setId(1L);
+            category.setPath("/1/");
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+            when(categoryRepository.updateSubtreeActive(eq("/1/"), eq(false), any(LocalDateTime.class))).thenReturn(4);
 
-            Category level1 = createValidCategory();
-            level1.setId(2L);
-            level1.setParent(root);
+            categoryService.deactivateCategory(1L);
 
-            Category level2 = createValidCategory();
-            level2.setId(3L);
-            level2.setParent(level1);
+            verify(categoryRepository).updateSubtreeActive(eq("/1/"), eq(false), any(LocalDateTime.class));
+            verify(categoryRepository, never()).save(any());
+        }
 
-            when(categoryRepository.findById(rootId)).thenReturn(Optional.of(root));
-            when(categoryRepository.countProductsByCategoryId(rootId)).thenReturn(0L);
-            when(categoryRepository.findByParentId(rootId)).thenReturn(List.of(level1));
-            when(categoryRepository.findByParentId(2L)).thenReturn(List.of(level2));
-            when(categoryRepository.findByParentId(3L)).thenReturn(new ArrayList<>());
+        @Test
+        @DisplayName("Should activate category subtree in one statement")
+        void shouldActivateCategorySubtree() {
 
-            categoryService.deleteCategory(rootId);
+            Category category = createValidCategory();
+            category.setId(1L);
+            category.setPath("/1/");
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+            when(categoryRepository.updateSubtreeActive(eq("/1/"), eq(true), any(LocalDateTime.class))).thenReturn(2);
 
-            verify(categoryRepository).findByParentId(rootId);
-            verify(categoryRepository).findByParentId(2L);
-            verify(categoryRepository).findByParentId(3L);
+            categoryService.activateCategory(1L, true);
 
-            assertThat(root.getDeletedAt()).isNotNull();
-            assertThat(level1.getDeletedAt()).isNotNull();
-            assertThat(level2.getDeletedAt()).isNotNull();
+            verify(categoryRepository).updateSubtreeActive(eq("/1/"), eq(true), any(LocalDateTime.class));
+            verify(categoryRepository, never()).findByParentId(any());
+        }
+
+        @Test
+        @DisplayName("Should activate only the category when children are excluded")
+        void shouldActivateOnlyCategory() {
+
+            Category category = createValidCategory();
+            category.setId(1L);
+            category.setPath("/1/");
+            category.setIsActive(false);
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+            when(categoryRepository.save(category)).thenReturn(category);
+
+            categoryService.activateCategory(1L, false);
+
+            assertThat(category.getIsActive()).isTrue();
+            verify(categoryRepository, never()).updateSubtreeActive(any(), eq(true), any());
         }
     }
 
@@ -558,21 +762,22 @@ class CategoryServiceTest extends BaseUnitTest {
         @DisplayName("Should return root categories")
         void shouldReturnRootCategories() {
 
-            List<Category> rootCategories = Collections.singletonList(testCategory);
-            when(categoryRepository.findAllRootCategories()).thenReturn(rootCategories);
+            when(categoryTreeService.current())
+                    .thenReturn(CategoryTree.of(1, List.of(node(1L, null, "Electronics", 1), node(2L, 1L, "Smartphones", 1))));
 
             List<CategoryDto> result = categoryService.getRootCategories();
 
             assertThat(result).isNotNull();
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getName()).isEqualTo("Electronics");
+            assertThat(result.get(0).getChildrenCount()).isEqualTo(1);
         }
 
         @Test
         @DisplayName("Should return empty list when no root categories exist")
         void shouldReturnEmptyListWhenNoRootCategoriesExist() {
 
-            when(categoryRepository.findAllRootCategories()).thenReturn(new ArrayList<>());
+            when(categoryTreeService.current()).thenReturn(CategoryTree.of(1, List.of()));
 
             List<CategoryDto> result = categoryService.getRootCategories();
 
@@ -589,18 +794,16 @@ class CategoryServiceTest extends BaseUnitTest {
         @DisplayName("Should return subcategories of parent")
         void shouldReturnSubcategoriesOfParent() {
 
-            Category subcategory =
-                    TestDataFactory.category().withName("Smartphones").withParent(testCategory).build();
-
-            when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(categoryRepository.findByParentId(1L))
-                    .thenReturn(Collections.singletonList(subcategory));
+            when(categoryTreeService.current())
+                    .thenReturn(CategoryTree.of(1, List.of(node(1L, null, "Electronics", 1), node(2L, 1L, "Smartphones", 1))));
 
             List<CategoryDto> result = categoryService.getChildCategories(1L);
 
             assertThat(result).isNotNull();
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getName()).isEqualTo("Smartphones");
+            assertThat(result.get(0).getParentName()).isEqualTo("Electronics");
+            verify(categoryRepository, never()).findByParentId(any());
         }
 
         @Test
@@ -608,6 +811,7 @@ class CategoryServiceTest extends BaseUnitTest {
         void shouldThrowExceptionWhenParentCategoryNotFound() {
 
             Long parentId = 999L;
+            when(categoryTreeService.current()).thenReturn(CategoryTree.of(1, List.of()));
             when(categoryRepository.findById(parentId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> categoryService.getChildCategories(parentId))
@@ -619,14 +823,52 @@ class CategoryServiceTest extends BaseUnitTest {
         @DisplayName("Should return empty list when no child categories exist")
         void shouldReturnEmptyListWhenNoChildCategoriesExist() {
 
-            when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(categoryRepository.findByParentId(1L)).thenReturn(new ArrayList<>());
+            when(categoryTreeService.current())
+                    .thenReturn(CategoryTree.of(1, List.of(node(1L, null, "Electronics", 1))));
 
             List<CategoryDto> result = categoryService.getChildCategories(1L);
 
             assertThat(result).isNotNull();
             assertThat(result).isEmpty();
         }
+
+        @Test
+        @DisplayName("Should read through the transaction when category is newer than the snapshot")
+        void shouldReadThroughWhenCategoryIsNewerThanSnapshot() {
+
+            when(categoryTreeService.current()).thenReturn(CategoryTree.of(1, List.of()));
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(categoryTreeService.readOwnWrites())
+                    .thenReturn(CategoryTree.of(1, List.of(node(1L, null, "Electronics", 1), node(2L, 1L, "Smartphones", 1))));
+
+            List<CategoryDto> result = categoryService.getChildCategories(1L);
+
+            assertThat(result).extracting(CategoryDto::getName).containsExactly("Smartphones");
+        }
+    }
+
+    @Nested
+    @DisplayName("getCategoryPath Tests")
+    class GetCategoryPathTests {
+
+        @Test
+        @DisplayName("Should return categories from root to target")
+        void shouldReturnCategoriesFromRootToTarget() {
+
+            when(categoryTreeService.current())
+                    .thenReturn(
+                            CategoryTree.of(
+                                    1,
+                                    List.of(
+                                            node(1L, null, "Electronics", 1),
+                                            node(2L, 1L, "Phones", 1),
+                                            node(3L, 2L, "Smartphones", 1))));
+
+            List<CategoryDto> result = categoryService.getCategoryPath(3L);
+
+            assertThat(result).extracting(CategoryDto::getId).containsExactly(1L, 2L, 3L);
+            assertThat(result.get(2).getPathNames()).containsExactly("Electronics", "Phones", "Smartphones");
+        }
     }
 
     @Nested
@@ -771,8 +1013,6 @@ class CategoryServiceTest extends BaseUnitTest {
             category.setId(categoryId);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(categoryRepository.countProductsByCategoryId(categoryId)).thenReturn(0L);
-            when(categoryRepository.findByParentId(categoryId)).thenReturn(new ArrayList<>());
 
             categoryService.deleteCategory(categoryId);
 
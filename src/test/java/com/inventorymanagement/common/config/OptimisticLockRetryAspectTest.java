@@ -0,0 +1,116 @@
+package com.inventorymanagement.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Unit tests for OptimisticLockRetryAspect
+ */
+@DisplayName("OptimisticLockRetryAspect Unit Tests")
+class OptimisticLockRetryAspectTest {
+
+    private ConflictMetrics conflictMetrics;
+
+    @BeforeEach
+    void setUp() {
+        conflictMetrics = new ConflictMetrics();
+    }
+
+    @Test
+    @DisplayName("Should retry a conflicting call until it succeeds")
+    void retriesUntilSuccess() {
+        ConflictingService target = new ConflictingService(2);
+        ConflictingService service = proxy(target, 3, 32);
+
+        assertThat(service.update()).isEqualTo("updated");
+        assertThat(target.calls).isEqualTo(3);
+
+        Map<String, Long> counters = conflictMetrics.snapshot().get("ConflictingService.update");
+        assertThat(counters).containsEntry("conflicts", 2L).containsEntry("retries", 2L);
+        assertThat(counters).containsEntry("recovered", 1L).containsEntry("exhausted", 0L);
+        assertThat(counters).containsEntry("retries_in_flight", 0L);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the conflict once the attempts are used up")
+    void givesUpAfterMaxAttempts() {
+        ConflictingService target = new ConflictingService(10);
+        ConflictingService service = proxy(target, 3, 32);
+
+        assertThatThrownBy(service::update).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.calls).isEqualTo(3);
+
+        Map<String, Long> counters = conflictMetrics.snapshot().get("ConflictingService.update");
+        assertThat(counters).containsEntry("conflicts", 3L).containsEntry("exhausted", 1L);
+        assertThat(counters).containsEntry("retries_in_flight", 0L);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the threshold of retrying calls is reached")
+    void failsFastAtThreshold() {
+        ConflictingService target = new ConflictingService(1);
+        ConflictingService service = proxy(target, 3, 0);
+
+        assertThatThrownBy(service::update).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.calls).isEqualTo(1);
+
+        Map<String, Long> counters = conflictMetrics.snapshot().get("ConflictingService.update");
+        assertThat(counters).containsEntry("failed_fast", 1L).containsEntry("retries", 0L);
+    }
+
+    @Test
+    @DisplayName("Should not retry other exceptions")
+    void doesNotRetryOtherExceptions() {
+        ConflictingService target = new ConflictingService(0);
+        ConflictingService service = proxy(target, 3, 32);
+
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+        assertThat(target.calls).isEqualTo(1);
+        assertThat(conflictMetrics.snapshot()).containsKey("ConflictingService.fail");
+        assertThat(conflictMetrics.snapshot().get("ConflictingService.fail")).containsEntry("conflicts", 0L);
+    }
+
+    // ===== HELPER METHODS =====
+
+    private ConflictingService proxy(ConflictingService target, int maxAttempts, int failFastThreshold) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OptimisticLockRetryAspect(conflictMetrics, maxAttempts, 1, 2, failFastThreshold));
+        return factory.getProxy();
+    }
+
+    /**
+     * Target whose update fails with a version conflict a given number of times.
+     */
+    static class ConflictingService {
+
+        private final int conflicts;
+        int calls;
+
+        ConflictingService(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @RetryOnConflict
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "updated";
+        }
+
+        @RetryOnConflict
+        public String fail() {
+            calls++;
+            throw new IllegalStateException("not a conflict");
+        }
+    }
+}
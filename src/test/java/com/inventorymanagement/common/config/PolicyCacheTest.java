@@ -0,0 +1,110 @@
+package com.inventorymanagement.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PolicyCache and PolicyCacheManager
+ */
+@DisplayName("PolicyCache Unit Tests")
+class PolicyCacheTest {
+
+    @Test
+    @DisplayName("Should evict entries beyond the maximum size")
+    void boundedBySize() {
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setMaxSize(10L);
+        PolicyCache cache = new PolicyCache("sized", policy);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "value-" + i);
+        }
+        cache.getNativeCache().cleanUp();
+
+        assertThat(cache.getNativeCache().estimatedSize()).isLessThanOrEqualTo(10);
+        assertThat(cache.getStatistics().getEvictions()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    @DisplayName("Should weigh collections by their size")
+    void boundedByWeight() {
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setMaxWeight(20L);
+        PolicyCache cache = new PolicyCache("weighted", policy);
+
+        cache.put("a", List.of(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        cache.put("b", List.of(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        cache.getNativeCache().cleanUp();
+        assertThat(cache.getStatistics().getWeightedSize()).isEqualTo(20L);
+
+        cache.put("c", List.of(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        cache.getNativeCache().cleanUp();
+        assertThat(cache.getStatistics().getWeightedSize()).isLessThanOrEqualTo(20L);
+        assertThat(cache.getStatistics().getEvictions()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let one reader reload an entry due for refresh")
+    void refreshAhead() throws InterruptedException {
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setTtl(Duration.ofMinutes(1));
+        policy.setRefreshAfter(Duration.ofMillis(20));
+        PolicyCache cache = new PolicyCache("refreshed", policy);
+
+        cache.put("key", "old");
+        assertThat(cache.get("key").get()).isEqualTo("old");
+
+        Thread.sleep(30);
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.get("key").get()).isEqualTo("old");
+
+        cache.put("key", "new");
+        assertThat(cache.get("key").get()).isEqualTo("new");
+        assertThat(cache.getStatistics().getRefreshes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the entries under a tag")
+    void evictsByTag() {
+        PolicyCache cache = new PolicyCache("tagged", new CachePolicyProperties().getDefaults());
+        cache.setTagger((key, value) -> List.of("group:" + value.toString().charAt(0)));
+
+        cache.put(1, "a1");
+        cache.put(2, "a2");
+        cache.put(3, "b1");
+
+        assertThat(cache.evictTag("group:a")).isEqualTo(2);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.get(3).get()).isEqualTo("b1");
+
+        cache.put(3, "a3");
+        assertThat(cache.evictTag("group:b")).isZero();
+        assertThat(cache.evictTag("group:a")).isEqualTo(1);
+        assertThat(cache.getStatistics().getTags()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply configured policies and fall back to the defaults")
+    void managerPolicies() {
+        CachePolicyProperties properties = new CachePolicyProperties();
+        CachePolicyProperties.Policy skus = new CachePolicyProperties.Policy();
+        skus.setMaxWeight(500L);
+        properties.getCaches().put("skus", skus);
+        PolicyCacheManager manager = new PolicyCacheManager(properties);
+
+        PolicyCache configured = manager.getCache("skus");
+        assertThat(configured.getPolicy().getMaxWeight()).isEqualTo(500L);
+        assertThat(configured.getPolicy().getMaxSize()).isNull();
+        assertThat(configured.getPolicy().getTtl()).isEqualTo(Duration.ofMinutes(10));
+
+        PolicyCache other = manager.getCache("other");
+        assertThat(other.getPolicy().getMaxSize()).isEqualTo(10_000L);
+        assertThat(manager.getCacheNames()).containsExactlyInAnyOrder("skus", "other");
+        assertThat(manager.getStatistics()).extracting(PolicyCache.CacheStatistics::getName).containsExactly("other", "skus");
+    }
+}
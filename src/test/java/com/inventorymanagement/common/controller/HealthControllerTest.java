@@ -57,6 +57,20 @@ class HealthControllerTest {
                 .andExpect(jsonPath("$.database.status").value("UP"));
     }
 
+    /**
+     * Test the cache metrics endpoint.
+     */
+    @Test
+    void testCachesEndpoint() throws Exception {
+        mockMvc
+                .perform(get("/v1/health/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.caches[?(@.name == 'skus')].hits").exists())
+                .andExpect(jsonPath("$.caches[?(@.name == 'skus')].evictions").exists())
+                .andExpect(jsonPath("$.caches[?(@.name == 'skus')].refreshes").exists());
+    }
+
     /**
      * Test the readiness probe endpoint.
      */
@@ -0,0 +1,48 @@
+package com.inventorymanagement.common.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EntityTag Tests")
+class EntityTagTest {
+
+    private final EntityTag tag = EntityTag.of("sku", 1L, new Object[] {3L, 0L, 0L});
+
+    @Test
+    @DisplayName("Should derive a quoted strong tag from the same values")
+    void shouldDeriveStableStrongTag() {
+        assertThat(tag.getValue()).startsWith("\"sku-").endsWith("\"").doesNotStartWith("W/");
+        assertThat(EntityTag.of("sku", 1L, new Object[] {3L, 0L, 0L})).isEqualTo(tag);
+    }
+
+    @Test
+    @DisplayName("Should derive a different tag when a version or type differs")
+    void shouldDeriveDifferentTagWhenValuesDiffer() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        assertThat(EntityTag.of("sku", 1L, new Object[] {4L, 0L, 0L})).isNotEqualTo(tag);
+        assertThat(EntityTag.of("product", 1L, new Object[] {3L, 0L, 0L})).isNotEqualTo(tag);
+        assertThat(EntityTag.of("list", 2L, 7L, updatedAt))
+                .isNotEqualTo(EntityTag.of("list", 2L, 7L, updatedAt.plusNanos(1000)));
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, weak tags and wildcard")
+    void shouldMatchIfNoneMatch() {
+        assertThat(tag.matches(tag.getValue())).isTrue();
+        assertThat(tag.matches("\"other\", " + tag.getValue())).isTrue();
+        assertThat(tag.matches("W/" + tag.getValue())).isTrue();
+        assertThat(tag.matches("*")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not match missing or different tags")
+    void shouldNotMatchMissingOrDifferentTags() {
+        assertThat(tag.matches(null)).isFalse();
+        assertThat(tag.matches(" ")).isFalse();
+        assertThat(tag.matches("\"other\"")).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package com.inventorymanagement.common.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.inventorymanagement.common.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for KeysetCursor
+ */
+@DisplayName("KeysetCursor Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip a cursor through its token")
+    void shouldRoundTripThroughToken() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123456000), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("|", "=", "+", "/");
+        assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should start before every row when no token is given")
+    void shouldStartBeforeEveryRowWithoutToken() {
+        KeysetCursor start = KeysetCursor.decode(null);
+
+        assertThat(KeysetCursor.decode("  ")).isEqualTo(start);
+        assertThat(start.getId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(start.getCreatedAt()).isAfter(LocalDateTime.now().plusYears(100));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedTokens() {
+        String missingId =
+                Base64.getUrlEncoder()
+                        .encodeToString("2025-01-15T10:30".getBytes(StandardCharsets.UTF_8));
+        String badDate =
+                Base64.getUrlEncoder().encodeToString("yesterday|5".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode("***")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(missingId)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(badDate)).isInstanceOf(ValidationException.class);
+    }
+}
@@ -557,4 +557,57 @@ class PagedResponseTest {
             assertThat(links1.hashCode()).isEqualTo(links2.hashCode());
         }
     }
+
+    @Nested
+    @DisplayName("Cursor Pagination Tests")
+    class CursorPaginationTests {
+
+        @Test
+        @DisplayName("Should create PagedResponse from a cursor page with a next link")
+        void shouldCreateFromCursorPageWithBaseUrl() {
+            CursorPage<String> page = new CursorPage<>(List.of("item1", "item2"), 2, "abc");
+
+            PagedResponse<String> response = PagedResponse.of(page, "http://test.com");
+
+            assertThat(response.getContent()).containsExactly("item1", "item2");
+            assertThat(response.getMeta()).isNull();
+            assertThat(response.getCursor().getPageSize()).isEqualTo(2);
+            assertThat(response.getCursor().isHasNext()).isTrue();
+            assertThat(response.getCursor().getNextCursor()).isEqualTo("abc");
+            assertThat(response.getLinks().getNext()).isEqualTo("http://test.com?cursor=abc&size=2");
+        }
+
+        @Test
+        @DisplayName("Should keep the filters of a base URL with a query string in the next link")
+        void shouldAppendCursorToBaseUrlQuery() {
+            CursorPage<String> page = new CursorPage<>(List.of("item1", "item2"), 2, "abc");
+
+            PagedResponse<String> response = PagedResponse.of(page, "http://test.com?skuId=1");
+
+            assertThat(response.getLinks().getNext()).isEqualTo("http://test.com?skuId=1&cursor=abc&size=2");
+        }
+
+        @Test
+        @DisplayName("Should replace the cursor of the base URL and encode the next cursor")
+        void shouldReplaceAndEncodeCursor() {
+            CursorPage<String> page = new CursorPage<>(List.of("item1", "item2"), 2, "a b/c&d");
+
+            PagedResponse<String> response = PagedResponse.of(page, "http://test.com?referenceId=PO%201&cursor=old&size=5");
+
+            assertThat(response.getLinks().getNext())
+                    .isEqualTo("http://test.com?referenceId=PO%201&cursor=a%20b%2Fc%26d&size=2");
+        }
+
+        @Test
+        @DisplayName("Should omit links on the last cursor page")
+        void shouldOmitLinksOnLastCursorPage() {
+            CursorPage<String> page = new CursorPage<>(List.of("item1"), 2, null);
+
+            PagedResponse<String> response = PagedResponse.of(page, "http://test.com");
+
+            assertThat(response.getCursor().isHasNext()).isFalse();
+            assertThat(response.getCursor().getNextCursor()).isNull();
+            assertThat(response.getLinks()).isNull();
+        }
+    }
 }
@@ -17,6 +17,7 @@ import com.inventorymanagement.inventory.repository.InventoryTransactionReposito
 import com.inventorymanagement.inventory.repository.SkuRepository;
 import com.inventorymanagement.inventory.service.InventoryService;
 import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.model.ProductDto;
 import com.inventorymanagement.product.repository.ProductRepository;
 import com.inventorymanagement.product.service.ProductService;
 import jakarta.persistence.EntityManager;
@@ -96,10 +97,11 @@ class EdgeCaseIntegrationTest extends BaseApiTest {
         @DisplayName("Should handle database constraint violations during cascading operations")
         @Transactional
         void shouldHandleDatabaseConstraintViolationsDuringCascadingOperations() {
-            // Create products and SKUs dependent on category
-            Product product1 =
-                    TestDataFactory.product().withName("Product 1").withCategory(testCategory).build();
-            productRepository.save(product1);
+            // Create products and SKUs dependent on category; the service keeps the category's product counts
+            ProductDto product1 = new ProductDto();
+            product1.setName("Product 1");
+            product1.setCategoryId(testCategory.getId());
+            productService.createProduct(product1);
 
             // Then - Try to delete category that has dependent products
             assertThatThrownBy(() -> categoryService.deleteCategory(testCategory.getId()))
@@ -466,15 +468,11 @@ class EdgeCaseIntegrationTest extends BaseApiTest {
             childCategoryDto.setParentId(createdParent.getId());
             CategoryDto createdChild = categoryService.createCategory(childCategoryDto);
 
-            // Get the actual category entities for product creation
-            Category childCategory = categoryRepository.findById(createdChild.getId()).orElseThrow();
-
-            Product categoryProduct =
-                    productRepository.save(
-                            TestDataFactory.product()
-                                    .withName("Category Product")
-                                    .withCategory(childCategory)
-                                    .build());
+            // Create the product through the service, which keeps the categories' product counts
+            ProductDto categoryProductDto = new ProductDto();
+            categoryProductDto.setName("Category Product");
+            categoryProductDto.setCategoryId(createdChild.getId());
+            ProductDto categoryProduct = productService.createProduct(categoryProductDto);
             // Delete parent category
             Long parentCategoryId = createdParent.getId();
             assertThatThrownBy(() -> categoryService.deleteCategory(parentCategoryId))
@@ -1,9 +1,12 @@
 package com.inventorymanagement.inventory.controller;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,6 +14,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -20,10 +25,28 @@ import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.GlobalExceptionHandler;
 import com.inventorymanagement.common.exception.ValidationException;
 import com.inventorymanagement.common.model.BulkOperationRequest;
+import com.inventorymanagement.common.model.CursorPage;
+import com.inventorymanagement.common.model.EntityTag;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.ReservationHold;
+import com.inventorymanagement.inventory.model.ReservationHoldDto;
+import com.inventorymanagement.inventory.model.Sku;
 import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.model.StockReservationRequest;
+import com.inventorymanagement.inventory.model.StockReservationResult;
+import com.inventorymanagement.inventory.service.IdempotencyService;
 import com.inventorymanagement.inventory.service.InventoryService;
+import com.inventorymanagement.inventory.service.LedgerExportService;
+import com.inventorymanagement.inventory.service.LedgerReplayService;
+import com.inventorymanagement.inventory.service.LedgerVerificationService;
+import com.inventorymanagement.inventory.service.ReservationHoldService;
 import com.inventorymanagement.inventory.service.SkuService;
+import com.inventorymanagement.inventory.service.SkuStockShardService;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -39,6 +62,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
@@ -53,6 +77,8 @@ import org.springframework.test.web.servlet.MockMvc;
 @DisplayName("SkuController Tests")
 class SkuControllerTest {
 
+    private static final EntityTag SKU_TAG = EntityTag.of("sku", 1L, 3L);
+
     @Autowired private MockMvc mockMvc;
 
     @Autowired private ObjectMapper objectMapper;
@@ -61,6 +87,18 @@ class SkuControllerTest {
 
     @MockBean private InventoryService inventoryService;
 
+    @MockBean private IdempotencyService idempotencyService;
+
+    @MockBean private ReservationHoldService reservationHoldService;
+
+    @MockBean private SkuStockShardService stockShardService;
+
+    @MockBean private LedgerReplayService ledgerReplayService;
+
+    @MockBean private LedgerExportService ledgerExportService;
+
+    @MockBean private LedgerVerificationService ledgerVerificationService;
+
     private SkuDto testSku;
     private SkuDto testSku2;
 
@@ -73,6 +111,10 @@ class SkuControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(skuService.getSkuTag(any())).thenReturn(SKU_TAG);
+        when(skuService.getSkuTagByCode(any())).thenReturn(SKU_TAG);
+        when(skuService.getSkusByProductTag(any(), any())).thenReturn(SKU_TAG);
+
         testSku = new SkuDto();
         testSku.setId(1L);
         testSku.setSkuCode("TEST-SKU-001");
@@ -144,6 +186,37 @@ class SkuControllerTest {
             verify(skuService).getSkuById(1L);
         }
 
+        @Test
+        void getSkuById_ReturnsEntityTag() throws Exception {
+            when(skuService.getSkuById(1L)).thenReturn(testSku);
+
+            mockMvc
+                    .perform(get("/v1/skus/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, SKU_TAG.getValue()));
+        }
+
+        @Test
+        void getSkuById_NotModified() throws Exception {
+            mockMvc
+                    .perform(get("/v1/skus/1").header(HttpHeaders.IF_NONE_MATCH, SKU_TAG.getValue()))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, SKU_TAG.getValue()))
+                    .andExpect(content().string(""));
+
+            verify(skuService, never()).getSkuById(any());
+        }
+
+        @Test
+        void getSkuById_StaleEntityTag() throws Exception {
+            when(skuService.getSkuById(1L)).thenReturn(testSku);
+
+            mockMvc
+                    .perform(get("/v1/skus/1").header(HttpHeaders.IF_NONE_MATCH, "\"sku-stale\""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.id").value(1));
+        }
+
         @Test
         void getSkuById_NotFound() throws Exception {
             when(skuService.getSkuById(999L)).thenThrow(new EntityNotFoundException("SKU", 999L));
@@ -318,6 +391,15 @@ class SkuControllerTest {
             verify(skuService).getSkusByProduct(eq(1L), any(Pageable.class));
         }
 
+        @Test
+        void getSkusByProduct_NotModified() throws Exception {
+            mockMvc
+                    .perform(get("/v1/skus/product/1").header(HttpHeaders.IF_NONE_MATCH, SKU_TAG.getValue()))
+                    .andExpect(status().isNotModified());
+
+            verify(skuService, never()).getSkusByProduct(any(), any());
+        }
+
         @Test
         void getLowStockSkus_Success() throws Exception {
             Page<SkuDto> skusPage = new PageImpl<>(Collections.singletonList(testSku));
@@ -395,6 +477,23 @@ class SkuControllerTest {
             verify(skuService).reserveStock(1L, 3);
         }
 
+        @Test
+        void reserveStock_WithIdempotencyKey_UsesIdempotencyService() throws Exception {
+            when(idempotencyService.execute(eq("retry-1"), eq("RESERVE"), eq(1L), eq(3), any()))
+                    .thenReturn(testSku);
+
+            mockMvc
+                    .perform(
+                            post("/v1/skus/1/stock/reserve")
+                                    .param("quantity", "3")
+                                    .header("Idempotency-Key", "retry-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.sku_code").value("TEST-SKU-001"));
+
+            verify(idempotencyService).execute(eq("retry-1"), eq("RESERVE"), eq(1L), eq(3), any());
+            verify(skuService, times(0)).reserveStock(1L, 3);
+        }
+
         @Test
         void releaseStock_Success() throws Exception {
             when(skuService.releaseStock(1L, 2)).thenReturn(testSku);
@@ -407,6 +506,203 @@ class SkuControllerTest {
 
             verify(skuService).releaseStock(1L, 2);
         }
+
+        @Test
+        void createReservationHold_Success() throws Exception {
+            ReservationHoldDto hold = new ReservationHoldDto();
+            hold.setId(7L);
+            hold.setSkuId(1L);
+            hold.setQuantity(2);
+            hold.setReferenceId("CART-1");
+            hold.setStatus(ReservationHold.HoldStatus.ACTIVE);
+            when(reservationHoldService.createHold(1L, 2, 600L, "CART-1")).thenReturn(hold);
+
+            mockMvc
+                    .perform(
+                            post("/v1/skus/1/stock/holds")
+                                    .param("quantity", "2")
+                                    .param("ttlSeconds", "600")
+                                    .param("referenceId", "CART-1"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.id").value(7))
+                    .andExpect(jsonPath("$.data.status").value("ACTIVE"));
+
+            verify(reservationHoldService).createHold(1L, 2, 600L, "CART-1");
+        }
+
+        @Test
+        void releaseReservationHold_NotActive() throws Exception {
+            when(reservationHoldService.releaseHold(7L))
+                    .thenThrow(new BusinessException("Reservation hold 7 is expired"));
+
+            mockMvc
+                    .perform(post("/v1/skus/stock/holds/7/release"))
+                    .andExpect(status().isUnprocessableEntity());
+        }
+
+        @Test
+        void enableStockSharding_Success() throws Exception {
+            when(skuService.getSkuById(1L)).thenReturn(testSku);
+
+            mockMvc
+                    .perform(put("/v1/skus/1/stock/shards").param("count", "8"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.sku_code").value("TEST-SKU-001"));
+
+            verify(stockShardService).enableSharding(1L, 8);
+        }
+
+        @Test
+        void reserveStockBatch_Success() throws Exception {
+            StockReservationRequest reservationRequest =
+                    new StockReservationRequest(
+                            Arrays.asList(
+                                    new StockReservationRequest.Line(1L, 3),
+                                    new StockReservationRequest.Line(2L, 4)),
+                            "ORDER-1",
+                            "ORDER");
+
+            StockReservationResult result1 = new StockReservationResult();
+            result1.setSkuId(1L);
+            result1.setReservedQuantity(3);
+            StockReservationResult result2 = new StockReservationResult();
+            result2.setSkuId(2L);
+            result2.setReservedQuantity(4);
+            when(skuService.reserveStockBatch(any(StockReservationRequest.class)))
+                    .thenReturn(Arrays.asList(result1, result2));
+
+            mockMvc
+                    .perform(
+                            post("/v1/skus/stock/reservations")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(toJson(reservationRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.message").value("Stock reserved successfully"))
+                    .andExpect(jsonPath("$.data.results.length()").value(2));
+
+            verify(skuService).reserveStockBatch(any(StockReservationRequest.class));
+        }
+
+        @Test
+        void reserveStockBatch_EmptyLines_BadRequest() throws Exception {
+            StockReservationRequest reservationRequest =
+                    new StockReservationRequest(Collections.emptyList(), "ORDER-1", "ORDER");
+
+            mockMvc
+                    .perform(
+                            post("/v1/skus/stock/reservations")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(toJson(reservationRequest)))
+                    .andExpect(status().isBadRequest());
+
+            verify(skuService, times(0)).reserveStockBatch(any(StockReservationRequest.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Transaction History")
+    class TransactionHistory {
+
+        private InventoryTransaction transaction(long id) {
+            Sku sku = new Sku();
+            sku.setId(1L);
+            InventoryTransaction transaction =
+                    new InventoryTransaction(sku, InventoryTransaction.TransactionType.IN, 5);
+            transaction.setId(id);
+            transaction.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 0));
+            return transaction;
+        }
+
+        @Test
+        void getSkuTransactions_Success() throws Exception {
+            when(inventoryService.getTransactionsBySkuId(1L, null, 1))
+                    .thenReturn(new CursorPage<>(List.of(transaction(9L)), 1, "next"));
+
+            mockMvc
+                    .perform(get("/v1/skus/1/transactions").param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.content[0].id").value(9))
+                    .andExpect(jsonPath("$.data.content[0].sku_id").value(1))
+                    .andExpect(jsonPath("$.data.cursor.next_cursor").value("next"))
+                    .andExpect(
+                            jsonPath("$.data.links.next")
+                                    .value("http://localhost/v1/skus/1/transactions?cursor=next&size=1"));
+        }
+
+        @Test
+        void searchTransactions_DateRangeOnly_UsesDateRangeQuery() throws Exception {
+            LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+            LocalDateTime end = LocalDateTime.of(2025, 1, 31, 0, 0);
+            when(inventoryService.getTransactionsByDateRange(start, end, "abc", 20))
+                    .thenReturn(new CursorPage<>(List.of(transaction(9L)), 20, null));
+
+            mockMvc
+                    .perform(
+                            get("/v1/skus/transactions")
+                                    .param("startDate", "2025-01-01T00:00:00")
+                                    .param("endDate", "2025-01-31T00:00:00")
+                                    .param("cursor", "abc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.content.length()").value(1));
+
+            verify(inventoryService, never())
+                    .searchTransactions(any(), any(), any(), any(), any(), any(), any(), any(), anyInt());
+        }
+
+        @Test
+        void searchTransactions_WithFilters_KeepsFiltersInNextLink() throws Exception {
+            when(inventoryService.searchTransactions(
+                            eq(1L), eq(InventoryTransaction.TransactionType.IN), eq("PO 1"), any(), any(), any(), any(), any(), eq(1)))
+                    .thenReturn(new CursorPage<>(List.of(transaction(9L)), 1, "next"));
+
+            mockMvc
+                    .perform(get(URI.create("/v1/skus/transactions?skuId=1&transactionType=IN&referenceId=PO%201&cursor=abc&size=1")))
+                    .andExpect(status().isOk())
+                    .andExpect(
+                            jsonPath("$.data.links.next")
+                                    .value(
+                                            "http://localhost/v1/skus/transactions?skuId=1&transactionType=IN&referenceId=PO%201"
+                                                    + "&cursor=next&size=1"));
+        }
+
+        @Test
+        void exportTransactions_Csv_SetsDownloadHeaders() throws Exception {
+            when(ledgerExportService.export(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                    .thenAnswer(
+                            invocation -> {
+                                OutputStream output = invocation.getArgument(8);
+                                output.write("id\n".getBytes(StandardCharsets.UTF_8));
+                                output.flush();
+                                return 0L;
+                            });
+
+            mockMvc
+                    .perform(get("/v1/skus/transactions/export").param("format", "csv"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/csv")))
+                    .andExpect(
+                            header().string(
+                                    HttpHeaders.CONTENT_DISPOSITION,
+                                    "attachment; filename=\"inventory-transactions.csv\""))
+                    .andExpect(content().string("id\n"));
+        }
+
+        @Test
+        void exportTransactions_InvalidDateRange_BadRequest() throws Exception {
+            when(ledgerExportService.export(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                    .thenThrow(new ValidationException("dateRange", "Start date cannot be after end date"));
+
+            mockMvc
+                    .perform(
+                            get("/v1/skus/transactions/export")
+                                    .param("startDate", "2025-02-01T00:00:00")
+                                    .param("endDate", "2025-01-01T00:00:00"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+        }
     }
 
     @Nested
@@ -0,0 +1,174 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.inventory.model.ArchivedTransaction;
+import com.inventorymanagement.inventory.model.InventoryTransaction.TransactionType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for ArchiveSegment and TransactionArchive
+ */
+@DisplayName("ArchiveSegment Unit Tests")
+class ArchiveSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+
+    @TempDir Path directory;
+
+    @Test
+    @DisplayName("Should read back every column of the rows it wrote")
+    void roundTrip() throws Exception {
+        List<ArchivedTransaction> rows = sampleRows(500);
+
+        ArchiveSegment segment = ArchiveSegment.write(directory, rows);
+        ArchiveSegment reopened = ArchiveSegment.open(segment.getPath());
+
+        List<ArchivedTransaction> read = scanAll(reopened, new TransactionArchive.Filter());
+        assertThat(read).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(read.get(i)).usingRecursiveComparison().isEqualTo(rows.get(i));
+        }
+        assertThat(reopened.getMinId()).isEqualTo(1000);
+        assertThat(reopened.getMaxId()).isEqualTo(1000 + 3 * 499);
+        assertThat(directory.resolve(segment.getPath().getFileName() + ".tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should store rows in far less space than their text form")
+    void compactEncoding() throws Exception {
+        ArchiveSegment segment = ArchiveSegment.write(directory, sampleRows(10_000));
+
+        // The same rows as CSV take well over 100 bytes each
+        assertThat(Files.size(segment.getPath())).isLessThan(10_000L * 25);
+    }
+
+    @Test
+    @DisplayName("Should apply every filter criterion")
+    void filters() throws Exception {
+        ArchiveSegment segment = ArchiveSegment.write(directory, sampleRows(300));
+
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withSkuId(7L)))
+                .isNotEmpty()
+                .allMatch(row -> row.getSkuId() == 7L);
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withSkuId(999L))).isEmpty();
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withTransactionType(TransactionType.OUT)))
+                .isNotEmpty()
+                .allMatch(row -> row.getTransactionType() == TransactionType.OUT);
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withReferenceId("ORDER-43")))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getReferenceType()).isEqualTo("ORDER"));
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withPerformedBy("nobody"))).isEmpty();
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withReferenceType("TRANSFER")))
+                .isNotEmpty()
+                .allMatch(row -> "TRANSFER".equals(row.getReferenceType()));
+
+        LocalDateTime from = START.plusMinutes(10);
+        LocalDateTime to = START.plusMinutes(20);
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withDateRange(from, to)))
+                .hasSize(11)
+                .allMatch(row -> !row.getCreatedAt().isBefore(from) && !row.getCreatedAt().isAfter(to));
+
+        assertThat(scanAll(segment, new TransactionArchive.Filter().withIdRange(1000, 1009)))
+                .extracting(ArchivedTransaction::getId)
+                .containsExactly(1003L, 1006L, 1009L);
+    }
+
+    @Test
+    @DisplayName("Should keep only rows after a keyset cursor")
+    void cursor() throws Exception {
+        ArchiveSegment segment = ArchiveSegment.write(directory, sampleRows(100));
+
+        // Rows 40 and 41 share a creation time; the cursor sits on row 41
+        List<ArchivedTransaction> afterCursor =
+                scanAll(segment, new TransactionArchive.Filter().withCursor(START.plusMinutes(40), 1000L + 3 * 41));
+
+        assertThat(afterCursor)
+                .extracting(ArchivedTransaction::getId)
+                .contains(1000L + 3 * 40)
+                .doesNotContain(1000L + 3 * 41);
+        assertThat(afterCursor).hasSize(41);
+    }
+
+    @Test
+    @DisplayName("Should return the newest matches across segments and reopen them from disk")
+    void archiveAcrossSegments() throws Exception {
+        List<ArchivedTransaction> rows = sampleRows(200);
+        TransactionArchive archive = new TransactionArchive(directory.toString());
+        archive.load();
+        archive.append(rows.subList(0, 120));
+        archive.append(rows.subList(120, 200));
+
+        TransactionArchive reopened = new TransactionArchive(directory.toString());
+        reopened.load();
+
+        assertThat(reopened.getSegmentCount()).isEqualTo(2);
+        assertThat(reopened.getCutoffId()).isEqualTo(rows.get(199).getId());
+        TransactionArchive.Matches newest = reopened.findNewest(new TransactionArchive.Filter(), 5, true);
+        assertThat(newest.getTotalMatches()).isEqualTo(200);
+        assertThat(newest.getRows())
+                .extracting(ArchivedTransaction::getId)
+                .containsExactly(
+                        rows.get(199).getId(),
+                        rows.get(198).getId(),
+                        rows.get(197).getId(),
+                        rows.get(196).getId(),
+                        rows.get(195).getId());
+        assertThat(reopened.findLedgerTail(7L, 0, Long.MAX_VALUE))
+                .hasSize(20)
+                .extracting(row -> (Long) row[0])
+                .isSorted();
+
+        List<List<ArchivedTransaction>> batches = new ArrayList<>();
+        long visited = reopened.forEachOldestFirst(new TransactionArchive.Filter().withSkuId(7L), batches::add);
+        assertThat(visited).isEqualTo(20);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.stream().flatMap(List::stream).map(ArchivedTransaction::getCreatedAt).toList()).isSorted();
+        assertThat(reopened.findDistinctReferenceTypes()).containsExactly("ORDER", "TRANSFER");
+        assertThat(reopened.findDistinctPerformers()).containsExactly("system", "warehouse");
+    }
+
+    // ===== PRIVATE HELPER METHODS =====
+
+    /**
+     * Rows with IDs 1000, 1003, ...; one per minute, except that rows 40 and 41 share a minute; SKUs 1 to 10.
+     */
+    private static List<ArchivedTransaction> sampleRows(int count) {
+        TransactionType[] types = TransactionType.values();
+        List<ArchivedTransaction> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minute = i == 41 ? 40 : i;
+            TransactionType type = types[i % types.length];
+            rows.add(
+                    new ArchivedTransaction(
+                            1000L + 3L * i,
+                            1L + i % 10,
+                            type,
+                            type == TransactionType.ADJUSTMENT ? -(i % 7) - 1 : i % 50 + 1,
+                            i % 4 == 0 ? null : "ORDER-" + i,
+                            i % 4 == 0 ? null : (i % 3 == 0 ? "TRANSFER" : "ORDER"),
+                            i % 5 == 0 ? "Cycle count, \"aisle 3\"" : null,
+                            i % 2 == 0 ? "warehouse" : "system",
+                            START.plusMinutes(minute)));
+        }
+        return rows;
+    }
+
+    private static List<ArchivedTransaction> scanAll(ArchiveSegment segment, TransactionArchive.Filter filter) {
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        segment.scan(
+                filter,
+                row -> {
+                    rows.add(row.toArchivedTransaction());
+                    return true;
+                });
+        return rows;
+    }
+}
@@ -0,0 +1,152 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.model.CategoryInventorySummary;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.category.service.CategoryService;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import com.inventorymanagement.product.service.ProductService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the per-category inventory rollup
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Category Inventory Rollup Integration Tests")
+class CategoryInventoryRollupIntegrationTest {
+
+    @Autowired private CategoryService categoryService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private ProductService productService;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private EntityManager entityManager;
+
+    private Long apparelId;
+    private Long shirtsId;
+    private Long footwearId;
+    private Long productId;
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        apparelId = createCategory("Apparel", null);
+        shirtsId = createCategory("Shirts", apparelId);
+        footwearId = createCategory("Footwear", null);
+
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product()
+                                .withName("Oxford Shirt")
+                                .withCategory(categoryRepository.findById(shirtsId).orElseThrow())
+                                .build());
+
+        productId = product.getId();
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(productId);
+        skuDto.setSkuCode("ROLLUP-SHIRT-001");
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(100);
+        skuDto.setReorderPoint(5);
+        skuId = skuService.createSku(skuDto).getId();
+    }
+
+    @Test
+    @DisplayName("Should roll SKU stock changes up the category path")
+    void shouldRollStockChangesUpCategoryPath() {
+        skuService.addStock(skuId, 20);
+        skuService.reserveStock(skuId, 10);
+        skuService.fulfillOrder(skuId, 10, "ORDER-1", "ORDER", "Shipped", "tester");
+        skuService.removeStock(skuId, 10);
+
+        CategoryInventorySummary apparel = categoryService.getInventoryDashboard(apparelId);
+
+        assertFigures(apparel, 1, 100, "1000.00", 0);
+        assertThat(apparel.getSubcategories()).hasSize(1);
+        assertFigures(apparel.getSubcategories().get(0), 1, 100, "1000.00", 0);
+        assertThat(apparel.getSubcategories().get(0).getCategoryId()).isEqualTo(shirtsId);
+    }
+
+    @Test
+    @DisplayName("Should count SKUs whose stock falls to their reorder point as low on stock")
+    void shouldCountLowStockSkus() {
+        skuService.adjustStock(skuId, -500, "Shrinkage", "tester");
+
+        assertFigures(categoryService.getInventoryDashboard(apparelId), 1, 0, "0.00", 1);
+
+        skuService.addStock(skuId, 6);
+
+        assertFigures(categoryService.getInventoryDashboard(apparelId), 1, 6, "60.00", 0);
+    }
+
+    @Test
+    @DisplayName("Should move a subtree's inventory to its new ancestors")
+    void shouldMoveInventoryWithCategory() {
+        categoryService.moveCategoryToParent(shirtsId, footwearId);
+
+        assertFigures(categoryService.getInventoryDashboard(apparelId), 0, 0, "0.00", 0);
+        assertFigures(categoryService.getInventoryDashboard(footwearId), 1, 100, "1000.00", 0);
+        assertFigures(categoryService.getInventoryDashboard(shirtsId), 1, 100, "1000.00", 0);
+    }
+
+    @Test
+    @DisplayName("Should move a product's inventory to its new category path")
+    void shouldMoveInventoryWithProduct() {
+        Long bootsId = createCategory("Boots", footwearId);
+        // Load the product with its SKUs, as a separate request would
+        entityManager.flush();
+        entityManager.clear();
+
+        productService.moveProductToCategory(productId, bootsId);
+
+        assertFigures(categoryService.getInventoryDashboard(apparelId), 0, 0, "0.00", 0);
+        assertFigures(categoryService.getInventoryDashboard(shirtsId), 0, 0, "0.00", 0);
+        assertFigures(categoryService.getInventoryDashboard(footwearId), 1, 100, "1000.00", 0);
+        assertFigures(categoryService.getInventoryDashboard(bootsId), 1, 100, "1000.00", 0);
+    }
+
+    @Test
+    @DisplayName("Should remove deleted SKUs from the rollup")
+    void shouldRemoveDeletedSkus() {
+        skuService.deleteSku(skuId);
+
+        assertFigures(categoryService.getInventoryDashboard(apparelId), 0, 0, "0.00", 0);
+        assertFigures(categoryService.getInventoryDashboard(shirtsId), 0, 0, "0.00", 0);
+    }
+
+    private Long createCategory(String name, Long parentId) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setName(name);
+        categoryDto.setParentId(parentId);
+        return categoryService.createCategory(categoryDto).getId();
+    }
+
+    private static void assertFigures(
+            CategoryInventorySummary summary, long skuCount, long stockUnits, String stockValue, long lowStockCount) {
+        assertThat(summary.getSkuCount()).isEqualTo(skuCount);
+        assertThat(summary.getStockUnits()).isEqualTo(stockUnits);
+        assertThat(summary.getStockValue()).isEqualByComparingTo(stockValue);
+        assertThat(summary.getLowStockCount()).isEqualTo(lowStockCount);
+    }
+}
@@ -0,0 +1,163 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryInventoryRollupRepository;
+import com.inventorymanagement.common.BaseUnitTest;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService.Contribution;
+import com.inventorymanagement.product.model.Product;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for CategoryInventoryRollupService
+ */
+@DisplayName("CategoryInventoryRollupService Unit Tests")
+class CategoryInventoryRollupServiceTest extends BaseUnitTest {
+
+    @Mock private CategoryInventoryRollupRepository rollupRepository;
+
+    @InjectMocks private CategoryInventoryRollupService rollupService;
+
+    private Sku shirt;
+    private Sku boot;
+
+    @BeforeEach
+    void setUp() {
+        Category apparel = TestDataFactory.category().withId(3L).withPath("/3/").build();
+        Category shirts = TestDataFactory.category().withId(1L).withPath("/3/1/").withParent(apparel).build();
+        Category boots = TestDataFactory.category().withId(2L).withPath("/3/2/").withParent(apparel).build();
+
+        shirt = sku(shirts, "10.00");
+        boot = sku(boots, "50.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(rollupService);
+    }
+
+    private static Sku sku(Category category, String price) {
+        Product product = TestDataFactory.product().withCategory(category).build();
+        return TestDataFactory.sku()
+                .withProduct(product)
+                .withPrice(new BigDecimal(price))
+                .withStockQuantity(20)
+                .withReorderPoint(5)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Outside a Transaction")
+    class OutsideTransactionTests {
+
+        @Test
+        @DisplayName("Should apply a change to the root first, one category per statement")
+        void shouldApplyRootFirst() {
+
+            rollupService.record(Contribution.none(), rollupService.capture(shirt));
+
+            InOrder order = inOrder(rollupRepository);
+            order.verify(rollupRepository)
+                    .applyDelta(eq(3L), eq(1L), eq(20L), eq(new BigDecimal("200.00")), eq(0L), any(LocalDateTime.class));
+            order.verify(rollupRepository)
+                    .applyDelta(eq(1L), eq(1L), eq(20L), eq(new BigDecimal("200.00")), eq(0L), any(LocalDateTime.class));
+            verifyNoMoreInteractions(rollupRepository);
+        }
+
+        @Test
+        @DisplayName("Should leave ancestors shared by both sides of a change untouched")
+        void shouldSkipSharedAncestorsWhenNetChangeIsZero() {
+
+            Contribution before = rollupService.capture(shirt);
+            boot.setStockQuantity(4);
+            Contribution after = rollupService.capture(boot);
+
+            rollupService.record(before, after);
+
+            InOrder order = inOrder(rollupRepository);
+            order.verify(rollupRepository)
+                    .applyDelta(eq(3L), eq(0L), eq(-16L), eq(new BigDecimal("0.00")), eq(1L), any(LocalDateTime.class));
+            order.verify(rollupRepository)
+                    .applyDelta(eq(1L), eq(-1L), eq(-20L), eq(new BigDecimal("-200.00")), eq(0L), any(LocalDateTime.class));
+            order.verify(rollupRepository)
+                    .applyDelta(eq(2L), eq(1L), eq(4L), eq(new BigDecimal("200.00")), eq(1L), any(LocalDateTime.class));
+            verifyNoMoreInteractions(rollupRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Inside a Transaction")
+    class InsideTransactionTests {
+
+        @BeforeEach
+        void beginTransaction() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @Test
+        @DisplayName("Should accumulate changes until the transaction commits")
+        void shouldDeferChangesUntilCommit() {
+
+            rollupService.record(Contribution.none(), rollupService.capture(boot));
+            rollupService.record(Contribution.none(), rollupService.capture(shirt));
+            rollupService.recordStockChange(rollupService.capture(shirt), 20, 25);
+
+            verify(rollupRepository, never())
+                    .applyDelta(anyLong(), anyLong(), anyLong(), any(), anyLong(), any(LocalDateTime.class));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+            }
+
+            InOrder order = inOrder(rollupRepository);
+            order.verify(rollupRepository)
+                    .applyDelta(eq(3L), eq(2L), eq(45L), eq(new BigDecimal("1250.00")), eq(0L), any(LocalDateTime.class));
+            order.verify(rollupRepository)
+                    .applyDelta(eq(1L), eq(1L), eq(25L), eq(new BigDecimal("250.00")), eq(0L), any(LocalDateTime.class));
+            order.verify(rollupRepository)
+                    .applyDelta(eq(2L), eq(1L), eq(20L), eq(new BigDecimal("1000.00")), eq(0L), any(LocalDateTime.class));
+            verifyNoMoreInteractions(rollupRepository);
+        }
+
+        @Test
+        @DisplayName("Should apply accumulated changes once when flushed")
+        void shouldApplyChangesOnceWhenFlushed() {
+
+            rollupService.record(Contribution.none(), rollupService.capture(shirt));
+
+            rollupService.flush();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+            }
+
+            verify(rollupRepository)
+                    .applyDelta(eq(3L), eq(1L), eq(20L), eq(new BigDecimal("200.00")), eq(0L), any(LocalDateTime.class));
+            verify(rollupRepository)
+                    .applyDelta(eq(1L), eq(1L), eq(20L), eq(new BigDecimal("200.00")), eq(0L), any(LocalDateTime.class));
+            verifyNoMoreInteractions(rollupRepository);
+        }
+    }
+}
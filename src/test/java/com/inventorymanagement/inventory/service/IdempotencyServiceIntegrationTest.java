@@ -0,0 +1,104 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.exception.BusinessException;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.repository.IdempotencyRecordRepository;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for IdempotencyService
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("IdempotencyService Integration Tests")
+class IdempotencyServiceIntegrationTest {
+
+    @Autowired private IdempotencyService idempotencyService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    private SkuDto createdSku;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Idempotency").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Idempotent Product").withCategory(category).build());
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(product.getId());
+        skuDto.setSkuCode("IDEMPOTENT-SKU-001");
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(50);
+        createdSku = skuService.createSku(skuDto);
+    }
+
+    @Test
+    @DisplayName("Should apply the operation once and replay the stored result for the same key")
+    void replaySameKey() {
+        Long skuId = createdSku.getId();
+
+        SkuDto first =
+                idempotencyService.execute(
+                        "order-1-reserve", "RESERVE", skuId, 5, () -> skuService.reserveStock(skuId, 5));
+        SkuDto replay =
+                idempotencyService.execute(
+                        "order-1-reserve", "RESERVE", skuId, 5, () -> skuService.reserveStock(skuId, 5));
+
+        assertThat(first.getReservedQuantity()).isEqualTo(5);
+        assertThat(replay.getReservedQuantity()).isEqualTo(5);
+        assertThat(skuService.getSkuById(skuId).getReservedQuantity()).isEqualTo(5);
+        assertThat(idempotencyRecordRepository.findByIdempotencyKey("order-1-reserve")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject reuse of a key for a different request")
+    void rejectKeyReuseForDifferentRequest() {
+        Long skuId = createdSku.getId();
+        idempotencyService.execute(
+                "order-2-reserve", "RESERVE", skuId, 5, () -> skuService.reserveStock(skuId, 5));
+
+        assertThatThrownBy(
+                () ->
+                        idempotencyService.execute(
+                                "order-2-reserve", "REMOVE", skuId, 5, () -> skuService.removeStock(skuId, 5)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("already used for a different request");
+    }
+
+    @Test
+    @DisplayName("Should reject blank idempotency keys")
+    void rejectBlankKey() {
+        Long skuId = createdSku.getId();
+
+        assertThatThrownBy(
+                () ->
+                        idempotencyService.execute(
+                                " ", "RESERVE", skuId, 5, () -> skuService.reserveStock(skuId, 5)))
+                .isInstanceOf(ValidationException.class);
+    }
+}
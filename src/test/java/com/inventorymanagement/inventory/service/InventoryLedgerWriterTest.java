@@ -0,0 +1,210 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.inventorymanagement.common.BaseUnitTest;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for InventoryLedgerWriter
+ */
+@DisplayName("InventoryLedgerWriter Unit Tests")
+class InventoryLedgerWriterTest extends BaseUnitTest {
+
+    @Mock private InventoryTransactionRepository transactionRepository;
+
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @Captor private ArgumentCaptor<List<InventoryTransaction>> batchCaptor;
+
+    @TempDir Path tempDir;
+
+    private Path journalPath;
+    private Sku testSku;
+    private InventoryLedgerWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("ledger-journal.log");
+        testSku = TestDataFactory.sku().withId(1L).withSkuCode("SKU-001").build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private InventoryLedgerWriter startWriter() throws Exception {
+        // A long interval keeps the background flusher out of the way; tests flush explicitly
+        writer =
+                new InventoryLedgerWriter(
+                        transactionRepository, transactionManager, journalPath.toString(), 100, 10, 60_000);
+        writer.start();
+        return writer;
+    }
+
+    private List<TransactionSynchronization> submitInTransaction(InventoryTransaction transaction) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.submit(List.of(transaction));
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private InventoryTransaction createTransaction(int quantity) {
+        return new InventoryTransaction(
+                testSku,
+                InventoryTransaction.TransactionType.IN,
+                quantity,
+                "PO-1",
+                "PURCHASE_ORDER",
+                "Receiving",
+                "admin");
+    }
+
+    @Test
+    @DisplayName("Should journal submitted transactions and insert them in one batch on flush")
+    void submitAndFlush() throws Exception {
+        startWriter();
+
+        writer.submit(List.of(createTransaction(5), createTransaction(7)));
+
+        assertThat(Files.readAllLines(journalPath, StandardCharsets.UTF_8)).hasSize(2);
+        assertThat(writer.getBacklog()).isEqualTo(2);
+
+        writer.flush();
+
+        verify(transactionRepository).batchInsert(batchCaptor.capture());
+        List<InventoryTransaction> batch = batchCaptor.getValue();
+        assertThat(batch).hasSize(2);
+        assertThat(batch.get(0).getSku().getId()).isEqualTo(1L);
+        assertThat(batch.get(0).getQuantity()).isEqualTo(5);
+        assertThat(batch.get(0).getCreatedAt()).isNotNull();
+        assertThat(writer.getBacklog()).isZero();
+        assertThat(Files.size(journalPath)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should recover only unflushed, unaborted journal records on startup")
+    void recoverUnflushedRecords() throws Exception {
+        Files.writeString(
+                journalPath,
+                "{\"seq\":1,\"skuId\":1,\"type\":\"IN\",\"quantity\":3,\"referenceId\":null,\"referenceType\":\"STOCK_IN\","
+                        + "\"reason\":null,\"performedBy\":\"SYSTEM\",\"createdAt\":\"2025-01-15T10:00:00\"}\n"
+                        + "{\"seq\":2,\"skuId\":2,\"type\":\"OUT\",\"quantity\":4,\"referenceId\":\"ORDER-1\",\"referenceType\":\"ORDER\","
+                        + "\"reason\":null,\"performedBy\":\"SYSTEM\",\"createdAt\":\"2025-01-15T10:00:01\"}\n"
+                        + "{\"flushed\":[1]}\n"
+                        + "{\"seq\":3,\"skuId\":3,\"type\":\"IN\",\"quantity\":5,\"referenceId\":null,\"referenceType\":\"STOCK_IN\","
+                        + "\"reason\":null,\"performedBy\":\"SYSTEM\",\"createdAt\":\"2025-01-15T10:00:02\"}\n"
+                        + "{\"aborted\":[3]}\n"
+                        + "{\"seq\":4,\"skuId\"",
+                StandardCharsets.UTF_8);
+
+        startWriter();
+
+        verify(transactionRepository).batchInsert(batchCaptor.capture());
+        List<InventoryTransaction> recovered = batchCaptor.getValue();
+        assertThat(recovered).hasSize(1);
+        assertThat(recovered.get(0).getSku().getId()).isEqualTo(2L);
+        assertThat(recovered.get(0).getTransactionType())
+                .isEqualTo(InventoryTransaction.TransactionType.OUT);
+        assertThat(writer.getBacklog()).isZero();
+        assertThat(Files.size(journalPath)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should journal records before commit and queue them only after it")
+    void journalBeforeCommit() throws Exception {
+        startWriter();
+
+        List<TransactionSynchronization> synchronizations = submitInTransaction(createTransaction(5));
+        assertThat(Files.size(journalPath)).isZero();
+
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        assertThat(Files.readAllLines(journalPath, StandardCharsets.UTF_8)).hasSize(1);
+
+        writer.flush();
+        verify(transactionRepository, never()).batchInsert(anyList());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        writer.flush();
+
+        verify(transactionRepository).batchInsert(anyList());
+        assertThat(writer.getBacklog()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should mark journaled records aborted when the transaction rolls back")
+    void abortOnRollback() throws Exception {
+        startWriter();
+
+        List<TransactionSynchronization> synchronizations = submitInTransaction(createTransaction(5));
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        writer.flush();
+
+        verify(transactionRepository, never()).batchInsert(anyList());
+        assertThat(writer.getBacklog()).isZero();
+        assertThat(Files.size(journalPath)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a failed batch and retry it on the next flush")
+    void retryFailedBatch() throws Exception {
+        startWriter();
+        doThrow(new RuntimeException("database unavailable"))
+                .doReturn(1)
+                .when(transactionRepository)
+                .batchInsert(anyList());
+
+        writer.submit(List.of(createTransaction(5)));
+
+        assertThatThrownBy(() -> writer.flush()).hasMessageContaining("database unavailable");
+        assertThat(writer.getBacklog()).isEqualTo(1);
+        assertThat(Files.size(journalPath)).isPositive();
+
+        writer.flush();
+
+        verify(transactionRepository, times(2)).batchInsert(anyList());
+        assertThat(writer.getBacklog()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is queued")
+    void flushWithEmptyQueue() throws Exception {
+        startWriter();
+
+        writer.flush();
+
+        verify(transactionRepository, never()).batchInsert(anyList());
+    }
+}
@@ -3,6 +3,7 @@ package com.inventorymanagement.inventory.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,11 +11,15 @@ import static org.mockito.Mockito.when;
 import com.inventorymanagement.common.BaseUnitTest;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.model.CursorPage;
+import com.inventorymanagement.common.model.KeysetCursor;
 import com.inventorymanagement.common.testdata.TestDataFactory;
 import com.inventorymanagement.inventory.model.InventoryTransaction;
 import com.inventorymanagement.inventory.model.Sku;
 import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
 import com.inventorymanagement.inventory.repository.SkuRepository;
+import com.inventorymanagement.inventory.repository.StockMovementDailyRepository;
+import com.inventorymanagement.inventory.repository.TransactionAnalyticsRepository;
 import com.inventorymanagement.inventory.service.InventoryService.CurrentStockInfo;
 import com.inventorymanagement.inventory.service.InventoryService.StockMovementSummary;
 import java.time.LocalDateTime;
@@ -45,6 +50,14 @@ class InventoryServiceTest extends BaseUnitTest {
 
     @Mock private SkuRepository skuRepository;
 
+    @Mock private SkuStockShardService stockShardService;
+
+    @Mock private StockMovementDailyRepository dailyMovementRepository;
+
+    @Mock private TransactionArchive transactionArchive;
+
+    @Mock private TransactionAnalyticsRepository analyticsRepository;
+
     @InjectMocks private InventoryService inventoryService;
 
     private Sku testSku;
@@ -76,6 +89,15 @@ class InventoryServiceTest extends BaseUnitTest {
         return new InventoryTransaction(testSku, type, quantity, "REF-001", "TYPE", "reason", "admin");
     }
 
+    // Helper methods to create aggregate rows as returned by the sum-by-type queries
+    private static Object[] sum(InventoryTransaction.TransactionType type, long quantity) {
+        return new Object[] {type, quantity};
+    }
+
+    private static List<Object[]> sums(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+
     @Nested
     @DisplayName("Stock In Operations")
     class StockInOperations {
@@ -383,6 +405,67 @@ class InventoryServiceTest extends BaseUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Prepared Transaction Operations")
+    class PreparedTransactionOperations {
+
+        @Test
+        @DisplayName("Should record prepared transaction without looking up the SKU")
+        void recordTransaction_Success() {
+            InventoryTransaction reservation =
+                    createTransaction(InventoryTransaction.TransactionType.RESERVED, 5);
+            when(transactionRepository.save(reservation)).thenReturn(reservation);
+
+            InventoryTransaction result = inventoryService.recordTransaction(reservation);
+
+            assertThat(result).isSameAs(reservation);
+            verify(transactionRepository).save(reservation);
+            verify(skuRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should allow negative quantity for prepared adjustment")
+        void recordTransaction_NegativeAdjustment_Success() {
+            InventoryTransaction adjustment =
+                    new InventoryTransaction(
+                            testSku,
+                            InventoryTransaction.TransactionType.ADJUSTMENT,
+                            -7,
+                            null,
+                            "STOCK_REMOVAL",
+                            "Damaged",
+                            "admin");
+            when(transactionRepository.save(adjustment)).thenReturn(adjustment);
+
+            InventoryTransaction result = inventoryService.recordTransaction(adjustment);
+
+            assertThat(result.getQuantity()).isEqualTo(-7);
+        }
+
+        @Test
+        @DisplayName("Should apply type-specific quantity validation to prepared transaction")
+        void recordTransaction_InvalidQuantity_ThrowsException() {
+            InventoryTransaction release =
+                    createTransaction(InventoryTransaction.TransactionType.RELEASED, 0);
+
+            assertThatThrownBy(() -> inventoryService.recordTransaction(release))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage(
+                            "Validation failed for field 'quantity': Stock release quantity must be positive");
+            verify(transactionRepository, never()).save(any(InventoryTransaction.class));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when prepared transaction has no SKU")
+        void recordTransaction_NullSku_ThrowsException() {
+            InventoryTransaction orphan =
+                    new InventoryTransaction(null, InventoryTransaction.TransactionType.IN, 1);
+
+            assertThatThrownBy(() -> inventoryService.recordTransaction(orphan))
+                    .isInstanceOf(ValidationException.class);
+        }
+    }
+
     @Nested
     @DisplayName("Transaction Query Operations")
     class TransactionQueryOperations {
@@ -520,6 +603,90 @@ class InventoryServiceTest extends BaseUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Keyset Pagination Operations")
+    class KeysetPaginationOperations {
+
+        private InventoryTransaction transactionAt(long id, LocalDateTime createdAt) {
+            InventoryTransaction transaction = createTransaction(InventoryTransaction.TransactionType.IN, 1);
+            transaction.setId(id);
+            transaction.setCreatedAt(createdAt);
+            return transaction;
+        }
+
+        @Test
+        @DisplayName("Should fetch one extra row and return a cursor positioned at the last row kept")
+        void getTransactionsBySkuId_FirstPage_ReturnsNextCursor() {
+
+            LocalDateTime now = LocalDateTime.now();
+            List<InventoryTransaction> rows =
+                    Arrays.asList(
+                            transactionAt(3L, now), transactionAt(2L, now), transactionAt(1L, now.minusHours(1)));
+            when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
+            when(transactionRepository.findBySkuIdAfterCursor(
+                    any(), any(), any(), any(Pageable.class)))
+                    .thenReturn(rows);
+
+            CursorPage<InventoryTransaction> result = inventoryService.getTransactionsBySkuId(1L, null, 2);
+
+            assertThat(result.getContent()).extracting(InventoryTransaction::getId).containsExactly(3L, 2L);
+            assertThat(result.hasNext()).isTrue();
+            assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(KeysetCursor.of(now, 2L));
+
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(transactionRepository)
+                    .findBySkuIdAfterCursor(any(), any(), any(), pageableCaptor.capture());
+            assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+            assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(3);
+            verify(transactionRepository, never()).findBySkuId(any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should seek from the decoded cursor and report the last page")
+        void getTransactionsBySkuId_LastPage_HasNoCursor() {
+
+            LocalDateTime position = LocalDateTime.now().minusDays(1);
+            String cursor = KeysetCursor.of(position, 42L).encode();
+            when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
+            when(transactionRepository.findBySkuIdAfterCursor(
+                    1L, position, 42L, PageRequest.of(0, 11)))
+                    .thenReturn(Collections.singletonList(transactionAt(41L, position)));
+
+            CursorPage<InventoryTransaction> result =
+                    inventoryService.getTransactionsBySkuId(1L, cursor, 10);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.hasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void getTransactionsByDateRange_MalformedCursor_ThrowsException() {
+
+            LocalDateTime endDate = LocalDateTime.now();
+
+            assertThatThrownBy(
+                    () ->
+                            inventoryService.getTransactionsByDateRange(
+                                    endDate.minusDays(1), endDate, "not-a-cursor", 10))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Validation failed for field 'cursor': Invalid pagination cursor");
+        }
+
+        @Test
+        @DisplayName("Should reject page sizes out of range")
+        void searchTransactions_InvalidSize_ThrowsException() {
+
+            assertThatThrownBy(
+                    () ->
+                            inventoryService.searchTransactions(
+                                    null, null, null, null, null, null, null, null, 0))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Validation failed for field 'size': Page size must be between 1 and 100");
+        }
+    }
+
     @Nested
     @DisplayName("Stock Analysis Operations")
     class StockAnalysisOperations {
@@ -532,15 +699,22 @@ class InventoryServiceTest extends BaseUnitTest {
             LocalDateTime endDate = LocalDateTime.now();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
 
-            List<InventoryTransaction> transactions =
-                    Arrays.asList(
-                            createTransaction(InventoryTransaction.TransactionType.IN, 10),
-                            createTransaction(InventoryTransaction.TransactionType.OUT, 5),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, 2),
-                            createTransaction(InventoryTransaction.TransactionType.RESERVED, 3),
-                            createTransaction(InventoryTransaction.TransactionType.RELEASED, 1));
-            when(transactionRepository.findBySkuIdAndDateRange(1L, startDate, endDate))
-                    .thenReturn(transactions);
+            // Whole days come from the rollup, the partial first and last days from the ledger
+            when(dailyMovementRepository.sumQuantitiesByType(
+                            1L, startDate.toLocalDate().plusDays(1), endDate.toLocalDate()))
+                    .thenReturn(
+                            sums(
+                                    sum(InventoryTransaction.TransactionType.IN, 10),
+                                    sum(InventoryTransaction.TransactionType.OUT, 5)));
+            when(transactionRepository.sumQuantitiesByType(
+                            1L, startDate, startDate.toLocalDate().plusDays(1).atStartOfDay()))
+                    .thenReturn(sums(sum(InventoryTransaction.TransactionType.ADJUSTMENT, 2)));
+            when(transactionRepository.sumQuantitiesByType(
+                            1L, endDate.toLocalDate().atStartOfDay(), endDate.plusNanos(1)))
+                    .thenReturn(
+                            sums(
+                                    sum(InventoryTransaction.TransactionType.RESERVED, 3),
+                                    sum(InventoryTransaction.TransactionType.RELEASED, 1)));
 
             StockMovementSummary result =
                     inventoryService.getStockMovementSummary(1L, startDate, endDate);
@@ -561,7 +735,9 @@ class InventoryServiceTest extends BaseUnitTest {
             LocalDateTime startDate = LocalDateTime.now().minusDays(7);
             LocalDateTime endDate = LocalDateTime.now();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
-            when(transactionRepository.findBySkuIdAndDateRange(1L, startDate, endDate))
+            when(dailyMovementRepository.sumQuantitiesByType(any(), any(), any()))
+                    .thenReturn(Collections.emptyList());
+            when(transactionRepository.sumQuantitiesByType(any(), any(), any()))
                     .thenReturn(Collections.emptyList());
 
             StockMovementSummary result =
@@ -588,6 +764,7 @@ class InventoryServiceTest extends BaseUnitTest {
                             .withReorderQuantity(50)
                             .build();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(stockSku));
+            when(stockShardService.getShardTotals(1L)).thenReturn(SkuStockShardService.ShardTotals.NONE);
 
             CurrentStockInfo result = inventoryService.getCurrentStockInfo(1L);
 
@@ -1043,14 +1220,12 @@ class InventoryServiceTest extends BaseUnitTest {
             LocalDateTime endDate = LocalDateTime.now();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
 
-            // Create transactions that could cause overflow
-            List<InventoryTransaction> transactions =
-                    Arrays.asList(
-                            createTransaction(InventoryTransaction.TransactionType.IN, Integer.MAX_VALUE),
-                            createTransaction(InventoryTransaction.TransactionType.OUT, 100),
-                            createTransaction(InventoryTransaction.TransactionType.IN, 50));
-            when(transactionRepository.findBySkuIdAndDateRange(1L, startDate, endDate))
-                    .thenReturn(transactions);
+            // Within a single partial day the summary is one grouped ledger query
+            when(transactionRepository.sumQuantitiesByType(1L, startDate, endDate.plusNanos(1)))
+                    .thenReturn(
+                            sums(
+                                    sum(InventoryTransaction.TransactionType.IN, (long) Integer.MAX_VALUE + 50),
+                                    sum(InventoryTransaction.TransactionType.OUT, 100)));
 
             StockMovementSummary result =
                     inventoryService.getStockMovementSummary(1L, startDate, endDate);
@@ -1069,12 +1244,11 @@ class InventoryServiceTest extends BaseUnitTest {
             LocalDateTime endDate = LocalDateTime.now();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
 
-            List<InventoryTransaction> transactions =
-                    Arrays.asList(
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, Integer.MIN_VALUE),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, -100));
-            when(transactionRepository.findBySkuIdAndDateRange(1L, startDate, endDate))
-                    .thenReturn(transactions);
+            // Within a single partial day the summary is one grouped ledger query
+            when(transactionRepository.sumQuantitiesByType(1L, startDate, endDate.plusNanos(1)))
+                    .thenReturn(
+                            sums(
+                                    sum(InventoryTransaction.TransactionType.ADJUSTMENT, (long) Integer.MIN_VALUE - 100)));
 
             StockMovementSummary result =
                     inventoryService.getStockMovementSummary(1L, startDate, endDate);
@@ -1092,14 +1266,11 @@ class InventoryServiceTest extends BaseUnitTest {
             LocalDateTime endDate = LocalDateTime.now();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
 
-            List<InventoryTransaction> transactions =
-                    Arrays.asList(
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, 100),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, -50),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, 25),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, -75));
-            when(transactionRepository.findBySkuIdAndDateRange(1L, startDate, endDate))
-                    .thenReturn(transactions);
+            // Within a single partial day the summary is one grouped ledger query
+            when(transactionRepository.sumQuantitiesByType(1L, startDate, endDate.plusNanos(1)))
+                    .thenReturn(
+                            sums(
+                                    sum(InventoryTransaction.TransactionType.ADJUSTMENT, 100 - 50 + 25 - 75)));
 
             StockMovementSummary result =
                     inventoryService.getStockMovementSummary(1L, startDate, endDate);
@@ -1116,16 +1287,15 @@ class InventoryServiceTest extends BaseUnitTest {
             LocalDateTime endDate = LocalDateTime.now();
             when(skuRepository.findById(1L)).thenReturn(Optional.of(testSku));
 
-            List<InventoryTransaction> transactions =
-                    Arrays.asList(
-                            createTransaction(InventoryTransaction.TransactionType.IN, 100),
-                            createTransaction(InventoryTransaction.TransactionType.OUT, 30),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, 10),
-                            createTransaction(InventoryTransaction.TransactionType.ADJUSTMENT, -5),
-                            createTransaction(InventoryTransaction.TransactionType.RESERVED, 20),
-                            createTransaction(InventoryTransaction.TransactionType.RELEASED, 10));
-            when(transactionRepository.findBySkuIdAndDateRange(1L, startDate, endDate))
-                    .thenReturn(transactions);
+            // Within a single partial day the summary is one grouped ledger query
+            when(transactionRepository.sumQuantitiesByType(1L, startDate, endDate.plusNanos(1)))
+                    .thenReturn(
+                            sums(
+                                    sum(InventoryTransaction.TransactionType.IN, 100),
+                                    sum(InventoryTransaction.TransactionType.OUT, 30),
+                                    sum(InventoryTransaction.TransactionType.ADJUSTMENT, 10 - 5),
+                                    sum(InventoryTransaction.TransactionType.RESERVED, 20),
+                                    sum(InventoryTransaction.TransactionType.RELEASED, 10)));
 
             StockMovementSummary result =
                     inventoryService.getStockMovementSummary(1L, startDate, endDate);
@@ -0,0 +1,154 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for LedgerArchiveService. Archiving commits its own transactions, so these tests use a database and an archive
+ * directory of their own.
+ */
+@SpringBootTest(
+        classes = com.inventorymanagement.application.InventoryManagementApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:ledgerarchivedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "inventory.ledger.archive.enabled=true",
+                "inventory.ledger.archive.horizon-days=0",
+                "inventory.ledger.archive.segment-rows=2",
+                "inventory.ledger.archive.directory=${java.io.tmpdir}/ledger-archive-test-${random.uuid}"
+        })
+@ActiveProfiles("test")
+@DisplayName("LedgerArchiveService Integration Tests")
+class LedgerArchiveServiceIntegrationTest {
+
+    @Autowired private LedgerArchiveService ledgerArchiveService;
+
+    @Autowired private LedgerReplayService ledgerReplayService;
+
+    @Autowired private InventoryService inventoryService;
+
+    @Autowired private LedgerExportService ledgerExportService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Ledger Archive").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Archived Product").withCategory(category).build());
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(product.getId());
+        skuDto.setSkuCode("ARCHIVE-SKU-" + System.nanoTime());
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(100);
+        skuId = skuService.createSku(skuDto).getId();
+    }
+
+    @Test
+    @DisplayName("Should move cold rows to the archive and keep serving them")
+    void archivesColdTransactions() {
+        skuService.reserveStock(skuId, 20);
+        skuService.fulfillOrder(skuId, 10, "ORDER-1", "ORDER", "Shipped", "tester");
+        skuService.addStock(skuId, 7);
+
+        LedgerArchiveService.ArchiveRun run = ledgerArchiveService.archiveColdTransactions();
+
+        assertThat(run.getTransactionsArchived()).isGreaterThanOrEqualTo(4);
+        assertThat(run.getSegmentsWritten()).isGreaterThanOrEqualTo(2);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM inventory_transactions WHERE sku_id = ?", Long.class, skuId))
+                .isZero();
+
+        Page<InventoryTransaction> history = inventoryService.getTransactionsBySkuId(skuId, PageRequest.of(0, 10));
+        assertThat(history.getTotalElements()).isEqualTo(4);
+        assertThat(history.getContent())
+                .extracting(InventoryTransaction::getTransactionType)
+                .containsExactly(
+                        InventoryTransaction.TransactionType.ADJUSTMENT,
+                        InventoryTransaction.TransactionType.OUT,
+                        InventoryTransaction.TransactionType.RESERVED,
+                        InventoryTransaction.TransactionType.IN);
+
+        LedgerReplayService.LedgerState state = ledgerReplayService.replay(skuId);
+        SkuDto sku = skuService.getSkuById(skuId);
+        assertThat(state.getStockQuantity()).isEqualTo(sku.getStockQuantity()).isEqualTo(97);
+        assertThat(state.getReservedQuantity()).isEqualTo(sku.getReservedQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should page table and archived rows newest first whatever sort is requested")
+    void mergesArchivedRowsNewestFirst() {
+        skuService.addStock(skuId, 5);
+        ledgerArchiveService.archiveColdTransactions();
+        skuService.addStock(skuId, 3);
+
+        Page<InventoryTransaction> history =
+                inventoryService.getTransactionsBySkuId(
+                        skuId, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "quantity")));
+
+        assertThat(history.getContent())
+                .extracting(InventoryTransaction::getQuantity)
+                .containsExactly(3, 5, 100);
+    }
+
+    @Test
+    @DisplayName("Should export archived rows before the rows still in the table")
+    void exportsArchivedRows() {
+        skuService.addStock(skuId, 5);
+        ledgerArchiveService.archiveColdTransactions();
+        skuService.addStock(skuId, 3);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long exported =
+                ledgerExportService.export(
+                        LedgerExportService.ExportFormat.CSV, skuId, null, null, null, null, null, null, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(exported).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).contains(",IN,100,");
+        assertThat(lines[2]).contains(",ADJUSTMENT,5,");
+        assertThat(lines[3]).contains(",ADJUSTMENT,3,");
+    }
+
+    @Test
+    @DisplayName("Should list the reference types and performers of archived rows")
+    void listsArchivedLookupValues() {
+        skuService.reserveStock(skuId, 5);
+        skuService.fulfillOrder(skuId, 5, "ORDER-2", "ARCHIVED_ORDER", "Shipped", "archiver");
+        ledgerArchiveService.archiveColdTransactions();
+
+        assertThat(inventoryService.getDistinctReferenceTypes()).contains("ARCHIVED_ORDER");
+        assertThat(inventoryService.getDistinctPerformers()).contains("archiver");
+    }
+}
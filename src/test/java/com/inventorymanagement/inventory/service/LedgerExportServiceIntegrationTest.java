@@ -0,0 +1,157 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for LedgerExportService
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("LedgerExportService Integration Tests")
+class LedgerExportServiceIntegrationTest {
+
+    @Autowired private LedgerExportService ledgerExportService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long skuId;
+    private String skuCode;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Ledger Export").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Exported Product").withCategory(category).build());
+
+        skuCode = "EXPORT-SKU-" + System.nanoTime();
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(product.getId());
+        skuDto.setSkuCode(skuCode);
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(100);
+        skuId = skuService.createSku(skuDto).getId();
+
+        skuService.reserveStock(skuId, 10);
+        skuService.fulfillOrder(skuId, 10, "ORDER-1", "ORDER", "Shipped, \"express\"", "tester");
+    }
+
+    @Test
+    @DisplayName("Should export a SKU's ledger as NDJSON, oldest first")
+    void exportNdjson() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported =
+                ledgerExportService.export(
+                        LedgerExportService.ExportFormat.NDJSON, skuId, null, null, null, null, null, null, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("skuId").asLong()).isEqualTo(skuId);
+        assertThat(first.get("skuCode").asText()).isEqualTo(skuCode);
+        assertThat(first.get("transactionType").asText()).isEqualTo("IN");
+        assertThat(first.get("quantity").asInt()).isEqualTo(100);
+
+        JsonNode last = objectMapper.readTree(lines[2]);
+        assertThat(last.get("transactionType").asText()).isEqualTo("OUT");
+        assertThat(last.get("referenceId").asText()).isEqualTo("ORDER-1");
+        assertThat(last.get("reason").asText()).isEqualTo("Shipped, \"express\"");
+        assertThat(last.get("id").asLong()).isGreaterThan(first.get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Should export filtered rows as CSV with a header and quoted fields")
+    void exportCsvWithFilters() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported =
+                ledgerExportService.export(
+                        LedgerExportService.ExportFormat.CSV,
+                        skuId,
+                        InventoryTransaction.TransactionType.OUT,
+                        "ORDER-1",
+                        "ORDER",
+                        "tester",
+                        LocalDateTime.now().minusHours(1),
+                        LocalDateTime.now().plusHours(1),
+                        output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(exported).isEqualTo(1);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0])
+                .isEqualTo(
+                        "id,skuId,skuCode,transactionType,quantity,referenceId,referenceType,reason,performedBy,createdAt");
+        assertThat(lines[1])
+                .contains("," + skuId + "," + skuCode + ",OUT,10,ORDER-1,ORDER,\"Shipped, \"\"express\"\"\",tester,");
+    }
+
+    @Test
+    @DisplayName("Should write only the CSV header when nothing matches")
+    void exportNothing() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported =
+                ledgerExportService.export(
+                        LedgerExportService.ExportFormat.CSV, skuId, null, "NO-SUCH-ORDER", null, null, null, null, output);
+
+        assertThat(exported).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8)).startsWith("id,skuId,").endsWith("createdAt\r\n");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats and inverted date ranges")
+    void rejectInvalidArguments() {
+        assertThatThrownBy(() -> LedgerExportService.ExportFormat.fromName("xml"))
+                .isInstanceOf(ValidationException.class);
+        assertThat(LedgerExportService.ExportFormat.fromName("Csv")).isEqualTo(LedgerExportService.ExportFormat.CSV);
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(
+                        () ->
+                                ledgerExportService.export(
+                                        LedgerExportService.ExportFormat.NDJSON,
+                                        skuId,
+                                        null,
+                                        null,
+                                        null,
+                                        null,
+                                        now,
+                                        now.minusDays(1),
+                                        new ByteArrayOutputStream()))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,161 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.repository.SkuLedgerCheckpointRepository;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for LedgerReplayService. Rebuilds run on the replay pool's own threads, which cannot see a test transaction, so these
+ * tests commit their data to a database of their own.
+ */
+@SpringBootTest(
+        classes = com.inventorymanagement.application.InventoryManagementApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:ledgerreplaydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "inventory.ledger.checkpoints.settle-seconds=0",
+                "inventory.ledger.checkpoints.min-transactions=3"
+        })
+@ActiveProfiles("test")
+@DisplayName("LedgerReplayService Integration Tests")
+class LedgerReplayServiceIntegrationTest {
+
+    @Autowired private LedgerReplayService ledgerReplayService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private SkuLedgerCheckpointRepository checkpointRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Ledger Replay").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Replayed Product").withCategory(category).build());
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(product.getId());
+        skuDto.setSkuCode("REPLAY-SKU-" + System.nanoTime());
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(100);
+        skuId = skuService.createSku(skuDto).getId();
+    }
+
+    @Test
+    @DisplayName("Should replay the ledger to the SKU row's counters")
+    void replayMatchesRow() {
+        skuService.reserveStock(skuId, 20);
+        skuService.releaseStock(skuId, 5);
+        skuService.fulfillOrder(skuId, 10, "ORDER-1", "ORDER", "Shipped", "tester");
+        skuService.addStock(skuId, 7);
+        skuService.removeStock(skuId, 2);
+
+        LedgerReplayService.LedgerState state = ledgerReplayService.replay(skuId);
+        SkuDto sku = skuService.getSkuById(skuId);
+
+        assertThat(state.getStockQuantity()).isEqualTo(sku.getStockQuantity()).isEqualTo(95);
+        assertThat(state.getReservedQuantity()).isEqualTo(sku.getReservedQuantity()).isEqualTo(5);
+        assertThat(state.getReplayedTransactions()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should replay the ledger up to a point in time")
+    void replayAsOf() throws InterruptedException {
+        skuService.reserveStock(skuId, 30);
+        Thread.sleep(20);
+        LocalDateTime asOf = LocalDateTime.now();
+        Thread.sleep(20);
+        skuService.addStock(skuId, 50);
+
+        LedgerReplayService.LedgerState state = ledgerReplayService.replayAsOf(skuId, asOf);
+
+        assertThat(state.getStockQuantity()).isEqualTo(100);
+        assertThat(state.getReservedQuantity()).isEqualTo(30);
+        assertThat(state.getAvailableQuantity()).isEqualTo(70);
+    }
+
+    @Test
+    @DisplayName("Should report drift on a dry run and correct it when applied")
+    void rebuildCorrectsDrift() {
+        skuService.reserveStock(skuId, 10);
+        jdbcTemplate.update(
+                "UPDATE skus SET stock_quantity = 40, available_quantity = 30 WHERE id = ?", skuId);
+
+        LedgerReplayService.RebuildReport dryRun =
+                ledgerReplayService.rebuildStock(List.of(skuId), false);
+
+        assertThat(dryRun.getDrifts()).hasSize(1);
+        assertThat(dryRun.getDrifts().get(0).getRowStockQuantity()).isEqualTo(40);
+        assertThat(dryRun.getDrifts().get(0).getLedgerStockQuantity()).isEqualTo(100);
+        assertThat(dryRun.getSkusCorrected()).isZero();
+        assertThat(skuService.getSkuById(skuId).getStockQuantity()).isEqualTo(40);
+
+        LedgerReplayService.RebuildReport applied =
+                ledgerReplayService.rebuildStock(List.of(skuId), true);
+
+        assertThat(applied.getSkusCorrected()).isEqualTo(1);
+        SkuDto sku = skuService.getSkuById(skuId);
+        assertThat(sku.getStockQuantity()).isEqualTo(100);
+        assertThat(sku.getReservedQuantity()).isEqualTo(10);
+        assertThat(sku.getAvailableQuantity()).isEqualTo(90);
+        assertThat(ledgerReplayService.rebuildStock(List.of(skuId), false).getDrifts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should checkpoint busy SKUs and replay only the tail after the checkpoint")
+    void checkpointShortensReplay() {
+        skuService.reserveStock(skuId, 10);
+        skuService.releaseStock(skuId, 10);
+
+        assertThat(ledgerReplayService.createCheckpoints()).isGreaterThanOrEqualTo(1);
+        assertThat(checkpointRepository.countBySkuId(skuId)).isEqualTo(1);
+
+        skuService.addStock(skuId, 5);
+        LedgerReplayService.LedgerState state = ledgerReplayService.replay(skuId);
+
+        assertThat(state.getCheckpointTransactionId()).isPositive();
+        assertThat(state.getReplayedTransactions()).isEqualTo(1);
+        assertThat(state.getStockQuantity()).isEqualTo(105);
+        assertThat(state.getReservedQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only check SKUs with ledger rows after the last checkpointed transaction")
+    void checkpointsAreIncremental() {
+        skuService.reserveStock(skuId, 10);
+        skuService.releaseStock(skuId, 10);
+        ledgerReplayService.createCheckpoints();
+
+        assertThat(ledgerReplayService.createCheckpoints()).isZero();
+
+        skuService.addStock(skuId, 1);
+        skuService.addStock(skuId, 1);
+        skuService.addStock(skuId, 1);
+
+        assertThat(ledgerReplayService.createCheckpoints()).isEqualTo(1);
+        assertThat(checkpointRepository.countBySkuId(skuId)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,116 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for LedgerVerificationService. Ranges are verified on the verification pool's own threads, which cannot see a test
+ * transaction, so these tests commit their data to a database of their own.
+ */
+@SpringBootTest(
+        classes = com.inventorymanagement.application.InventoryManagementApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:ledgerverifydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "inventory.ledger.verify.range-size=2"
+        })
+@ActiveProfiles("test")
+@DisplayName("LedgerVerificationService Integration Tests")
+class LedgerVerificationServiceIntegrationTest {
+
+    @Autowired private LedgerVerificationService ledgerVerificationService;
+
+    @Autowired private LedgerReplayService ledgerReplayService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Ledger Verify").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Verified Product").withCategory(category).build());
+
+        for (int i = 0; i < 3; i++) {
+            SkuDto skuDto = new SkuDto();
+            skuDto.setProductId(product.getId());
+            skuDto.setSkuCode("VERIFY-SKU-" + System.nanoTime());
+            skuDto.setPrice(new BigDecimal("10.00"));
+            skuDto.setStockQuantity(100);
+            skuId = skuService.createSku(skuDto).getId();
+        }
+        skuService.reserveStock(skuId, 20);
+        skuService.fulfillOrder(skuId, 5, "ORDER-1", "ORDER", "Shipped", "tester");
+        skuService.addStock(skuId, 7);
+    }
+
+    @Test
+    @DisplayName("Should find no drift when every SKU agrees with its ledger")
+    void balancedLedger() {
+        LedgerVerificationService.VerificationReport report = ledgerVerificationService.verify(false);
+
+        assertThat(report.getSkusChecked()).isGreaterThanOrEqualTo(3);
+        assertThat(report.getRangesChecked()).isGreaterThanOrEqualTo(2);
+        assertThat(findDrift(report)).isEmpty();
+        assertThat(report.getFailedRanges()).isEmpty();
+        assertThat(report.getFailedSkuIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report drift and correct it with ledger transactions")
+    void correctsDrift() {
+        jdbcTemplate.update(
+                "UPDATE skus SET stock_quantity = 110, reserved_quantity = 12, available_quantity = 98 WHERE id = ?",
+                skuId);
+
+        LedgerVerificationService.VerificationReport dryRun = ledgerVerificationService.verify(false);
+
+        LedgerVerificationService.LedgerDrift drift = findDrift(dryRun).orElseThrow();
+        assertThat(drift.getLedgerStockQuantity()).isEqualTo(102);
+        assertThat(drift.getStockDelta()).isEqualTo(8);
+        assertThat(drift.getReservedDelta()).isEqualTo(-3);
+        assertThat(drift.isCorrected()).isFalse();
+
+        LedgerVerificationService.VerificationReport corrected = ledgerVerificationService.verify(true);
+
+        assertThat(findDrift(corrected)).hasValueSatisfying(d -> assertThat(d.isCorrected()).isTrue());
+        assertThat(findDrift(ledgerVerificationService.verify(false))).isEmpty();
+        LedgerReplayService.LedgerState state = ledgerReplayService.replay(skuId);
+        assertThat(state.getStockQuantity()).isEqualTo(110);
+        assertThat(state.getReservedQuantity()).isEqualTo(12);
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM inventory_transactions WHERE sku_id = ? AND reference_type = ?",
+                                Long.class,
+                                skuId,
+                                LedgerVerificationService.CORRECTION_REFERENCE_TYPE))
+                .isEqualTo(2);
+    }
+
+    private Optional<LedgerVerificationService.LedgerDrift> findDrift(
+            LedgerVerificationService.VerificationReport report) {
+        return report.getDrifts().stream().filter(drift -> drift.getSkuId().equals(skuId)).findFirst();
+    }
+}
@@ -0,0 +1,166 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.exception.BusinessException;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.ReservationHold;
+import com.inventorymanagement.inventory.model.ReservationHoldDto;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import com.inventorymanagement.inventory.repository.ReservationHoldRepository;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for ReservationHoldService
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ReservationHoldService Integration Tests")
+class ReservationHoldServiceIntegrationTest {
+
+    @Autowired private ReservationHoldService reservationHoldService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private ReservationHoldRepository holdRepository;
+
+    @Autowired private InventoryTransactionRepository transactionRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    private SkuDto firstSku;
+    private SkuDto secondSku;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Holds").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Held Product").withCategory(category).build());
+
+        firstSku = skuService.createSku(createSkuDto(product, "HOLD-SKU-001"));
+        secondSku = skuService.createSku(createSkuDto(product, "HOLD-SKU-002"));
+    }
+
+    private SkuDto createSkuDto(Product product, String skuCode) {
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(product.getId());
+        skuDto.setSkuCode(skuCode);
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(20);
+        return skuDto;
+    }
+
+    @Test
+    @DisplayName("Should reserve stock when a hold is created")
+    void createHold() {
+        ReservationHoldDto hold = reservationHoldService.createHold(firstSku.getId(), 5, 60L, "CART-1");
+
+        assertThat(hold.getStatus()).isEqualTo(ReservationHold.HoldStatus.ACTIVE);
+        SkuDto sku = skuService.getSkuById(firstSku.getId());
+        assertThat(sku.getReservedQuantity()).isEqualTo(5);
+        assertThat(sku.getAvailableQuantity()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should release the stock of several holds across SKUs in one batch")
+    void expireHolds() {
+        ReservationHoldDto first = reservationHoldService.createHold(firstSku.getId(), 5, 60L, "CART-1");
+        ReservationHoldDto second = reservationHoldService.createHold(firstSku.getId(), 3, 60L, "CART-2");
+        ReservationHoldDto third = reservationHoldService.createHold(secondSku.getId(), 4, 60L, "CART-3");
+
+        int expired =
+                reservationHoldService.expireHolds(List.of(first.getId(), second.getId(), third.getId()));
+
+        assertThat(expired).isEqualTo(3);
+        SkuDto sku1 = skuService.getSkuById(firstSku.getId());
+        assertThat(sku1.getReservedQuantity()).isZero();
+        assertThat(sku1.getAvailableQuantity()).isEqualTo(20);
+        SkuDto sku2 = skuService.getSkuById(secondSku.getId());
+        assertThat(sku2.getReservedQuantity()).isZero();
+        assertThat(sku2.getAvailableQuantity()).isEqualTo(20);
+
+        assertThat(holdRepository.findById(first.getId()))
+                .get()
+                .extracting(ReservationHold::getStatus)
+                .isEqualTo(ReservationHold.HoldStatus.EXPIRED);
+        assertThat(
+                transactionRepository.findAll().stream()
+                        .filter(t -> t.getTransactionType() == InventoryTransaction.TransactionType.RELEASED)
+                        .filter(t -> "RESERVATION_HOLD".equals(t.getReferenceType())))
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should record only the stock actually released when a SKU holds less than its holds reserved")
+    void expireHoldsRecordsReleasedQuantity() {
+        ReservationHoldDto hold = reservationHoldService.createHold(firstSku.getId(), 5, 60L, "CART-1");
+        skuService.releaseStock(firstSku.getId(), 3);
+
+        reservationHoldService.expireHolds(List.of(hold.getId()));
+
+        SkuDto sku = skuService.getSkuById(firstSku.getId());
+        assertThat(sku.getReservedQuantity()).isZero();
+        assertThat(sku.getAvailableQuantity()).isEqualTo(20);
+        assertThat(
+                transactionRepository.findAll().stream()
+                        .filter(t -> t.getTransactionType() == InventoryTransaction.TransactionType.RELEASED)
+                        .filter(t -> "RESERVATION_HOLD".equals(t.getReferenceType())))
+                .singleElement()
+                .extracting(InventoryTransaction::getQuantity)
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip holds that were released or confirmed before expiry")
+    void expireSkipsInactiveHolds() {
+        ReservationHoldDto released = reservationHoldService.createHold(firstSku.getId(), 5, 60L, "CART-1");
+        ReservationHoldDto confirmed = reservationHoldService.createHold(firstSku.getId(), 3, 60L, "CART-2");
+        reservationHoldService.releaseHold(released.getId());
+        reservationHoldService.confirmHold(confirmed.getId());
+
+        int expired = reservationHoldService.expireHolds(List.of(released.getId(), confirmed.getId()));
+
+        assertThat(expired).isZero();
+        SkuDto sku = skuService.getSkuById(firstSku.getId());
+        assertThat(sku.getReservedQuantity()).isEqualTo(3);
+        assertThat(sku.getAvailableQuantity()).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("Should reject releasing a hold twice")
+    void releaseTwice() {
+        ReservationHoldDto hold = reservationHoldService.createHold(firstSku.getId(), 5, 60L, "CART-1");
+        reservationHoldService.releaseHold(hold.getId());
+
+        assertThatThrownBy(() -> reservationHoldService.releaseHold(hold.getId()))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a TTL above the configured maximum")
+    void rejectTtlAboveMaximum() {
+        assertThatThrownBy(
+                () -> reservationHoldService.createHold(firstSku.getId(), 5, 10_000_000L, "CART-1"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ReservationTimingWheel
+ */
+@DisplayName("ReservationTimingWheel Unit Tests")
+class ReservationTimingWheelTest {
+
+    private static final long TICK_MS = 1000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should report a hold once its deadline is reached and not before")
+    void expiresAtDeadline() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(TICK_MS, START);
+        wheel.schedule(1L, START + 5_500);
+
+        assertThat(wheel.advanceTo(START + 5_000)).isEmpty();
+        assertThat(wheel.advanceTo(START + 6_000)).containsExactly(1L);
+        assertThat(wheel.advanceTo(START + 60_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cascade holds from higher levels without losing or reordering them")
+    void cascadesAcrossLevels() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(TICK_MS, START);
+        long[] delaysSeconds = {1, 63, 64, 65, 4_095, 4_096, 4_097, 300_000, 20_000_000};
+        for (int i = 0; i < delaysSeconds.length; i++) {
+            wheel.schedule(i, START + delaysSeconds[i] * TICK_MS);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long second = 1; second <= 20_000_000; second += 1_000) {
+            long now = START + second * TICK_MS;
+            for (Long holdId : wheel.advanceTo(now)) {
+                assertThat(START + delaysSeconds[holdId.intValue()] * TICK_MS).isLessThanOrEqualTo(now);
+                expired.add(holdId);
+            }
+        }
+        expired.addAll(wheel.advanceTo(START + 20_000_000 * TICK_MS));
+
+        assertThat(expired).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report holds scheduled in the past on the next advance")
+    void pastDeadlineIsDueImmediately() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(TICK_MS, START);
+        wheel.schedule(42L, START - 10_000);
+
+        assertThat(wheel.advanceTo(START)).containsExactly(42L);
+    }
+}
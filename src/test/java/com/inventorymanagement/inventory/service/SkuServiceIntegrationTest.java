@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.inventorymanagement.category.model.Category;
 import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.config.PolicyCache;
+import com.inventorymanagement.common.config.PolicyCacheManager;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.InsufficientStockException;
@@ -12,6 +14,8 @@ import com.inventorymanagement.common.exception.ValidationException;
 import com.inventorymanagement.common.testdata.TestDataFactory;
 import com.inventorymanagement.inventory.model.Sku;
 import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.model.StockReservationRequest;
+import com.inventorymanagement.inventory.model.StockReservationResult;
 import com.inventorymanagement.inventory.repository.SkuRepository;
 import com.inventorymanagement.product.model.Product;
 import com.inventorymanagement.product.repository.ProductRepository;
@@ -50,6 +54,8 @@ class SkuServiceIntegrationTest {
 
     @Autowired private InventoryService inventoryService;
 
+    @Autowired private PolicyCacheManager cacheManager;
+
     private Category testCategory;
     private Product testProduct;
     private SkuDto testSkuDto;
@@ -530,6 +536,82 @@ class SkuServiceIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Multi-line Reservation Tests")
+    class MultiLineReservationTests {
+
+        private SkuDto firstSku;
+        private SkuDto secondSku;
+
+        @BeforeEach
+        void setUp() {
+            testSkuDto.setStockQuantity(100);
+            firstSku = skuService.createSku(testSkuDto);
+
+            testSkuDto.setSkuCode("TEST-SKU-002");
+            testSkuDto.setStockQuantity(20);
+            secondSku = skuService.createSku(testSkuDto);
+        }
+
+        @Test
+        @DisplayName("Should reserve all lines and record one transaction per line")
+        void reserveAllLines() {
+            StockReservationRequest request =
+                    new StockReservationRequest(
+                            List.of(
+                                    new StockReservationRequest.Line(secondSku.getId(), 5),
+                                    new StockReservationRequest.Line(firstSku.getId(), 10),
+                                    new StockReservationRequest.Line(secondSku.getId(), 3)),
+                            "ORDER-900",
+                            "ORDER");
+
+            List<StockReservationResult> results = skuService.reserveStockBatch(request);
+
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0).getSkuId()).isEqualTo(secondSku.getId());
+            assertThat(results.get(0).getReservedQuantity()).isEqualTo(5);
+            assertThat(results.get(0).getAvailableQuantity()).isEqualTo(12);
+            assertThat(results.get(1).getAvailableQuantity()).isEqualTo(90);
+
+            assertThat(skuService.getSkuById(firstSku.getId()).getReservedQuantity()).isEqualTo(10);
+            assertThat(skuService.getSkuById(secondSku.getId()).getReservedQuantity()).isEqualTo(8);
+            assertThat(
+                    inventoryService
+                            .getTransactionsByReferenceId("ORDER-900", PageRequest.of(0, 10))
+                            .getTotalElements())
+                    .isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should reject reservation when combined lines exceed available stock")
+        void rejectCombinedLinesExceedingStock() {
+            StockReservationRequest request =
+                    new StockReservationRequest(
+                            List.of(
+                                    new StockReservationRequest.Line(secondSku.getId(), 15),
+                                    new StockReservationRequest.Line(secondSku.getId(), 10)),
+                            "ORDER-901",
+                            "ORDER");
+
+            assertThatThrownBy(() -> skuService.reserveStockBatch(request))
+                    .isInstanceOf(InsufficientStockException.class);
+        }
+
+        @Test
+        @DisplayName("Should throw validation exception for non-positive line quantity")
+        void rejectNonPositiveLineQuantity() {
+            StockReservationRequest request =
+                    new StockReservationRequest(
+                            List.of(new StockReservationRequest.Line(firstSku.getId(), 0)),
+                            "ORDER-902",
+                            "ORDER");
+
+            assertThatThrownBy(() -> skuService.reserveStockBatch(request))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("Quantity must be positive");
+        }
+    }
+
     @Nested
     @DisplayName("Stock Release Tests")
     class StockReleaseTests {
@@ -555,6 +637,15 @@ class SkuServiceIntegrationTest {
             assertThat(updatedSku.getAvailableQuantity()).isEqualTo(85);
         }
 
+        @Test
+        @DisplayName("Should release only the reserved quantity when more is requested")
+        void releaseMoreThanReserved() {
+            SkuDto result = skuService.releaseStock(createdSku.getId(), 50);
+
+            assertThat(result.getReservedQuantity()).isEqualTo(0);
+            assertThat(result.getAvailableQuantity()).isEqualTo(100);
+        }
+
         @Test
         @DisplayName("Should throw validation exception for zero quantity release")
         void releaseZeroQuantity() {
@@ -609,6 +700,76 @@ class SkuServiceIntegrationTest {
                     .isInstanceOf(ValidationException.class)
                     .hasMessageContaining("Adjustment cannot be zero");
         }
+
+        @Test
+        @DisplayName("Should floor stock at zero when adjusting below zero")
+        void adjustStockBelowZero() {
+            skuService.adjustStock(createdSku.getId(), -150, "Write-off", "ADMIN");
+
+            SkuDto updatedSku = skuService.getSkuById(createdSku.getId());
+            assertThat(updatedSku.getStockQuantity()).isEqualTo(0);
+            assertThat(updatedSku.getAvailableQuantity()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("Should increment version on each stock mutation")
+        void adjustStockIncrementsVersion() {
+            Long initialVersion = skuRepository.findById(createdSku.getId()).orElseThrow().getVersion();
+
+            skuService.adjustStock(createdSku.getId(), 5, "Recount", "ADMIN");
+
+            Long updatedVersion = skuRepository.findById(createdSku.getId()).orElseThrow().getVersion();
+            assertThat(updatedVersion).isEqualTo(initialVersion + 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Order Fulfillment Tests")
+    class OrderFulfillmentTests {
+
+        private SkuDto createdSku;
+
+        @BeforeEach
+        void setUp() {
+            testSkuDto.setStockQuantity(100);
+            createdSku = skuService.createSku(testSkuDto);
+            skuService.reserveStock(
+                    createdSku.getId(), 30, "ORDER-123", "ORDER", "Customer order", "SYSTEM");
+        }
+
+        @Test
+        @DisplayName("Should reduce stock and reserved quantities when fulfilling")
+        void fulfillOrder() {
+            skuService.fulfillOrder(
+                    createdSku.getId(), 20, "ORDER-123", "ORDER", "Shipped", "SYSTEM");
+
+            SkuDto updatedSku = skuService.getSkuById(createdSku.getId());
+            assertThat(updatedSku.getStockQuantity()).isEqualTo(80);
+            assertThat(updatedSku.getReservedQuantity()).isEqualTo(10);
+            assertThat(updatedSku.getAvailableQuantity()).isEqualTo(70);
+        }
+
+        @Test
+        @DisplayName("Should throw insufficient stock exception when fulfilling more than reserved")
+        void fulfillMoreThanReserved() {
+            assertThatThrownBy(
+                    () ->
+                            skuService.fulfillOrder(
+                                    createdSku.getId(), 40, "ORDER-123", "ORDER", "Shipped", "SYSTEM"))
+                    .isInstanceOf(InsufficientStockException.class);
+
+            SkuDto unchangedSku = skuService.getSkuById(createdSku.getId());
+            assertThat(unchangedSku.getStockQuantity()).isEqualTo(100);
+            assertThat(unchangedSku.getReservedQuantity()).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("Should throw entity not found when fulfilling for non-existent SKU")
+        void fulfillForNonExistentSku() {
+            assertThatThrownBy(
+                    () -> skuService.fulfillOrder(99999L, 5, "ORDER-123", "ORDER", "Shipped", "SYSTEM"))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
     }
 
     @Nested
@@ -829,4 +990,68 @@ class SkuServiceIntegrationTest {
                     .hasMessageContaining("Reorder point should not exceed stock quantity");
         }
     }
+
+    @Nested
+    @DisplayName("Cache Invalidation Tests")
+    class CacheInvalidationTests {
+
+        private PolicyCache cache;
+        private SkuDto firstSku;
+        private SkuDto secondSku;
+
+        @BeforeEach
+        void setUp() {
+            cache = cacheManager.getCache("skus");
+            cache.clear();
+
+            firstSku = skuService.createSku(testSkuDto);
+            testSkuDto.setSkuCode("TEST-SKU-002");
+            secondSku = skuService.createSku(testSkuDto);
+
+            skuService.getSkuById(firstSku.getId());
+            skuService.getSkuByCode(firstSku.getSkuCode());
+            skuService.getSkuById(secondSku.getId());
+            skuService.getSkusByProduct(testProduct.getId(), PageRequest.of(0, 10));
+        }
+
+        @Test
+        @DisplayName("Should evict only the entries of the SKU that changed")
+        void stockChangeEvictsOwnEntries() {
+            skuService.reserveStock(firstSku.getId(), 5);
+
+            assertThat(cache.get(firstSku.getId())).isNull();
+            assertThat(cache.get("code:" + firstSku.getSkuCode())).isNull();
+            assertThat(cache.get(SkuCacheInvalidator.productPageKey(testProduct.getId(), PageRequest.of(0, 10))))
+                    .isNull();
+            assertThat(cache.get(secondSku.getId())).isNotNull();
+
+            assertThat(skuService.getSkuById(firstSku.getId()).getReservedQuantity()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should evict a product's pages when a SKU is added to it")
+        void newSkuEvictsProductPages() {
+            testSkuDto.setSkuCode("TEST-SKU-003");
+            skuService.createSku(testSkuDto);
+
+            assertThat(cache.get(SkuCacheInvalidator.productPageKey(testProduct.getId(), PageRequest.of(0, 10))))
+                    .isNull();
+            assertThat(cache.get(firstSku.getId())).isNotNull();
+            assertThat(skuService.getSkusByProduct(testProduct.getId(), PageRequest.of(0, 10)).getTotalElements())
+                    .isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should evict an entry left under a new SKU's code")
+        void newSkuEvictsEntryUnderItsCode() {
+            // As left by a SKU created with the same code in a transaction that rolled back
+            cache.put("code:TEST-SKU-003", firstSku);
+
+            testSkuDto.setSkuCode("TEST-SKU-003");
+            SkuDto created = skuService.createSku(testSkuDto);
+
+            assertThat(cache.get("code:TEST-SKU-003")).isNull();
+            assertThat(skuService.getSkuByCode("TEST-SKU-003").getId()).isEqualTo(created.getId());
+        }
+    }
 }
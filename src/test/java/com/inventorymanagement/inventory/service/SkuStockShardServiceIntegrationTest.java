@@ -0,0 +1,165 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.exception.InsufficientStockException;
+import com.inventorymanagement.common.exception.ValidationException;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import com.inventorymanagement.inventory.repository.SkuStockShardRepository;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for SkuStockShardService
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("SkuStockShardService Integration Tests")
+class SkuStockShardServiceIntegrationTest {
+
+    @Autowired private SkuStockShardService stockShardService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private InventoryService inventoryService;
+
+    @Autowired private SkuRepository skuRepository;
+
+    @Autowired private SkuStockShardRepository shardRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    private Long productId;
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Hot Items").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Promoted Product").withCategory(category).build());
+
+        productId = product.getId();
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(productId);
+        skuDto.setSkuCode("HOT-SKU-001");
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(100);
+        skuId = skuService.createSku(skuDto).getId();
+
+        stockShardService.enableSharding(skuId, 4);
+    }
+
+    @Test
+    @DisplayName("Should reserve on a shard without touching the SKU row's reserved quantity")
+    void reserveOnShard() {
+        skuService.reserveStock(skuId, 10);
+
+        Sku row = skuRepository.findById(skuId).orElseThrow();
+        assertThat(row.getReservedQuantity()).isZero();
+        assertThat(stockShardService.getShardTotals(skuId).getReservedQuantity()).isEqualTo(10);
+
+        SkuDto sku = skuService.getSkuById(skuId);
+        assertThat(sku.getReservedQuantity()).isEqualTo(10);
+        assertThat(sku.getAvailableQuantity()).isEqualTo(90);
+
+        InventoryService.CurrentStockInfo stockInfo = inventoryService.getCurrentStockInfo(skuId);
+        assertThat(stockInfo.getReservedQuantity()).isEqualTo(10);
+        assertThat(stockInfo.getAvailableQuantity()).isEqualTo(90);
+    }
+
+    @Test
+    @DisplayName("Should add shard stock to SKUs read through pages and lists")
+    void pagesIncludeShardStock() {
+        skuService.reserveStock(skuId, 10);
+
+        SkuDto paged =
+                skuService.getAllSkus(PageRequest.of(0, 20)).getContent().stream()
+                        .filter(sku -> sku.getId().equals(skuId))
+                        .findFirst()
+                        .orElseThrow();
+        assertThat(paged.getReservedQuantity()).isEqualTo(10);
+        assertThat(paged.getAvailableQuantity()).isEqualTo(90);
+
+        SkuDto listed = skuService.getActiveSkusByProduct(productId).get(0);
+        assertThat(listed.getReservedQuantity()).isEqualTo(10);
+        assertThat(listed.getAvailableQuantity()).isEqualTo(90);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the SKU row when no shard can cover a reservation")
+    void reserveFallsBackToRow() {
+        skuService.reserveStock(skuId, 10);
+        skuService.reserveStock(skuId, 90);
+
+        SkuDto sku = skuService.getSkuById(skuId);
+        assertThat(sku.getReservedQuantity()).isEqualTo(100);
+        assertThat(sku.getAvailableQuantity()).isZero();
+
+        assertThatThrownBy(() -> skuService.reserveStock(skuId, 1))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    @DisplayName("Should release reserved stock and keep totals consistent")
+    void releaseFromShard() {
+        skuService.reserveStock(skuId, 10);
+        skuService.releaseStock(skuId, 10);
+
+        SkuDto sku = skuService.getSkuById(skuId);
+        assertThat(sku.getReservedQuantity()).isZero();
+        assertThat(sku.getAvailableQuantity()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should fold shards into the SKU row before changing stock on hand")
+    void consolidateBeforeStockRemoval() {
+        skuService.reserveStock(skuId, 10);
+        skuService.removeStock(skuId, 20);
+
+        Sku row = skuRepository.findById(skuId).orElseThrow();
+        assertThat(row.getStockQuantity()).isEqualTo(80);
+        assertThat(row.getReservedQuantity()).isEqualTo(10);
+        assertThat(row.getAvailableQuantity()).isEqualTo(70);
+        assertThat(stockShardService.getShardTotals(skuId).getAvailableQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should move all stock back to the SKU row when sharding is disabled")
+    void disableSharding() {
+        skuService.reserveStock(skuId, 10);
+
+        stockShardService.disableSharding(skuId);
+
+        assertThat(shardRepository.countBySkuId(skuId)).isZero();
+        Sku row = skuRepository.findById(skuId).orElseThrow();
+        assertThat(row.getReservedQuantity()).isEqualTo(10);
+        assertThat(row.getAvailableQuantity()).isEqualTo(90);
+    }
+
+    @Test
+    @DisplayName("Should reject shard counts out of range")
+    void rejectInvalidShardCount() {
+        assertThatThrownBy(() -> stockShardService.enableSharding(skuId, 1))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,201 @@
+package com.inventorymanagement.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventorymanagement.category.model.Category;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.InventoryTransaction;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.model.StockMovementDaily;
+import com.inventorymanagement.inventory.repository.InventoryTransactionRepository;
+import com.inventorymanagement.inventory.repository.SkuRepository;
+import com.inventorymanagement.inventory.repository.StockMovementDailyRepository;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the daily stock movement rollup
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Stock Movement Rollup Integration Tests")
+class StockMovementRollupIntegrationTest {
+
+    @Autowired private InventoryService inventoryService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private SkuRepository skuRepository;
+
+    @Autowired private InventoryTransactionRepository transactionRepository;
+
+    @Autowired private StockMovementDailyRepository dailyMovementRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(TestDataFactory.category().withName("Rollups").build());
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product().withName("Rolled Up Product").withCategory(category).build());
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(product.getId());
+        skuDto.setSkuCode("ROLLUP-SKU-001");
+        skuDto.setPrice(new BigDecimal("10.00"));
+        skuDto.setStockQuantity(100);
+        skuId = skuService.createSku(skuDto).getId();
+    }
+
+    @Test
+    @DisplayName("Should keep today's rollup rows equal to the ledger")
+    void rollupMatchesLedger() {
+        skuService.reserveStock(skuId, 10);
+        skuService.releaseStock(skuId, 4);
+        skuService.addStock(skuId, 5);
+
+        LocalDate today = LocalDate.now();
+        InventoryService.StockMovementSummary fromRollup =
+                summarize(
+                        dailyMovementRepository.sumQuantitiesByType(skuId, today, today.plusDays(1)));
+        InventoryService.StockMovementSummary fromLedger =
+                summarize(
+                        transactionRepository.sumQuantitiesByType(
+                                skuId, today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+
+        assertThat(fromRollup.getTotalReserved()).isEqualTo(10);
+        assertThat(fromRollup.getTotalReleased()).isEqualTo(4);
+        assertThat(fromRollup.getTotalIn()).isEqualTo(fromLedger.getTotalIn());
+        assertThat(fromRollup.getTotalOut()).isEqualTo(fromLedger.getTotalOut());
+        assertThat(fromRollup.getTotalReserved()).isEqualTo(fromLedger.getTotalReserved());
+        assertThat(fromRollup.getTotalReleased()).isEqualTo(fromLedger.getTotalReleased());
+    }
+
+    @Test
+    @DisplayName("Should combine rollup days with partial edge days from the ledger")
+    void summaryCombinesRollupAndEdgeDays() {
+        LocalDateTime threeDaysAgo = LocalDate.now().minusDays(3).atTime(12, 0);
+        LocalDateTime fiveDaysAgo = LocalDate.now().minusDays(5).atTime(18, 0);
+        recordBackdated(InventoryTransaction.TransactionType.OUT, 7, threeDaysAgo);
+        recordBackdated(InventoryTransaction.TransactionType.OUT, 2, fiveDaysAgo);
+        skuService.reserveStock(skuId, 3);
+
+        List<StockMovementDaily> rows = dailyMovementRepository.findBySkuId(skuId);
+        assertThat(rows)
+                .anySatisfy(
+                        row -> {
+                            assertThat(row.getMovementDate()).isEqualTo(threeDaysAgo.toLocalDate());
+                            assertThat(row.getTransactionType())
+                                    .isEqualTo(InventoryTransaction.TransactionType.OUT);
+                            assertThat(row.getTotalQuantity()).isEqualTo(7);
+                            assertThat(row.getTransactionCount()).isEqualTo(1);
+                        });
+
+        // Starts mid-day five days ago: 18:00 is read from the ledger, later whole days from the rollup
+        InventoryService.StockMovementSummary summary =
+                inventoryService.getStockMovementSummary(
+                        skuId, fiveDaysAgo.minusHours(1), LocalDateTime.now().plusMinutes(1));
+        assertThat(summary.getTotalOut()).isEqualTo(9);
+        assertThat(summary.getTotalReserved()).isEqualTo(3);
+
+        // Starts after the five-days-ago movement
+        InventoryService.StockMovementSummary laterSummary =
+                inventoryService.getStockMovementSummary(
+                        skuId, fiveDaysAgo.plusHours(1), LocalDateTime.now().plusMinutes(1));
+        assertThat(laterSummary.getTotalOut()).isEqualTo(7);
+
+        // A range inside one day is read from the ledger only
+        InventoryService.StockMovementSummary singleDay =
+                inventoryService.getStockMovementSummary(
+                        skuId, threeDaysAgo.minusHours(1), threeDaysAgo.plusHours(1));
+        assertThat(singleDay.getTotalOut()).isEqualTo(7);
+        assertThat(singleDay.getTotalReserved()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should aggregate transactions by type, day, reference type and performer")
+    void analyticsAggregates() {
+        LocalDateTime threeDaysAgo = LocalDate.now().minusDays(3).atTime(12, 0);
+        recordBackdated(InventoryTransaction.TransactionType.OUT, 7, threeDaysAgo);
+        skuService.reserveStock(skuId, 3);
+
+        InventoryService.TransactionAnalytics analytics =
+                inventoryService.getTransactionAnalytics(skuId, LocalDate.now().minusDays(5), LocalDate.now());
+
+        assertThat(analytics.getByType())
+                .anySatisfy(
+                        totals -> {
+                            assertThat(totals.getTransactionType()).isEqualTo(InventoryTransaction.TransactionType.OUT);
+                            assertThat(totals.getTransactionCount()).isEqualTo(1);
+                            assertThat(totals.getTotalQuantity()).isEqualTo(7);
+                        });
+        assertThat(analytics.getByDay())
+                .anySatisfy(
+                        totals -> {
+                            assertThat(totals.getMovementDate()).isEqualTo(threeDaysAgo.toLocalDate());
+                            assertThat(totals.getTransactionType()).isEqualTo(InventoryTransaction.TransactionType.OUT);
+                            assertThat(totals.getTotalQuantity()).isEqualTo(7);
+                        });
+        assertThat(analytics.getByReferenceType())
+                .anySatisfy(
+                        totals -> {
+                            assertThat(totals.getGroupKey()).isEqualTo("TEST");
+                            assertThat(totals.getTransactionCount()).isEqualTo(1);
+                            assertThat(totals.getNetStockChange()).isEqualTo(-7);
+                        });
+        assertThat(analytics.getByPerformer())
+                .anySatisfy(
+                        totals -> {
+                            assertThat(totals.getGroupKey()).isEqualTo("tester");
+                            assertThat(totals.getNetStockChange()).isEqualTo(-7);
+                        });
+
+        InventoryService.TransactionAnalytics recent =
+                inventoryService.getTransactionAnalytics(skuId, LocalDate.now().minusDays(2), LocalDate.now());
+        assertThat(recent.getByType())
+                .noneMatch(totals -> totals.getTransactionType() == InventoryTransaction.TransactionType.OUT);
+        assertThat(recent.getByReferenceType()).noneMatch(totals -> "TEST".equals(totals.getGroupKey()));
+    }
+
+    // ===== HELPER METHODS =====
+
+    private void recordBackdated(
+            InventoryTransaction.TransactionType type, int quantity, LocalDateTime createdAt) {
+        InventoryTransaction transaction =
+                new InventoryTransaction(
+                        skuRepository.getReferenceById(skuId), type, quantity, "BACKDATED", "TEST", "Backdated", "tester");
+        transaction.setCreatedAt(createdAt);
+        inventoryService.recordTransactions(List.of(transaction));
+    }
+
+    private InventoryService.StockMovementSummary summarize(List<Object[]> sumsByType) {
+        long[] totals = new long[InventoryTransaction.TransactionType.values().length];
+        for (Object[] row : sumsByType) {
+            totals[((InventoryTransaction.TransactionType) row[0]).ordinal()] += ((Number) row[1]).longValue();
+        }
+        return new InventoryService.StockMovementSummary(
+                totals[InventoryTransaction.TransactionType.IN.ordinal()],
+                totals[InventoryTransaction.TransactionType.OUT.ordinal()],
+                totals[InventoryTransaction.TransactionType.ADJUSTMENT.ordinal()],
+                totals[InventoryTransaction.TransactionType.RESERVED.ordinal()],
+                totals[InventoryTransaction.TransactionType.RELEASED.ordinal()]);
+    }
+}
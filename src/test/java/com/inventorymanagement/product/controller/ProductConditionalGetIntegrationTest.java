@@ -0,0 +1,136 @@
+package com.inventorymanagement.product.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.inventorymanagement.category.model.CategoryDto;
+import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.category.service.CategoryService;
+import com.inventorymanagement.common.testdata.TestDataFactory;
+import com.inventorymanagement.inventory.model.SkuDto;
+import com.inventorymanagement.inventory.service.SkuService;
+import com.inventorymanagement.product.model.Product;
+import com.inventorymanagement.product.repository.ProductRepository;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for conditional GETs of products, checking that entity tags follow the SKU and category data products show
+ */
+@SpringBootTest(classes = com.inventorymanagement.application.InventoryManagementApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Product Conditional GET Integration Tests")
+class ProductConditionalGetIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Autowired private CategoryService categoryService;
+
+    @Autowired private SkuService skuService;
+
+    @Autowired private CategoryRepository categoryRepository;
+
+    @Autowired private ProductRepository productRepository;
+
+    private Long categoryId;
+    private Long productId;
+    private Long skuId;
+
+    @BeforeEach
+    void setUp() {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setName("Outerwear");
+        categoryId = categoryService.createCategory(categoryDto).getId();
+
+        Product product =
+                productRepository.save(
+                        TestDataFactory.product()
+                                .withName("Rain Jacket")
+                                .withCategory(categoryRepository.findById(categoryId).orElseThrow())
+                                .build());
+        productId = product.getId();
+
+        SkuDto skuDto = new SkuDto();
+        skuDto.setProductId(productId);
+        skuDto.setSkuCode("ETAG-JACKET-001");
+        skuDto.setPrice(new BigDecimal("80.00"));
+        skuDto.setStockQuantity(10);
+        skuDto.setReorderPoint(2);
+        skuId = skuService.createSku(skuDto).getId();
+    }
+
+    @Test
+    @DisplayName("GET /v1/products/{id} - Should answer 304 until a SKU's stock changes")
+    void getProductById_StockChange_ChangesTag() throws Exception {
+        String etag = etag("/v1/products/" + productId);
+        assertNotModified("/v1/products/" + productId, etag);
+
+        skuService.adjustStock(skuId, 5, "Recount", "tester");
+
+        assertThat(modifiedEtag("/v1/products/" + productId, etag)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("GET /v1/products/{id} - Should answer 304 until a SKU's price changes")
+    void getProductById_PriceChange_ChangesTag() throws Exception {
+        String etag = etag("/v1/products/" + productId);
+        assertNotModified("/v1/products/" + productId, etag);
+
+        SkuDto sku = skuService.getSkuById(skuId);
+        sku.setPrice(new BigDecimal("75.00"));
+        skuService.updateSku(skuId, sku);
+
+        assertThat(modifiedEtag("/v1/products/" + productId, etag)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("GET /v1/products/category/{id} - Should answer 304 until a SKU's stock or the category changes")
+    void getProductsByCategory_StockOrCategoryChange_ChangesTag() throws Exception {
+        String url = "/v1/products/category/" + categoryId;
+        String etag = etag(url);
+        assertNotModified(url, etag);
+
+        skuService.adjustStock(skuId, -3, "Damaged", "tester");
+
+        String stockEtag = modifiedEtag(url, etag);
+        assertThat(stockEtag).isNotEqualTo(etag);
+
+        CategoryDto rename = categoryService.getCategoryById(categoryId);
+        rename.setName("Rainwear");
+        categoryService.updateCategory(categoryId, rename);
+
+        assertThat(modifiedEtag(url, stockEtag)).isNotEqualTo(stockEtag);
+    }
+
+    private String etag(String url) throws Exception {
+        String etag =
+                mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private void assertNotModified(String url, String etag) throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+    }
+
+    private String modifiedEtag(String url, String staleEtag) throws Exception {
+        return mockMvc
+                .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+}
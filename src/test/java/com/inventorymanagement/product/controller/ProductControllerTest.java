@@ -21,6 +21,7 @@ import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.GlobalExceptionHandler;
 import com.inventorymanagement.common.exception.ValidationException;
 import com.inventorymanagement.common.model.BulkOperationRequest;
+import com.inventorymanagement.common.model.EntityTag;
 import com.inventorymanagement.product.model.ProductDto;
 import com.inventorymanagement.product.service.ProductService;
 import java.util.Arrays;
@@ -54,6 +55,8 @@ class ProductControllerTest {
 
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
+    private static final EntityTag PRODUCT_TAG = EntityTag.of("product", 1L, 2L);
+
     @MockBean private ProductService productService;
     private ProductDto testProduct;
     private ProductDto testProduct2;
@@ -67,6 +70,9 @@ class ProductControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(productService.getProductTag(any())).thenReturn(PRODUCT_TAG);
+        when(productService.getProductsByCategoryTag(any(), any())).thenReturn(PRODUCT_TAG);
+
         testProduct = new ProductDto();
         testProduct.setId(1L);
         testProduct.setName("Test Product 1");
@@ -348,6 +354,21 @@ class ProductControllerTest {
             verify(productService).getProductsByCategory(eq(1L), any(Pageable.class));
         }
 
+        @Test
+        void getProductsByCategoryTree_Success() throws Exception {
+            Page<ProductDto> productsPage = new PageImpl<>(List.of(testProduct, testProduct2));
+            when(productService.getProductsByCategoryTree(eq(1L), any(Pageable.class)))
+                    .thenReturn(productsPage);
+
+            mockMvc
+                    .perform(get("/v1/products/category/1/tree"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.content.length()").value(2));
+
+            verify(productService).getProductsByCategoryTree(eq(1L), any(Pageable.class));
+        }
+
         @Test
         void getProductsByCategory_NotFound() throws Exception {
             when(productService.getProductsByCategory(eq(999L), any(Pageable.class)))
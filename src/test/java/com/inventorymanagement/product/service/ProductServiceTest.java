@@ -5,19 +5,25 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.inventorymanagement.category.model.Category;
 import com.inventorymanagement.category.repository.CategoryRepository;
+import com.inventorymanagement.category.service.CategoryTreeService;
 import com.inventorymanagement.common.BaseUnitTest;
 import com.inventorymanagement.common.exception.BusinessException;
 import com.inventorymanagement.common.exception.EntityNotFoundException;
 import com.inventorymanagement.common.exception.ValidationException;
 import com.inventorymanagement.common.testdata.TestDataFactory;
 import com.inventorymanagement.inventory.model.Sku;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService;
+import com.inventorymanagement.inventory.service.CategoryInventoryRollupService.Contribution;
+import com.inventorymanagement.inventory.service.SkuStockShardService;
 import com.inventorymanagement.product.model.Product;
 import com.inventorymanagement.product.model.ProductDto;
 import com.inventorymanagement.product.repository.ProductRepository;
@@ -50,6 +56,12 @@ class ProductServiceTest extends BaseUnitTest {
 
     @Mock private CategoryRepository categoryRepository;
 
+    @Mock private CategoryTreeService categoryTreeService;
+
+    @Mock private CategoryInventoryRollupService inventoryRollupService;
+
+    @Mock private SkuStockShardService stockShardService;
+
     @InjectMocks private ProductService productService;
 
     private Product testProduct;
@@ -129,6 +141,25 @@ class ProductServiceTest extends BaseUnitTest {
 
             assertThat(result).isNotNull();
             verify(productRepository).save(any(Product.class));
+            verify(categoryRepository).adjustProductCounts(eq(1L), any(), eq(1L));
+        }
+
+        @Test
+        @DisplayName("Should create products as active unless told otherwise")
+        void createProduct_WithoutIsActive_CreatesActiveProduct() {
+
+            ProductDto newProductDto = new ProductDto();
+            newProductDto.setName("New Product");
+            newProductDto.setCategoryId(1L);
+
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(productRepository.findByNameAndCategoryId("New Product", 1L))
+                    .thenReturn(Optional.empty());
+            when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+            productService.createProduct(newProductDto);
+
+            verify(productRepository).save(argThat(product -> Boolean.TRUE.equals(product.getIsActive())));
         }
 
         @Test
@@ -240,6 +271,9 @@ class ProductServiceTest extends BaseUnitTest {
 
             assertThat(testProduct.isDeleted()).isTrue();
             verify(productRepository).save(testProduct);
+            verify(categoryRepository).adjustProductCounts(eq(1L), any(), eq(-1L));
+            verify(inventoryRollupService).capture(testProduct);
+            verify(inventoryRollupService).record(any(), eq(Contribution.none()));
         }
 
         @Test
@@ -323,6 +357,22 @@ class ProductServiceTest extends BaseUnitTest {
                     .isInstanceOf(EntityNotFoundException.class)
                     .hasMessageContaining("Category with ID 999 not found");
         }
+
+        @Test
+        @DisplayName("Should return products in a category tree")
+        void shouldReturnProductsInCategoryTree() {
+
+            Pageable pageable = PageRequest.of(0, 10);
+            Page<Product> productPage = new PageImpl<>(Collections.singletonList(testProduct));
+
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(productRepository.findByCategorySubtree(1L, pageable)).thenReturn(productPage);
+
+            Page<ProductDto> result = productService.getProductsByCategoryTree(1L, pageable);
+
+            assertThat(result.getContent()).hasSize(1);
+            verify(productRepository, never()).findByCategoryPathStartingWith(any());
+        }
     }
 
     @Nested
@@ -824,6 +874,11 @@ class ProductServiceTest extends BaseUnitTest {
 
             assertThat(result).isNotNull();
             verify(categoryRepository).findById(2L); // Should validate new category
+            verify(categoryRepository).adjustProductCounts(eq(1L), any(), eq(-1L));
+            verify(categoryRepository).adjustProductCounts(eq(2L), any(), eq(1L));
+            // captured in the old category and the new one
+            verify(inventoryRollupService, times(2)).capture(testProduct);
+            verify(inventoryRollupService).record(any(), any());
         }
 
         @Test